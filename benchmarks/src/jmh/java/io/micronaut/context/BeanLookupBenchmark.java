@@ -0,0 +1,86 @@
+package io.micronaut.context;
+
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+public class BeanLookupBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32}) {
+            Options opt = new OptionsBuilder()
+                .include(BeanLookupBenchmark.class.getName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .threads(threads)
+                .forks(1)
+                .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Benchmark
+    public LookupService getBean(S s) {
+        return s.ctx.getBean(LookupService.class);
+    }
+
+    @Benchmark
+    public LookupService getBeanQualified(S s) {
+        return s.ctx.getBean(LookupService.class, s.qualifier);
+    }
+
+    @Benchmark
+    public LookupService beanProvider(S s) {
+        return s.holder.provider.get();
+    }
+
+    @State(Scope.Benchmark)
+    public static class S {
+        ApplicationContext ctx;
+        LookupProviderHolder holder;
+        Qualifier<LookupService> qualifier;
+
+        @Setup
+        public void setUp() {
+            ctx = ApplicationContext.run();
+            holder = ctx.getBean(LookupProviderHolder.class);
+            qualifier = Qualifiers.byType(LookupService.class);
+            LookupService service = ctx.getBean(LookupService.class);
+            if (holder.provider.get() != service || ctx.getBean(LookupService.class, qualifier) != service) {
+                throw new AssertionError("Different singleton instances");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ctx.close();
+        }
+    }
+
+    @Singleton
+    static class LookupService {
+    }
+
+    @Singleton
+    static class LookupProviderHolder {
+        final BeanProvider<LookupService> provider;
+
+        LookupProviderHolder(BeanProvider<LookupService> provider) {
+            this.provider = provider;
+        }
+    }
+}
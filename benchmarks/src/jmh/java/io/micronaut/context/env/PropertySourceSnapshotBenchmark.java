@@ -0,0 +1,86 @@
+package io.micronaut.context.env;
+
+import io.micronaut.context.env.yaml.YamlPropertySourceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class PropertySourceSnapshotBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(PropertySourceSnapshotBenchmark.class.getName() + ".*")
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public Map<String, Object> read(S s) throws IOException {
+        return s.loader.read("application", new ByteArrayInputStream(s.content));
+    }
+
+    @State(Scope.Benchmark)
+    public static class S {
+        @Param({"false", "true"})
+        boolean snapshot;
+
+        YamlPropertySourceLoader loader;
+        byte[] content;
+        Path snapshotFile;
+
+        @Setup
+        public void setUp() throws IOException {
+            StringBuilder yaml = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                yaml.append("service").append(i).append(":\n")
+                    .append("    url: http://localhost:").append(8000 + i).append("/api\n")
+                    .append("    enabled: true\n")
+                    .append("    timeout: ").append(i * 10).append('\n')
+                    .append("    pool:\n")
+                    .append("        size: ").append(i).append('\n')
+                    .append("        names:\n")
+                    .append("            - first\n")
+                    .append("            - second\n");
+            }
+            content = yaml.toString().getBytes(StandardCharsets.UTF_8);
+            loader = new YamlPropertySourceLoader(false);
+            if (snapshot) {
+                snapshotFile = Files.createTempFile("config", ".bin");
+                Files.delete(snapshotFile);
+                System.setProperty(Environment.CONFIG_SNAPSHOT_PROPERTY, snapshotFile.toString());
+                loader.read("application", new ByteArrayInputStream(content));
+                PropertySourceSnapshot.get().write();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            System.clearProperty(Environment.CONFIG_SNAPSHOT_PROPERTY);
+            if (snapshotFile != null) {
+                Files.deleteIfExists(snapshotFile);
+            }
+        }
+    }
+}
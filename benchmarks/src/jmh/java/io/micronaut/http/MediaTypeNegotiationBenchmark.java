@@ -0,0 +1,105 @@
+package io.micronaut.http;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.web.router.DefaultRouteBuilder;
+import io.micronaut.web.router.DefaultRouter;
+import io.micronaut.web.router.Router;
+import io.micronaut.web.router.UriRouteMatch;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class MediaTypeNegotiationBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(MediaTypeNegotiationBenchmark.class.getName() + ".*")
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public MediaType parseContentType(S s) {
+        return MediaType.of(s.contentType);
+    }
+
+    @Benchmark
+    public List<MediaType> parseAccept(S s) {
+        return MediaType.orderedOf(List.of(s.accept));
+    }
+
+    @Benchmark
+    public UriRouteMatch<Object, Object> negotiate(S s) {
+        return s.router.findClosest(s.request);
+    }
+
+    @State(Scope.Thread)
+    public static class S {
+        @Param({"application/json", "application/json;charset=UTF-8"})
+        String contentType;
+        @Param({"application/json", "text/html, application/json, */*;q=0.8"})
+        String accept;
+
+        ApplicationContext ctx;
+        Router router;
+        HttpRequest<?> request;
+
+        @Setup
+        public void setUp() {
+            ctx = ApplicationContext.run();
+            NegotiationController controller = ctx.getBean(NegotiationController.class);
+            NegotiationRouteBuilder builder = new NegotiationRouteBuilder(ctx);
+            builder.POST("/books", controller, "handle")
+                .consumes(MediaType.APPLICATION_XML_TYPE)
+                .produces(MediaType.APPLICATION_XML_TYPE);
+            builder.POST("/books", controller, "handle")
+                .consumes(MediaType.TEXT_PLAIN_TYPE, MediaType.APPLICATION_JSON_TYPE)
+                .produces(MediaType.APPLICATION_JSON_TYPE);
+            router = new DefaultRouter(List.of(builder));
+            request = HttpRequest.POST("/books", "{}")
+                .header(HttpHeaders.CONTENT_TYPE, contentType)
+                .header(HttpHeaders.ACCEPT, accept);
+            if (router.findClosest(request) == null) {
+                throw new AssertionError("Route not matched");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ctx.close();
+        }
+    }
+
+    static class NegotiationRouteBuilder extends DefaultRouteBuilder {
+        NegotiationRouteBuilder(ApplicationContext beanContext) {
+            super(beanContext);
+        }
+    }
+
+    @Singleton
+    @Executable
+    static class NegotiationController {
+        String handle() {
+            return "ok";
+        }
+    }
+}
@@ -20,6 +20,7 @@ import io.micronaut.http.server.binding.TestController;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
@@ -34,4 +35,20 @@ public class StartupBenchmark {
         final TestController controller = context.getBean(TestController.class);
         blackhole.consume(controller);
     }
+
+    @Benchmark
+    public void startupEagerInit(EagerInit eagerInit, Blackhole blackhole) {
+        try (ApplicationContext context = ApplicationContext.builder()
+            .eagerInitSingletons(true)
+            .eagerInitParallel(eagerInit.parallel)
+            .start()) {
+            blackhole.consume(context.getBean(TestController.class));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class EagerInit {
+        @Param({"false", "true"})
+        boolean parallel;
+    }
 }
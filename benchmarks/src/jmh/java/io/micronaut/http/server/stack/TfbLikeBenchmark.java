@@ -21,6 +21,7 @@ import io.netty.handler.codec.http.HttpVersion;
 import org.junit.jupiter.api.Assertions;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -62,6 +63,14 @@ public class TfbLikeBenchmark {
 
     @State(Scope.Thread)
     public static class Holder {
+        /**
+         * Number of requests sent in a single read, like the pipelined TFB plaintext test.
+         */
+        @Param({"1", "16"})
+        int pipelineDepth;
+        @Param({"false", "true"})
+        boolean flushConsolidation;
+
         ApplicationContext ctx;
         EmbeddedChannel channel;
         ByteBuf requestBytes;
@@ -71,7 +80,8 @@ public class TfbLikeBenchmark {
         public void setUp() {
             ctx = ApplicationContext.run(Map.of(
                 "spec.name", "TfbLikeBenchmark",
-                "micronaut.server.date-header", false // disabling this makes the response identical each time
+                "micronaut.server.date-header", false, // disabling this makes the response identical each time
+                "micronaut.server.netty.flush-consolidation", flushConsolidation
             ));
             EmbeddedServer server = ctx.getBean(EmbeddedServer.class);
             channel = ((NettyHttpServer) server).buildEmbeddedChannel(false);
@@ -85,18 +95,26 @@ public class TfbLikeBenchmark {
             clientChannel.writeOutbound(request);
             clientChannel.flushOutbound();
 
-            requestBytes = NettyUtil.readAllOutboundContiguous(clientChannel);
+            ByteBuf singleRequest = NettyUtil.readAllOutboundContiguous(clientChannel);
+            requestBytes = singleRequest.alloc().buffer(singleRequest.readableBytes() * pipelineDepth);
+            for (int i = 0; i < pipelineDepth; i++) {
+                requestBytes.writeBytes(singleRequest, singleRequest.readerIndex(), singleRequest.readableBytes());
+            }
+            singleRequest.release();
 
             // sanity check: run req/resp once and see that the response is correct
             responseBytes = exchange();
             clientChannel.writeInbound(responseBytes.retainedDuplicate());
-            FullHttpResponse response = clientChannel.readInbound();
-            Assertions.assertEquals(HttpResponseStatus.OK, response.status());
-            Assertions.assertEquals("text/plain", response.headers().get(HttpHeaderNames.CONTENT_TYPE));
-            String expectedResponseBody = "Hello, World!";
-            Assertions.assertEquals(expectedResponseBody, response.content().toString(StandardCharsets.UTF_8));
-            Assertions.assertEquals(expectedResponseBody.length(), response.headers().getInt(HttpHeaderNames.CONTENT_LENGTH));
-            response.release();
+            for (int i = 0; i < pipelineDepth; i++) {
+                FullHttpResponse response = clientChannel.readInbound();
+                Assertions.assertEquals(HttpResponseStatus.OK, response.status());
+                Assertions.assertEquals("text/plain", response.headers().get(HttpHeaderNames.CONTENT_TYPE));
+                String expectedResponseBody = "Hello, World!";
+                Assertions.assertEquals(expectedResponseBody, response.content().toString(StandardCharsets.UTF_8));
+                Assertions.assertEquals(expectedResponseBody.length(), response.headers().getInt(HttpHeaderNames.CONTENT_LENGTH));
+                response.release();
+            }
+            Assertions.assertNull(clientChannel.readInbound());
         }
 
         ByteBuf exchange() {
@@ -0,0 +1,92 @@
+package io.micronaut.inject.annotation;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ExecutableMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first load of all the bean definitions and their executable methods, which initializes the
+ * generated classes and their annotation metadata, and reports how many metadata instances are shared.
+ */
+public class AnnotationMetadataFootprintBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        report();
+
+        // Every fork measures a single cold load, class initialization only happens once per JVM
+        Options opt = new OptionsBuilder()
+            .include(AnnotationMetadataFootprintBenchmark.class.getName() + ".*")
+            .mode(Mode.SingleShotTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(0)
+            .measurementIterations(1)
+            .forks(10)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public Footprint loadMetadata() {
+        try (ApplicationContext ctx = ApplicationContext.run()) {
+            return Footprint.of(ctx);
+        }
+    }
+
+    private static void report() {
+        try (ApplicationContext ctx = ApplicationContext.run()) {
+            Footprint footprint = Footprint.of(ctx);
+            System.out.println("Bean definitions:              " + footprint.beanDefinitions);
+            System.out.println("Executable methods:            " + footprint.methods);
+            System.out.println("Annotation metadata references: " + footprint.references);
+            System.out.println("Distinct metadata instances:   " + footprint.distinct.size());
+            System.out.println("Shared metadata instances:     " + AnnotationMetadataSupport.getSharedMetadataCount());
+        }
+    }
+
+    /**
+     * The collected metadata.
+     */
+    public static final class Footprint {
+        int beanDefinitions;
+        int methods;
+        int references;
+        final Set<AnnotationMetadata> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        static Footprint of(ApplicationContext ctx) {
+            Footprint footprint = new Footprint();
+            for (BeanDefinition<?> definition : ctx.getAllBeanDefinitions()) {
+                footprint.beanDefinitions++;
+                footprint.add(definition.getAnnotationMetadata());
+                for (ExecutableMethod<?, ?> method : definition.getExecutableMethods()) {
+                    footprint.methods++;
+                    footprint.add(method.getAnnotationMetadata());
+                }
+            }
+            return footprint;
+        }
+
+        private void add(AnnotationMetadata annotationMetadata) {
+            annotationMetadata = annotationMetadata.getTargetAnnotationMetadata();
+            if (annotationMetadata instanceof AnnotationMetadataHierarchy hierarchy) {
+                for (AnnotationMetadata metadata : hierarchy) {
+                    add(metadata);
+                }
+            } else if (!annotationMetadata.isEmpty()) {
+                references++;
+                distinct.add(annotationMetadata);
+            }
+        }
+    }
+}
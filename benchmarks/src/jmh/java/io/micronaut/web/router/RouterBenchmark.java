@@ -0,0 +1,109 @@
+package io.micronaut.web.router;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.http.HttpRequest;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class RouterBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(RouterBenchmark.class.getName() + ".*")
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public UriRouteMatch<Object, Object> staticRoute(S s) {
+        return s.router.findClosest(s.staticRequest);
+    }
+
+    @Benchmark
+    public UriRouteMatch<Object, Object> variableRoute(S s) {
+        return s.router.findClosest(s.variableRequest);
+    }
+
+    @Benchmark
+    public List<UriRouteMatch<Object, Object>> notFound(S s) {
+        return s.router.findAllClosest(s.notFoundRequest);
+    }
+
+    @State(Scope.Thread)
+    public static class S {
+        @Param({"10", "100", "1000"})
+        int routes;
+        @Param({"false", "true"})
+        boolean routeIndex;
+
+        ApplicationContext ctx;
+        Router router;
+        HttpRequest<?> staticRequest;
+        HttpRequest<?> variableRequest;
+        HttpRequest<?> notFoundRequest;
+
+        @Setup
+        public void setUp() {
+            ctx = ApplicationContext.run();
+            RouteBenchmarkController controller = ctx.getBean(RouteBenchmarkController.class);
+            BenchmarkRouteBuilder builder = new BenchmarkRouteBuilder(ctx);
+            // each resource has three routes
+            int resources = routes / 3;
+            for (int i = 0; i < resources; i++) {
+                builder.GET("/resource" + i, controller, "handle");
+                builder.GET("/resource" + i + "/{id}", controller, "handle");
+                builder.GET("/resource" + i + "/{id}/items", controller, "handle");
+            }
+            RouterConfiguration configuration = new RouterConfiguration();
+            configuration.setRouteIndex(routeIndex);
+            router = new DefaultRouter(List.of(builder), configuration);
+
+            int last = resources - 1;
+            staticRequest = HttpRequest.GET("/resource" + last);
+            variableRequest = HttpRequest.GET("/resource" + last + "/42/items");
+            notFoundRequest = HttpRequest.GET("/wp-admin/install.php");
+            if (router.findClosest(staticRequest) == null || router.findClosest(variableRequest) == null) {
+                throw new AssertionError("Routes not matched");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ctx.close();
+        }
+    }
+
+    static class BenchmarkRouteBuilder extends DefaultRouteBuilder {
+        BenchmarkRouteBuilder(ApplicationContext beanContext) {
+            super(beanContext);
+        }
+    }
+
+    @Singleton
+    @Executable
+    static class RouteBenchmarkController {
+        String handle() {
+            return "ok";
+        }
+    }
+}
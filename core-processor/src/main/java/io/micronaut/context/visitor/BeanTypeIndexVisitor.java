@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.visitor;
+
+import io.micronaut.context.BeanTypeIndex;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.core.type.DefaultArgument;
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.Element;
+import io.micronaut.inject.ast.beans.BeanElement;
+import io.micronaut.inject.visitor.BeanElementVisitor;
+import io.micronaut.inject.visitor.VisitorContext;
+import io.micronaut.inject.writer.BeanDefinitionVisitor;
+import io.micronaut.inject.writer.ClassGenerationException;
+import io.micronaut.inject.writer.GeneratedFile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Writes the {@link BeanTypeIndex} of the beans of the compiled module, so that the bean context can
+ * find the candidates of a type without checking every bean definition.
+ *
+ * <p>The visitor is disabled by default, enable it with the {@value #INDEX_OPTION} processor option. The
+ * index aggregates all the beans of the module, so enabling it makes the bean definition processor an
+ * aggregating processor for incremental compilation.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class BeanTypeIndexVisitor implements BeanElementVisitor<Annotation> {
+
+    /**
+     * The processor option enabling the index.
+     */
+    public static final String INDEX_OPTION = "micronaut.processing.bean.type.index";
+
+    private final Map<String, Set<String>> beanTypes = new TreeMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+    private boolean enabled = false;
+
+    @Override
+    public int getOrder() {
+        // after the visitors that can disable the bean
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void start(VisitorContext visitorContext) {
+        enabled = Boolean.parseBoolean(visitorContext.getOptions().getOrDefault(INDEX_OPTION, "false"));
+        beanTypes.clear();
+        originatingElements.clear();
+    }
+
+    @Override
+    public BeanElement visitBeanElement(@NonNull BeanElement beanElement, @NonNull VisitorContext visitorContext) {
+        // container beans are candidates for any type and aren't indexed
+        if (enabled && beanElement instanceof BeanDefinitionVisitor definition
+            && !DefaultArgument.CONTAINER_TYPES.contains(definition.getBeanTypeName())) {
+            Set<String> types = new TreeSet<>();
+            for (ClassElement type : beanElement.getBeanTypes()) {
+                if (type.isArray() || type.isPrimitive()) {
+                    return beanElement;
+                }
+                types.add(type.getName());
+            }
+            types.remove(Object.class.getName());
+            beanTypes.put(definition.getBeanDefinitionName(), types);
+            originatingElements.add(beanElement.getOriginatingElement());
+        }
+        return beanElement;
+    }
+
+    @Override
+    public void finish(VisitorContext visitorContext) {
+        if (!enabled || beanTypes.isEmpty()) {
+            return;
+        }
+        Optional<GeneratedFile> indexFile = visitorContext.visitMetaInfFile(BeanTypeIndex.FILE_NAME, originatingElements.toArray(Element.EMPTY_ELEMENT_ARRAY));
+        if (indexFile.isPresent()) {
+            try (Writer writer = indexFile.get().openWriter()) {
+                for (Map.Entry<String, Set<String>> entry : beanTypes.entrySet()) {
+                    writer.write(entry.getKey());
+                    for (String type : entry.getValue()) {
+                        writer.write(' ');
+                        writer.write(type);
+                    }
+                    writer.write('\n');
+                }
+            } catch (IOException e) {
+                throw new ClassGenerationException("Failed to write the bean type index: " + e.getMessage(), e);
+            }
+        }
+        beanTypes.clear();
+        originatingElements.clear();
+    }
+}
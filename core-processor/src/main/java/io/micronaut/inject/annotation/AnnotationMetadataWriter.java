@@ -146,7 +146,28 @@ public class AnnotationMetadataWriter extends AbstractClassFileWriter {
             Object.class
         ));
 
+    private static final org.objectweb.asm.commons.Method METHOD_GET_SHARED_METADATA = Method.getMethod(
+            ReflectionUtils.getRequiredInternalMethod(
+                    DefaultAnnotationMetadata.class,
+                    "getSharedMetadata",
+                    Class.class,
+                    String.class
+            )
+    );
+
+    private static final org.objectweb.asm.commons.Method METHOD_SHARE_METADATA = Method.getMethod(
+            ReflectionUtils.getRequiredInternalMethod(
+                    DefaultAnnotationMetadata.class,
+                    "shareMetadata",
+                    Class.class,
+                    String.class,
+                    AnnotationMetadata.class
+            )
+    );
+
     private static final String LOAD_CLASS_PREFIX = "$micronaut_load_class_value_";
+    private static final String LOAD_METADATA_PREFIX = "$micronaut_load_annotation_metadata_";
+    private static final String SHARED_METADATA_KEY_PREFIX = "annotation-metadata:";
 
     private final String className;
     private final AnnotationMetadata annotationMetadata;
@@ -250,7 +271,12 @@ public class AnnotationMetadataWriter extends AbstractClassFileWriter {
     @Internal
     @UsedByGeneratedCode
     public static void instantiateNewMetadata(Type owningType, ClassWriter declaringClassWriter, GeneratorAdapter generatorAdapter, MutableAnnotationMetadata annotationMetadata, Map<String, Integer> defaultsStorage, Map<String, GeneratorAdapter> loadTypeMethods) {
-        instantiateInternal(owningType, declaringClassWriter, generatorAdapter, annotationMetadata, true, defaultsStorage, loadTypeMethods);
+        String sharedKey = SharedAnnotationMetadataKey.of(annotationMetadata);
+        if (sharedKey == null) {
+            instantiateInternal(owningType, declaringClassWriter, generatorAdapter, annotationMetadata, true, defaultsStorage, loadTypeMethods);
+        } else {
+            invokeLoadSharedMetadataMethod(owningType, declaringClassWriter, generatorAdapter, annotationMetadata, sharedKey, defaultsStorage, loadTypeMethods);
+        }
     }
 
     /**
@@ -756,6 +782,64 @@ public class AnnotationMetadataWriter extends AbstractClassFileWriter {
         methodVisitor.getStatic(Type.getType(ArrayUtils.class), "EMPTY_OBJECT_ARRAY", Type.getType(Object[].class));
     }
 
+    /**
+     * Invokes the method that loads the metadata shared by the generated classes with the same metadata content.
+     * The method is generated once per class and metadata content, and only instantiates the metadata if no other
+     * class of the same class loader has shared it yet.
+     */
+    private static void invokeLoadSharedMetadataMethod(
+            Type declaringType,
+            ClassWriter declaringClassWriter,
+            GeneratorAdapter methodVisitor,
+            MutableAnnotationMetadata annotationMetadata,
+            String sharedKey,
+            Map<String, Integer> defaultsStorage,
+            Map<String, GeneratorAdapter> loadTypeMethods) {
+        final String desc = getMethodDescriptor(AnnotationMetadata.class, Collections.emptyList());
+        final String methodKey = SHARED_METADATA_KEY_PREFIX + sharedKey;
+        GeneratorAdapter loadMetadataMethod = loadTypeMethods.get(methodKey);
+        if (loadMetadataMethod == null) {
+            final String methodName = LOAD_METADATA_PREFIX + loadTypeMethods.size();
+            loadMetadataMethod = new GeneratorAdapter(declaringClassWriter.visitMethod(
+                    ACC_STATIC | ACC_SYNTHETIC,
+                    methodName,
+                    desc,
+                    null,
+                    null
+            ), ACC_STATIC | ACC_SYNTHETIC, methodName, desc);
+            loadTypeMethods.put(methodKey, loadMetadataMethod);
+
+            // This logic will generate a method such as the following:
+            //
+            // AnnotationMetadata $micronaut_load_annotation_metadata_0() {
+            //     AnnotationMetadata metadata = DefaultAnnotationMetadata.getSharedMetadata($Owner.class, "<key>");
+            //     if (metadata != null) {
+            //          return metadata;
+            //     }
+            //     return DefaultAnnotationMetadata.shareMetadata($Owner.class, "<key>", new DefaultAnnotationMetadata(...));
+            // }
+
+            loadMetadataMethod.visitCode();
+            Label create = new Label();
+            loadMetadataMethod.push(declaringType);
+            loadMetadataMethod.push(sharedKey);
+            loadMetadataMethod.invokeStatic(TYPE_DEFAULT_ANNOTATION_METADATA, METHOD_GET_SHARED_METADATA);
+            loadMetadataMethod.visitInsn(DUP);
+            loadMetadataMethod.visitJumpInsn(IFNULL, create);
+            loadMetadataMethod.returnValue();
+            loadMetadataMethod.visitLabel(create);
+            loadMetadataMethod.visitFrame(F_NEW, 0, new Object[]{}, 1, new Object[]{Type.getInternalName(AnnotationMetadata.class)});
+            loadMetadataMethod.visitInsn(POP);
+            loadMetadataMethod.push(declaringType);
+            loadMetadataMethod.push(sharedKey);
+            instantiateInternal(declaringType, declaringClassWriter, loadMetadataMethod, annotationMetadata, true, defaultsStorage, loadTypeMethods);
+            loadMetadataMethod.invokeStatic(TYPE_DEFAULT_ANNOTATION_METADATA, METHOD_SHARE_METADATA);
+            loadMetadataMethod.returnValue();
+        }
+
+        methodVisitor.visitMethodInsn(INVOKESTATIC, declaringType.getInternalName(), loadMetadataMethod.getName(), desc, false);
+    }
+
     public static void invokeLoadClassValueMethod(
             Type declaringType,
             ClassVisitor declaringClassWriter,
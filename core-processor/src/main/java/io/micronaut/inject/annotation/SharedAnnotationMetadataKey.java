@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.annotation;
+
+import io.micronaut.core.annotation.AnnotationClassValue;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.expressions.EvaluatedExpressionReference;
+import io.micronaut.core.reflect.ReflectionUtils;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Computes the key of the annotation metadata that can be shared by the generated classes. The key is
+ * a digest of exactly the values the {@link AnnotationMetadataWriter} writes, so two metadata with the
+ * same key are instantiated into identical metadata at runtime.
+ *
+ * <p>The writer emits the entries of every map sorted by key into {@code Map.of}, so the runtime metadata
+ * doesn't depend on the declaration order of the annotations or their members. The key digests the maps in
+ * the same order, which makes the shared instance identical to the metadata each class would write, while
+ * the order of the lists and arrays, which the writer keeps, is part of the key.</p>
+ *
+ * <p>Metadata referencing classes or evaluated expressions is not shared, since those values are resolved
+ * by each generated class. The runtime metadata also caches the synthesized annotations of its class loader,
+ * so the metadata is only shared between the generated classes of the same class loader.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class SharedAnnotationMetadataKey {
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private SharedAnnotationMetadataKey() {
+    }
+
+    /**
+     * @param annotationMetadata The annotation metadata
+     * @return The key or null if the metadata cannot be shared
+     */
+    @Nullable
+    static String of(MutableAnnotationMetadata annotationMetadata) {
+        if (annotationMetadata.hasEvaluatedExpressions()) {
+            return null;
+        }
+        Set<String> sourceRetentionAnnotations = annotationMetadata.getSourceRetentionAnnotations();
+        SharedAnnotationMetadataKey key = new SharedAnnotationMetadataKey();
+        if (!key.appendAnnotationData(annotationMetadata.declaredAnnotations, sourceRetentionAnnotations)
+            || !key.appendAnnotationData(annotationMetadata.declaredStereotypes, sourceRetentionAnnotations)
+            || !key.appendAnnotationData(annotationMetadata.allStereotypes, sourceRetentionAnnotations)
+            || !key.appendAnnotationData(annotationMetadata.allAnnotations, sourceRetentionAnnotations)) {
+            return null;
+        }
+        key.appendAnnotationsByStereotype(annotationMetadata.annotationsByStereotype, sourceRetentionAnnotations);
+        key.builder.append(annotationMetadata.hasPropertyExpressions());
+        return key.digest();
+    }
+
+    private boolean appendAnnotationData(@Nullable Map<String, Map<CharSequence, Object>> annotationData,
+                                         Set<String> sourceRetentionAnnotations) {
+        builder.append('{');
+        if (annotationData != null) {
+            for (Map.Entry<String, Map<CharSequence, Object>> entry : sorted(annotationData).entrySet()) {
+                if (sourceRetentionAnnotations.contains(entry.getKey())) {
+                    continue;
+                }
+                appendString(entry.getKey());
+                if (!appendValues(entry.getValue())) {
+                    return false;
+                }
+            }
+        }
+        builder.append('}');
+        return true;
+    }
+
+    private void appendAnnotationsByStereotype(@Nullable Map<String, List<String>> annotationsByStereotype,
+                                               Set<String> sourceRetentionAnnotations) {
+        builder.append('{');
+        if (annotationsByStereotype != null) {
+            for (Map.Entry<String, List<String>> entry : sorted(annotationsByStereotype).entrySet()) {
+                if (sourceRetentionAnnotations.contains(entry.getKey())) {
+                    continue;
+                }
+                appendString(entry.getKey());
+                builder.append('[');
+                if (entry.getValue() != null) {
+                    entry.getValue().stream().filter(Objects::nonNull).forEach(this::appendString);
+                }
+                builder.append(']');
+            }
+        }
+        builder.append('}');
+    }
+
+    private boolean appendValues(@Nullable Map<CharSequence, Object> values) {
+        builder.append('{');
+        if (values != null) {
+            for (Map.Entry<String, Object> entry : sorted(values).entrySet()) {
+                if (!AnnotationMetadataWriter.isSupportedMapValue(entry.getValue())) {
+                    // Not written
+                    continue;
+                }
+                appendString(entry.getKey());
+                if (!appendValue(entry.getValue())) {
+                    return false;
+                }
+            }
+        }
+        builder.append('}');
+        return true;
+    }
+
+    private boolean appendValue(@Nullable Object value) {
+        if (value == null || value instanceof AnnotationClassValue<?> || value instanceof EvaluatedExpressionReference) {
+            return false;
+        } else if (value instanceof String || value instanceof Enum<?>) {
+            // Enum values are written as strings
+            builder.append('S');
+            appendString(value.toString());
+        } else if (value.getClass().isArray()) {
+            Class<?> componentType = value.getClass().getComponentType();
+            builder.append('[').append(componentType.isEnum() || componentType == Enum.class ? String.class.getName() : ReflectionUtils.getPrimitiveType(componentType).getName());
+            int len = Array.getLength(value);
+            builder.append(':').append(len);
+            for (int i = 0; i < len; i++) {
+                if (!appendValue(Array.get(value, i))) {
+                    return false;
+                }
+            }
+            builder.append(']');
+        } else if (value instanceof Collection<?> collection) {
+            builder.append('L');
+            boolean first = true;
+            for (Object v : collection) {
+                if (first) {
+                    builder.append(v == null ? Object.class.getName() : v.getClass().getName()).append(':').append(collection.size());
+                    first = false;
+                }
+                if (!appendValue(v)) {
+                    return false;
+                }
+            }
+            builder.append(']');
+        } else if (value instanceof AnnotationValue<?> annotationValue) {
+            builder.append('@');
+            appendString(annotationValue.getAnnotationName());
+            return appendValues(annotationValue.getValues());
+        } else if (value instanceof Boolean || value instanceof Number || value instanceof Character) {
+            builder.append(value.getClass().getName()).append(':').append(value).append(';');
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void appendString(String value) {
+        builder.append(value.length()).append(':').append(value);
+    }
+
+    /**
+     * Orders the entries the way {@code AbstractClassFileWriter#pushStringMapOf} writes them.
+     *
+     * @param map The map
+     * @param <V> The value type
+     * @return The entries sorted by key, without the null keys
+     */
+    private static <V> Map<String, V> sorted(Map<? extends CharSequence, V> map) {
+        Map<String, V> sorted = new TreeMap<>();
+        for (Map.Entry<? extends CharSequence, V> entry : map.entrySet()) {
+            if (entry.getKey() != null) {
+                sorted.put(entry.getKey().toString(), entry.getValue());
+            }
+        }
+        return sorted;
+    }
+
+    private String digest() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+}
@@ -22,7 +22,9 @@ import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.discovery.ServiceInstanceList;
+import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.http.client.loadbalance.DiscoveryClientLoadBalancerFactory;
+import io.micronaut.http.client.loadbalance.LoadBalancingStrategy;
 import io.micronaut.http.client.loadbalance.ServiceInstanceListLoadBalancerFactory;
 import io.micronaut.runtime.server.EmbeddedServer;
 import jakarta.inject.Inject;
@@ -45,6 +47,9 @@ import java.util.Optional;
  * <li>Otherwise delegate to the {@link io.micronaut.discovery.DiscoveryClient} to attempt to resolve the URIs</li>
  * </ul>
  *
+ * <p>The load balancer of a service ID uses the {@link ServiceHttpClientConfiguration#getLoadBalancer() strategy}
+ * of the {@code micronaut.http.services} configuration with the same name, if any.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -121,12 +126,15 @@ public class DefaultLoadBalancerResolver implements LoadBalancerResolver {
      * @return An {@link Optional} with the load balancer
      */
     protected Optional<? extends LoadBalancer> resolveLoadBalancerForServiceID(String serviceID) {
+        LoadBalancingStrategy strategy = beanContext.findBean(ServiceHttpClientConfiguration.class, Qualifiers.byName(serviceID))
+            .map(ServiceHttpClientConfiguration::getLoadBalancer)
+            .orElse(ServiceHttpClientConfiguration.DEFAULT_LOAD_BALANCER);
         if (serviceInstanceLists.containsKey(serviceID)) {
             ServiceInstanceList serviceInstanceList = serviceInstanceLists.get(serviceID);
-            LoadBalancer loadBalancer = beanContext.getBean(ServiceInstanceListLoadBalancerFactory.class).create(serviceInstanceList);
+            LoadBalancer loadBalancer = beanContext.getBean(ServiceInstanceListLoadBalancerFactory.class).create(serviceInstanceList, strategy);
             return Optional.ofNullable(loadBalancer);
         } else {
-            LoadBalancer loadBalancer = beanContext.getBean(DiscoveryClientLoadBalancerFactory.class).create(serviceID);
+            LoadBalancer loadBalancer = beanContext.getBean(DiscoveryClientLoadBalancerFactory.class).create(serviceID, strategy);
             return Optional.of(loadBalancer);
         }
     }
@@ -30,6 +30,7 @@ import reactor.core.publisher.Flux;
 
 import java.io.Closeable;
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -140,6 +141,61 @@ public interface HttpClient extends Closeable, LifeCycle<HttpClient> {
         return exchange(request, Argument.of(bodyType));
     }
 
+    /**
+     * <p>Perform a batch of HTTP requests, emitting the full HTTP responses in the order of the
+     * requests and converting the response bodies to the specified type. The returned
+     * {@link Publisher} fails with the first error of any of the requests.</p>
+     *
+     * <p>The requests are sent concurrently. Implementations may send them together, e.g. the
+     * Netty client dispatches the requests to the same host on as few HTTP/2 connections as
+     * possible and writes them with as few flushes as possible.</p>
+     *
+     * @param requests  The {@link HttpRequest}s to execute
+     * @param bodyType  The body type
+     * @param errorType The error type
+     * @param <O>       The response body type
+     * @param <E>       The error type
+     * @return A {@link Publisher} that emits the full {@link HttpResponse} objects
+     * @since 4.8.0
+     */
+    default <O, E> Publisher<HttpResponse<O>> exchangeAll(@NonNull List<? extends HttpRequest<?>> requests, @NonNull Argument<O> bodyType, @NonNull Argument<E> errorType) {
+        if (requests.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(requests)
+            .flatMapSequential(request -> exchange(request, bodyType, errorType), requests.size());
+    }
+
+    /**
+     * Perform a batch of HTTP requests, emitting the full HTTP responses in the order of the
+     * requests and converting the response bodies to the specified type.
+     *
+     * @param requests The {@link HttpRequest}s to execute
+     * @param bodyType The body type
+     * @param <O>      The response body type
+     * @return A {@link Publisher} that emits the full {@link HttpResponse} objects
+     * @see #exchangeAll(List, Argument, Argument)
+     * @since 4.8.0
+     */
+    default <O> Publisher<HttpResponse<O>> exchangeAll(@NonNull List<? extends HttpRequest<?>> requests, @NonNull Argument<O> bodyType) {
+        return exchangeAll(requests, bodyType, DEFAULT_ERROR_TYPE);
+    }
+
+    /**
+     * Perform a batch of HTTP requests, emitting the full HTTP responses in the order of the
+     * requests and converting the response bodies to the specified type.
+     *
+     * @param requests The {@link HttpRequest}s to execute
+     * @param bodyType The body type
+     * @param <O>      The response body type
+     * @return A {@link Publisher} that emits the full {@link HttpResponse} objects
+     * @see #exchangeAll(List, Argument, Argument)
+     * @since 4.8.0
+     */
+    default <O> Publisher<HttpResponse<O>> exchangeAll(@NonNull List<? extends HttpRequest<?>> requests, @NonNull Class<O> bodyType) {
+        return exchangeAll(requests, Argument.of(bodyType));
+    }
+
     /**
      * Perform an HTTP request for the given request object emitting the full HTTP response from returned
      * {@link Publisher} and converting the response body to the specified type.
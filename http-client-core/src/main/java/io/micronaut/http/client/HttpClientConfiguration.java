@@ -114,6 +114,18 @@ public abstract class HttpClientConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final DnsResolutionMode DEFAULT_DNS_RESOLUTION_MODE = DnsResolutionMode.DEFAULT;
 
+    /**
+     * The default time failed DNS lookups are cached for, in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_DNS_CACHE_NEGATIVE_TTL_SECONDS = 5;
+
+    /**
+     * The default maximum body size of a cached response in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_RESPONSE_CACHE_MAX_ENTRY_SIZE = 1024 * 1024; // 1MiB
+
     private Map<String, Object> channelOptions = Collections.emptyMap();
 
     private Integer numOfThreads = null;
@@ -183,8 +195,26 @@ public abstract class HttpClientConfiguration {
     @Nullable
     private String addressResolverGroupName = null;
 
+    @Nullable
+    private List<SocketAddress> dnsServers = null;
+
+    @Nullable
+    private Duration dnsQueryTimeout = null;
+
+    @Nullable
+    private Duration dnsCacheMinTtl = null;
+
+    @Nullable
+    private Duration dnsCacheMaxTtl = null;
+
+    private Duration dnsCacheNegativeTtl = Duration.ofSeconds(DEFAULT_DNS_CACHE_NEGATIVE_TTL_SECONDS);
+
     private String pcapLoggingPathPattern = null;
 
+    private int responseCacheMaxEntries = 0;
+
+    private int responseCacheMaxEntrySize = DEFAULT_RESPONSE_CACHE_MAX_ENTRY_SIZE;
+
     /**
      * Default constructor.
      */
@@ -231,6 +261,13 @@ public abstract class HttpClientConfiguration {
             this.sslConfiguration = copy.sslConfiguration;
             this.threadFactory = copy.threadFactory;
             this.httpVersion = copy.httpVersion;
+            this.responseCacheMaxEntries = copy.responseCacheMaxEntries;
+            this.responseCacheMaxEntrySize = copy.responseCacheMaxEntrySize;
+            this.dnsServers = copy.dnsServers;
+            this.dnsQueryTimeout = copy.dnsQueryTimeout;
+            this.dnsCacheMinTtl = copy.dnsCacheMinTtl;
+            this.dnsCacheMaxTtl = copy.dnsCacheMaxTtl;
+            this.dnsCacheNegativeTtl = copy.dnsCacheNegativeTtl;
         }
     }
 
@@ -864,6 +901,122 @@ public abstract class HttpClientConfiguration {
         this.addressResolverGroupName = addressResolverGroupName;
     }
 
+    /**
+     * The DNS servers to query with the {@link DnsResolutionMode#ASYNC} resolution modes, or
+     * {@code null} to use the servers of the platform. This option is specific to the netty client.
+     *
+     * @return The DNS server addresses
+     * @since 4.8.0
+     */
+    public @Nullable List<SocketAddress> getDnsServers() {
+        return dnsServers;
+    }
+
+    /**
+     * The DNS servers to query with the {@link DnsResolutionMode#ASYNC} resolution modes, or
+     * {@code null} to use the servers of the platform. This option is specific to the netty client.
+     *
+     * @param dnsServers The DNS server addresses
+     * @since 4.8.0
+     */
+    public void setDnsServers(@Nullable List<SocketAddress> dnsServers) {
+        this.dnsServers = dnsServers;
+    }
+
+    /**
+     * The timeout of a DNS query with the {@link DnsResolutionMode#ASYNC} resolution modes, or
+     * {@code null} for the netty default. This option is specific to the netty client.
+     *
+     * @return The DNS query timeout
+     * @since 4.8.0
+     */
+    public @Nullable Duration getDnsQueryTimeout() {
+        return dnsQueryTimeout;
+    }
+
+    /**
+     * The timeout of a DNS query with the {@link DnsResolutionMode#ASYNC} resolution modes, or
+     * {@code null} for the netty default. This option is specific to the netty client.
+     *
+     * @param dnsQueryTimeout The DNS query timeout
+     * @since 4.8.0
+     */
+    public void setDnsQueryTimeout(@Nullable Duration dnsQueryTimeout) {
+        this.dnsQueryTimeout = dnsQueryTimeout;
+    }
+
+    /**
+     * The minimum time a resolved DNS record is cached for with the {@link DnsResolutionMode#ASYNC}
+     * resolution modes, regardless of its TTL. Defaults to no minimum. This option is specific to
+     * the netty client.
+     *
+     * @return The minimum cache TTL
+     * @since 4.8.0
+     */
+    public @Nullable Duration getDnsCacheMinTtl() {
+        return dnsCacheMinTtl;
+    }
+
+    /**
+     * The minimum time a resolved DNS record is cached for with the {@link DnsResolutionMode#ASYNC}
+     * resolution modes, regardless of its TTL. Defaults to no minimum. This option is specific to
+     * the netty client.
+     *
+     * @param dnsCacheMinTtl The minimum cache TTL
+     * @since 4.8.0
+     */
+    public void setDnsCacheMinTtl(@Nullable Duration dnsCacheMinTtl) {
+        this.dnsCacheMinTtl = dnsCacheMinTtl;
+    }
+
+    /**
+     * The maximum time a resolved DNS record is cached for with the {@link DnsResolutionMode#ASYNC}
+     * resolution modes, regardless of its TTL. Defaults to no maximum. This option is specific to
+     * the netty client.
+     *
+     * @return The maximum cache TTL
+     * @since 4.8.0
+     */
+    public @Nullable Duration getDnsCacheMaxTtl() {
+        return dnsCacheMaxTtl;
+    }
+
+    /**
+     * The maximum time a resolved DNS record is cached for with the {@link DnsResolutionMode#ASYNC}
+     * resolution modes, regardless of its TTL. Defaults to no maximum. This option is specific to
+     * the netty client.
+     *
+     * @param dnsCacheMaxTtl The maximum cache TTL
+     * @since 4.8.0
+     */
+    public void setDnsCacheMaxTtl(@Nullable Duration dnsCacheMaxTtl) {
+        this.dnsCacheMaxTtl = dnsCacheMaxTtl;
+    }
+
+    /**
+     * The time a failed DNS lookup is cached for with the {@link DnsResolutionMode#ASYNC}
+     * resolution modes. Default value ({@value #DEFAULT_DNS_CACHE_NEGATIVE_TTL_SECONDS} seconds).
+     * This option is specific to the netty client.
+     *
+     * @return The negative cache TTL
+     * @since 4.8.0
+     */
+    public @NonNull Duration getDnsCacheNegativeTtl() {
+        return dnsCacheNegativeTtl;
+    }
+
+    /**
+     * The time a failed DNS lookup is cached for with the {@link DnsResolutionMode#ASYNC}
+     * resolution modes. Default value ({@value #DEFAULT_DNS_CACHE_NEGATIVE_TTL_SECONDS} seconds).
+     * Set to zero to disable the negative cache. This option is specific to the netty client.
+     *
+     * @param dnsCacheNegativeTtl The negative cache TTL
+     * @since 4.8.0
+     */
+    public void setDnsCacheNegativeTtl(@NonNull Duration dnsCacheNegativeTtl) {
+        this.dnsCacheNegativeTtl = dnsCacheNegativeTtl;
+    }
+
     /**
      * Obtains the HTTP/2 configuration.
      *
@@ -897,6 +1050,52 @@ public abstract class HttpClientConfiguration {
         this.pcapLoggingPathPattern = pcapLoggingPathPattern;
     }
 
+    /**
+     * The maximum number of {@code GET} responses kept in the in-memory response cache of the
+     * client. Responses are cached according to their {@code Cache-Control} header, and stale
+     * responses with an {@code ETag} are revalidated with {@code If-None-Match}. A value of
+     * {@code 0} disables the cache. Only implemented for netty.
+     *
+     * @return The maximum number of cached responses
+     * @since 4.8.0
+     */
+    public int getResponseCacheMaxEntries() {
+        return responseCacheMaxEntries;
+    }
+
+    /**
+     * The maximum number of {@code GET} responses kept in the in-memory response cache of the
+     * client. Default value (0, cache disabled).
+     *
+     * @param responseCacheMaxEntries The maximum number of cached responses
+     * @since 4.8.0
+     */
+    public void setResponseCacheMaxEntries(int responseCacheMaxEntries) {
+        this.responseCacheMaxEntries = responseCacheMaxEntries;
+    }
+
+    /**
+     * The maximum body size of a response to be cached, in bytes. Larger responses are not
+     * cached.
+     *
+     * @return The maximum body size of a cached response
+     * @since 4.8.0
+     */
+    public int getResponseCacheMaxEntrySize() {
+        return responseCacheMaxEntrySize;
+    }
+
+    /**
+     * The maximum body size of a response to be cached, in bytes. Default value
+     * ({@value #DEFAULT_RESPONSE_CACHE_MAX_ENTRY_SIZE}).
+     *
+     * @param responseCacheMaxEntrySize The maximum body size of a cached response
+     * @since 4.8.0
+     */
+    public void setResponseCacheMaxEntrySize(int responseCacheMaxEntrySize) {
+        this.responseCacheMaxEntrySize = responseCacheMaxEntrySize;
+    }
+
     /**
      * Configuration for the HTTP client connnection pool.
      */
@@ -924,6 +1123,10 @@ public abstract class HttpClientConfiguration {
 
         private boolean enabled = DEFAULT_ENABLED;
 
+        private int minConnections;
+
+        private boolean adaptive;
+
         /**
          * Whether connection pooling is enabled.
          * [available in the Netty HTTP client]
@@ -1003,7 +1206,7 @@ public abstract class HttpClientConfiguration {
 
         /**
          * The maximum number of requests (streams) that can run concurrently on one HTTP2
-         * connection.
+         * connection. A lower concurrent stream limit advertised by the server takes precedence.
          * [available in the Netty HTTP client]
          * @return The maximum concurrent request count
          * @since 4.0.0
@@ -1062,6 +1265,54 @@ public abstract class HttpClientConfiguration {
         public void setMaxConcurrentHttp2Connections(int maxConcurrentHttp2Connections) {
             this.maxConcurrentHttp2Connections = maxConcurrentHttp2Connections;
         }
+
+        /**
+         * The minimum number of connections the pool opens when it is first used, or when the
+         * application starts for the clients of a configured service, and keeps open while
+         * requests are made. The maximum connection counts still apply.
+         * [available in the Netty HTTP client]
+         * @return The minimum connection count
+         * @since 4.8.0
+         */
+        public int getMinConnections() {
+            return minConnections;
+        }
+
+        /**
+         * The minimum number of connections the pool opens when it is first used, or when the
+         * application starts for the clients of a configured service, and keeps open while
+         * requests are made. Default value (0).
+         *
+         * @param minConnections The minimum connection count
+         * @since 4.8.0
+         */
+        public void setMinConnections(int minConnections) {
+            this.minConnections = minConnections;
+        }
+
+        /**
+         * Whether the pool size adapts to the load. An adaptive pool only opens a new connection
+         * for a pending request once the request has waited longer than it takes on average to
+         * establish a connection, and closes idle connections that were not needed during the
+         * last few seconds.
+         * The maximum connection counts still apply.
+         * [available in the Netty HTTP client]
+         * @return {@code true} if the pool size is adaptive
+         * @since 4.8.0
+         */
+        public boolean isAdaptive() {
+            return adaptive;
+        }
+
+        /**
+         * Whether the pool size adapts to the load. Default value (false).
+         *
+         * @param adaptive {@code true} if the pool size is adaptive
+         * @since 4.8.0
+         */
+        public void setAdaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+        }
     }
 
     /**
@@ -1120,6 +1371,8 @@ public abstract class HttpClientConfiguration {
 
         private Duration pingIntervalIdle = null;
 
+        private Duration pingAckTimeout = null;
+
         /**
          * For HTTP/2 connections, the interval from the last inbound message to when an automated ping
          * should be sent. This can be used to keep low-traffic connections alive.
@@ -1182,6 +1435,31 @@ public abstract class HttpClientConfiguration {
         public void setPingIntervalIdle(@Nullable Duration pingIntervalIdle) {
             this.pingIntervalIdle = pingIntervalIdle;
         }
+
+        /**
+         * For HTTP/2 connections, the time to wait for the acknowledgement of an automated ping
+         * before the connection is considered dead and closed. This evicts broken connections from
+         * the pool before a request picks them up. Only applies if one of the ping intervals is set.
+         *
+         * @return The timeout for ping acknowledgements, or {@code null} to never close the connection
+         * @since 4.8.0
+         */
+        @Nullable
+        public Duration getPingAckTimeout() {
+            return pingAckTimeout;
+        }
+
+        /**
+         * For HTTP/2 connections, the time to wait for the acknowledgement of an automated ping
+         * before the connection is considered dead and closed. This evicts broken connections from
+         * the pool before a request picks them up. Only applies if one of the ping intervals is set.
+         *
+         * @param pingAckTimeout The timeout for ping acknowledgements
+         * @since 4.8.0
+         */
+        public void setPingAckTimeout(@Nullable Duration pingAckTimeout) {
+            this.pingAckTimeout = pingAckTimeout;
+        }
     }
 
     /**
@@ -1203,5 +1481,19 @@ public abstract class HttpClientConfiguration {
          * Pick a random resolved record for each connection.
          */
         ROUND_ROBIN,
+        /**
+         * Non-blocking resolution with the netty DNS resolver. Records are cached according to
+         * their TTL and failed lookups are cached too. Requires {@code io.netty:netty-resolver-dns}
+         * on the classpath.
+         *
+         * @since 4.8.0
+         */
+        ASYNC,
+        /**
+         * Like {@link #ASYNC}, but pick a random resolved record for each connection.
+         *
+         * @since 4.8.0
+         */
+        ASYNC_ROUND_ROBIN,
     }
 }
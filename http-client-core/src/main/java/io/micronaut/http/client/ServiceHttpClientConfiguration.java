@@ -20,6 +20,7 @@ import io.micronaut.context.annotation.EachProperty;
 import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.http.client.loadbalance.LoadBalancingStrategy;
 import io.micronaut.http.context.ClientContextPathProvider;
 import io.micronaut.http.ssl.AbstractClientSslConfiguration;
 import io.micronaut.http.ssl.SslConfiguration;
@@ -67,6 +68,13 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     @SuppressWarnings("WeakerAccess")
     public static final long DEFAULT_HEALTHCHECKINTERVAL_SECONDS = 30;
 
+    /**
+     * The default load balancing strategy.
+     *
+     * @since 4.8.0
+     */
+    public static final LoadBalancingStrategy DEFAULT_LOAD_BALANCER = LoadBalancingStrategy.ROUND_ROBIN;
+
     private final String serviceId;
     private final ServiceConnectionPoolConfiguration connectionPoolConfiguration;
     private final ServiceWebSocketCompressionConfiguration webSocketCompressionConfiguration;
@@ -76,6 +84,7 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     private boolean healthCheck = DEFAULT_HEALTHCHECK;
     private Duration healthCheckInterval = Duration.ofSeconds(DEFAULT_HEALTHCHECKINTERVAL_SECONDS);
     private String path;
+    private LoadBalancingStrategy loadBalancer = DEFAULT_LOAD_BALANCER;
 
     /**
      * Creates a new client configuration for the given service ID.
@@ -288,6 +297,28 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
         }
     }
 
+    /**
+     * The strategy to select an instance of the service.
+     *
+     * @return The load balancing strategy
+     * @since 4.8.0
+     */
+    public LoadBalancingStrategy getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    /**
+     * Sets the strategy to select an instance of the service. Default value (round-robin).
+     *
+     * @param loadBalancer The load balancing strategy
+     * @since 4.8.0
+     */
+    public void setLoadBalancer(LoadBalancingStrategy loadBalancer) {
+        if (loadBalancer != null) {
+            this.loadBalancer = loadBalancer;
+        }
+    }
+
     @Override
     public ConnectionPoolConfiguration getConnectionPoolConfiguration() {
         return connectionPoolConfiguration;
@@ -308,6 +339,32 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
      */
     @ConfigurationProperties(ConnectionPoolConfiguration.PREFIX)
     public static class ServiceConnectionPoolConfiguration extends ConnectionPoolConfiguration {
+
+        private int warmupConnections;
+
+        /**
+         * The number of connections to open to each URL of the service when the application
+         * starts, so that the first requests don't wait for the DNS resolution, the TCP and TLS
+         * handshakes.
+         * [available in the Netty HTTP client]
+         *
+         * @return The number of connections to open at startup
+         * @since 4.8.0
+         */
+        public int getWarmupConnections() {
+            return warmupConnections;
+        }
+
+        /**
+         * The number of connections to open to each URL of the service when the application
+         * starts. Default value (0).
+         *
+         * @param warmupConnections The number of connections to open at startup
+         * @since 4.8.0
+         */
+        public void setWarmupConnections(int warmupConnections) {
+            this.warmupConnections = warmupConnections;
+        }
     }
 
     /**
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Enables request hedging for the methods of a declarative {@link Client}. If the response of a
+ * {@code GET}, {@code HEAD} or {@code OPTIONS} request has not arrived after the hedging delay,
+ * the request is sent a second time. The second request goes through the load balancer again and
+ * usually reaches another instance of the service. The first response wins and the other request
+ * is cancelled.
+ *
+ * <p>Hedging applies to methods with a single result. Other HTTP methods and streaming results are
+ * never hedged.</p>
+ *
+ * @since 4.8.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Hedged {
+
+    /**
+     * The fixed delay before the request is hedged. If a {@link #percentile()} is set, this is the
+     * delay until enough latencies have been observed.
+     *
+     * @return The hedging delay
+     */
+    String delay() default "100ms";
+
+    /**
+     * The percentile of the recently observed latencies of the method to use as the hedging delay,
+     * for example {@code 95}. Set to {@code 0} to always use the fixed {@link #delay()}.
+     *
+     * @return The latency percentile
+     */
+    double percentile() default 0;
+}
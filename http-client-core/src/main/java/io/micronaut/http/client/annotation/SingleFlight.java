@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Enables single-flight mode for the methods of a declarative {@link Client}. While a
+ * {@code GET}, {@code HEAD} or {@code OPTIONS} request is in flight, identical requests (same
+ * method, URI and headers) do not go to the server again but share the response of the
+ * in-flight request. Every caller receives its own copy of the response.
+ *
+ * <p>Single-flight applies to methods whose response is read fully. Other HTTP methods, requests
+ * with a body and streaming results are never shared.</p>
+ *
+ * @since 4.8.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface SingleFlight {
+}
@@ -61,14 +61,18 @@ import io.micronaut.http.client.HttpClientRegistry;
 import io.micronaut.http.client.ReactiveClientResultTransformer;
 import io.micronaut.http.client.StreamingHttpClient;
 import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.annotation.Hedged;
+import io.micronaut.http.client.annotation.SingleFlight;
 import io.micronaut.http.client.bind.ClientArgumentRequestBinder;
 import io.micronaut.http.client.bind.ClientRequestUriContext;
 import io.micronaut.http.client.bind.HttpClientBinderRegistry;
+import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.http.client.sse.SseClient;
 import io.micronaut.http.sse.Event;
 import io.micronaut.http.uri.UriBuilder;
 import io.micronaut.http.uri.UriMatchTemplate;
+import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.json.codec.JsonMediaTypeCodec;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
@@ -76,10 +80,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.Closeable;
 import java.lang.annotation.Annotation;
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -91,6 +97,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 /**
@@ -110,12 +117,14 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
      * The default Accept-Types.
      */
     private static final MediaType[] DEFAULT_ACCEPT_TYPES = {MediaType.APPLICATION_JSON_TYPE};
+    private static final Duration DEFAULT_HEDGING_DELAY = Duration.ofMillis(100);
 
     private final List<ReactiveClientResultTransformer> transformers;
     private final HttpClientBinderRegistry binderRegistry;
     private final JsonMediaTypeCodec jsonMediaTypeCodec;
     private final HttpClientRegistry<?> clientFactory;
     private final ConversionService conversionService;
+    private final Map<ExecutableMethod<?, ?>, RequestHedging> hedging = new ConcurrentHashMap<>();
 
     /**
      * Constructor for advice class to set up things like Headers, Cookies, Parameters for Clients.
@@ -214,6 +223,11 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                                      Argument<?> errorType) {
 
         Class<?> javaReturnType = returnType.getType();
+        RequestHedging requestHedging = findRequestHedging(context, httpMethod);
+        if (requestHedging != null) {
+            return handleHedgedBlockingCall(context, returnType, httpClient, httpMethod, httpMethodName, uriToBind,
+                interceptedMethod, annotationMetadata, errorType, requestHedging);
+        }
         BlockingHttpClient blockingHttpClient = httpClient.toBlocking();
         RequestBinderResult binderResult = bindRequest(context, httpMethod, httpMethodName, uriToBind, interceptedMethod, annotationMetadata);
 
@@ -242,6 +256,79 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         }
     }
 
+    @Nullable
+    private Object handleHedgedBlockingCall(MethodInvocationContext<Object, Object> context,
+                                            ReturnType<?> returnType,
+                                            HttpClient httpClient,
+                                            HttpMethod httpMethod,
+                                            String httpMethodName,
+                                            String uriToBind,
+                                            InterceptedMethod interceptedMethod,
+                                            AnnotationMetadata annotationMetadata,
+                                            Argument<?> errorType,
+                                            RequestHedging requestHedging) {
+
+        if (Schedulers.isInNonBlockingThread()) {
+            throw new HttpClientException("""
+                You are trying to run a blocking @Hedged client method on a non-blocking thread, \
+                such as a netty event loop. Event loops should never be blocked. You can either \
+                mark your controller as @ExecuteOn(TaskExecutors.BLOCKING), or use a reactive \
+                return type for the client method.""");
+        }
+        Class<?> javaReturnType = returnType.getType();
+        // every subscription binds and sends a new request with the reactive client, so that the
+        // losing request is cancelled, and only the caller blocks on the winner
+        Mono<Object> call = Mono.defer(() -> {
+            RequestBinderResult binderResult = bindRequest(context, httpMethod, httpMethodName, uriToBind, interceptedMethod, annotationMetadata);
+            if (binderResult.isError()) {
+                return Mono.justOrEmpty(binderResult.errorResult());
+            }
+            MutableHttpRequest<?> request = binderResult.request();
+            if (void.class == javaReturnType || httpMethod == HttpMethod.HEAD) {
+                request.getHeaders().remove(HttpHeaders.ACCEPT);
+            }
+            if (HttpResponse.class.isAssignableFrom(javaReturnType)) {
+                return Mono.from(httpClient.exchange(request,
+                    returnType.asArgument().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT),
+                    errorType
+                ));
+            } else if (void.class == javaReturnType) {
+                return Mono.from(httpClient.exchange(request, null, errorType)).then(Mono.empty());
+            } else {
+                Argument<?> bodyType = returnType.asArgument();
+                return Mono.from(httpClient.exchange(request, bodyType, errorType))
+                    .map(response -> retrievedBody(response, bodyType));
+            }
+        });
+        Mono<Object> hedged = requestHedging.hedge(call);
+        return handleBlockingCall(javaReturnType, hedged::block);
+    }
+
+    /**
+     * The body of a response, like {@link BlockingHttpClient#retrieve(HttpRequest, Argument, Argument)}
+     * returns it.
+     *
+     * @param response The response
+     * @param bodyType The body type
+     * @return The body
+     */
+    private static Object retrievedBody(HttpResponse<?> response, Argument<?> bodyType) {
+        if (HttpStatus.class.isAssignableFrom(bodyType.getType())) {
+            return response.getStatus();
+        }
+        Optional<?> body = response.getBody();
+        if (body.isEmpty() && response.getBody(Argument.of(byte[].class)).isPresent()) {
+            throw new HttpClientResponseException(
+                "Failed to decode the body for the given content type [%s]".formatted(response.getContentType().orElse(null)),
+                response
+            );
+        }
+        return body.orElseThrow(() -> new HttpClientResponseException(
+            "Empty body",
+            response
+        ));
+    }
+
     private Object handleCompletionStage(MethodInvocationContext<Object, Object> context,
                                          HttpMethod httpMethod,
                                          String httpMethodName,
@@ -258,6 +345,10 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         Publisher<RequestBinderResult> csRequestPublisher = Mono.fromCallable(() ->
             bindRequest(context, httpMethod, httpMethodName, uriToBind, interceptedMethod, annotationMetadata));
         Publisher<?> csPublisher = httpClientResponsePublisher(httpClient, csRequestPublisher, returnType, errorType, valueType);
+        RequestHedging requestHedging = findRequestHedging(context, httpMethod);
+        if (requestHedging != null) {
+            csPublisher = requestHedging.hedge(csPublisher);
+        }
         CompletableFuture<Object> future = new CompletableFuture<>();
         csPublisher.subscribe(new CompletionAwareSubscriber<Object>() {
             Object message;
@@ -331,6 +422,10 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
             publisher = httpClientResponseStreamingPublisher(client, context, requestPublisher, errorType, valueType);
         } else {
             publisher = httpClientResponsePublisher(httpClient, requestPublisher, returnType, errorType, valueType);
+            RequestHedging requestHedging = findRequestHedging(context, httpMethod);
+            if (isSingle && requestHedging != null) {
+                publisher = requestHedging.hedge(publisher);
+            }
         }
         Object finalPublisher = interceptedMethod.handleResult(publisher);
         for (ReactiveClientResultTransformer transformer : transformers) {
@@ -339,6 +434,38 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         return finalPublisher;
     }
 
+    /**
+     * Find the hedging state of a {@link Hedged} client method.
+     *
+     * @param method The client method
+     * @return The hedging state, if the method was invoked and is hedged
+     * @since 4.8.0
+     */
+    public Optional<RequestHedging> findRequestHedging(ExecutableMethod<?, ?> method) {
+        return Optional.ofNullable(hedging.get(method));
+    }
+
+    @Nullable
+    private RequestHedging findRequestHedging(MethodInvocationContext<Object, Object> context, HttpMethod httpMethod) {
+        if (!context.hasAnnotation(Hedged.class)) {
+            return null;
+        }
+        if (!isSafe(httpMethod)) {
+            // only safe requests can be sent twice
+            return null;
+        }
+        return hedging.computeIfAbsent(context.getExecutableMethod(), method -> new RequestHedging(
+            context.stringValue(Hedged.class, "delay")
+                .flatMap(delay -> conversionService.convert(delay, Duration.class))
+                .orElse(DEFAULT_HEDGING_DELAY),
+            context.doubleValue(Hedged.class, "percentile").orElse(0)
+        ));
+    }
+
+    private static boolean isSafe(HttpMethod httpMethod) {
+        return httpMethod == HttpMethod.GET || httpMethod == HttpMethod.HEAD || httpMethod == HttpMethod.OPTIONS;
+    }
+
     @NonNull
     private RequestBinderResult bindRequest(MethodInvocationContext<Object, Object> context,
                                             HttpMethod httpMethod,
@@ -422,6 +549,9 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         }
 
         request.setAttribute(HttpAttributes.INVOCATION_CONTEXT, context);
+        if (isSafe(httpMethod) && context.hasAnnotation(SingleFlight.class)) {
+            request.setAttribute(HttpAttributes.SINGLE_FLIGHT, true);
+        }
         // Set the URI template used to make the request for tracing purposes
         request.setAttribute(HttpAttributes.URI_TEMPLATE, resolveTemplate(annotationMetadata, uriTemplate.toString()));
 
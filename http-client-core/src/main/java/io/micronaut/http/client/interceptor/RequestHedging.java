@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.interceptor;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.http.client.annotation.Hedged;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.http.client.exceptions.ReadTimeoutException;
+import org.reactivestreams.Publisher;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The hedging state of a {@link Hedged} client method: the hedging delay, derived from the recent
+ * latencies of the method if a percentile is configured, and the counters of the hedged requests.
+ *
+ * @since 4.8.0
+ */
+public final class RequestHedging {
+
+    /**
+     * Number of latencies kept to compute the percentile.
+     */
+    private static final int SAMPLES = 128;
+    /**
+     * The percentile is recomputed whenever this many latencies were recorded.
+     */
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    private final double percentile;
+    private final AtomicLongArray samples;
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final LongAdder hedgesIssued = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private volatile long delayNanos;
+
+    /**
+     * @param delay      The fixed delay, or the delay until enough latencies are recorded
+     * @param percentile The latency percentile to use as delay, or {@code 0} for the fixed delay
+     */
+    RequestHedging(@NonNull Duration delay, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Hedging percentile must be between 0 and 100: " + percentile);
+        }
+        this.delayNanos = delay.toNanos();
+        this.percentile = percentile;
+        this.samples = percentile > 0 ? new AtomicLongArray(SAMPLES) : null;
+    }
+
+    /**
+     * @return The current hedging delay
+     */
+    @NonNull
+    public Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * @return The number of requests that were sent a second time
+     */
+    public long getHedgesIssued() {
+        return hedgesIssued.sum();
+    }
+
+    /**
+     * @return The number of hedged requests that responded before the original request
+     */
+    public long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * Subscribe to the request and, if it does not complete within the delay, subscribe a second
+     * time. The first request that completes successfully wins and the other subscription is
+     * cancelled, an empty completion counts as a success. An error that another attempt could not
+     * fix, e.g. a 4xx response, is emitted immediately and cancels the other subscription, or the
+     * pending hedge. If both requests fail, the error of the original request is emitted.
+     *
+     * @param request The request, sending a new request for every subscription
+     * @param <T>     The result type
+     * @return The hedged request
+     */
+    <T> Mono<T> hedge(Publisher<T> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            PropagatedContext propagatedContext = PropagatedContext.getOrEmpty();
+            // a cancelled original request took at least that long, keep it in the samples
+            Mono<Attempt<T>> original = Mono.from(request)
+                .map(Attempt::success)
+                .defaultIfEmpty(Attempt.empty())
+                .doOnSuccess(v -> recordLatency(System.nanoTime() - start))
+                .doOnCancel(() -> recordLatency(System.nanoTime() - start))
+                .onErrorResume(e -> !isRetryable(e), e -> Mono.just(Attempt.failure(e)));
+            // the delay completes on another thread, restore the context of the caller
+            Publisher<T> propagated = subscriber -> {
+                hedgesIssued.increment();
+                try (PropagatedContext.Scope ignore = propagatedContext.propagate()) {
+                    request.subscribe(subscriber);
+                }
+            };
+            Mono<Attempt<T>> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                .then(Mono.from(propagated))
+                .map(Attempt::success)
+                .defaultIfEmpty(Attempt.empty())
+                // the original request is cancelled when the hedge completes first
+                .doOnSuccess(v -> hedgesWon.increment())
+                .onErrorResume(e -> !isRetryable(e), e -> Mono.just(Attempt.failure(e)));
+            // a value of either attempt cancels the other one, so a non-retryable failure is
+            // emitted as a value and turned back into an error afterwards
+            return Mono.firstWithValue(original, hedge)
+                .onErrorMap(NoSuchElementException.class, RequestHedging::originalError)
+                .flatMap(Attempt::toMono);
+        });
+    }
+
+    /**
+     * Whether another attempt of the request may succeed where this one failed: timeouts,
+     * connection failures and server errors.
+     *
+     * @param error The error of the attempt
+     * @return {@code true} if the error is retryable
+     */
+    static boolean isRetryable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof HttpClientResponseException e) {
+                return e.getResponse().code() >= 500;
+            }
+            if (t instanceof ReadTimeoutException || t instanceof TimeoutException
+                || t instanceof SocketTimeoutException || t instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable originalError(NoSuchElementException e) {
+        // the errors of all the requests, in subscription order
+        List<Throwable> errors = Exceptions.unwrapMultiple(e.getCause());
+        return errors.isEmpty() ? e : errors.get(0);
+    }
+
+    /**
+     * The outcome of one attempt: a value, an empty completion, or a non-retryable failure.
+     *
+     * @param value The value, or {@code null}
+     * @param error The non-retryable error, or {@code null}
+     * @param <T>   The result type
+     */
+    private record Attempt<T>(T value, Throwable error) {
+        static <T> Attempt<T> success(T value) {
+            return new Attempt<>(value, null);
+        }
+
+        static <T> Attempt<T> empty() {
+            return new Attempt<>(null, null);
+        }
+
+        static <T> Attempt<T> failure(Throwable error) {
+            return new Attempt<>(null, error);
+        }
+
+        Mono<T> toMono() {
+            return error == null ? Mono.justOrEmpty(value) : Mono.error(error);
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        if (samples == null) {
+            return;
+        }
+        long count = sampleCount.incrementAndGet();
+        samples.set((int) ((count - 1) % SAMPLES), nanos);
+        if (count % RECOMPUTE_INTERVAL == 0) {
+            int size = (int) Math.min(count, SAMPLES);
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            delayNanos = sorted[Math.max(0, Math.min(index, size - 1))];
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class for load balancers that select an instance based on its load. The load of every
+ * instance is tracked from the requests reported by the HTTP client, see
+ * {@link RequestTrackingLoadBalancer}.
+ *
+ * <p>The healthy instances are kept in an array that is only rebuilt when the discovery source
+ * returns a different list of instances, see {@link LoadBalancerConfiguration#getRefreshInterval()}
+ * to avoid querying the discovery source on every selection.</p>
+ *
+ * @since 4.8.0
+ */
+public abstract sealed class AbstractLoadAwareLoadBalancer implements RequestTrackingLoadBalancer
+    permits LeastRequestsLoadBalancer, PowerOfTwoChoicesLoadBalancer {
+
+    private final String serviceID;
+    private final HealthyInstances healthyInstances;
+    @Nullable
+    private final String contextPath;
+    /**
+     * The load of the instances, by URI because the discovery sources may create new
+     * {@link ServiceInstance} objects on every call. The load of an instance is kept while it
+     * has requests in flight, even if it is no longer healthy.
+     */
+    private final Map<URI, InstanceLoad> loads = new ConcurrentHashMap<>();
+    private final Object snapshotLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(new ServiceInstance[0], new InstanceLoad[0]);
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    protected AbstractLoadAwareLoadBalancer(@NonNull String serviceID, @NonNull DiscoveryClient discoveryClient) {
+        this(serviceID, new HealthyInstances(() -> discoveryClient.getInstances(serviceID)), null);
+    }
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    protected AbstractLoadAwareLoadBalancer(@NonNull ServiceInstanceList serviceInstanceList) {
+        this(serviceInstanceList.getID(), new HealthyInstances(() -> Mono.fromCallable(serviceInstanceList::getInstances)), serviceInstanceList.getContextPath().orElse(null));
+    }
+
+    /**
+     * @param serviceID        The service ID
+     * @param healthyInstances The healthy instances
+     * @param contextPath      The context path
+     */
+    AbstractLoadAwareLoadBalancer(String serviceID, HealthyInstances healthyInstances, @Nullable String contextPath) {
+        this.serviceID = serviceID;
+        this.healthyInstances = healthyInstances;
+        this.contextPath = contextPath;
+    }
+
+    /**
+     * @return The service ID
+     */
+    public String getServiceID() {
+        return serviceID;
+    }
+
+    @Override
+    public Optional<String> getContextPath() {
+        return Optional.ofNullable(contextPath);
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        return healthyInstances.get().map(instances -> getNextAvailable(instances.instances()));
+    }
+
+    @Override
+    public void requestStarted(@NonNull ServiceInstance instance) {
+        // atomic with the removal of the load in snapshot
+        loads.compute(instance.getURI(), (uri, load) -> {
+            InstanceLoad started = load == null ? new InstanceLoad() : load;
+            started.started();
+            return started;
+        });
+    }
+
+    @Override
+    public void requestCompleted(@NonNull ServiceInstance instance, long durationNanos, boolean success) {
+        InstanceLoad load = loads.get(instance.getURI());
+        if (load != null) {
+            load.completed(durationNanos, success);
+        }
+    }
+
+    @Override
+    public void requestCancelled(@NonNull ServiceInstance instance) {
+        InstanceLoad load = loads.get(instance.getURI());
+        if (load != null) {
+            load.cancelled();
+        }
+    }
+
+    /**
+     * @param healthyInstances The healthy instances
+     * @return The selected healthy instance
+     * @throws NoAvailableServiceException if there is no healthy instance
+     */
+    private ServiceInstance getNextAvailable(ServiceInstance[] healthyInstances) {
+        Snapshot snapshot = snapshot(healthyInstances);
+        int len = snapshot.instances.length;
+        if (len == 0) {
+            throw new NoAvailableServiceException(serviceID);
+        }
+        return snapshot.instances[len == 1 ? 0 : choose(snapshot.loads)];
+    }
+
+    /**
+     * Choose one of the healthy instances.
+     *
+     * @param loads The load of the healthy instances, at least two
+     * @return The index of the chosen instance
+     */
+    abstract int choose(InstanceLoad[] loads);
+
+    private InstanceLoad load(ServiceInstance instance) {
+        return loads.computeIfAbsent(instance.getURI(), uri -> new InstanceLoad());
+    }
+
+    private Snapshot snapshot(ServiceInstance[] healthyInstances) {
+        Snapshot current = snapshot;
+        if (current.instances == healthyInstances) {
+            return current;
+        }
+        synchronized (snapshotLock) {
+            current = snapshot;
+            if (current.instances == healthyInstances) {
+                return current;
+            }
+            InstanceLoad[] healthyLoads = new InstanceLoad[healthyInstances.length];
+            Set<URI> uris = new HashSet<>();
+            for (int i = 0; i < healthyLoads.length; i++) {
+                uris.add(healthyInstances[i].getURI());
+                healthyLoads[i] = load(healthyInstances[i]);
+            }
+            // forget the instances that are gone, once their requests are done
+            for (URI uri : loads.keySet()) {
+                if (!uris.contains(uri)) {
+                    loads.computeIfPresent(uri, (u, load) -> load.outstanding() == 0 ? null : load);
+                }
+            }
+            Snapshot next = new Snapshot(healthyInstances, healthyLoads);
+            snapshot = next;
+            return next;
+        }
+    }
+
+    /**
+     * The load of the healthy instances of a {@link HealthyInstances} snapshot.
+     *
+     * @param instances The healthy instances
+     * @param loads     The load of the healthy instances
+     */
+    private record Snapshot(ServiceInstance[] instances, InstanceLoad[] loads) {
+    }
+}
@@ -22,7 +22,6 @@ import io.micronaut.http.client.LoadBalancer;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * @author graemerocher
@@ -42,21 +41,50 @@ public abstract class AbstractRoundRobinLoadBalancer implements LoadBalancer {
      * @return The next available instance or a {@link NoAvailableServiceException} if none
      */
     protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
-        List<ServiceInstance> availableServices = serviceInstances.stream()
-            .filter(si -> si.getHealthStatus().equals(HealthStatus.UP))
-            .collect(Collectors.toList());
-        int len = availableServices.size();
+        int len = 0;
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            if (isAvailable(serviceInstance)) {
+                len++;
+            }
+        }
+        if (len == 0) {
+            throw new NoAvailableServiceException(getServiceID());
+        }
+        int i = getServiceIndex(len);
+        if (i >= len) {
+            index.set(0);
+            i = getServiceIndex(len);
+        }
+        if (len == serviceInstances.size()) {
+            return serviceInstances.get(i);
+        }
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            if (isAvailable(serviceInstance) && i-- == 0) {
+                return serviceInstance;
+            }
+        }
+        throw new NoAvailableServiceException(getServiceID());
+    }
+
+    /**
+     * @param healthyInstances The healthy instances
+     * @return The next instance or a {@link NoAvailableServiceException} if none
+     */
+    final ServiceInstance getNextAvailable(ServiceInstance[] healthyInstances) {
+        int len = healthyInstances.length;
         if (len == 0) {
             throw new NoAvailableServiceException(getServiceID());
         }
         int i = getServiceIndex(len);
-        try {
-            return availableServices.get(i);
-        } catch (IndexOutOfBoundsException e) {
+        if (i >= len) {
             index.set(0);
             i = getServiceIndex(len);
-            return availableServices.get(i);
         }
+        return healthyInstances[i];
+    }
+
+    private static boolean isAvailable(ServiceInstance serviceInstance) {
+        return serviceInstance.getHealthStatus().equals(HealthStatus.UP);
     }
 
     private int getServiceIndex(int len) {
@@ -15,10 +15,20 @@
  */
 package io.micronaut.http.client.loadbalance;
 
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.event.AbstractServiceInstanceEvent;
+import io.micronaut.discovery.event.ServiceReadyEvent;
+import io.micronaut.health.HeartbeatEvent;
 import io.micronaut.http.client.LoadBalancer;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * A factory class that can be replaced at runtime for creating {@link LoadBalancer} instances that load balance
  * between available clients provided by the {@link DiscoveryClient}.
@@ -27,15 +37,29 @@ import jakarta.inject.Singleton;
  * @since 1.0
  */
 @Singleton
-public class DiscoveryClientLoadBalancerFactory {
+public class DiscoveryClientLoadBalancerFactory implements ApplicationEventListener<AbstractServiceInstanceEvent> {
 
     private final DiscoveryClient discoveryClient;
+    @Nullable
+    private final Duration refreshInterval;
+    private final AtomicLong refreshGeneration = new AtomicLong();
 
     /**
      * @param discoveryClient The discover client
      */
     public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient) {
+        this(discoveryClient, new LoadBalancerConfiguration());
+    }
+
+    /**
+     * @param discoveryClient The discover client
+     * @param configuration   The load balancer configuration
+     * @since 4.8.0
+     */
+    @Inject
+    public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient, LoadBalancerConfiguration configuration) {
         this.discoveryClient = discoveryClient;
+        this.refreshInterval = configuration.getRefreshInterval();
     }
 
     /**
@@ -45,7 +69,26 @@ public class DiscoveryClientLoadBalancerFactory {
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(String serviceID) {
-        return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+        if (refreshInterval == null) {
+            return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+        }
+        return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient, healthyInstances(serviceID));
+    }
+
+    /**
+     * Creates a {@link LoadBalancer} for the given service ID.
+     *
+     * @param serviceID The service ID
+     * @param strategy  The load balancing strategy
+     * @return The {@link LoadBalancer}
+     * @since 4.8.0
+     */
+    public LoadBalancer create(String serviceID, LoadBalancingStrategy strategy) {
+        return switch (strategy) {
+            case ROUND_ROBIN -> create(serviceID);
+            case LEAST_REQUESTS -> new LeastRequestsLoadBalancer(serviceID, healthyInstances(serviceID), null);
+            case POWER_OF_TWO_CHOICES -> new PowerOfTwoChoicesLoadBalancer(serviceID, healthyInstances(serviceID), null);
+        };
     }
 
     /**
@@ -54,4 +97,24 @@ public class DiscoveryClientLoadBalancerFactory {
     public DiscoveryClient getDiscoveryClient() {
         return discoveryClient;
     }
+
+    @Override
+    public boolean supports(AbstractServiceInstanceEvent event) {
+        return event instanceof ServiceReadyEvent || event instanceof HeartbeatEvent;
+    }
+
+    /**
+     * Refreshes the cached healthy instances of the load balancers created by this factory on
+     * their next selection.
+     *
+     * @param event The service ready or heartbeat event
+     */
+    @Override
+    public void onApplicationEvent(@NonNull AbstractServiceInstanceEvent event) {
+        refreshGeneration.incrementAndGet();
+    }
+
+    private HealthyInstances healthyInstances(String serviceID) {
+        return new HealthyInstances(() -> discoveryClient.getInstances(serviceID), refreshInterval, refreshGeneration::get);
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.micronaut.http.client.loadbalance;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.discovery.DiscoveryClient;
 import io.micronaut.discovery.ServiceInstance;
@@ -34,6 +35,8 @@ public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoa
 
     private final String serviceID;
     private final DiscoveryClient discoveryClient;
+    @Nullable
+    private final HealthyInstances healthyInstances;
 
     /**
      * @param serviceID       The service ID
@@ -42,6 +45,18 @@ public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoa
     public DiscoveryClientRoundRobinLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
         this.serviceID = serviceID;
         this.discoveryClient = discoveryClient;
+        this.healthyInstances = null;
+    }
+
+    /**
+     * @param serviceID        The service ID
+     * @param discoveryClient  The discovery client
+     * @param healthyInstances The cached healthy instances
+     */
+    DiscoveryClientRoundRobinLoadBalancer(String serviceID, DiscoveryClient discoveryClient, HealthyInstances healthyInstances) {
+        this.serviceID = serviceID;
+        this.discoveryClient = discoveryClient;
+        this.healthyInstances = healthyInstances;
     }
 
     /**
@@ -54,6 +69,9 @@ public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoa
 
     @Override
     public Publisher<ServiceInstance> select(Object discriminator) {
+        if (healthyInstances != null) {
+            return healthyInstances.get().map(snapshot -> getNextAvailable(snapshot.instances()));
+        }
         return Publishers.map(discoveryClient.getInstances(serviceID), this::getNextAvailable);
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.health.HealthStatus;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The healthy instances of a service, kept in an immutable, versioned snapshot.
+ *
+ * <p>Without a refresh interval the discovery source is queried on every lookup and the snapshot
+ * is only rebuilt when the source returns a different list. With a refresh interval the snapshot
+ * is returned as is and refreshed in the background once it is older than the interval or once
+ * the refresh generation changed, so a lookup only waits for the discovery source when there is
+ * no snapshot yet.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class HealthyInstances {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HealthyInstances.class);
+    private static final ServiceInstance[] NO_INSTANCES = new ServiceInstance[0];
+
+    private final Supplier<Publisher<List<ServiceInstance>>> source;
+    private final long refreshIntervalNanos;
+    private final LongSupplier generation;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param source          The discovery source
+     * @param refreshInterval The refresh interval, or {@code null} to query the source on every lookup
+     * @param generation      The refresh generation, a snapshot of an older generation is refreshed
+     */
+    HealthyInstances(@NonNull Supplier<Publisher<List<ServiceInstance>>> source,
+                     @Nullable Duration refreshInterval,
+                     @NonNull LongSupplier generation) {
+        this.source = source;
+        this.refreshIntervalNanos = refreshInterval == null ? -1 : refreshInterval.toNanos();
+        this.generation = generation;
+    }
+
+    /**
+     * @param source The discovery source
+     */
+    HealthyInstances(@NonNull Supplier<Publisher<List<ServiceInstance>>> source) {
+        this(source, null, () -> 0);
+    }
+
+    /**
+     * @return The current snapshot of the healthy instances
+     */
+    @NonNull
+    Mono<Snapshot> get() {
+        Snapshot current = snapshot;
+        if (refreshIntervalNanos < 0 || current == null) {
+            return Mono.from(source.get()).map(this::update);
+        }
+        if (isStale(current)) {
+            refresh();
+        }
+        return Mono.just(current);
+    }
+
+    private boolean isStale(Snapshot current) {
+        return current.generation != generation.getAsLong()
+            || System.nanoTime() - current.refreshedAt >= refreshIntervalNanos;
+    }
+
+    private void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long gen = generation.getAsLong();
+        Mono.from(source.get()).subscribe(
+            this::update,
+            e -> {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Failed to refresh the service instances, keeping the previous instances: {}", e.getMessage(), e);
+                }
+                // keep the stale instances until the next interval instead of retrying on every lookup
+                Snapshot current = snapshot;
+                snapshot = new Snapshot(current.source, current.instances, current.version, System.nanoTime(), gen);
+                refreshing.set(false);
+            },
+            () -> refreshing.set(false)
+        );
+    }
+
+    private Snapshot update(List<ServiceInstance> serviceInstances) {
+        long gen = generation.getAsLong();
+        Snapshot current = snapshot;
+        if (current != null && current.source == serviceInstances) {
+            if (refreshIntervalNanos >= 0) {
+                current = new Snapshot(serviceInstances, current.instances, current.version, System.nanoTime(), gen);
+                snapshot = current;
+            }
+            return current;
+        }
+        int healthy = 0;
+        for (ServiceInstance instance : serviceInstances) {
+            if (instance.getHealthStatus().equals(HealthStatus.UP)) {
+                healthy++;
+            }
+        }
+        ServiceInstance[] instances = healthy == 0 ? NO_INSTANCES : new ServiceInstance[healthy];
+        int i = 0;
+        for (ServiceInstance instance : serviceInstances) {
+            if (i < healthy && instance.getHealthStatus().equals(HealthStatus.UP)) {
+                instances[i++] = instance;
+            }
+        }
+        Snapshot next = new Snapshot(serviceInstances, instances, current == null ? 0 : current.version + 1, System.nanoTime(), gen);
+        snapshot = next;
+        return next;
+    }
+
+    /**
+     * The healthy instances of a list returned by the discovery source.
+     *
+     * @param source      The list returned by the discovery source
+     * @param instances   The healthy instances, must not be modified
+     * @param version     The version, incremented when the healthy instances are rebuilt
+     * @param refreshedAt The {@link System#nanoTime()} of the last refresh
+     * @param generation  The refresh generation of the last refresh
+     */
+    record Snapshot(List<ServiceInstance> source, ServiceInstance[] instances, long version, long refreshedAt, long generation) {
+    }
+}
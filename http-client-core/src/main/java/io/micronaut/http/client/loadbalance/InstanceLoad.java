@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The load of a single instance: the number of requests in flight and an exponentially
+ * weighted moving average of the response times.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class InstanceLoad {
+
+    /**
+     * The weight of a new response time in the average.
+     */
+    private static final double ALPHA = 0.3;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    /**
+     * The bits of the average response time in nanoseconds, {@code 0} without any response yet.
+     */
+    private final AtomicLong average = new AtomicLong(Double.doubleToRawLongBits(0));
+
+    /**
+     * @return The number of requests in flight
+     */
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * @return The average response time in nanoseconds or {@code 0} without any response yet
+     */
+    double averageNanos() {
+        return Double.longBitsToDouble(average.get());
+    }
+
+    void started() {
+        outstanding.incrementAndGet();
+    }
+
+    void cancelled() {
+        outstanding.updateAndGet(n -> n > 0 ? n - 1 : 0);
+    }
+
+    void completed(long durationNanos, boolean success) {
+        outstanding.updateAndGet(n -> n > 0 ? n - 1 : 0);
+        while (true) {
+            long bits = average.get();
+            double current = Double.longBitsToDouble(bits);
+            double sample = durationNanos;
+            if (!success) {
+                // fast failures must not make the instance look faster than the others
+                sample = Math.max(sample, current * 2);
+            }
+            double next = current == 0 ? sample : current + ALPHA * (sample - current);
+            if (average.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
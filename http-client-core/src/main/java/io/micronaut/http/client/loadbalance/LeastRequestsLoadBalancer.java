@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A load balancer that selects the healthy instance with the fewest requests in flight. Ties
+ * are broken by the average response time, then by a random starting point so that idle
+ * instances share the traffic.
+ *
+ * @since 4.8.0
+ * @see LoadBalancingStrategy#LEAST_REQUESTS
+ */
+public final class LeastRequestsLoadBalancer extends AbstractLoadAwareLoadBalancer {
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    public LeastRequestsLoadBalancer(@NonNull String serviceID, @NonNull DiscoveryClient discoveryClient) {
+        super(serviceID, discoveryClient);
+    }
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    public LeastRequestsLoadBalancer(@NonNull ServiceInstanceList serviceInstanceList) {
+        super(serviceInstanceList);
+    }
+
+    /**
+     * @param serviceID        The service ID
+     * @param healthyInstances The healthy instances
+     * @param contextPath      The context path
+     */
+    LeastRequestsLoadBalancer(String serviceID, HealthyInstances healthyInstances, @Nullable String contextPath) {
+        super(serviceID, healthyInstances, contextPath);
+    }
+
+    @Override
+    int choose(InstanceLoad[] loads) {
+        int len = loads.length;
+        int start = ThreadLocalRandom.current().nextInt(len);
+        int best = start;
+        int bestOutstanding = loads[start].outstanding();
+        double bestAverage = loads[start].averageNanos();
+        for (int n = 1; n < len; n++) {
+            int i = start + n;
+            if (i >= len) {
+                i -= len;
+            }
+            int outstanding = loads[i].outstanding();
+            if (outstanding > bestOutstanding) {
+                continue;
+            }
+            double average = loads[i].averageNanos();
+            if (outstanding < bestOutstanding || average < bestAverage) {
+                best = i;
+                bestOutstanding = outstanding;
+                bestAverage = average;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the load balancers created by {@link DiscoveryClientLoadBalancerFactory} and
+ * {@link ServiceInstanceListLoadBalancerFactory}.
+ *
+ * @since 4.8.0
+ */
+@ConfigurationProperties(LoadBalancerConfiguration.PREFIX)
+@BootstrapContextCompatible
+public class LoadBalancerConfiguration {
+
+    /**
+     * The prefix used for the load balancer configuration.
+     */
+    public static final String PREFIX = "micronaut.http.client.load-balancer";
+
+    @Nullable
+    private Duration refreshInterval;
+
+    /**
+     * @return The interval after which the cached healthy instances are refreshed, or {@code null}
+     * if the instances are looked up on every selection
+     */
+    @Nullable
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the interval after which the cached healthy instances of a service are refreshed in
+     * the background. When set, the load balancers select an instance from the cached instances
+     * and never wait for the discovery source, except for the very first selection. The cached
+     * instances are also refreshed after a {@link io.micronaut.discovery.event.ServiceReadyEvent}
+     * or a {@link io.micronaut.health.HeartbeatEvent}. Default value is {@code null}, the
+     * instances are looked up on every selection.
+     *
+     * @param refreshInterval The refresh interval
+     */
+    public void setRefreshInterval(@Nullable Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+/**
+ * The strategies to select an instance of a service.
+ *
+ * @since 4.8.0
+ */
+public enum LoadBalancingStrategy {
+    /**
+     * Select the healthy instances in turn.
+     */
+    ROUND_ROBIN,
+    /**
+     * Select the healthy instance with the fewest requests in flight, using the response time
+     * average to break ties.
+     */
+    LEAST_REQUESTS,
+    /**
+     * Pick two random healthy instances and select the one with the lower load, estimated from
+     * the requests in flight and the response time average.
+     */
+    POWER_OF_TWO_CHOICES
+}
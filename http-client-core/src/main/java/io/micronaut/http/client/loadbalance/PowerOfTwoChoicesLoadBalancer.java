@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A load balancer that picks two random healthy instances and selects the one with the lower
+ * load. The load of an instance is the number of requests in flight weighted by its average
+ * response time, so slow instances receive less traffic. Until both instances have responded
+ * at least once, only the requests in flight are compared.
+ *
+ * <p>Comparing two random instances avoids the herd behavior of always selecting the least
+ * loaded instance, which many clients with slightly outdated information would all pick at
+ * the same time.</p>
+ *
+ * @since 4.8.0
+ * @see LoadBalancingStrategy#POWER_OF_TWO_CHOICES
+ */
+public final class PowerOfTwoChoicesLoadBalancer extends AbstractLoadAwareLoadBalancer {
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    public PowerOfTwoChoicesLoadBalancer(@NonNull String serviceID, @NonNull DiscoveryClient discoveryClient) {
+        super(serviceID, discoveryClient);
+    }
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    public PowerOfTwoChoicesLoadBalancer(@NonNull ServiceInstanceList serviceInstanceList) {
+        super(serviceInstanceList);
+    }
+
+    /**
+     * @param serviceID        The service ID
+     * @param healthyInstances The healthy instances
+     * @param contextPath      The context path
+     */
+    PowerOfTwoChoicesLoadBalancer(String serviceID, HealthyInstances healthyInstances, @Nullable String contextPath) {
+        super(serviceID, healthyInstances, contextPath);
+    }
+
+    @Override
+    int choose(InstanceLoad[] loads) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(loads.length);
+        int b = random.nextInt(loads.length - 1);
+        if (b >= a) {
+            b++;
+        }
+        InstanceLoad loadA = loads[a];
+        InstanceLoad loadB = loads[b];
+        double averageA = loadA.averageNanos();
+        double averageB = loadB.averageNanos();
+        if (averageA == 0 || averageB == 0) {
+            return loadA.outstanding() <= loadB.outstanding() ? a : b;
+        }
+        return (loadA.outstanding() + 1) * averageA <= (loadB.outstanding() + 1) * averageB ? a : b;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.LoadBalancer;
+
+/**
+ * A {@link LoadBalancer} that takes the requests sent to the selected instances into account.
+ * The HTTP client reports every request it sends to an instance selected by this load balancer.
+ *
+ * @since 4.8.0
+ */
+public interface RequestTrackingLoadBalancer extends LoadBalancer {
+
+    /**
+     * Called when a request is sent to an instance returned by {@link #select(Object)}.
+     *
+     * @param instance The instance
+     */
+    void requestStarted(@NonNull ServiceInstance instance);
+
+    /**
+     * Called when a request started with {@link #requestStarted(ServiceInstance)} is done.
+     *
+     * @param instance      The instance
+     * @param durationNanos The time from the start of the request to its completion
+     * @param success       Whether the instance responded, {@code false} for connection
+     *                      failures and server errors
+     */
+    void requestCompleted(@NonNull ServiceInstance instance, long durationNanos, boolean success);
+
+    /**
+     * Called when a request started with {@link #requestStarted(ServiceInstance)} is cancelled
+     * before the instance responded, e.g. on a timeout or because a hedged request won. The
+     * request is no longer in flight, but its duration says nothing about the instance.
+     *
+     * @param instance The instance
+     */
+    void requestCancelled(@NonNull ServiceInstance instance);
+}
@@ -16,9 +16,20 @@
 package io.micronaut.http.client.loadbalance;
 
 import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.discovery.ServiceInstanceList;
+import io.micronaut.discovery.event.AbstractServiceInstanceEvent;
+import io.micronaut.discovery.event.ServiceReadyEvent;
+import io.micronaut.health.HeartbeatEvent;
 import io.micronaut.http.client.LoadBalancer;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The default {@link LoadBalancer} factory for creating {@link LoadBalancer} instances from
@@ -29,7 +40,27 @@ import jakarta.inject.Singleton;
  */
 @Singleton
 @BootstrapContextCompatible
-public class ServiceInstanceListLoadBalancerFactory {
+public class ServiceInstanceListLoadBalancerFactory implements ApplicationEventListener<AbstractServiceInstanceEvent> {
+
+    @Nullable
+    private final Duration refreshInterval;
+    private final AtomicLong refreshGeneration = new AtomicLong();
+
+    /**
+     * Default constructor.
+     */
+    public ServiceInstanceListLoadBalancerFactory() {
+        this(new LoadBalancerConfiguration());
+    }
+
+    /**
+     * @param configuration The load balancer configuration
+     * @since 4.8.0
+     */
+    @Inject
+    public ServiceInstanceListLoadBalancerFactory(LoadBalancerConfiguration configuration) {
+        this.refreshInterval = configuration.getRefreshInterval();
+    }
 
     /**
      * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}.
@@ -38,6 +69,45 @@ public class ServiceInstanceListLoadBalancerFactory {
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
-        return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        if (refreshInterval == null) {
+            return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        }
+        return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList, healthyInstances(serviceInstanceList));
+    }
+
+    /**
+     * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}.
+     *
+     * @param serviceInstanceList The {@link ServiceInstanceList}
+     * @param strategy            The load balancing strategy
+     * @return The {@link LoadBalancer}
+     * @since 4.8.0
+     */
+    public LoadBalancer create(ServiceInstanceList serviceInstanceList, LoadBalancingStrategy strategy) {
+        return switch (strategy) {
+            case ROUND_ROBIN -> create(serviceInstanceList);
+            case LEAST_REQUESTS -> new LeastRequestsLoadBalancer(serviceInstanceList.getID(), healthyInstances(serviceInstanceList), serviceInstanceList.getContextPath().orElse(null));
+            case POWER_OF_TWO_CHOICES -> new PowerOfTwoChoicesLoadBalancer(serviceInstanceList.getID(), healthyInstances(serviceInstanceList), serviceInstanceList.getContextPath().orElse(null));
+        };
+    }
+
+    @Override
+    public boolean supports(AbstractServiceInstanceEvent event) {
+        return event instanceof ServiceReadyEvent || event instanceof HeartbeatEvent;
+    }
+
+    /**
+     * Refreshes the cached healthy instances of the load balancers created by this factory on
+     * their next selection.
+     *
+     * @param event The service ready or heartbeat event
+     */
+    @Override
+    public void onApplicationEvent(@NonNull AbstractServiceInstanceEvent event) {
+        refreshGeneration.incrementAndGet();
+    }
+
+    private HealthyInstances healthyInstances(ServiceInstanceList serviceInstanceList) {
+        return new HealthyInstances(() -> Mono.fromCallable(serviceInstanceList::getInstances), refreshInterval, refreshGeneration::get);
     }
 }
@@ -28,16 +28,31 @@ import java.util.Optional;
  */
 public class ServiceInstanceListRoundRobinLoadBalancer extends AbstractRoundRobinLoadBalancer {
     private final ServiceInstanceList serviceInstanceList;
+    @Nullable
+    private final HealthyInstances healthyInstances;
 
     /**
      * @param serviceInstanceList The service instance list
      */
     public ServiceInstanceListRoundRobinLoadBalancer(ServiceInstanceList serviceInstanceList) {
         this.serviceInstanceList = serviceInstanceList;
+        this.healthyInstances = null;
+    }
+
+    /**
+     * @param serviceInstanceList The service instance list
+     * @param healthyInstances    The cached healthy instances
+     */
+    ServiceInstanceListRoundRobinLoadBalancer(ServiceInstanceList serviceInstanceList, HealthyInstances healthyInstances) {
+        this.serviceInstanceList = serviceInstanceList;
+        this.healthyInstances = healthyInstances;
     }
 
     @Override
     public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        if (healthyInstances != null) {
+            return healthyInstances.get().map(snapshot -> getNextAvailable(snapshot.instances()));
+        }
         return Mono.fromCallable(() -> getNextAvailable(serviceInstanceList.getInstances()));
     }
 
@@ -40,6 +40,7 @@ final class CancellableMonoSink<T> implements Publisher<T>, Sinks.One<T>, Subscr
 
     @Nullable
     private final BlockHint blockHint;
+    private final long acquireStartNanos = System.nanoTime();
 
     private T value;
     private Throwable failure;
@@ -58,6 +59,11 @@ final class CancellableMonoSink<T> implements Publisher<T>, Sinks.One<T>, Subscr
         return blockHint;
     }
 
+    @Override
+    public long getAcquireStartNanos() {
+        return acquireStartNanos;
+    }
+
     @Override
     public void subscribe(Subscriber<? super T> s) {
         lock.lock();
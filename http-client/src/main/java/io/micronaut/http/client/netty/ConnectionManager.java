@@ -20,6 +20,7 @@ import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.SupplierUtil;
@@ -47,6 +48,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
@@ -66,6 +68,7 @@ import io.netty.handler.codec.http2.Http2GoAwayFrame;
 import io.netty.handler.codec.http2.Http2HeadersFrame;
 import io.netty.handler.codec.http2.Http2MultiplexActiveStreamsException;
 import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.handler.codec.http2.Http2SettingsAckFrame;
 import io.netty.handler.codec.http2.Http2SettingsFrame;
 import io.netty.handler.codec.http2.Http2StreamChannel;
@@ -230,7 +233,7 @@ public class ConnectionManager {
             shutdownGroup = true;
         }
 
-        this.resolverGroup = resolverGroup == null ? getResolver(configuration.getDnsResolutionMode()) : resolverGroup;
+        this.resolverGroup = resolverGroup == null ? getResolver(configuration, udpChannelFactory) : resolverGroup;
 
         refresh();
     }
@@ -379,6 +382,22 @@ public class ConnectionManager {
         bootstrap.resolver(resolverGroup);
     }
 
+    @SuppressWarnings("unchecked")
+    static @NonNull AddressResolverGroup<? extends SocketAddress> getResolver(@NonNull HttpClientConfiguration configuration, @NonNull ChannelFactory<? extends Channel> udpChannelFactory) {
+        HttpClientConfiguration.DnsResolutionMode mode = configuration.getDnsResolutionMode();
+        if (mode != HttpClientConfiguration.DnsResolutionMode.ASYNC && mode != HttpClientConfiguration.DnsResolutionMode.ASYNC_ROUND_ROBIN) {
+            return getResolver(mode);
+        }
+        if (!ClassUtils.isPresent("io.netty.resolver.dns.DnsNameResolverBuilder", ConnectionManager.class.getClassLoader())) {
+            throw new HttpClientException("The " + mode + " DNS resolution mode requires io.netty:netty-resolver-dns on the classpath");
+        }
+        return DnsResolverGroups.create(
+            configuration,
+            (ChannelFactory<? extends DatagramChannel>) udpChannelFactory,
+            mode == HttpClientConfiguration.DnsResolutionMode.ASYNC_ROUND_ROBIN
+        );
+    }
+
     static @NonNull AddressResolverGroup<? extends SocketAddress> getResolver(HttpClientConfiguration.@NonNull DnsResolutionMode mode) {
         return switch (mode) {
             case DEFAULT -> DefaultAddressResolverGroup.INSTANCE;
@@ -389,6 +408,7 @@ public class ConnectionManager {
                     return new InetSocketAddressResolver(executor, new RoundRobinInetAddressResolver(executor, new DefaultNameResolver(executor)));
                 }
             };
+            case ASYNC, ASYNC_ROUND_ROBIN -> throw new IllegalArgumentException("The " + mode + " DNS resolution mode needs the client configuration");
         };
     }
 
@@ -489,6 +509,18 @@ public class ConnectionManager {
         return pools.computeIfAbsent(requestKey, Pool::new).acquire(blockHint);
     }
 
+    /**
+     * Open connections to the given remote ahead of the first request. The connections are added
+     * to the pool once established, subject to the usual connection limits.
+     *
+     * @param requestKey  The remote to connect to
+     * @param connections The number of connections the pool should have
+     * @since 4.8.0
+     */
+    public final void warmUp(DefaultHttpClient.RequestKey requestKey, int connections) {
+        pools.computeIfAbsent(requestKey, Pool::new).warmUp(connections);
+    }
+
     /**
      * Builds an {@link SslContext} for the given WebSocket URI if necessary.
      *
@@ -782,11 +814,14 @@ public class ConnectionManager {
             }
         });
         Pool.Http2ConnectionHolder connectionHolder = pool.new Http2ConnectionHolder(ch, connectionCustomizer);
+        connectionHolder.flushConsolidator = new Http2FlushConsolidator();
+        ch.pipeline().addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_FLUSH_CONSOLIDATION, connectionHolder.flushConsolidator);
         ch.pipeline().addLast(multiplexHandler);
         ch.pipeline().addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS, new ChannelInboundHandlerAdapter() {
             @Override
             public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) throws Exception {
-                if (msg instanceof Http2SettingsFrame) {
+                if (msg instanceof Http2SettingsFrame settingsFrame) {
+                    connectionHolder.onSettings(settingsFrame.settings());
                     ctx.pipeline().remove(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS);
                     ctx.pipeline().remove(ChannelPipelineCustomizer.HANDLER_INITIAL_ERROR);
                     connectionHolder.init();
@@ -811,6 +846,10 @@ public class ConnectionManager {
                     // this is fine
                     return;
                 }
+                if (msg instanceof Http2SettingsFrame settingsFrame) {
+                    connectionHolder.onSettings(settingsFrame.settings());
+                    return;
+                }
                 if (msg instanceof Http2GoAwayFrame goAway) {
                     connectionHolder.windDownConnection();
                     if (log.isDebugEnabled()) {
@@ -1128,6 +1167,16 @@ public class ConnectionManager {
          * Notify any {@link NettyClientCustomizer} that the request pipeline has been built.
          */
         public abstract void notifyRequestPipelineBuilt();
+
+        /**
+         * Send the writes of this request together with the writes of other requests on the
+         * same connection that happen in the same event loop iteration, instead of flushing
+         * them immediately. This only has an effect on HTTP/2 streams.
+         *
+         * @since 4.8.0
+         */
+        public void consolidateFlushes() {
+        }
     }
 
     /**
@@ -1249,6 +1298,11 @@ public class ConnectionManager {
             return doConnect(requestKey, initializer);
         }
 
+        @Override
+        void schedule(Runnable task, long delayNanos) {
+            group.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
         public void shutdown() {
             forEachConnection(c -> ((ConnectionHolder) c).channel.close());
         }
@@ -1464,6 +1518,25 @@ public class ConnectionManager {
                 return hasLiveRequest;
             }
 
+            @Override
+            int liveRequests() {
+                return hasLiveRequest ? 1 : 0;
+            }
+
+            @Override
+            int maxRequests() {
+                return 1;
+            }
+
+            @Override
+            boolean retireIfIdle() {
+                if (windDownConnection || !earmarkedOrLive.compareAndSet(false, true)) {
+                    return false;
+                }
+                windDownConnection();
+                return true;
+            }
+
             @Override
             void fireReadTimeout(ChannelHandlerContext ctx) {
                 ctx.fireExceptionCaught(ReadTimeoutException.INSTANCE);
@@ -1544,6 +1617,15 @@ public class ConnectionManager {
         class Http2ConnectionHolder extends ConnectionHolder {
             private final AtomicInteger earmarkedOrLiveRequests = new AtomicInteger(0);
             private final AtomicInteger liveRequests = new AtomicInteger(0);
+            /**
+             * The SETTINGS_MAX_CONCURRENT_STREAMS advertised by the server.
+             */
+            private volatile int peerMaxConcurrentStreams = Integer.MAX_VALUE;
+            /**
+             * Consolidates the flushes of the streams, {@code null} for HTTP/3.
+             */
+            @Nullable
+            Http2FlushConsolidator flushConsolidator;
 
             Http2ConnectionHolder(Channel channel, NettyClientCustomizer customizer) {
                 super(channel, customizer);
@@ -1573,7 +1655,7 @@ public class ConnectionManager {
                         channel.pipeline().addAfter(
                             ChannelPipelineCustomizer.HANDLER_HTTP2_CONNECTION,
                             ChannelPipelineCustomizer.HANDLER_HTTP2_PING_SENDER,
-                            new Http2PingSender(read, write, idle, TimeUnit.NANOSECONDS));
+                            new Http2PingSender(read, write, idle, toNanos(http2Configuration.getPingAckTimeout()), TimeUnit.NANOSECONDS));
                     }
                 }
             }
@@ -1586,9 +1668,25 @@ public class ConnectionManager {
                 return nanos < 0 ? 0 : nanos;
             }
 
+            /**
+             * Called when the server sends its settings.
+             *
+             * @param settings The server settings
+             */
+            void onSettings(Http2Settings settings) {
+                Long maxConcurrentStreams = settings.maxConcurrentStreams();
+                if (maxConcurrentStreams != null) {
+                    int previous = peerMaxConcurrentStreams;
+                    peerMaxConcurrentStreams = (int) Math.min(maxConcurrentStreams, Integer.MAX_VALUE);
+                    if (previous < peerMaxConcurrentStreams) {
+                        markConnectionAvailable();
+                    }
+                }
+            }
+
             @Override
             boolean tryEarmarkForRequest() {
-                return !windDownConnection && incrementWithLimit(earmarkedOrLiveRequests, configuration.getConnectionPoolConfiguration().getMaxConcurrentRequestsPerHttp2Connection());
+                return !windDownConnection && incrementWithLimit(earmarkedOrLiveRequests, maxRequests());
             }
 
             @Override
@@ -1596,6 +1694,25 @@ public class ConnectionManager {
                 return liveRequests.get() > 0;
             }
 
+            @Override
+            int liveRequests() {
+                return liveRequests.get();
+            }
+
+            @Override
+            int maxRequests() {
+                return Math.min(configuration.getConnectionPoolConfiguration().getMaxConcurrentRequestsPerHttp2Connection(), peerMaxConcurrentStreams);
+            }
+
+            @Override
+            boolean retireIfIdle() {
+                if (windDownConnection || !earmarkedOrLiveRequests.compareAndSet(0, Integer.MAX_VALUE)) {
+                    return false;
+                }
+                windDownConnection();
+                return true;
+            }
+
             @Override
             void fireReadTimeout(ChannelHandlerContext ctx) {
                 channel.pipeline().fireExceptionCaught(new Http2MultiplexActiveStreamsException(ReadTimeoutException.INSTANCE));
@@ -1626,6 +1743,11 @@ public class ConnectionManager {
                             .addLast(ChannelPipelineCustomizer.HANDLER_HTTP_DECOMPRESSOR, new HttpContentDecompressor());
                         NettyClientCustomizer streamCustomizer = connectionCustomizer.specializeForChannel(streamChannel, NettyClientCustomizer.ChannelRole.HTTP2_STREAM);
                         PoolHandle ph = new PoolHandle(true, streamChannel) {
+                            /**
+                             * Set by the subscriber of the handle, read on release on the event loop.
+                             */
+                            volatile boolean consolidateFlushes;
+
                             @Override
                             public void taint() {
                                 // do nothing, we don't reuse stream channels
@@ -1635,6 +1757,9 @@ public class ConnectionManager {
                             public void release() {
                                 super.release();
                                 streamChannel.close();
+                                if (consolidateFlushes) {
+                                    flushConsolidator.removeStream();
+                                }
                                 int newCount = liveRequests.decrementAndGet();
                                 earmarkedOrLiveRequests.decrementAndGet();
                                 if (windDownConnection && newCount <= 0) {
@@ -1653,6 +1778,14 @@ public class ConnectionManager {
                             public void notifyRequestPipelineBuilt() {
                                 streamCustomizer.onRequestPipelineBuilt();
                             }
+
+                            @Override
+                            public void consolidateFlushes() {
+                                if (flushConsolidator != null && !consolidateFlushes) {
+                                    consolidateFlushes = true;
+                                    flushConsolidator.addStream();
+                                }
+                            }
                         };
                         emitPoolHandle(sink, ph);
                     } else {
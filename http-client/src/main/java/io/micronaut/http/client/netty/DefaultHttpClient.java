@@ -37,6 +37,7 @@ import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.ObjectUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.functional.ThrowingFunction;
+import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpResponseWrapper;
@@ -73,6 +74,7 @@ import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.http.client.exceptions.NoHostException;
 import io.micronaut.http.client.exceptions.ReadTimeoutException;
 import io.micronaut.http.client.filter.ClientFilterResolutionContext;
+import io.micronaut.http.client.loadbalance.RequestTrackingLoadBalancer;
 import io.micronaut.http.client.filters.ClientServerContextFilter;
 import io.micronaut.http.client.multipart.MultipartBody;
 import io.micronaut.http.client.multipart.MultipartDataFactory;
@@ -95,6 +97,7 @@ import io.micronaut.http.netty.NettyHttpRequestBuilder;
 import io.micronaut.http.netty.NettyHttpResponseBuilder;
 import io.micronaut.http.netty.body.AvailableNettyByteBody;
 import io.micronaut.http.netty.body.BodySizeLimits;
+import io.micronaut.http.netty.body.BoundedChunkedMessageBodyReader;
 import io.micronaut.http.netty.body.NettyBodyAdapter;
 import io.micronaut.http.netty.body.NettyByteBody;
 import io.micronaut.http.netty.body.NettyByteBufMessageBodyHandler;
@@ -178,7 +181,9 @@ import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
 import java.io.Closeable;
 import java.io.File;
@@ -200,6 +205,8 @@ import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -226,6 +233,10 @@ public class DefaultHttpClient implements
     private static final Logger DEFAULT_LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
     private static final int DEFAULT_HTTP_PORT = 80;
     private static final int DEFAULT_HTTPS_PORT = 443;
+    /**
+     * Request attribute holding the {@link RequestBatch} of an {@link #exchangeAll} request.
+     */
+    private static final String REQUEST_BATCH = "micronaut.http.client.requestBatch";
 
     /**
      * Which headers <i>not</i> to copy from the first request when redirecting to a second request. There doesn't
@@ -267,6 +278,9 @@ public class DefaultHttpClient implements
     private final ConversionService conversionService;
     @Nullable
     private final ExecutorService blockingExecutor;
+    @Nullable
+    private final ResponseCache responseCache;
+    private final RequestCoalescer<ResponseSnapshot> singleFlightRequests = new RequestCoalescer<>();
 
     /**
      * Construct a client for the given arguments.
@@ -409,6 +423,9 @@ public class DefaultHttpClient implements
         this.requestBinderRegistry = builder.requestBinderRegistry == null ? new DefaultRequestBinderRegistry(conversionService) : builder.requestBinderRegistry;
         this.informationalServiceId = builder.informationalServiceId;
         this.blockingExecutor = builder.blockingExecutor;
+        this.responseCache = configuration.getResponseCacheMaxEntries() > 0 ?
+            new ResponseCache(configuration.getResponseCacheMaxEntries(), configuration.getResponseCacheMaxEntrySize(), conversionService) :
+            null;
 
         this.connectionManager = new ConnectionManager(
             log,
@@ -802,8 +819,7 @@ public class DefaultHttpClient implements
     public <I> Publisher<ByteBuffer<?>> dataStream(@NonNull io.micronaut.http.HttpRequest<I> request, @NonNull Argument<?> errorType) {
         setupConversionService(request);
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
-        return new MicronautFlux<>(Flux.from(resolveRequestURI(request))
-                .flatMap(requestURI -> dataStreamImpl(toMutableRequest(request), errorType, parentRequest, requestURI)))
+        return new MicronautFlux<>(resolveAndSend(request, requestURI -> dataStreamImpl(toMutableRequest(request), errorType, parentRequest, requestURI)))
                 .doAfterNext(buffer -> {
                     Object o = buffer.asNativeBuffer();
                     if (o instanceof ByteBuf byteBuf) {
@@ -823,8 +839,7 @@ public class DefaultHttpClient implements
     public <I> Publisher<HttpResponse<ByteBuffer<?>>> exchangeStream(@NonNull io.micronaut.http.HttpRequest<I> request, @NonNull Argument<?> errorType) {
         setupConversionService(request);
         io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
-        return new MicronautFlux<>(Flux.from(resolveRequestURI(request))
-                .flatMap(uri -> exchangeStreamImpl(parentRequest, toMutableRequest(request), errorType, uri)))
+        return new MicronautFlux<>(resolveAndSend(request, uri -> exchangeStreamImpl(parentRequest, toMutableRequest(request), errorType, uri)))
                 .doAfterNext(byteBufferHttpResponse -> {
                     ByteBuffer<?> buffer = byteBufferHttpResponse.body();
                     if (buffer instanceof ReferenceCounted counted) {
@@ -843,8 +858,7 @@ public class DefaultHttpClient implements
         setupConversionService(request);
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
         setupConversionService(parentRequest);
-        return Flux.from(resolveRequestURI(request))
-                .flatMap(requestURI -> jsonStreamImpl(parentRequest, toMutableRequest(request), type, errorType, requestURI));
+        return resolveAndSend(request, requestURI -> jsonStreamImpl(parentRequest, toMutableRequest(request), type, errorType, requestURI));
     }
 
     @SuppressWarnings("unchecked")
@@ -866,22 +880,40 @@ public class DefaultHttpClient implements
             .flux();
     }
 
+    @Override
+    public <O, E> Publisher<HttpResponse<O>> exchangeAll(@NonNull List<? extends io.micronaut.http.HttpRequest<?>> requests, @NonNull Argument<O> bodyType, @NonNull Argument<E> errorType) {
+        if (requests.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            RequestBatch batch = new RequestBatch();
+            return Flux.fromIterable(requests)
+                .flatMapSequential(request -> {
+                    MutableHttpRequest<?> mutableRequest = toMutableRequest(request);
+                    mutableRequest.setAttribute(REQUEST_BATCH, batch);
+                    return exchange(mutableRequest, bodyType, errorType, null);
+                }, requests.size());
+        });
+    }
+
     @NonNull
     private <I, O, E> Mono<HttpResponse<O>> exchange(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType, @Nullable BlockHint blockHint) {
         setupConversionService(request);
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
-        Mono<HttpResponse<O>> mono = resolveRequestURI(request).flatMap(uri -> {
+        Function<URI, Mono<HttpResponse<O>>> send = uri -> {
             MutableHttpRequest<?> mutableRequest = toMutableRequest(request).uri(uri);
             //noinspection unchecked
             return sendRequestWithRedirects(
                 parentRequest,
                 blockHint,
                 mutableRequest,
+                BodyConsumption.FULL,
                 (req, resp) -> Mono.<HttpResponse<O>>from(ReactiveExecutionFlow.fromFlow(InternalByteBody.bufferFlow(resp.byteBody())
                     .onErrorResume(t -> ExecutionFlow.error(handleResponseError(mutableRequest, t)))
                     .flatMap(av -> handleExchangeResponse(bodyType, errorType, resp, av))).toPublisher())
             ).map(r -> (HttpResponse<O>) r);
-        });
+        };
+        Mono<HttpResponse<O>> mono = resolveAndSend(request, send).singleOrEmpty();
 
         Duration requestTimeout = configuration.getRequestTimeout();
         if (requestTimeout == null) {
@@ -1097,7 +1129,13 @@ public class DefaultHttpClient implements
             // could also be application/json, in which case we will stream an array
             MediaType mediaType = response.getContentType().orElse(MediaType.APPLICATION_JSON_STREAM_TYPE);
             ChunkedMessageBodyReader<O> reader = (ChunkedMessageBodyReader<O>) handlerRegistry.getReader(type, List.of(mediaType));
-            return reader.readChunked(type, mediaType, response.getHeaders(), Flux.from(streamResponse).map(c -> NettyByteBufferFactory.DEFAULT.wrap(c.content())));
+            Flux<ByteBuffer<?>> input = Flux.from(streamResponse).map(c -> NettyByteBufferFactory.DEFAULT.wrap(c.content()));
+            if (reader instanceof BoundedChunkedMessageBodyReader<O> bounded) {
+                // the body as a whole is unlimited, but a single element must fit the content length limit
+                return Flux.<O>from(bounded.readChunked(type, mediaType, response.getHeaders(), input, configuration.getMaxContentLength()))
+                    .onErrorMap(io.micronaut.http.exceptions.BufferLengthExceededException.class, e -> handleResponseError(request, e));
+            }
+            return reader.readChunked(type, mediaType, response.getHeaders(), input);
         });
     }
 
@@ -1132,6 +1170,7 @@ public class DefaultHttpClient implements
             parentRequest,
             null,
             request.uri(requestURI),
+            BodyConsumption.INCREMENTAL,
             (req, resp) -> {
                 ByteBody bb = resp.byteBody();
                 Publisher<HttpContent> body;
@@ -1180,8 +1219,7 @@ public class DefaultHttpClient implements
     public Publisher<MutableHttpResponse<?>> proxy(@NonNull io.micronaut.http.HttpRequest<?> request, @NonNull ProxyRequestOptions options) {
         Objects.requireNonNull(options, "options");
         setupConversionService(request);
-        return resolveRequestURI(request)
-                .flatMap(requestURI -> {
+        return resolveAndSend(request, requestURI -> {
                     MutableHttpRequest<?> httpRequest = toMutableRequest(request);
                     if (!options.isRetainHostHeader()) {
                         httpRequest.headers(headers -> headers.remove(HttpHeaderNames.HOST));
@@ -1205,6 +1243,7 @@ public class DefaultHttpClient implements
                         }
                     );
                 })
+            .singleOrEmpty()
             .map(HttpResponse::toMutableResponse);
     }
 
@@ -1437,24 +1476,85 @@ public class DefaultHttpClient implements
     }
 
     private <I> Mono<URI> resolveURI(io.micronaut.http.HttpRequest<I> request, boolean includeContextPath) {
-        URI requestURI = request.getUri();
         if (loadBalancer == null) {
             return Mono.error(decorate(new NoHostException("Request URI specifies no host to connect to")));
         }
 
-        return Mono.from(loadBalancer.select(getLoadBalancerDiscriminator())).map(server -> {
-                    Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
-                    if (request instanceof MutableHttpRequest<?> httpRequest && authInfo.isPresent()) {
-                        httpRequest.getHeaders().auth(authInfo.get());
-                    }
+        return Mono.deferContextual(context -> Mono.from(loadBalancer.select(getLoadBalancerDiscriminator()))
+            .map(server -> {
+                // report the server to resolveAndSend, see trackRequest
+                context.<SelectedServer>getOrEmpty(SelectedServer.class).ifPresent(selected -> selected.server = server);
+                return resolveServerURI(request, includeContextPath, server);
+            }));
+    }
 
-                    try {
-                        return server.resolve(includeContextPath ? ContextPathUtils.prepend(requestURI, contextPath) : requestURI);
-                    } catch (URISyntaxException e) {
-                        throw decorate(new HttpClientException("Failed to construct the request URI", e));
+    private <I> URI resolveServerURI(io.micronaut.http.HttpRequest<I> request, boolean includeContextPath, ServiceInstance server) {
+        URI requestURI = request.getUri();
+        Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
+        if (request instanceof MutableHttpRequest<?> httpRequest && authInfo.isPresent()) {
+            httpRequest.getHeaders().auth(authInfo.get());
+        }
+
+        try {
+            return server.resolve(includeContextPath ? ContextPathUtils.prepend(requestURI, contextPath) : requestURI);
+        } catch (URISyntaxException e) {
+            throw decorate(new HttpClientException("Failed to construct the request URI", e));
+        }
+    }
+
+    /**
+     * Resolve the URI of the request with {@link #resolveRequestURI(io.micronaut.http.HttpRequest)}
+     * and send it. If the server was selected by a {@link RequestTrackingLoadBalancer}, the
+     * request is reported to the load balancer.
+     */
+    private <T> Flux<T> resolveAndSend(io.micronaut.http.HttpRequest<?> request, Function<URI, ? extends Publisher<T>> send) {
+        if (!(loadBalancer instanceof RequestTrackingLoadBalancer tracking)) {
+            return resolveRequestURI(request).flatMapMany(send);
+        }
+        return Flux.defer(() -> {
+            SelectedServer selected = new SelectedServer();
+            return resolveRequestURI(request)
+                .contextWrite(Context.of(SelectedServer.class, selected))
+                .flatMapMany(uri -> {
+                    ServiceInstance server = selected.server;
+                    Flux<T> response = Flux.from(send.apply(uri));
+                    return server == null ? response : trackRequest(tracking, server, response);
+                });
+        });
+    }
+
+    /**
+     * Report the request sent to a server selected by a {@link RequestTrackingLoadBalancer}.
+     * The response time is the time to the first item of the response. Responses with a client
+     * error status still count as a success, the server did respond. A request that is cancelled
+     * before the server responded, e.g. on a timeout or by a hedged request, is not a response
+     * time sample.
+     */
+    private static <T> Flux<T> trackRequest(RequestTrackingLoadBalancer loadBalancer, ServiceInstance server, Flux<T> response) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong responseTime = new AtomicLong(-1);
+            AtomicBoolean failed = new AtomicBoolean();
+            loadBalancer.requestStarted(server);
+            return response
+                .doOnNext(item -> responseTime.compareAndSet(-1, System.nanoTime() - start))
+                .doOnError(e -> failed.set(!(e instanceof HttpClientResponseException hcre) || hcre.getResponse().code() >= 500))
+                .doFinally(signal -> {
+                    long duration = responseTime.get();
+                    if (signal == SignalType.CANCEL && duration < 0) {
+                        loadBalancer.requestCancelled(server);
+                    } else {
+                        loadBalancer.requestCompleted(server, duration < 0 ? System.nanoTime() - start : duration, !failed.get());
                     }
-                }
-        );
+                });
+        });
+    }
+
+    /**
+     * The server selected by the load balancer while resolving the request URI.
+     */
+    private static final class SelectedServer {
+        volatile ServiceInstance server;
     }
 
     private <R extends HttpResponse<?>> Mono<R> handleStreamHttpError(
@@ -1509,6 +1609,25 @@ public class DefaultHttpClient implements
         @Nullable BlockHint blockHint,
         MutableHttpRequest<?> request,
         BiFunction<MutableHttpRequest<?>, NettyClientByteBodyResponse, ? extends Mono<? extends HttpResponse<?>>> readResponse
+    ) {
+        return sendRequestWithRedirects(parentRequest, blockHint, request, BodyConsumption.RAW, readResponse);
+    }
+
+    /**
+     * @param parentRequest The parent <i>server</i> request from {@link ServerRequestContext}, for context propagation
+     * @param blockHint     The optional block hint
+     * @param request       The request to send. Must have resolved absolute URI (see {@link #resolveURI})
+     * @param consumption   How the response body is consumed
+     * @param readResponse  Function that reads the response from the raw
+     *                      {@link NettyClientByteBodyResponse} representation
+     * @return A mono containing the response
+     */
+    private Mono<HttpResponse<?>> sendRequestWithRedirects(
+        io.micronaut.http.HttpRequest<?> parentRequest,
+        @Nullable BlockHint blockHint,
+        MutableHttpRequest<?> request,
+        BodyConsumption consumption,
+        BiFunction<MutableHttpRequest<?>, NettyClientByteBodyResponse, ? extends Mono<? extends HttpResponse<?>>> readResponse
     ) {
         if (informationalServiceId != null && request.getAttribute(HttpAttributes.SERVICE_ID).isEmpty()) {
             request.setAttribute(HttpAttributes.SERVICE_ID, informationalServiceId);
@@ -1534,6 +1653,7 @@ public class DefaultHttpClient implements
                             parentRequest,
                             blockHint,
                             MutableHttpRequestWrapper.wrapIfNecessary(conversionService, request),
+                            consumption,
                             readResponse
                         )));
                     }
@@ -1561,8 +1681,79 @@ public class DefaultHttpClient implements
         io.micronaut.http.HttpRequest<?> parentRequest,
         @Nullable BlockHint blockHint,
         MutableHttpRequest<?> request,
+        BodyConsumption consumption,
         BiFunction<MutableHttpRequest<?>, NettyClientByteBodyResponse, ? extends Mono<? extends HttpResponse<?>>> readResponse
     ) {
+        Function<MutableHttpRequest<?>, Mono<NettyClientByteBodyResponse>> send;
+        if (consumption == BodyConsumption.FULL && responseCache != null) {
+            send = req -> responseCache.exchange(req, r -> sendRequestNoFilter(blockHint, r, consumption));
+        } else {
+            send = req -> sendRequestNoFilter(blockHint, req, consumption);
+        }
+        Mono<NettyClientByteBodyResponse> responseMono;
+        if (consumption == BodyConsumption.FULL && isSingleFlight(request)) {
+            // single-flight also shares the responses the cache would not share
+            responseMono = singleFlightRequests.coalesce(singleFlightKey(request), () -> send.apply(request).flatMap(ResponseSnapshot::of))
+                .map(snapshot -> snapshot.toResponse(conversionService));
+        } else {
+            responseMono = send.apply(request);
+        }
+        return responseMono
+            .flatMap(byteBodyResponse -> {
+                // handle redirects or map the response bytes
+
+                int code = byteBodyResponse.code();
+                HttpHeaders nettyHeaders = byteBodyResponse.getHeaders().getNettyHeaders();
+                if (code > 300 && code < 400 && configuration.isFollowRedirects() && nettyHeaders.contains(HttpHeaderNames.LOCATION)) {
+                    byteBodyResponse.close();
+                    String location = nettyHeaders.get(HttpHeaderNames.LOCATION);
+
+                    MutableHttpRequest<Object> redirectRequest;
+                    if (code == 307 || code == 308) {
+                        redirectRequest = io.micronaut.http.HttpRequest.create(request.getMethod(), location);
+                        request.getBody().ifPresent(redirectRequest::body);
+                    } else {
+                        redirectRequest = io.micronaut.http.HttpRequest.GET(location);
+                    }
+
+                    setRedirectHeaders(request, redirectRequest);
+                    return resolveRedirectURI(request, redirectRequest)
+                        .flatMap(uri -> sendRequestWithRedirects(parentRequest, blockHint, redirectRequest.uri(uri), consumption, readResponse));
+                } else {
+                    io.micronaut.http.HttpHeaders headers = byteBodyResponse.getHeaders();
+                    if (log.isTraceEnabled()) {
+                        log.trace("HTTP Client Response Received ({}) for Request: {} {}", byteBodyResponse.code(), request.getMethodName(), request.getUri());
+                        HttpHeadersUtil.trace(log, headers.names(), headers::getAll);
+                    }
+                    return readResponse.apply(request, byteBodyResponse);
+                }
+            });
+    }
+
+    private static boolean isSingleFlight(MutableHttpRequest<?> request) {
+        io.micronaut.http.HttpMethod method = request.getMethod();
+        return (method == io.micronaut.http.HttpMethod.GET || method == io.micronaut.http.HttpMethod.HEAD || method == io.micronaut.http.HttpMethod.OPTIONS)
+            && request.getBody().isEmpty()
+            && request.getAttribute(HttpAttributes.SINGLE_FLIGHT, Boolean.class).orElse(false);
+    }
+
+    private static String singleFlightKey(MutableHttpRequest<?> request) {
+        StringBuilder key = new StringBuilder(request.getMethodName()).append(' ').append(request.getUri());
+        for (Map.Entry<String, List<String>> header : request.getHeaders()) {
+            key.append('\n').append(header.getKey()).append(": ").append(header.getValue());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Connect and send a single request, without filters or redirect handling.
+     *
+     * @param blockHint   The optional block hint
+     * @param request     The request to send. Must have resolved absolute URI (see {@link #resolveURI})
+     * @param consumption How the response body is consumed
+     * @return A mono containing the raw response
+     */
+    private Mono<NettyClientByteBodyResponse> sendRequestNoFilter(@Nullable BlockHint blockHint, MutableHttpRequest<?> request, BodyConsumption consumption) {
         RequestKey requestKey;
         try {
             requestKey = new RequestKey(this, request.getUri());
@@ -1570,7 +1761,11 @@ public class DefaultHttpClient implements
             return Mono.error(e);
         }
         // first: connect
-        return connectionManager.connect(requestKey, blockHint)
+        RequestBatch batch = request.getAttribute(REQUEST_BATCH, RequestBatch.class).orElse(null);
+        Mono<ConnectionManager.PoolHandle> connect = batch == null ?
+            connectionManager.connect(requestKey, blockHint) :
+            batch.connect(connectionManager, requestKey, blockHint);
+        return connect
             .flatMap(poolHandle -> {
                 // build the raw request
                 request.setAttribute(NettyClientHttpRequest.CHANNEL, poolHandle.channel);
@@ -1594,36 +1789,7 @@ public class DefaultHttpClient implements
                 }
 
                 // send the raw request
-                return sendRawRequest(poolHandle, request, byteBody);
-            })
-            .flatMap(byteBodyResponse -> {
-                // handle redirects or map the response bytes
-
-                int code = byteBodyResponse.code();
-                HttpHeaders nettyHeaders = byteBodyResponse.getHeaders().getNettyHeaders();
-                if (code > 300 && code < 400 && configuration.isFollowRedirects() && nettyHeaders.contains(HttpHeaderNames.LOCATION)) {
-                    byteBodyResponse.close();
-                    String location = nettyHeaders.get(HttpHeaderNames.LOCATION);
-
-                    MutableHttpRequest<Object> redirectRequest;
-                    if (code == 307 || code == 308) {
-                        redirectRequest = io.micronaut.http.HttpRequest.create(request.getMethod(), location);
-                        request.getBody().ifPresent(redirectRequest::body);
-                    } else {
-                        redirectRequest = io.micronaut.http.HttpRequest.GET(location);
-                    }
-
-                    setRedirectHeaders(request, redirectRequest);
-                    return resolveRedirectURI(request, redirectRequest)
-                        .flatMap(uri -> sendRequestWithRedirects(parentRequest, blockHint, redirectRequest.uri(uri), readResponse));
-                } else {
-                    io.micronaut.http.HttpHeaders headers = byteBodyResponse.getHeaders();
-                    if (log.isTraceEnabled()) {
-                        log.trace("HTTP Client Response Received ({}) for Request: {} {}", byteBodyResponse.code(), request.getMethodName(), request.getUri());
-                        HttpHeadersUtil.trace(log, headers.names(), headers::getAll);
-                    }
-                    return readResponse.apply(request, byteBodyResponse);
-                }
+                return sendRawRequest(poolHandle, request, byteBody, consumption == BodyConsumption.INCREMENTAL ? BodySizeLimits.UNLIMITED : sizeLimits());
             });
     }
 
@@ -1633,12 +1799,14 @@ public class DefaultHttpClient implements
      * @param poolHandle         The pool handle to send the request on
      * @param request            The request to send
      * @param byteBody           The request body
+     * @param sizeLimits         The size limits of the response body
      * @return A mono containing the response
      */
     private Mono<NettyClientByteBodyResponse> sendRawRequest(
         ConnectionManager.PoolHandle poolHandle,
         io.micronaut.http.HttpRequest<?> request,
-        NettyByteBody byteBody
+        NettyByteBody byteBody,
+        BodySizeLimits sizeLimits
     ) {
         URI uri = request.getUri();
         String uriWithoutHost = uri.getRawPath();
@@ -1711,7 +1879,7 @@ public class DefaultHttpClient implements
 
                 @Override
                 public BodySizeLimits sizeLimits() {
-                    return DefaultHttpClient.this.sizeLimits();
+                    return sizeLimits;
                 }
 
                 @Override
@@ -2193,4 +2361,23 @@ public class DefaultHttpClient implements
         String name;
         Duration retry;
     }
+
+    /**
+     * How the body of a response is consumed.
+     */
+    private enum BodyConsumption {
+        /**
+         * The body is read fully, so the response may be cached or shared.
+         */
+        FULL,
+        /**
+         * The body is passed on to the caller, who may buffer it.
+         */
+        RAW,
+        /**
+         * The body is split and processed piece by piece, e.g. the elements of a JSON stream.
+         * The size of the body as a whole is not limited.
+         */
+        INCREMENTAL
+    }
 }
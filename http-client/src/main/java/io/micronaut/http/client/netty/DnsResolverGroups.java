@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.resolver.dns.DnsServerAddressStreamProvider;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
+import io.netty.resolver.dns.RoundRobinDnsAddressResolverGroup;
+import io.netty.resolver.dns.SequentialDnsServerAddressStreamProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Factory for the non-blocking netty DNS resolvers. This class is only loaded if
+ * {@code io.netty:netty-resolver-dns} is on the classpath.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class DnsResolverGroups {
+    private DnsResolverGroups() {
+    }
+
+    /**
+     * Create a DNS resolver group. The records and the failed lookups are cached in a cache shared
+     * by the resolvers of all event loops.
+     *
+     * @param configuration     The client configuration
+     * @param udpChannelFactory The factory for the UDP channels of the DNS queries
+     * @param roundRobin        Whether to pick a random record for each resolution
+     * @return The resolver group
+     */
+    @NonNull
+    static AddressResolverGroup<InetSocketAddress> create(
+        HttpClientConfiguration configuration,
+        ChannelFactory<? extends DatagramChannel> udpChannelFactory,
+        boolean roundRobin) {
+
+        DnsNameResolverBuilder builder = new DnsNameResolverBuilder()
+            .datagramChannelFactory(udpChannelFactory)
+            .nameServerProvider(nameServerProvider(configuration.getDnsServers()))
+            .ttl(seconds(configuration.getDnsCacheMinTtl(), 0), seconds(configuration.getDnsCacheMaxTtl(), Integer.MAX_VALUE))
+            .negativeTtl(seconds(configuration.getDnsCacheNegativeTtl(), 0));
+        Duration queryTimeout = configuration.getDnsQueryTimeout();
+        if (queryTimeout != null) {
+            builder.queryTimeoutMillis(queryTimeout.toMillis());
+        }
+        return roundRobin ? new RoundRobinDnsAddressResolverGroup(builder) : new DnsAddressResolverGroup(builder);
+    }
+
+    private static DnsServerAddressStreamProvider nameServerProvider(List<SocketAddress> servers) {
+        if (servers == null || servers.isEmpty()) {
+            return DnsServerAddressStreamProviders.platformDefault();
+        }
+        InetSocketAddress[] addresses = new InetSocketAddress[servers.size()];
+        for (int i = 0; i < addresses.length; i++) {
+            InetSocketAddress address = (InetSocketAddress) servers.get(i);
+            // the configured addresses are not resolved, the server is usually given as an IP literal
+            addresses[i] = address.isUnresolved() ? new InetSocketAddress(address.getHostString(), address.getPort()) : address;
+        }
+        return new SequentialDnsServerAddressStreamProvider(addresses);
+    }
+
+    private static int seconds(Duration duration, int defaultValue) {
+        if (duration == null) {
+            return defaultValue;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, duration.toSeconds());
+    }
+}
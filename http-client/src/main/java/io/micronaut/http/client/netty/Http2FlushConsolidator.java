@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Handler on an HTTP/2 connection that defers the flushes of the stream channels to a single task
+ * on the event loop, so that the frames written by several streams during one event loop
+ * iteration, e.g. the HEADERS frames of a {@link DefaultHttpClient#exchangeAll batch}, are sent
+ * together. The handler sits between the frame codec and the multiplex handler, and only defers
+ * flushes while at least one stream has {@link #addStream() opted in}.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class Http2FlushConsolidator extends ChannelDuplexHandler {
+    private ChannelHandlerContext ctx;
+    /**
+     * Number of streams that consolidate their flushes. Only accessed on the event loop.
+     */
+    private int streams;
+    private boolean flushPending;
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Start consolidating the flushes for a new stream.
+     */
+    void addStream() {
+        if (ctx.executor().inEventLoop()) {
+            streams++;
+        } else {
+            ctx.executor().execute(this::addStream);
+        }
+    }
+
+    /**
+     * Stop consolidating the flushes for a stream that was {@link #addStream() added} before.
+     */
+    void removeStream() {
+        if (ctx.executor().inEventLoop()) {
+            streams--;
+        } else {
+            ctx.executor().execute(this::removeStream);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (streams <= 0) {
+            ctx.flush();
+        } else if (!flushPending) {
+            flushPending = true;
+            ctx.executor().execute(this::flushNow);
+        }
+    }
+
+    private void flushNow() {
+        if (flushPending) {
+            flushPending = false;
+            ctx.flush();
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        // don't hold back data when the outbound buffer is full
+        flushNow();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        flushPending = false;
+        super.channelInactive(ctx);
+    }
+}
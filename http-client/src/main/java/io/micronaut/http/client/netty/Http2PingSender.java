@@ -18,22 +18,42 @@ package io.micronaut.http.client.netty;
 import io.micronaut.core.annotation.Internal;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2PingFrame;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
 
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
- * IdleStateHandler that automatically sends HTTP/2 ping frames on timeout.
+ * IdleStateHandler that automatically sends HTTP/2 ping frames on timeout. If an ack timeout is
+ * set, the connection is closed when the peer does not acknowledge the ping in time, so that
+ * dead connections are evicted from the pool before a request is dispatched to them.
  *
  * @since 4.6.0
  * @author Jonas Konrad
  */
 @Internal
 final class Http2PingSender extends IdleStateHandler {
+    private final long ackTimeoutNanos;
+    private ScheduledFuture<?> ackTimeout;
+
     public Http2PingSender(long readerIdleTime, long writerIdleTime, long allIdleTime, TimeUnit unit) {
+        this(readerIdleTime, writerIdleTime, allIdleTime, 0, unit);
+    }
+
+    /**
+     * @param readerIdleTime The reader idle time before a ping is sent
+     * @param writerIdleTime The writer idle time before a ping is sent
+     * @param allIdleTime    The idle time before a ping is sent
+     * @param ackTimeout     The time to wait for the ping ack before the connection is closed, or {@code 0} to wait forever
+     * @param unit           The time unit
+     * @since 4.8.0
+     */
+    public Http2PingSender(long readerIdleTime, long writerIdleTime, long allIdleTime, long ackTimeout, TimeUnit unit) {
         super(readerIdleTime, writerIdleTime, allIdleTime, unit);
+        this.ackTimeoutNanos = unit.toNanos(ackTimeout);
     }
 
     @Override
@@ -42,5 +62,38 @@ final class Http2PingSender extends IdleStateHandler {
         resetWriteTimeout();
 
         ctx.writeAndFlush(new DefaultHttp2PingFrame(ThreadLocalRandom.current().nextLong()), ctx.voidPromise());
+        if (ackTimeoutNanos > 0 && ackTimeout == null) {
+            ackTimeout = ctx.executor().schedule(() -> {
+                ackTimeout = null;
+                ctx.close();
+            }, ackTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof Http2PingFrame ping && ping.ack()) {
+            cancelAckTimeout();
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        cancelAckTimeout();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        cancelAckTimeout();
+        super.handlerRemoved(ctx);
+    }
+
+    private void cancelAckTimeout() {
+        if (ackTimeout != null) {
+            ackTimeout.cancel(false);
+            ackTimeout = null;
+        }
     }
 }
@@ -24,8 +24,12 @@ import reactor.core.publisher.Sinks;
 
 import java.util.Deque;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -40,11 +44,35 @@ import java.util.function.Consumer;
  * {@link #dirty()}. The state management logic ensures that {@link #doSomeWork()} is called in a
  * serialized fashion (no concurrency or reentrancy) at least once after each {@link #dirty()}
  * call.
+ * <p>
+ * In {@link HttpClientConfiguration.ConnectionPoolConfiguration#isAdaptive() adaptive} mode, a
+ * pending request only leads to a new connection if there is no connection yet, or if it has
+ * waited longer than the average time it took to establish the previous connections. Otherwise,
+ * it is likely that a busy connection becomes available before a new one would be ready. The
+ * in-flight requests are sampled on every state change, and idle connections that exceed the peak
+ * in-flight count of the last {@link #ADAPTIVE_WINDOW_NANOS window} are closed. While the pool
+ * has more connections than the configured minimum, a re-check is scheduled at the end of each
+ * window, so that idle connections are also closed when no more requests arrive.
+ * <p>
+ * {@link #warmUp(int)} opens connections ahead of the first request, at least the configured
+ * minimum connection count. The warm-up target is forgotten once it is reached or a connection
+ * attempt fails, so warm connections are afterwards managed like any other connection.
  */
 @Internal
 abstract class PoolResizer {
+    /**
+     * The window over which the peak in-flight request count is tracked in adaptive mode.
+     */
+    private static final long ADAPTIVE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(5);
+    /**
+     * Weight of a new sample in the average connect time.
+     */
+    private static final double CONNECT_TIME_ALPHA = 0.3;
+
     private final Logger log;
     private final HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration;
+    private final boolean adaptive;
+    private final int minConnections;
 
     private final AtomicReference<WorkState> state = new AtomicReference<>(WorkState.IDLE);
 
@@ -54,9 +82,32 @@ abstract class PoolResizer {
     private final List<ResizerConnection> http1Connections = new CopyOnWriteArrayList<>();
     private final List<ResizerConnection> http2Connections = new CopyOnWriteArrayList<>();
 
+    /**
+     * Start times of the connections that are being established, in adaptive mode.
+     */
+    private final Queue<Long> connectStartNanos = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean recheckScheduled = new AtomicBoolean();
+    private final AtomicBoolean retireScheduled = new AtomicBoolean();
+    private volatile long averageConnectNanos;
+    private final AtomicInteger warmupConnections = new AtomicInteger();
+
+    // only accessed from doSomeWork
+    private long windowStartNanos = System.nanoTime();
+    private int peakHttp1Requests;
+    private int peakHttp2Requests;
+
     PoolResizer(Logger log, HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration) {
         this.log = log;
         this.connectionPoolConfiguration = connectionPoolConfiguration;
+        this.adaptive = connectionPoolConfiguration.isEnabled() && connectionPoolConfiguration.isAdaptive();
+        this.minConnections = connectionPoolConfiguration.isEnabled() ? connectionPoolConfiguration.getMinConnections() : 0;
+    }
+
+    /**
+     * @return {@code true} if the pool size adapts to the load
+     */
+    final boolean isAdaptive() {
+        return adaptive;
     }
 
     private void dirty() {
@@ -132,11 +183,32 @@ abstract class PoolResizer {
         int http1ConnectionCount = this.http1Connections.size();
         int http2ConnectionCount = this.http2Connections.size();
 
-        if (pendingRequestCount == 0) {
+        if (adaptive) {
+            trackLoad(pendingRequestCount);
+        }
+
+        int warmup = this.warmupConnections.get();
+        if (warmup > 0 && http1ConnectionCount + http2ConnectionCount >= warmup) {
+            // warm-up is done
+            this.warmupConnections.compareAndSet(warmup, 0);
+            warmup = 0;
+        }
+        if (pendingRequestCount == 0 && warmup == 0) {
             // if there are no pending requests, there is nothing to do.
             return;
         }
         int connectionsToOpen = pendingRequestCount - pendingConnectionCount;
+        if (adaptive && connectionsToOpen > 0 && http1ConnectionCount + http2ConnectionCount > 0 && !acquireWaitExceeded()) {
+            // a busy connection is likely to become available before a new one is established
+            connectionsToOpen = 0;
+        }
+        if (warmup > 0) {
+            connectionsToOpen = Math.max(connectionsToOpen, warmup - http1ConnectionCount - http2ConnectionCount - pendingConnectionCount);
+        }
+        if (minConnections > 0 && pendingRequestCount > 0) {
+            // pre-warm the pool
+            connectionsToOpen = Math.max(connectionsToOpen, minConnections - http1ConnectionCount - http2ConnectionCount - pendingConnectionCount);
+        }
         // make sure we won't exceed our config setting for pending connections
         connectionsToOpen = Math.min(connectionsToOpen, connectionPoolConfiguration.getMaxPendingConnections() - pendingConnectionCount);
         // limit the connection count to the protocol-specific settings, but only if that protocol was seen for this pool.
@@ -147,9 +219,17 @@ abstract class PoolResizer {
             connectionsToOpen = Math.min(connectionsToOpen, connectionPoolConfiguration.getMaxConcurrentHttp2Connections() - http2ConnectionCount);
         }
 
+        if (connectionsToOpen <= 0 && warmup > 0 && pendingConnectionCount == 0) {
+            // the limits don't allow for more connections, give up on the warm-up
+            this.warmupConnections.compareAndSet(warmup, 0);
+        }
+
         if (connectionsToOpen > 0) {
             this.pendingConnectionCount.addAndGet(connectionsToOpen);
             for (int i = 0; i < connectionsToOpen; i++) {
+                if (adaptive) {
+                    connectStartNanos.add(System.nanoTime());
+                }
                 try {
                     openNewConnection(blockedPendingRequests);
                 } catch (Exception e) {
@@ -164,6 +244,109 @@ abstract class PoolResizer {
         }
     }
 
+    /**
+     * Check whether the oldest pending request has waited long enough to justify a new
+     * connection. If not, schedule another check for when it has.
+     *
+     * @return {@code true} if a new connection should be opened
+     */
+    private boolean acquireWaitExceeded() {
+        PoolSink<ConnectionManager.PoolHandle> oldest = pendingRequests.peekFirst();
+        if (oldest == null) {
+            return false;
+        }
+        long waited = System.nanoTime() - oldest.getAcquireStartNanos();
+        long threshold = averageConnectNanos;
+        if (waited >= threshold) {
+            return true;
+        }
+        if (recheckScheduled.compareAndSet(false, true)) {
+            try {
+                schedule(() -> {
+                    recheckScheduled.set(false);
+                    dirty();
+                }, threshold - waited);
+            } catch (Exception e) {
+                // the event loop is shutting down, don't hold back the request
+                recheckScheduled.set(false);
+                log.debug("Failed to schedule pool resize", e);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Track the peak number of in-flight requests, and close the idle connections that were not
+     * needed during the last window.
+     *
+     * @param pendingRequestCount The number of requests waiting for a connection
+     */
+    private void trackLoad(int pendingRequestCount) {
+        int http1Requests = 0;
+        for (ResizerConnection c : http1Connections) {
+            http1Requests += c.liveRequests();
+        }
+        int http2Requests = 0;
+        int http2Capacity = 1;
+        for (ResizerConnection c : http2Connections) {
+            http2Requests += c.liveRequests();
+            http2Capacity = Math.max(http2Capacity, c.maxRequests());
+        }
+        peakHttp1Requests = Math.max(peakHttp1Requests, http1Requests);
+        peakHttp2Requests = Math.max(peakHttp2Requests, http2Requests);
+
+        long now = System.nanoTime();
+        if (now - windowStartNanos < ADAPTIVE_WINDOW_NANOS) {
+            scheduleRetirement(ADAPTIVE_WINDOW_NANOS - (now - windowStartNanos));
+            return;
+        }
+        if (pendingRequestCount == 0) {
+            int http1Needed = Math.max(peakHttp1Requests, minConnections - http2Connections.size());
+            retireIdle(http1Connections, http1Needed);
+            int http2Needed = peakHttp2Requests == 0 ? 0 : (peakHttp2Requests - 1) / http2Capacity + 1;
+            retireIdle(http2Connections, Math.max(http2Needed, minConnections - http1Connections.size()));
+        }
+        windowStartNanos = now;
+        peakHttp1Requests = http1Requests;
+        peakHttp2Requests = http2Requests;
+        scheduleRetirement(ADAPTIVE_WINDOW_NANOS);
+    }
+
+    /**
+     * Schedule a re-check at the end of the current window if the pool has more connections than
+     * the minimum, so that idle connections are closed even if no further state change happens.
+     *
+     * @param delayNanos The time until the end of the window
+     */
+    private void scheduleRetirement(long delayNanos) {
+        if (http1Connections.size() + http2Connections.size() <= minConnections || !retireScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            schedule(() -> {
+                retireScheduled.set(false);
+                dirty();
+            }, delayNanos);
+        } catch (Exception e) {
+            // the event loop is shutting down, the connections are closed anyway
+            retireScheduled.set(false);
+            log.debug("Failed to schedule pool resize", e);
+        }
+    }
+
+    private void retireIdle(List<ResizerConnection> connections, int needed) {
+        int excess = connections.size() - needed;
+        for (ResizerConnection c : connections) {
+            if (excess <= 0) {
+                break;
+            }
+            if (c.retireIfIdle()) {
+                excess--;
+            }
+        }
+    }
+
     private boolean dispatchSafe(ResizerConnection connection, PoolSink<ConnectionManager.PoolHandle> toDispatch) {
         try {
             return connection.dispatch(toDispatch);
@@ -182,6 +365,30 @@ abstract class PoolResizer {
 
     abstract void openNewConnection(@Nullable BlockHint blockedPendingRequests) throws Exception;
 
+    /**
+     * Open connections until the pool has at least the given number of connections, or the
+     * configured minimum connection count if that is higher, without waiting for requests. The
+     * connection limits of the configuration still apply.
+     *
+     * @param connections The number of connections to open
+     */
+    final void warmUp(int connections) {
+        int target = Math.max(connections, minConnections);
+        if (target <= 0) {
+            return;
+        }
+        warmupConnections.accumulateAndGet(target, Math::max);
+        dirty();
+    }
+
+    /**
+     * Schedule a task, used to re-evaluate the pool size in adaptive mode.
+     *
+     * @param task       The task
+     * @param delayNanos The delay in nanoseconds
+     */
+    abstract void schedule(Runnable task, long delayNanos);
+
     static boolean incrementWithLimit(AtomicInteger variable, int limit) {
         while (true) {
             int old = variable.get();
@@ -198,22 +405,37 @@ abstract class PoolResizer {
     void onNewConnectionFailure(@Nullable Throwable error) throws Exception {
         // todo: implement a circuit breaker here? right now, we just fail one connection in the
         //  subclass implementation, but maybe we should do more.
+        connectStartNanos.poll();
+        // don't retry the warm-up, the next request will open a connection if the target is reachable
+        warmupConnections.set(0);
         pendingConnectionCount.decrementAndGet();
         dirty();
     }
 
     final void onNewConnectionEstablished1(ResizerConnection connection) {
         http1Connections.add(connection);
+        recordConnectTime();
         pendingConnectionCount.decrementAndGet();
         dirty();
     }
 
     final void onNewConnectionEstablished2(ResizerConnection connection) {
         http2Connections.add(connection);
+        recordConnectTime();
         pendingConnectionCount.decrementAndGet();
         dirty();
     }
 
+    private void recordConnectTime() {
+        // connections usually complete in the order they were opened, so this is a good estimate
+        Long start = connectStartNanos.poll();
+        if (start != null) {
+            long sample = System.nanoTime() - start;
+            long average = averageConnectNanos;
+            averageConnectNanos = average == 0 ? sample : (long) (average + CONNECT_TIME_ALPHA * (sample - average));
+        }
+    }
+
     final void onConnectionInactive1(ResizerConnection connection) {
         http1Connections.remove(connection);
         dirty();
@@ -282,5 +504,23 @@ abstract class PoolResizer {
          * request must be readded), or {@code false} if it fails immediately
          */
         abstract boolean dispatch(PoolSink<ConnectionManager.PoolHandle> sink) throws Exception;
+
+        /**
+         * @return The number of requests currently running on this connection
+         */
+        abstract int liveRequests();
+
+        /**
+         * @return The maximum number of requests that can run concurrently on this connection
+         */
+        abstract int maxRequests();
+
+        /**
+         * Close this connection if there is no request running on it, and make sure no new
+         * request is dispatched to it.
+         *
+         * @return {@code true} if the connection was closed
+         */
+        abstract boolean retireIfIdle();
     }
 }
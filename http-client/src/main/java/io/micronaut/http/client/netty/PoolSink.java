@@ -20,7 +20,7 @@ import io.micronaut.core.annotation.Nullable;
 import reactor.core.publisher.Sinks;
 
 /**
- * Sink with an additional optional {@link BlockHint} as metadata.
+ * Sink with an additional optional {@link BlockHint} and the acquisition start time as metadata.
  *
  * @param <T> The type that can be submitted to this sink.
  * @author Jonas Konrad
@@ -30,4 +30,9 @@ import reactor.core.publisher.Sinks;
 interface PoolSink<T> extends Sinks.One<T> {
     @Nullable
     BlockHint getBlockHint();
+
+    /**
+     * @return The {@link System#nanoTime()} at which the connection acquisition started
+     */
+    long getAcquireStartNanos();
 }
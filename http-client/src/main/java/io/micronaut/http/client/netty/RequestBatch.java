@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.client.netty.ConnectionManager.PoolHandle;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared state of the requests of one {@link DefaultHttpClient#exchangeAll} call.
+ *
+ * <p>Only the first request of the batch for each host acquires a connection right away. The
+ * other requests wait until it has one, so that they are dispatched as additional streams of
+ * that connection if it is HTTP/2, instead of each opening a new connection on a cold pool. The
+ * waiting requests are then acquired in one go, and their flushes are
+ * {@link PoolHandle#consolidateFlushes() consolidated}.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class RequestBatch {
+    private final Map<DefaultHttpClient.RequestKey, Sinks.Empty<Void>> firstConnections = new ConcurrentHashMap<>();
+
+    /**
+     * Acquire a connection for a request of this batch.
+     *
+     * @param connectionManager The connection manager
+     * @param requestKey        The key of the request
+     * @param blockHint         The optional block hint
+     * @return The pool handle
+     */
+    Mono<PoolHandle> connect(ConnectionManager connectionManager, DefaultHttpClient.RequestKey requestKey, @Nullable BlockHint blockHint) {
+        Sinks.Empty<Void> connected = Sinks.empty();
+        Sinks.Empty<Void> existing = firstConnections.putIfAbsent(requestKey, connected);
+        Mono<PoolHandle> connect;
+        if (existing == null) {
+            connect = connectionManager.connect(requestKey, blockHint)
+                // also release the others on failure, they may still succeed on their own
+                .doFinally(signal -> connected.tryEmitEmpty());
+        } else {
+            connect = existing.asMono().then(Mono.defer(() -> connectionManager.connect(requestKey, blockHint)));
+        }
+        return connect.doOnNext(PoolHandle::consolidateFlushes);
+    }
+}
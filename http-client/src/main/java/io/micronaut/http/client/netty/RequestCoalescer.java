@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Shares the result of an in-flight operation with all callers that ask for the same key while
+ * the operation is running.
+ *
+ * @param <T> The result type. Must be safe to share between callers
+ * @since 4.8.0
+ */
+@Internal
+final class RequestCoalescer<T> {
+    private final Map<String, Mono<T>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Run the given operation, or join the in-flight operation with the same key.
+     *
+     * @param key       The key of the operation
+     * @param operation The operation
+     * @return The shared result
+     */
+    Mono<T> coalesce(String key, Supplier<Mono<T>> operation) {
+        Mono<T> shared = inFlight.get(key);
+        if (shared != null) {
+            return shared;
+        }
+        AtomicReference<Mono<T>> self = new AtomicReference<>();
+        // the operation must be removed before the result is emitted, so that a call made by a
+        // subscriber right after does not get the old result
+        Mono<T> run = Mono.defer(operation)
+            .doOnEach(signal -> inFlight.remove(key, self.get()))
+            .cache();
+        self.set(run);
+        Mono<T> existing = inFlight.putIfAbsent(key, run);
+        return existing == null ? run : existing;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.MutableHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of {@code GET} responses of a {@link DefaultHttpClient}, honoring the
+ * {@code Cache-Control} and {@code Vary} headers of the responses.
+ * <p>
+ * Fresh responses are served from the cache. Stale responses with an {@code ETag} are
+ * revalidated with {@code If-None-Match}, and a {@code 304} response renews the cached response.
+ * Concurrent requests for the same missing or stale response share a single upstream request,
+ * but only a cacheable response is handed to the requests that joined it. The others are sent
+ * again on their own.
+ * <p>
+ * The cache is shared by all callers of the client, so requests carrying credentials and
+ * {@code private} responses are never cached or shared.
+ * <p>
+ * The cache sits below the client filters, so the cached response is still processed by the
+ * filters of each request.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class ResponseCache {
+    private final int maxEntrySize;
+    private final ConversionService conversionService;
+    /**
+     * The {@code Vary} header names of the cached responses, by URI.
+     */
+    private final Map<String, List<String>> varyNames;
+    private final Map<String, Entry> entries;
+    private final RequestCoalescer<Fetched> inFlight = new RequestCoalescer<>();
+
+    ResponseCache(int maxEntries, int maxEntrySize, ConversionService conversionService) {
+        this.maxEntrySize = maxEntrySize;
+        this.conversionService = conversionService;
+        this.varyNames = new ConcurrentLinkedHashMap.Builder<String, List<String>>()
+            .maximumWeightedCapacity(maxEntries)
+            .build();
+        this.entries = new ConcurrentLinkedHashMap.Builder<String, Entry>()
+            .maximumWeightedCapacity(maxEntries)
+            .build();
+    }
+
+    /**
+     * Send a request through the cache.
+     *
+     * @param request  The request, with a resolved absolute URI
+     * @param upstream Sends the request to the server
+     * @return The cached or upstream response
+     */
+    Mono<NettyClientByteBodyResponse> exchange(MutableHttpRequest<?> request,
+                                               Function<MutableHttpRequest<?>, Mono<NettyClientByteBodyResponse>> upstream) {
+        if (request.getMethod() != HttpMethod.GET
+            || request.getHeaders().contains(io.micronaut.http.HttpHeaders.IF_NONE_MATCH)
+            || request.getHeaders().contains(io.micronaut.http.HttpHeaders.IF_MODIFIED_SINCE)
+            || hasCredentials(request)) {
+            // conditional requests of the caller are not answered from the cache, and responses
+            // to credentials must not leak to other callers
+            return upstream.apply(request);
+        }
+        String requestCacheControl = cacheControl(request.getHeaders().getAll(io.micronaut.http.HttpHeaders.CACHE_CONTROL));
+        if (hasDirective(requestCacheControl, "no-store")) {
+            return upstream.apply(request);
+        }
+        String uri = request.getUri().toString();
+        String key = key(uri, varyNames.getOrDefault(uri, Collections.emptyList()), request);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isFresh(System.nanoTime()) && !hasDirective(requestCacheControl, "no-cache")) {
+            return Mono.fromSupplier(() -> entry.snapshot.toResponse(conversionService));
+        }
+        AtomicBoolean leader = new AtomicBoolean();
+        return inFlight.coalesce(key, () -> {
+                leader.set(true);
+                return fetch(request, uri, entry, upstream);
+            })
+            .flatMap(fetched -> fetched.shareable() || leader.get()
+                ? Mono.fromSupplier(() -> fetched.snapshot().toResponse(conversionService))
+                : upstream.apply(request));
+    }
+
+    private Mono<Fetched> fetch(MutableHttpRequest<?> request,
+                                         String uri,
+                                         @Nullable Entry stale,
+                                         Function<MutableHttpRequest<?>, Mono<NettyClientByteBodyResponse>> upstream) {
+        boolean revalidate = stale != null && stale.etag != null;
+        return upstream.apply(revalidate ? conditional(request, stale.etag) : request)
+            .flatMap(ResponseSnapshot::of)
+            .map(snapshot -> {
+                HttpHeaders headers = snapshot.headers();
+                long now = System.nanoTime();
+                if (revalidate && snapshot.code() == HttpResponseStatus.NOT_MODIFIED.code()) {
+                    Entry renewed = new Entry(stale.snapshot, stale.etag, now, freshnessNanos(headers, stale.freshnessNanos));
+                    store(uri, request, renewed);
+                    return new Fetched(stale.snapshot, true);
+                }
+                Entry entry = cacheable(snapshot.code(), headers, snapshot.body().length)
+                    ? new Entry(snapshot, headers.get(HttpHeaderNames.ETAG), now, freshnessNanos(headers, 0))
+                    : null;
+                if (entry != null) {
+                    store(uri, request, entry);
+                } else if (stale != null) {
+                    entries.remove(key(uri, varyNames.getOrDefault(uri, Collections.emptyList()), request));
+                }
+                return new Fetched(snapshot, entry != null);
+            });
+    }
+
+    /**
+     * Copy a request for revalidation, so the request of the caller is left untouched.
+     *
+     * @param request The request of the caller
+     * @param etag    The entity tag of the cached response
+     * @return The conditional request
+     */
+    private static MutableHttpRequest<?> conditional(MutableHttpRequest<?> request, String etag) {
+        MutableHttpRequest<Object> copy = io.micronaut.http.HttpRequest.create(request.getMethod(), request.getUri().toString());
+        for (Map.Entry<String, List<String>> header : request.getHeaders()) {
+            for (String value : header.getValue()) {
+                copy.getHeaders().add(header.getKey(), value);
+            }
+        }
+        request.getAttributes().forEach(copy::setAttribute);
+        copy.getHeaders().set(io.micronaut.http.HttpHeaders.IF_NONE_MATCH, etag);
+        return copy;
+    }
+
+    private static boolean hasCredentials(MutableHttpRequest<?> request) {
+        io.micronaut.http.HttpHeaders headers = request.getHeaders();
+        return headers.contains(io.micronaut.http.HttpHeaders.AUTHORIZATION)
+            || headers.contains(io.micronaut.http.HttpHeaders.PROXY_AUTHORIZATION)
+            || headers.contains(io.micronaut.http.HttpHeaders.COOKIE);
+    }
+
+    private boolean cacheable(int code, HttpHeaders headers, int size) {
+        if (code != HttpResponseStatus.OK.code() || size > maxEntrySize) {
+            return false;
+        }
+        String cacheControl = cacheControl(headers.getAll(HttpHeaderNames.CACHE_CONTROL));
+        if (hasDirective(cacheControl, "no-store")
+            || hasDirective(cacheControl, "private")
+            || "*".equals(headers.get(HttpHeaderNames.VARY))) {
+            return false;
+        }
+        return maxAgeSeconds(cacheControl) > 0 || headers.contains(HttpHeaderNames.ETAG);
+    }
+
+    private void store(String uri, MutableHttpRequest<?> request, Entry entry) {
+        List<String> vary = new ArrayList<>();
+        for (String value : entry.snapshot.headers().getAll(HttpHeaderNames.VARY)) {
+            for (String name : value.split(",")) {
+                String trimmed = name.trim().toLowerCase(Locale.ENGLISH);
+                if (!trimmed.isEmpty()) {
+                    vary.add(trimmed);
+                }
+            }
+        }
+        varyNames.put(uri, vary);
+        entries.put(key(uri, vary, request), entry);
+    }
+
+    private static String key(String uri, List<String> vary, MutableHttpRequest<?> request) {
+        if (vary.isEmpty()) {
+            return uri;
+        }
+        StringBuilder key = new StringBuilder(uri);
+        for (String name : vary) {
+            key.append('\n').append(name).append('=').append(String.join(",", request.getHeaders().getAll(name)));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param headers  The response headers
+     * @param fallback The freshness lifetime if the response does not specify one
+     * @return The freshness lifetime of the response in nanoseconds
+     */
+    private static long freshnessNanos(HttpHeaders headers, long fallback) {
+        String cacheControl = cacheControl(headers.getAll(HttpHeaderNames.CACHE_CONTROL));
+        if (cacheControl == null) {
+            return fallback;
+        }
+        if (hasDirective(cacheControl, "no-cache")) {
+            return 0;
+        }
+        long maxAge = maxAgeSeconds(cacheControl);
+        if (maxAge < 0) {
+            return fallback;
+        }
+        long age = 0;
+        String ageHeader = headers.get(HttpHeaderNames.AGE);
+        if (ageHeader != null) {
+            try {
+                age = Long.parseLong(ageHeader.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return TimeUnit.SECONDS.toNanos(Math.max(0, maxAge - age));
+    }
+
+    @Nullable
+    private static String cacheControl(List<String> values) {
+        return values.isEmpty() ? null : String.join(",", values).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static boolean hasDirective(@Nullable String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String part : cacheControl.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.equals(directive) || trimmed.startsWith(directive + "=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param cacheControl The lower case {@code Cache-Control} value
+     * @return The {@code max-age} in seconds, or {@code -1} if absent or invalid
+     */
+    private static long maxAgeSeconds(@Nullable String cacheControl) {
+        if (cacheControl == null) {
+            return -1;
+        }
+        for (String part : cacheControl.split(",")) {
+            String directive = part.trim();
+            if (directive.startsWith("max-age=")) {
+                try {
+                    return Long.parseLong(directive.substring("max-age=".length()).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The result of an upstream request.
+     *
+     * @param snapshot  The response
+     * @param shareable Whether the response is cacheable, and may be given to every coalesced request
+     */
+    private record Fetched(ResponseSnapshot snapshot, boolean shareable) {
+    }
+
+    /**
+     * A cached response.
+     *
+     * @param snapshot       The response
+     * @param etag           The entity tag used for revalidation
+     * @param storedAt       The {@link System#nanoTime()} the response was received or revalidated
+     * @param freshnessNanos The freshness lifetime
+     */
+    private record Entry(ResponseSnapshot snapshot, @Nullable String etag, long storedAt, long freshnessNanos) {
+        boolean isFresh(long now) {
+            return now - storedAt < freshnessNanos;
+        }
+    }
+}
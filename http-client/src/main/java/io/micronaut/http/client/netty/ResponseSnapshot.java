@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.http.body.InternalByteBody;
+import io.micronaut.http.netty.body.AvailableNettyByteBody;
+import io.micronaut.http.reactive.execution.ReactiveExecutionFlow;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import reactor.core.publisher.Mono;
+
+/**
+ * A buffered client response that can be served multiple times. Every response created from the
+ * snapshot wraps the same body bytes without copying them.
+ *
+ * @param version The protocol version
+ * @param status  The response status
+ * @param headers The response headers
+ * @param body    The response body
+ * @since 4.8.0
+ */
+@Internal
+record ResponseSnapshot(HttpVersion version, HttpResponseStatus status, HttpHeaders headers, byte[] body) {
+
+    /**
+     * Buffer the body of the given response.
+     *
+     * @param response The response
+     * @return The snapshot of the response
+     */
+    @NonNull
+    static Mono<ResponseSnapshot> of(NettyClientByteBodyResponse response) {
+        return Mono.from(ReactiveExecutionFlow.fromFlow(InternalByteBody.bufferFlow(response.byteBody())
+            .map(body -> new ResponseSnapshot(
+                response.nettyResponse.protocolVersion(),
+                response.nettyResponse.status(),
+                new DefaultHttpHeaders().set(response.nettyResponse.headers()),
+                body.toByteArray()
+            ))).toPublisher());
+    }
+
+    /**
+     * @return The response status code
+     */
+    int code() {
+        return status.code();
+    }
+
+    /**
+     * Create a new response with the snapshot contents.
+     *
+     * @param conversionService The conversion service
+     * @return The response
+     */
+    @NonNull
+    NettyClientByteBodyResponse toResponse(ConversionService conversionService) {
+        DefaultHttpResponse response = new DefaultHttpResponse(version, status, headers.copy());
+        return new NettyClientByteBodyResponse(response, new AvailableNettyByteBody(Unpooled.wrappedBuffer(body)), conversionService);
+    }
+}
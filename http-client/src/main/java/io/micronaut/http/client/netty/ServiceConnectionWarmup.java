@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.micronaut.http.client.HttpVersionSelection;
+import io.micronaut.http.client.ServiceHttpClientConfiguration;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Opens the {@link ServiceHttpClientConfiguration.ServiceConnectionPoolConfiguration#getWarmupConnections() warm-up connections}
+ * and the {@link HttpClientConfiguration.ConnectionPoolConfiguration#getMinConnections() minimum connections}
+ * of the configured services when the application starts, so that the first requests of the
+ * declarative clients find an established connection.
+ *
+ * @since 4.8.0
+ */
+@Singleton
+@Internal
+@Requires(property = ServiceHttpClientConfiguration.PREFIX)
+final class ServiceConnectionWarmup implements ApplicationEventListener<StartupEvent> {
+    private static final Logger LOG = LoggerFactory.getLogger(ServiceConnectionWarmup.class);
+
+    private final BeanContext beanContext;
+    private final DefaultNettyHttpClientRegistry registry;
+
+    ServiceConnectionWarmup(BeanContext beanContext, DefaultNettyHttpClientRegistry registry) {
+        this.beanContext = beanContext;
+        this.registry = registry;
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        for (ServiceHttpClientConfiguration configuration : beanContext.getBeansOfType(ServiceHttpClientConfiguration.class)) {
+            HttpClientConfiguration.ConnectionPoolConfiguration poolConfiguration = configuration.getConnectionPoolConfiguration();
+            if (!poolConfiguration.isEnabled() || configuration.getUrls().isEmpty()) {
+                continue;
+            }
+            int connections = poolConfiguration.getMinConnections();
+            if (poolConfiguration instanceof ServiceHttpClientConfiguration.ServiceConnectionPoolConfiguration servicePoolConfiguration) {
+                connections = Math.max(connections, servicePoolConfiguration.getWarmupConnections());
+            }
+            if (connections <= 0) {
+                continue;
+            }
+            try {
+                warmUp(configuration, connections);
+            } catch (Exception e) {
+                LOG.warn("Failed to warm up the connections of service [{}]: {}", configuration.getServiceId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void warmUp(ServiceHttpClientConfiguration configuration, int connections) {
+        String serviceId = configuration.getServiceId();
+        // the registry caches one client per annotation configuration, find the clients the
+        // declarative clients of this service will use
+        Set<DefaultHttpClient> clients = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BeanDefinition<?> definition : beanContext.getBeanDefinitions(Qualifiers.byStereotype(Client.class))) {
+            if (serviceId.equals(definition.stringValue(Client.class).orElse(null))) {
+                clients.add(registry.getClient(definition.getAnnotationMetadata()));
+            }
+        }
+        if (clients.isEmpty()) {
+            clients.add(registry.getClient(HttpVersionSelection.forClientConfiguration(configuration), serviceId, null));
+        }
+        List<URI> urls = configuration.getUrls();
+        for (DefaultHttpClient client : clients) {
+            for (URI url : urls) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Opening {} connections to {} for service [{}]", connections, url, serviceId);
+                }
+                client.connectionManager().warmUp(new DefaultHttpClient.RequestKey(client, url), connections);
+            }
+        }
+    }
+}
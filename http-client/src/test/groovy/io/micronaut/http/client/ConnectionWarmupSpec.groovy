@@ -0,0 +1,91 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ConnectionWarmupSpec extends Specification {
+
+    def "connections to a service are opened at startup"() {
+        given:
+        def serverSocket = new ServerSocket(0, 50, InetAddress.loopbackAddress)
+        def accepted = new CopyOnWriteArrayList<Socket>()
+        def acceptor = Thread.start {
+            while (!serverSocket.closed) {
+                try {
+                    accepted.add(serverSocket.accept())
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        when:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.services.warm.url'                     : "http://localhost:$serverSocket.localPort",
+                'micronaut.http.services.warm.pool.warmup-connections': 3,
+        ])
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert accepted.size() == 3
+        }
+
+        cleanup:
+        ctx?.close()
+        serverSocket.close()
+        acceptor.join()
+        accepted.each { it.close() }
+    }
+
+    def "the minimum connections of a service are opened at startup"() {
+        given:
+        def serverSocket = new ServerSocket(0, 50, InetAddress.loopbackAddress)
+        def accepted = new CopyOnWriteArrayList<Socket>()
+        def acceptor = Thread.start {
+            while (!serverSocket.closed) {
+                try {
+                    accepted.add(serverSocket.accept())
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        when:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.services.min.url'                 : "http://localhost:$serverSocket.localPort",
+                'micronaut.http.services.min.pool.min-connections': 2,
+        ])
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert accepted.size() == 2
+        }
+
+        cleanup:
+        ctx?.close()
+        serverSocket.close()
+        acceptor.join()
+        accepted.each { it.close() }
+    }
+
+    def "no connections are opened without warm-up"() {
+        given:
+        def serverSocket = new ServerSocket(0, 50, InetAddress.loopbackAddress)
+        serverSocket.soTimeout = 500
+
+        when:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.services.cold.url': "http://localhost:$serverSocket.localPort",
+        ])
+        serverSocket.accept()
+
+        then:
+        thrown(SocketTimeoutException)
+
+        cleanup:
+        ctx?.close()
+        serverSocket.close()
+    }
+}
@@ -0,0 +1,73 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.exceptions.ContentLengthExceededException
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Flux
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class JsonArrayStreamSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name'                            : 'JsonArrayStreamSpec',
+            'micronaut.http.client.max-content-length': 1024
+    ])
+
+    @Shared
+    @AutoCleanup
+    StreamingHttpClient client = embeddedServer.applicationContext.createBean(StreamingHttpClient, embeddedServer.URL)
+
+    void "a JSON array larger than the content length limit is streamed element by element"() {
+        when:
+        List<Book> books = Flux.from(client.jsonStream(HttpRequest.GET('/json-array/books'), Book)).collectList().block()
+
+        then:
+        books.size() == 1000
+        books.first().title == 'Book 0'
+        books.last().title == 'Book 999'
+    }
+
+    void "the buffered exchange still limits the whole body"() {
+        when:
+        client.toBlocking().retrieve(HttpRequest.GET('/json-array/books'), String)
+
+        then:
+        thrown ContentLengthExceededException
+    }
+
+    void "a single element larger than the content length limit is rejected"() {
+        when:
+        Flux.from(client.jsonStream(HttpRequest.GET('/json-array/large-element'), Book)).collectList().block()
+
+        then:
+        thrown ContentLengthExceededException
+    }
+
+    @Requires(property = 'spec.name', value = 'JsonArrayStreamSpec')
+    @Controller('/json-array')
+    static class BookController {
+
+        @Get(uri = '/books', produces = MediaType.APPLICATION_JSON)
+        String books() {
+            return '[' + (0..<1000).collect { '{"title":"Book ' + it + '"}' }.join(',') + ']'
+        }
+
+        @Get(uri = '/large-element', produces = MediaType.APPLICATION_JSON)
+        String largeElement() {
+            return '[{"title":"small"},{"title":"' + ('x' * 2048) + '"}]'
+        }
+    }
+
+    static class Book {
+        String title
+    }
+}
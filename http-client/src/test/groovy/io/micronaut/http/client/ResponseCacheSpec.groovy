@@ -0,0 +1,212 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.core.async.annotation.SingleResult
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.runtime.server.EmbeddedServer
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResponseCacheSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'ResponseCacheSpec',
+            'micronaut.http.client.response-cache-max-entries': 100,
+    ])
+
+    @Shared @AutoCleanup HttpClient client = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.URL)
+
+    CacheController controller = embeddedServer.applicationContext.getBean(CacheController)
+
+    def setup() {
+        controller.calls.set(0)
+        controller.revalidations.set(0)
+    }
+
+    void "a fresh response is served from the cache"() {
+        when:
+        def first = client.toBlocking().retrieve('/cache/max-age')
+        def second = client.toBlocking().retrieve('/cache/max-age')
+
+        then:
+        first == 'call 1'
+        second == 'call 1'
+        controller.calls.get() == 1
+
+        when:
+        def noCache = client.toBlocking().retrieve(HttpRequest.GET('/cache/max-age').header(HttpHeaders.CACHE_CONTROL, 'no-cache'))
+
+        then:
+        noCache == 'call 2'
+        client.toBlocking().retrieve('/cache/max-age') == 'call 2'
+    }
+
+    void "a stale response is revalidated with its etag"() {
+        when:
+        def first = client.toBlocking().exchange('/cache/etag', String)
+        def second = client.toBlocking().exchange('/cache/etag', String)
+
+        then:
+        first.body() == 'call 1'
+        second.status() == HttpStatus.OK
+        second.body() == 'call 1'
+        second.header(HttpHeaders.ETAG) == '"v1"'
+        controller.calls.get() == 2
+        controller.revalidations.get() == 1
+    }
+
+    void "a no-store response is not cached"() {
+        expect:
+        client.toBlocking().retrieve('/cache/no-store') == 'call 1'
+        client.toBlocking().retrieve('/cache/no-store') == 'call 2'
+    }
+
+    void "the request of the caller is not modified by a revalidation"() {
+        given:
+        def request = HttpRequest.GET('/cache/etag?request=unmodified')
+        client.toBlocking().retrieve('/cache/etag?request=unmodified')
+
+        when:
+        def body = client.toBlocking().retrieve(request)
+
+        then:
+        body == 'call 1'
+        controller.revalidations.get() == 1
+        !request.headers.contains(HttpHeaders.IF_NONE_MATCH)
+    }
+
+    void "a private response is not cached"() {
+        expect:
+        client.toBlocking().retrieve('/cache/private') == 'call 1'
+        client.toBlocking().retrieve('/cache/private') == 'call 2'
+    }
+
+    void "requests with credentials are not answered from the cache"() {
+        when:
+        def anonymous = client.toBlocking().retrieve('/cache/max-age?request=credentials')
+        def authorized = client.toBlocking().retrieve(HttpRequest.GET('/cache/max-age?request=credentials').header(HttpHeaders.AUTHORIZATION, 'Bearer a'))
+        def cookie = client.toBlocking().retrieve(HttpRequest.GET('/cache/max-age?request=credentials').header(HttpHeaders.COOKIE, 'session=b'))
+
+        then:
+        anonymous == 'call 1'
+        authorized == 'call 2'
+        cookie == 'call 3'
+        client.toBlocking().retrieve('/cache/max-age?request=credentials') == 'call 1'
+    }
+
+    void "concurrent requests do not share an uncacheable response"() {
+        when:
+        List<String> responses = Flux.range(0, 5)
+                .flatMap(i -> client.retrieve('/cache/slow-no-store'))
+                .collectList()
+                .block()
+
+        then:
+        responses.size() == 5
+        responses.toSet().size() == 5
+        controller.calls.get() == 5
+    }
+
+    void "responses are cached per vary header value"() {
+        when:
+        def en = client.toBlocking().retrieve(HttpRequest.GET('/cache/vary').header(HttpHeaders.ACCEPT_LANGUAGE, 'en'))
+        def de = client.toBlocking().retrieve(HttpRequest.GET('/cache/vary').header(HttpHeaders.ACCEPT_LANGUAGE, 'de'))
+        def enAgain = client.toBlocking().retrieve(HttpRequest.GET('/cache/vary').header(HttpHeaders.ACCEPT_LANGUAGE, 'en'))
+
+        then:
+        en == 'en call 1'
+        de == 'de call 2'
+        enAgain == 'en call 1'
+        controller.calls.get() == 2
+    }
+
+    void "concurrent misses share a single request"() {
+        when:
+        List<String> responses = Flux.range(0, 10)
+                .flatMap(i -> client.retrieve('/cache/slow'))
+                .collectList()
+                .block()
+
+        then:
+        responses.size() == 10
+        responses.every { it == 'call 1' }
+        controller.calls.get() == 1
+    }
+
+    @Controller(value = '/cache', produces = MediaType.TEXT_PLAIN)
+    @Requires(property = 'spec.name', value = 'ResponseCacheSpec')
+    static class CacheController {
+        final AtomicInteger calls = new AtomicInteger()
+        final AtomicInteger revalidations = new AtomicInteger()
+
+        @Get('/max-age')
+        HttpResponse<String> maxAge() {
+            return HttpResponse.ok('call ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'max-age=60')
+        }
+
+        @Get('/etag')
+        HttpResponse<String> etag(@Header(HttpHeaders.IF_NONE_MATCH) @Nullable String ifNoneMatch) {
+            calls.incrementAndGet()
+            if (ifNoneMatch == '"v1"') {
+                revalidations.incrementAndGet()
+                return HttpResponse.<String> notModified()
+                        .header(HttpHeaders.ETAG, '"v1"')
+            }
+            return HttpResponse.ok('call ' + calls.get())
+                    .header(HttpHeaders.CACHE_CONTROL, 'no-cache')
+                    .header(HttpHeaders.ETAG, '"v1"')
+        }
+
+        @Get('/no-store')
+        HttpResponse<String> noStore() {
+            return HttpResponse.ok('call ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'no-store, max-age=60')
+        }
+
+        @Get('/private')
+        HttpResponse<String> privateResponse() {
+            return HttpResponse.ok('call ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'private, max-age=60')
+        }
+
+        @Get('/slow-no-store')
+        @SingleResult
+        Publisher<HttpResponse<String>> slowNoStore() {
+            return Mono.delay(Duration.ofMillis(500))
+                    .map(l -> HttpResponse.ok('call ' + calls.incrementAndGet())
+                            .header(HttpHeaders.CACHE_CONTROL, 'no-store'))
+        }
+
+        @Get('/vary')
+        HttpResponse<String> vary(@Header(HttpHeaders.ACCEPT_LANGUAGE) String language) {
+            return HttpResponse.ok(language + ' call ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'max-age=60')
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE)
+        }
+
+        @Get('/slow')
+        @SingleResult
+        Publisher<HttpResponse<String>> slow() {
+            return Mono.delay(Duration.ofMillis(500))
+                    .map(l -> HttpResponse.ok('call ' + calls.incrementAndGet())
+                            .header(HttpHeaders.CACHE_CONTROL, 'max-age=60'))
+        }
+    }
+}
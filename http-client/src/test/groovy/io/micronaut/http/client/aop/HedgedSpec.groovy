@@ -0,0 +1,264 @@
+package io.micronaut.http.client.aop
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.async.annotation.SingleResult
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Consumes
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.annotation.Produces
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.annotation.Hedged
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.client.interceptor.HttpClientIntroductionAdvice
+import io.micronaut.http.client.interceptor.RequestHedging
+import io.micronaut.runtime.server.EmbeddedServer
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+
+class HedgedSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            "spec.name": 'HedgedSpec',
+    ])
+
+    HedgedClient client = embeddedServer.applicationContext.getBean(HedgedClient)
+    HedgedController controller = embeddedServer.applicationContext.getBean(HedgedController)
+    HttpClientIntroductionAdvice advice = embeddedServer.applicationContext.getBean(HttpClientIntroductionAdvice)
+
+    def setup() {
+        controller.calls.set(0)
+    }
+
+    void "a slow request is hedged and the hedge wins"() {
+        when:
+        long start = System.nanoTime()
+        String result = client.slowFirst()
+        Duration took = Duration.ofNanos(System.nanoTime() - start)
+
+        then:
+        result == 'call 2'
+        took < Duration.ofSeconds(2)
+        controller.calls.get() == 2
+
+        when:
+        def hedging = advice.findRequestHedging(embeddedServer.applicationContext.getBeanDefinition(HedgedClient).getRequiredMethod('slowFirst')).get()
+
+        then:
+        hedging.hedgesIssued == 1
+        hedging.hedgesWon == 1
+    }
+
+    void "reactive and async methods are hedged"() {
+        expect:
+        Mono.from(client.slowFirstReactive()).block() == 'call 2'
+
+        when:
+        controller.calls.set(0)
+
+        then:
+        client.slowFirstAsync().get() == 'call 2'
+    }
+
+    void "a fast request is not hedged"() {
+        expect:
+        client.fast() == 'fast'
+        controller.calls.get() == 1
+
+        when:
+        def hedging = advice.findRequestHedging(embeddedServer.applicationContext.getBeanDefinition(HedgedClient).getRequiredMethod('fast')).get()
+
+        then:
+        hedging.hedgesIssued == 0
+        hedging.hedgesWon == 0
+    }
+
+    void "the hedging delay follows the latency percentile"() {
+        given:
+        def hedging = new RequestHedging(Duration.ofSeconds(10), 50)
+
+        when:
+        for (int i = 1; i < 16; i++) {
+            hedging.recordLatency(Duration.ofMillis(i * 10).toNanos())
+        }
+
+        then:
+        // not enough samples yet
+        hedging.delay == Duration.ofSeconds(10)
+
+        when:
+        hedging.recordLatency(Duration.ofMillis(160).toNanos())
+
+        then:
+        hedging.delay == Duration.ofMillis(80)
+    }
+
+    void "a failed request is hedged and the hedge wins"() {
+        expect:
+        client.failFirst() == 'call 2'
+        controller.calls.get() == 2
+    }
+
+    void "a non-retryable error cancels the pending hedge"() {
+        when:
+        long start = System.nanoTime()
+        client.badRequest()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.BAD_REQUEST
+        Duration.ofNanos(System.nanoTime() - start) < Duration.ofMillis(500)
+
+        when:
+        Thread.sleep(700)
+        def hedging = advice.findRequestHedging(embeddedServer.applicationContext.getBeanDefinition(HedgedClient).getRequiredMethod('badRequest')).get()
+
+        then:
+        controller.calls.get() == 1
+        hedging.hedgesIssued == 0
+    }
+
+    void "the losing request of a blocking method is cancelled"() {
+        given:
+        controller.cancelled.set(0)
+
+        expect:
+        client.slowFirst() == 'call 2'
+        new PollingConditions(timeout: 5).eventually {
+            assert controller.cancelled.get() == 1
+        }
+    }
+
+    void "an empty body fails like with the blocking client"() {
+        when:
+        client.empty()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.message.contains('Empty body')
+    }
+
+    void "a blocking hedged method can't be called from a non-blocking thread"() {
+        when:
+        Mono.fromCallable { client.fast() }.subscribeOn(Schedulers.parallel()).block()
+
+        then:
+        def e = thrown(HttpClientException)
+        e.message.contains('non-blocking thread')
+        controller.calls.get() == 0
+    }
+
+    void "a POST request is never hedged"() {
+        when:
+        String result = client.post('foo')
+
+        then:
+        result == 'call 1'
+        controller.calls.get() == 1
+    }
+
+    @Client('/hedged')
+    @Requires(property = 'spec.name', value = 'HedgedSpec')
+    static interface HedgedClient {
+        @Get('/slow-first')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Hedged(delay = '100ms')
+        String slowFirst()
+
+        @Get('/slow-first')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Hedged(delay = '100ms')
+        @SingleResult
+        Publisher<String> slowFirstReactive()
+
+        @Get('/slow-first')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Hedged(delay = '100ms')
+        CompletableFuture<String> slowFirstAsync()
+
+        @Get('/fast')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Hedged(delay = '1s')
+        String fast()
+
+        @Get('/fail-first')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Hedged(delay = '100ms')
+        String failFirst()
+
+        @Get('/empty')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Hedged(delay = '1s')
+        String empty()
+
+        @Get('/bad-request')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Hedged(delay = '500ms')
+        String badRequest()
+
+        @Post('/slow-first')
+        @Produces(MediaType.TEXT_PLAIN)
+        @Consumes(MediaType.TEXT_PLAIN)
+        @Hedged(delay = '100ms')
+        String post(@Body String body)
+    }
+
+    @Controller(value = '/hedged', produces = MediaType.TEXT_PLAIN)
+    @Requires(property = 'spec.name', value = 'HedgedSpec')
+    static class HedgedController {
+        final AtomicInteger calls = new AtomicInteger()
+        final AtomicInteger cancelled = new AtomicInteger()
+
+        @Get('/slow-first')
+        @SingleResult
+        Publisher<String> slowFirst() {
+            int call = calls.incrementAndGet()
+            Mono<String> response = Mono.just('call ' + call)
+            return call == 1 ? response.delayElement(Duration.ofSeconds(3)).doOnCancel(cancelled::incrementAndGet) : response
+        }
+
+        @Post(value = '/slow-first', consumes = MediaType.TEXT_PLAIN)
+        @SingleResult
+        Publisher<String> slowFirstPost(@Body String body) {
+            return slowFirst()
+        }
+
+        @Get('/fail-first')
+        HttpResponse<String> failFirst() {
+            int call = calls.incrementAndGet()
+            return call == 1 ? HttpResponse.serverError() : HttpResponse.ok('call ' + call)
+        }
+
+        @Get('/bad-request')
+        HttpResponse<String> badRequest() {
+            calls.incrementAndGet()
+            return HttpResponse.badRequest()
+        }
+
+        @Get('/empty')
+        HttpResponse<String> empty() {
+            return HttpResponse.ok()
+        }
+
+        @Get('/fast')
+        String fast() {
+            calls.incrementAndGet()
+            return 'fast'
+        }
+    }
+}
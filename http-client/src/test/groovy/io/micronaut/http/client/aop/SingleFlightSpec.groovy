@@ -0,0 +1,163 @@
+package io.micronaut.http.client.aop
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.async.annotation.SingleResult
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Consumes
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.annotation.Produces
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.annotation.SingleFlight
+import io.micronaut.runtime.server.EmbeddedServer
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class SingleFlightSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            "spec.name": 'SingleFlightSpec',
+    ])
+
+    SingleFlightClient client = embeddedServer.applicationContext.getBean(SingleFlightClient)
+    SingleFlightController controller = embeddedServer.applicationContext.getBean(SingleFlightController)
+
+    def setup() {
+        controller.calls.set(0)
+    }
+
+    void "identical in-flight requests share one upstream request"() {
+        when:
+        List<String> results = Flux.range(0, 10)
+                .flatMap(i -> client.slow('a'))
+                .collectList()
+                .block()
+
+        then:
+        results.size() == 10
+        results.every { it == 'a call 1' }
+        controller.calls.get() == 1
+
+        when:
+        String next = client.slowBlocking('a')
+
+        then:
+        next == 'a call 2'
+        controller.calls.get() == 2
+    }
+
+    void "requests with different parameters are not shared"() {
+        when:
+        List<String> results = Flux.just('a', 'b')
+                .flatMap(value -> client.slow(value))
+                .collectList()
+                .block()
+
+        then:
+        results.size() == 2
+        controller.calls.get() == 2
+    }
+
+    void "requests of methods without single-flight are not shared"() {
+        when:
+        Flux.range(0, 3)
+                .flatMap(i -> client.slowUnshared('a'))
+                .collectList()
+                .block()
+
+        then:
+        controller.calls.get() == 3
+    }
+
+    void "single-flight requests are shared when the response cache is enabled"() {
+        given:
+        EmbeddedServer cachingServer = ApplicationContext.run(EmbeddedServer, [
+                "spec.name": 'SingleFlightSpec',
+                "micronaut.http.client.response-cache-max-entries": 100,
+        ])
+        SingleFlightClient cachingClient = cachingServer.applicationContext.getBean(SingleFlightClient)
+        SingleFlightController cachingController = cachingServer.applicationContext.getBean(SingleFlightController)
+
+        when:"the response is not cacheable"
+        List<String> results = Flux.range(0, 10)
+                .flatMap(i -> cachingClient.slow('a'))
+                .collectList()
+                .block()
+
+        then:
+        results.size() == 10
+        results.every { it == 'a call 1' }
+        cachingController.calls.get() == 1
+
+        cleanup:
+        cachingServer.close()
+    }
+
+    void "a POST request is never shared"() {
+        when:
+        Flux.range(0, 3)
+                .flatMap(i -> client.post('a'))
+                .collectList()
+                .block()
+
+        then:
+        controller.calls.get() == 3
+    }
+
+    @Client('/single-flight')
+    @Requires(property = 'spec.name', value = 'SingleFlightSpec')
+    static interface SingleFlightClient {
+        @Get('/slow{?value}')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @SingleFlight
+        @SingleResult
+        Publisher<String> slow(@QueryValue String value)
+
+        @Get('/slow{?value}')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @SingleFlight
+        String slowBlocking(@QueryValue String value)
+
+        @Get('/slow{?value}')
+        @Consumes(MediaType.TEXT_PLAIN)
+        @SingleResult
+        Publisher<String> slowUnshared(@QueryValue String value)
+
+        @Post('/slow')
+        @Produces(MediaType.TEXT_PLAIN)
+        @Consumes(MediaType.TEXT_PLAIN)
+        @SingleFlight
+        @SingleResult
+        Publisher<String> post(@Body String body)
+    }
+
+    @Controller(value = '/single-flight', produces = MediaType.TEXT_PLAIN)
+    @Requires(property = 'spec.name', value = 'SingleFlightSpec')
+    static class SingleFlightController {
+        final AtomicInteger calls = new AtomicInteger()
+
+        @Get('/slow{?value}')
+        @SingleResult
+        Publisher<String> slow(@QueryValue String value) {
+            int call = calls.incrementAndGet()
+            return Mono.just(value + ' call ' + call).delayElement(Duration.ofMillis(500))
+        }
+
+        @Post(value = '/slow', consumes = MediaType.TEXT_PLAIN)
+        @SingleResult
+        Publisher<String> post(@Body String body) {
+            return slow(body)
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.discovery.DiscoveryClient
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.event.ServiceReadyEvent
+import io.micronaut.discovery.event.ServiceStoppedEvent
+import io.micronaut.health.HealthStatus
+import io.micronaut.health.HeartbeatEvent
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class CachedHealthyInstancesSpec extends Specification {
+
+    def 'instances are looked up on every selection by default'() {
+        given:
+        def discoveryClient = new TestDiscoveryClient([instance('a')])
+        def balancer = new DiscoveryClientLoadBalancerFactory(discoveryClient).create('test')
+
+        when:
+        3.times { Mono.from(balancer.select()).block() }
+
+        then:
+        discoveryClient.lookups.get() == 3
+    }
+
+    def 'cached instances are served until the refresh interval elapsed'(LoadBalancingStrategy strategy) {
+        given:
+        def discoveryClient = new TestDiscoveryClient([instance('a')])
+        def balancer = factory(discoveryClient, Duration.ofMillis(200)).create('test', strategy)
+
+        when:
+        def hosts = (1..10).collect { Mono.from(balancer.select()).block().getURI().host }
+
+        then:
+        hosts.every { it == 'a' }
+        discoveryClient.lookups.get() == 1
+
+        when:
+        discoveryClient.instances = [instance('b')]
+        def first = Mono.from(balancer.select()).block()
+
+        then: 'the stale instances are served while the refresh is in progress'
+        first.getURI().host == 'a'
+        discoveryClient.lookups.get() == 1
+
+        and:
+        new PollingConditions(timeout: 5).eventually {
+            assert Mono.from(balancer.select()).block().getURI().host == 'b'
+        }
+
+        where:
+        strategy << LoadBalancingStrategy.values()
+    }
+
+    def 'selection does not wait for a slow discovery client'() {
+        given:
+        def discoveryClient = new TestDiscoveryClient([instance('a')])
+        def balancer = factory(discoveryClient, Duration.ZERO).create('test')
+        Mono.from(balancer.select()).block()
+        def pending = Sinks.<List<ServiceInstance>>one()
+        discoveryClient.next = pending.asMono()
+
+        expect:
+        (1..5).every { Mono.from(balancer.select()).block(Duration.ofSeconds(1)).getURI().host == 'a' }
+
+        when:
+        pending.tryEmitValue([instance('b')])
+
+        then:
+        Mono.from(balancer.select()).block().getURI().host == 'b'
+    }
+
+    def 'unhealthy instances are excluded from the snapshot'() {
+        given:
+        def down = ServiceInstance.builder('test', URI.create('http://down:8080')).status(HealthStatus.DOWN).build()
+        def discoveryClient = new TestDiscoveryClient([down, instance('a'), instance('b')])
+        def balancer = factory(discoveryClient, Duration.ofMinutes(1)).create('test')
+
+        expect:
+        (1..10).collect { Mono.from(balancer.select()).block().getURI().host } as Set == ['a', 'b'] as Set
+    }
+
+    def 'service ready and heartbeat events refresh the instances'() {
+        given:
+        def ctx = ApplicationContext.run([
+                (LoadBalancerConfiguration.PREFIX + '.refresh-interval'): '1h'
+        ])
+        def discoveryClient = new TestDiscoveryClient([instance('a')])
+        def factory = new DiscoveryClientLoadBalancerFactory(discoveryClient, ctx.getBean(LoadBalancerConfiguration))
+        def balancer = factory.create('test')
+        Mono.from(balancer.select()).block()
+        discoveryClient.instances = [instance('b')]
+
+        expect:
+        !factory.supports(new ServiceStoppedEvent(instance('self')))
+        factory.supports(event)
+        Mono.from(balancer.select()).block().getURI().host == 'a'
+
+        when:
+        factory.onApplicationEvent(event)
+        Mono.from(balancer.select()).block()
+
+        then:
+        discoveryClient.lookups.get() == 2
+        Mono.from(balancer.select()).block().getURI().host == 'b'
+
+        cleanup:
+        ctx.close()
+
+        where:
+        event << [new ServiceReadyEvent(instance('self')), new HeartbeatEvent(instance('self'), HealthStatus.UP)]
+    }
+
+    private static DiscoveryClientLoadBalancerFactory factory(DiscoveryClient discoveryClient, Duration refreshInterval) {
+        def configuration = new LoadBalancerConfiguration()
+        configuration.refreshInterval = refreshInterval
+        return new DiscoveryClientLoadBalancerFactory(discoveryClient, configuration)
+    }
+
+    private static ServiceInstance instance(String host) {
+        return ServiceInstance.of('test', URI.create("http://$host:8080"))
+    }
+
+    static class TestDiscoveryClient implements DiscoveryClient {
+        final AtomicInteger lookups = new AtomicInteger()
+        volatile List<ServiceInstance> instances
+        volatile Mono<List<ServiceInstance>> next
+
+        TestDiscoveryClient(List<ServiceInstance> instances) {
+            this.instances = instances
+        }
+
+        @Override
+        Publisher<List<ServiceInstance>> getInstances(String serviceId) {
+            lookups.incrementAndGet()
+            if (next != null) {
+                def result = next
+                next = null
+                return result
+            }
+            return Mono.just(instances)
+        }
+
+        @Override
+        Publisher<List<String>> getServiceIds() {
+            return Mono.just(['test'])
+        }
+
+        @Override
+        String getDescription() {
+            return 'test'
+        }
+
+        @Override
+        void close() {
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceList
+import io.micronaut.discovery.exceptions.NoAvailableServiceException
+import io.micronaut.health.HealthStatus
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.client.DefaultHttpClientConfiguration
+import io.micronaut.http.client.LoadBalancerResolver
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReference
+
+class LoadAwareLoadBalancerSpec extends Specification {
+
+    def 'busy instances are avoided'(Class<? extends AbstractLoadAwareLoadBalancer> type) {
+        given:
+        def instances = [instance('a'), instance('b')]
+        AbstractLoadAwareLoadBalancer balancer = type.newInstance(list(instances))
+        def busy = instances[0]
+        3.times { balancer.requestStarted(busy) }
+
+        expect:
+        (1..20).every { Mono.from(balancer.select()).block().getURI() == instances[1].getURI() }
+
+        where:
+        type << [LeastRequestsLoadBalancer, PowerOfTwoChoicesLoadBalancer]
+    }
+
+    def 'slow instances receive less traffic'() {
+        given:
+        def instances = [instance('fast'), instance('slow'), instance('other')]
+        def balancer = new PowerOfTwoChoicesLoadBalancer(list(instances))
+        record(balancer, instances[0], 10)
+        record(balancer, instances[1], 500)
+        record(balancer, instances[2], 10)
+
+        when:
+        def selected = (1..300).collect { Mono.from(balancer.select()).block().getURI().host }
+
+        then:
+        !selected.contains('slow')
+        selected.contains('fast')
+        selected.contains('other')
+    }
+
+    def 'only healthy instances are selected'(Class<? extends AbstractLoadAwareLoadBalancer> type) {
+        given:
+        def down = ServiceInstance.builder('test', URI.create('http://down:8080')).status(HealthStatus.DOWN).build()
+        AbstractLoadAwareLoadBalancer balancer = type.newInstance(list([down, instance('up')]))
+
+        expect:
+        (1..10).every { Mono.from(balancer.select()).block().getURI().host == 'up' }
+
+        when:
+        balancer = type.newInstance(list([down]))
+        Mono.from(balancer.select()).block()
+
+        then:
+        thrown NoAvailableServiceException
+
+        where:
+        type << [LeastRequestsLoadBalancer, PowerOfTwoChoicesLoadBalancer]
+    }
+
+    def 'the load of an instance is kept while its requests are in flight'() {
+        given:
+        def a = instance('a')
+        def b = instance('b')
+        def current = new AtomicReference<List<ServiceInstance>>([a, b])
+        def balancer = new LeastRequestsLoadBalancer(new ServiceInstanceList() {
+            @Override
+            String getID() {
+                return 'test'
+            }
+
+            @Override
+            List<ServiceInstance> getInstances() {
+                return current.get()
+            }
+        })
+        Mono.from(balancer.select()).block()
+        2.times { balancer.requestStarted(a) }
+
+        when:"the busy instance is briefly gone"
+        current.set([b])
+        Mono.from(balancer.select()).block()
+        current.set([a, b])
+
+        then:
+        (1..20).every { Mono.from(balancer.select()).block().getURI().host == 'b' }
+    }
+
+    def 'strategy is selected from the service configuration'() {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.services.foo.url'          : 'http://localhost:8080',
+                'micronaut.http.services.foo.load-balancer': strategy,
+                'micronaut.http.services.bar.url'          : 'http://localhost:8080',
+        ])
+        def resolver = ctx.getBean(LoadBalancerResolver)
+
+        expect:
+        type.isInstance(resolver.resolve('foo').get())
+        resolver.resolve('bar').get() instanceof ServiceInstanceListRoundRobinLoadBalancer
+
+        cleanup:
+        ctx.close()
+
+        where:
+        strategy               | type
+        'least-requests'       | LeastRequestsLoadBalancer
+        'power-of-two-choices' | PowerOfTwoChoicesLoadBalancer
+        'round-robin'          | ServiceInstanceListRoundRobinLoadBalancer
+    }
+
+    def 'client reports requests to the load balancer'() {
+        given:
+        def server = ApplicationContext.run(EmbeddedServer)
+        def balancer = new RecordingLoadBalancer(ServiceInstance.of('test', server.URI))
+        def client = new DefaultHttpClient(balancer, new DefaultHttpClientConfiguration())
+
+        when:
+        Mono.from(client.exchange(HttpRequest.GET('/missing'))).block()
+
+        then:
+        thrown HttpClientResponseException
+        new PollingConditions(timeout: 5).eventually {
+            balancer.events == ['started', 'completed true']
+        }
+
+        when:
+        server.stop()
+        balancer.events.clear()
+        Mono.from(client.exchange(HttpRequest.GET('/missing'))).block()
+
+        then:
+        thrown HttpClientException
+        new PollingConditions(timeout: 5).eventually {
+            balancer.events == ['started', 'completed false']
+        }
+
+        cleanup:
+        client.close()
+        server.applicationContext.close()
+    }
+
+    def 'client reports streaming requests to the load balancer'(String method) {
+        given:
+        def server = ApplicationContext.run(EmbeddedServer)
+        def balancer = new RecordingLoadBalancer(ServiceInstance.of('test', server.URI))
+        def resolved = new AtomicInteger()
+        def client = new DefaultHttpClient(balancer, new DefaultHttpClientConfiguration()) {
+            @Override
+            protected <I> Mono<URI> resolveRequestURI(HttpRequest<I> request) {
+                resolved.incrementAndGet()
+                return super.resolveRequestURI(request)
+            }
+        }
+
+        when:
+        Flux.from(client."$method"(HttpRequest.GET('/missing'))).blockLast()
+
+        then:
+        thrown HttpClientResponseException
+        resolved.get() == 1
+        new PollingConditions(timeout: 5).eventually {
+            balancer.events == ['started', 'completed true']
+        }
+
+        cleanup:
+        client.close()
+        server.applicationContext.close()
+
+        where:
+        method << ['exchange', 'exchangeStream', 'dataStream', 'jsonStream']
+    }
+
+    def 'cancelled requests are not reported as completed'() {
+        given:"a server that never responds"
+        def socket = new ServerSocket(0)
+        def balancer = new RecordingLoadBalancer(ServiceInstance.of('test', URI.create("http://localhost:$socket.localPort")))
+        def client = new DefaultHttpClient(balancer, new DefaultHttpClientConfiguration())
+
+        when:
+        Mono.from(client.exchange(HttpRequest.GET('/'))).timeout(Duration.ofMillis(500)).block()
+
+        then:
+        thrown Exception
+        new PollingConditions(timeout: 5).eventually {
+            balancer.events == ['started', 'cancelled']
+        }
+
+        cleanup:
+        client.close()
+        socket.close()
+    }
+
+    private static ServiceInstance instance(String host) {
+        return ServiceInstance.builder('test', URI.create("http://$host:8080")).status(HealthStatus.UP).build()
+    }
+
+    private static ServiceInstanceList list(List<ServiceInstance> instances) {
+        return new ServiceInstanceList() {
+            @Override
+            String getID() {
+                return 'test'
+            }
+
+            @Override
+            List<ServiceInstance> getInstances() {
+                return instances
+            }
+        }
+    }
+
+    private static void record(RequestTrackingLoadBalancer balancer, ServiceInstance instance, long millis) {
+        5.times {
+            balancer.requestStarted(instance)
+            balancer.requestCompleted(instance, TimeUnit.MILLISECONDS.toNanos(millis), true)
+        }
+    }
+
+    static class RecordingLoadBalancer implements RequestTrackingLoadBalancer {
+        final ServiceInstance instance
+        final List<String> events = new CopyOnWriteArrayList<>()
+
+        RecordingLoadBalancer(ServiceInstance instance) {
+            this.instance = instance
+        }
+
+        @Override
+        Publisher<ServiceInstance> select(Object discriminator) {
+            return Mono.just(instance)
+        }
+
+        @Override
+        void requestStarted(ServiceInstance instance) {
+            events.add('started')
+        }
+
+        @Override
+        void requestCompleted(ServiceInstance instance, long durationNanos, boolean success) {
+            events.add('completed ' + success)
+        }
+
+        @Override
+        void requestCancelled(ServiceInstance instance) {
+            events.add('cancelled')
+        }
+    }
+}
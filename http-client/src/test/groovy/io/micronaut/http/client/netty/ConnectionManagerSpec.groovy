@@ -59,6 +59,7 @@ import io.netty.handler.codec.http2.Http2HeadersFrame
 import io.netty.handler.codec.http2.Http2PingFrame
 import io.netty.handler.codec.http2.Http2ResetFrame
 import io.netty.handler.codec.http2.Http2ServerUpgradeCodec
+import io.netty.handler.codec.http2.Http2Settings
 import io.netty.handler.codec.http2.Http2SettingsAckFrame
 import io.netty.handler.codec.http2.Http2SettingsFrame
 import io.netty.handler.codec.http2.Http2Stream
@@ -78,6 +79,7 @@ import reactor.core.publisher.Mono
 import spock.lang.Execution
 import spock.lang.Specification
 import spock.lang.Unroll
+import spock.util.concurrent.PollingConditions
 
 import java.nio.charset.StandardCharsets
 import java.time.Duration
@@ -899,6 +901,287 @@ class ConnectionManagerSpec extends Specification {
         ctx.close()
     }
 
+    def 'min connections'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.pool.min-connections': 2,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp1()
+        conn1.setupHttp1()
+        def conn2 = new EmbeddedTestConnectionHttp1()
+        conn2.setupHttp1()
+
+        patch(client, conn1, conn2)
+
+        // the first request opens both connections
+        def future = conn1.testExchangeRequest(client)
+        conn2.advance()
+        conn1.testExchangeResponse(future)
+
+        assertPoolConnections(client, 2)
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'warm up opens the min connections'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.pool.min-connections': 2,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp1()
+        conn1.setupHttp1()
+        def conn2 = new EmbeddedTestConnectionHttp1()
+        conn2.setupHttp1()
+
+        patch(client, conn1, conn2)
+
+        when:
+        client.connectionManager.warmUp(new DefaultHttpClient.RequestKey(client, URI.create('http://example.com')), 1)
+        conn1.advance()
+        conn2.advance()
+        then:
+        // the warm-up opens the min connections before the first request
+        assertPoolConnections(client, 2)
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'adaptive pool opens a connection once the acquire wait exceeds the connect time'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.pool.adaptive': true,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp1()
+        conn1.setupHttp1()
+        def conn2 = new EmbeddedTestConnectionHttp1()
+        conn2.setupHttp1()
+
+        patch(client, conn1, conn2)
+
+        when:
+        def f1 = conn1.testExchangeRequest(client)
+        def f2 = Mono.from(client.exchange('http://example.com/foo')).toFuture()
+        then:
+        // the first connection stays busy, so the second request gets its own connection once it
+        // has waited as long as the first connection took to establish
+        new PollingConditions(timeout: 5).eventually {
+            assert conn2.clientChannel != null
+        }
+
+        when:
+        conn2.advance()
+        then:
+        conn1.testExchangeResponse(f1)
+        conn2.testExchangeResponse(f2)
+        assertPoolConnections(client, 2)
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'adaptive pool retires idle connections after the idle window'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.pool.adaptive': true,
+                'micronaut.http.client.pool.min-connections': 1,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp1()
+        conn1.setupHttp1()
+        def conn2 = new EmbeddedTestConnectionHttp1()
+        conn2.setupHttp1()
+
+        patch(client, conn1, conn2)
+
+        when:
+        client.connectionManager.warmUp(new DefaultHttpClient.RequestKey(client, URI.create('http://example.com')), 2)
+        conn1.advance()
+        conn2.advance()
+        then:
+        assertPoolConnections(client, 2)
+        // no request needs the second connection, it is closed at the end of the window even
+        // though no further request arrives
+        new PollingConditions(timeout: 15).eventually {
+            assertPoolConnections(client, 1)
+        }
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'adaptive pool respects the http2 stream limit of the server'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.plaintext-mode': 'h2c',
+                'micronaut.http.client.pool.adaptive': true,
+                'micronaut.http.client.pool.max-concurrent-http2-connections': 2,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp2()
+        conn1.setupH2c(Http2Settings.defaultSettings().maxConcurrentStreams(1))
+        def conn2 = new EmbeddedTestConnectionHttp2()
+        conn2.setupH2c()
+        patch(client, conn1, conn2)
+
+        when:
+        def f1 = conn1.testExchangeRequest(client)
+        conn1.exchangeH2c()
+        def f2 = conn2.testExchangeRequest(client)
+        then:
+        // the second request does not fit on the first connection, a new one is opened once
+        // the request has waited as long as the first connection took to establish
+        new PollingConditions(timeout: 5).eventually {
+            assert conn2.clientChannel != null
+        }
+
+        when:
+        conn2.exchangeH2c()
+        then:
+        conn1.testExchangeResponse(f1)
+        conn2.testExchangeResponse(f2)
+
+        assertPoolConnections(client, 2)
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'exchangeAll sends the batch on one http2 connection'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.plaintext-mode': 'h2c',
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp2()
+        conn1.setupH2c()
+        def conn2 = new EmbeddedTestConnectionHttp2()
+        conn2.setupH2c()
+        patch(client, conn1, conn2)
+
+        when:
+        def responses = new ArrayList<HttpResponse<?>>()
+        Flux.from(client.exchangeAll((0..<3).collect { HttpRequest.GET("http://example.com/r$it") }, String))
+                .doOnError(t -> t.printStackTrace())
+                .subscribe(responses::add)
+        conn1.exchangeH2c()
+        conn1.advance()
+        List<Http2HeadersFrame> requests = (0..<3).collect { conn1.serverChannel.readInbound() }
+        then:
+        // the other requests waited for the first connection instead of opening their own
+        conn2.clientChannel == null
+        requests*.headers()*.get(Http2Headers.PseudoHeaderName.PATH.value())*.toString() as Set == ['/r0', '/r1', '/r2'] as Set
+
+        when:
+        requests.reverse().each { conn1.respondOk(it.stream()) }
+        conn1.advance()
+        then:
+        responses.size() == 3
+        assertPoolConnections(client, 1)
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'exchangeAll respects the stream limit of the server'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.plaintext-mode': 'h2c',
+                'micronaut.http.client.pool.max-concurrent-http2-connections': 1,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn = new EmbeddedTestConnectionHttp2()
+        conn.setupH2c(Http2Settings.defaultSettings().maxConcurrentStreams(2))
+        patch(client, conn)
+
+        when:
+        def responses = new ArrayList<HttpResponse<?>>()
+        Flux.from(client.exchangeAll((0..<3).collect { HttpRequest.GET("http://example.com/r$it") }, String))
+                .doOnError(t -> t.printStackTrace())
+                .subscribe(responses::add)
+        conn.exchangeH2c()
+        conn.advance()
+        Http2HeadersFrame r0 = conn.serverChannel.readInbound()
+        Http2HeadersFrame r1 = conn.serverChannel.readInbound()
+        then:
+        r0 != null
+        r1 != null
+        conn.serverChannel.readInbound() == null
+
+        when:
+        conn.respondOk(r0.stream())
+        conn.advance()
+        Http2HeadersFrame r2 = conn.serverChannel.readInbound()
+        then:
+        r2 != null
+
+        when:
+        conn.respondOk(r1.stream())
+        conn.respondOk(r2.stream())
+        conn.advance()
+        then:
+        responses.size() == 3
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'exchangeAll in an adaptive pool respects the stream limit of the server'() {
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.plaintext-mode': 'h2c',
+                'micronaut.http.client.pool.adaptive': true,
+                'micronaut.http.client.pool.max-concurrent-http2-connections': 1,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn = new EmbeddedTestConnectionHttp2()
+        conn.setupH2c(Http2Settings.defaultSettings().maxConcurrentStreams(2))
+        patch(client, conn)
+
+        when:
+        def responses = new ArrayList<HttpResponse<?>>()
+        Flux.from(client.exchangeAll((0..<3).collect { HttpRequest.GET("http://example.com/r$it") }, String))
+                .doOnError(t -> t.printStackTrace())
+                .subscribe(responses::add)
+        conn.exchangeH2c()
+        conn.advance()
+        Http2HeadersFrame r0 = conn.serverChannel.readInbound()
+        Http2HeadersFrame r1 = conn.serverChannel.readInbound()
+        then:
+        r0 != null
+        r1 != null
+        conn.serverChannel.readInbound() == null
+
+        when:
+        conn.respondOk(r0.stream())
+        conn.advance()
+        Http2HeadersFrame r2 = conn.serverChannel.readInbound()
+        then:
+        r2 != null
+
+        when:
+        conn.respondOk(r1.stream())
+        conn.respondOk(r2.stream())
+        conn.advance()
+        then:
+        responses.size() == 3
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
     def 'multipart request'() {
         def ctx = ApplicationContext.run()
         def client = ctx.getBean(DefaultHttpClient)
@@ -1217,6 +1500,76 @@ class ConnectionManagerSpec extends Specification {
         'micronaut.http.client.http2.ping-interval-idle'  | true
     }
 
+    def 'automated ping, ack timeout'(boolean answer) {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.plaintext-mode': 'h2c',
+                'micronaut.http.client.http2.ping-interval-idle': '1s',
+                'micronaut.http.client.http2.ping-ack-timeout': '500ms',
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn = new EmbeddedTestConnectionHttp2()
+        // the server only acks the ping if it should answer
+        conn.setupH2c(Http2Settings.defaultSettings(), answer)
+        patch(client, conn)
+
+        // do one request
+        def r1 = conn.testExchangeRequest(client)
+        conn.exchangeH2c()
+        conn.testExchangeResponse(r1)
+
+        conn.clientChannel.unfreezeTime()
+        TimeUnit.MILLISECONDS.sleep(1200)
+        conn.advance()
+        assert conn.serverChannel.readInbound() instanceof Http2PingFrame
+
+        // todo: move to advanceTime once IdleStateHandler supports it
+        TimeUnit.MILLISECONDS.sleep(700)
+        conn.advance()
+
+        expect:
+        conn.clientChannel.isActive() == answer
+
+        cleanup:
+        client.close()
+        ctx.close()
+
+        where:
+        answer << [true, false]
+    }
+
+    def 'warm up'() {
+        def ctx = ApplicationContext.run()
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp1()
+        conn1.setupHttp1()
+        def conn2 = new EmbeddedTestConnectionHttp1()
+        conn2.setupHttp1()
+
+        patch(client, conn1, conn2)
+
+        when:
+        client.connectionManager.warmUp(new DefaultHttpClient.RequestKey(client, URI.create('http://example.com')), 2)
+        conn1.advance()
+        conn2.advance()
+        then:
+        // both connections are opened before the first request
+        assertPoolConnections(client, 2)
+
+        when:
+        def future = conn1.testExchangeRequest(client)
+        conn1.testExchangeResponse(future)
+        then:
+        // no additional connection
+        assertPoolConnections(client, 2)
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
     void assertPoolConnections(DefaultHttpClient client, int count) {
         assert client.connectionManager.getChannels().size() == count
         client.connectionManager.getChannels().forEach { assert it.isActive() }
@@ -1363,7 +1716,7 @@ class ConnectionManagerSpec extends Specification {
                     })
         }
 
-        void setupH2c() {
+        void setupH2c(Http2Settings initialSettings = Http2Settings.defaultSettings(), boolean autoAckPing = true) {
             scheme = 'http'
 
             ChannelHandler responseStreamHandler = new ChannelInboundHandlerAdapter() {
@@ -1377,6 +1730,8 @@ class ConnectionManagerSpec extends Specification {
                 }
             }
             Http2FrameCodec frameCodec = Http2FrameCodecBuilder.forServer()
+                    .initialSettings(initialSettings)
+                    .autoAckPingFrame(autoAckPing)
                     .build()
             HttpServerUpgradeHandler.UpgradeCodecFactory upgradeCodecFactory = protocol -> {
                 if (AsciiString.contentEquals("h2c", protocol)) {
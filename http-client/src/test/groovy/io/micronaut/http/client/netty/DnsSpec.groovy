@@ -5,9 +5,27 @@ import io.micronaut.context.annotation.Requires
 import io.micronaut.http.annotation.Controller
 import io.micronaut.http.annotation.Get
 import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.DefaultHttpClientConfiguration
 import io.micronaut.http.client.HttpClientConfiguration
 import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.bootstrap.Bootstrap
+import io.netty.buffer.Unpooled
+import io.netty.channel.Channel
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInitializer
+import io.netty.channel.SimpleChannelInboundHandler
 import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.DatagramChannel
+import io.netty.channel.socket.nio.NioDatagramChannel
+import io.netty.handler.codec.dns.DatagramDnsQuery
+import io.netty.handler.codec.dns.DatagramDnsQueryDecoder
+import io.netty.handler.codec.dns.DatagramDnsResponse
+import io.netty.handler.codec.dns.DatagramDnsResponseEncoder
+import io.netty.handler.codec.dns.DefaultDnsRawRecord
+import io.netty.handler.codec.dns.DnsQuestion
+import io.netty.handler.codec.dns.DnsRecordType
+import io.netty.handler.codec.dns.DnsResponseCode
+import io.netty.handler.codec.dns.DnsSection
 import io.netty.resolver.AbstractAddressResolver
 import io.netty.resolver.AddressResolver
 import io.netty.resolver.AddressResolverGroup
@@ -17,6 +35,8 @@ import jakarta.inject.Named
 import jakarta.inject.Singleton
 import spock.lang.Specification
 
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.stream.Stream
 
 class DnsSpec extends Specification {
@@ -82,6 +102,160 @@ class DnsSpec extends Specification {
         server.close()
     }
 
+    def "async resolution caches records"() {
+        given:
+        def dnsServer = new LocalDnsServer(["svc.test": ["127.0.0.1"]])
+        def configuration = new DefaultHttpClientConfiguration()
+        configuration.dnsResolutionMode = HttpClientConfiguration.DnsResolutionMode.ASYNC
+        configuration.dnsServers = [dnsServer.address]
+        def group = new NioEventLoopGroup(1)
+        def resolverGroup = ConnectionManager.getResolver(configuration, NioDatagramChannel::new)
+        def resolver = resolverGroup.getResolver(group.next())
+
+        when:
+        def addresses = (0..<3).collect {
+            ((InetSocketAddress) resolver.resolve(InetSocketAddress.createUnresolved("svc.test", 80)).get()).address
+        }
+
+        then:
+        addresses.every { it == InetAddress.getByName("127.0.0.1") }
+        dnsServer.queries("svc.test") == 1
+
+        cleanup:
+        resolverGroup.close()
+        group.shutdownGracefully()
+        dnsServer.close()
+    }
+
+    def "async resolution caches failed lookups"() {
+        given:
+        def dnsServer = new LocalDnsServer([:])
+        def configuration = new DefaultHttpClientConfiguration()
+        configuration.dnsResolutionMode = HttpClientConfiguration.DnsResolutionMode.ASYNC
+        configuration.dnsServers = [dnsServer.address]
+        def group = new NioEventLoopGroup(1)
+        def resolverGroup = ConnectionManager.getResolver(configuration, NioDatagramChannel::new)
+        def resolver = resolverGroup.getResolver(group.next())
+
+        when:
+        def failures = (0..<2).collect {
+            resolver.resolve(InetSocketAddress.createUnresolved("missing.test", 80)).await().cause()
+        }
+
+        then:
+        failures.every { it instanceof UnknownHostException }
+        dnsServer.queries("missing.test") == 1
+
+        cleanup:
+        resolverGroup.close()
+        group.shutdownGracefully()
+        dnsServer.close()
+    }
+
+    def "async round-robin resolution"() {
+        given:
+        def dnsServer = new LocalDnsServer(["svc.test": ["127.0.0.1", "127.0.0.2"]])
+        def configuration = new DefaultHttpClientConfiguration()
+        configuration.dnsResolutionMode = HttpClientConfiguration.DnsResolutionMode.ASYNC_ROUND_ROBIN
+        configuration.dnsServers = [dnsServer.address]
+        def group = new NioEventLoopGroup(1)
+        def resolverGroup = ConnectionManager.getResolver(configuration, NioDatagramChannel::new)
+        def resolver = resolverGroup.getResolver(group.next())
+
+        when:
+        def seen = new HashSet<InetAddress>()
+        for (int i = 0; i < 20; i++) {
+            seen.add(((InetSocketAddress) resolver.resolve(InetSocketAddress.createUnresolved("svc.test", 80)).get()).address)
+        }
+
+        then:
+        seen == [InetAddress.getByName("127.0.0.1"), InetAddress.getByName("127.0.0.2")] as Set
+        dnsServer.queries("svc.test") == 1
+
+        cleanup:
+        resolverGroup.close()
+        group.shutdownGracefully()
+        dnsServer.close()
+    }
+
+    def asyncResolverClient() {
+        given:
+        def dnsServer = new LocalDnsServer(["svc.test": ["127.0.0.1"]])
+        def ctx = ApplicationContext.run([
+                'spec.name': 'DnsSpec',
+                'micronaut.http.client.dns-resolution-mode': 'async',
+                'micronaut.http.client.dns-servers': ["127.0.0.1:" + dnsServer.address.port],
+                'micronaut.server.port': -1
+        ])
+        def server = ctx.getBean(EmbeddedServer)
+        server.start()
+        def client = ctx.createBean(HttpClient, "http://svc.test:" + server.port).toBlocking()
+
+        expect:
+        client.retrieve("/dns-spec/foo") == "foo"
+        dnsServer.queries("svc.test") == 1
+
+        cleanup:
+        client.close()
+        server.close()
+        dnsServer.close()
+    }
+
+    /**
+     * Minimal DNS server that answers A queries from a fixed set of records.
+     */
+    static class LocalDnsServer implements AutoCloseable {
+        final NioEventLoopGroup group = new NioEventLoopGroup(1)
+        final Map<String, AtomicInteger> queryCounts = new ConcurrentHashMap<>()
+        final Channel channel
+
+        LocalDnsServer(Map<String, List<String>> records) {
+            channel = new Bootstrap()
+                    .group(group)
+                    .channel(NioDatagramChannel)
+                    .handler(new ChannelInitializer<DatagramChannel>() {
+                        @Override
+                        protected void initChannel(DatagramChannel ch) {
+                            ch.pipeline().addLast(new DatagramDnsQueryDecoder(), new DatagramDnsResponseEncoder(), new SimpleChannelInboundHandler<DatagramDnsQuery>() {
+                                @Override
+                                protected void channelRead0(ChannelHandlerContext ctx, DatagramDnsQuery query) {
+                                    DnsQuestion question = query.recordAt(DnsSection.QUESTION)
+                                    String name = question.name().endsWith(".") ? question.name()[0..-2] : question.name()
+                                    def response = new DatagramDnsResponse(query.recipient(), query.sender(), query.id())
+                                    response.addRecord(DnsSection.QUESTION, question)
+                                    if (question.type() == DnsRecordType.A) {
+                                        queryCounts.computeIfAbsent(name, n -> new AtomicInteger()).incrementAndGet()
+                                    }
+                                    if (!records.containsKey(name)) {
+                                        response.setCode(DnsResponseCode.NXDOMAIN)
+                                    } else if (question.type() == DnsRecordType.A) {
+                                        for (String ip : records.get(name)) {
+                                            response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(question.name(), DnsRecordType.A, 60, Unpooled.wrappedBuffer(InetAddress.getByName(ip).address)))
+                                        }
+                                    }
+                                    ctx.writeAndFlush(response)
+                                }
+                            })
+                        }
+                    })
+                    .bind("127.0.0.1", 0).sync().channel()
+        }
+
+        InetSocketAddress getAddress() {
+            return (InetSocketAddress) channel.localAddress()
+        }
+
+        int queries(String name) {
+            return queryCounts.get(name)?.get() ?: 0
+        }
+
+        @Override
+        void close() {
+            channel.close().sync()
+            group.shutdownGracefully()
+        }
+    }
+
     @Singleton
     @Requires(property = "spec.name", value = "DnsSpec")
     @Named("test-resolver")
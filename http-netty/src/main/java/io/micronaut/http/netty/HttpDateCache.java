@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.MutableHttpHeaders;
+import io.netty.util.AsciiString;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Caches the formatted value of the {@code Date} header. The value only changes once per second,
+ * so each thread, typically an event loop, keeps the value of the current second and only formats
+ * a new one when the second changes.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class HttpDateCache {
+
+    private static final FastThreadLocal<HttpDateCache> CACHE = new FastThreadLocal<>() {
+        @Override
+        protected HttpDateCache initialValue() {
+            return new HttpDateCache();
+        }
+    };
+
+    private long second = Long.MIN_VALUE;
+    private AsciiString value;
+
+    private HttpDateCache() {
+    }
+
+    /**
+     * Format a date in the format of the {@code Date} header.
+     *
+     * @param timeInMillis The time in milliseconds since the epoch
+     * @return The formatted value
+     */
+    @NonNull
+    public static AsciiString format(long timeInMillis) {
+        return CACHE.get().get(Math.floorDiv(timeInMillis, 1000));
+    }
+
+    /**
+     * @return The value of the {@code Date} header for the current time
+     */
+    @NonNull
+    public static AsciiString now() {
+        return format(System.currentTimeMillis());
+    }
+
+    private AsciiString get(long epochSecond) {
+        if (epochSecond != second) {
+            value = AsciiString.cached(DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochSecond(epochSecond).atZone(MutableHttpHeaders.GMT)));
+            second = epochSecond;
+        }
+        return value;
+    }
+}
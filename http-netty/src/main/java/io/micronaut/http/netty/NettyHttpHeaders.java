@@ -27,6 +27,7 @@ import io.micronaut.http.util.HttpHeadersUtil;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValidationUtil;
+import io.netty.util.AsciiString;
 
 import java.net.URI;
 import java.nio.charset.Charset;
@@ -40,8 +41,10 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
@@ -57,6 +60,40 @@ import java.util.stream.Collectors;
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
 public class NettyHttpHeaders implements MutableHttpHeaders {
 
+    /**
+     * Pre-encoded values of the common media type constants. Netty copies {@link AsciiString}
+     * header values in bulk instead of encoding them char by char. The map is keyed by identity
+     * because {@link MediaType#equals(Object)} ignores the parameters.
+     */
+    private static final Map<MediaType, AsciiString> ENCODED_MEDIA_TYPES = new IdentityHashMap<>();
+
+    static {
+        for (MediaType mediaType : List.of(
+            MediaType.APPLICATION_JSON_TYPE,
+            MediaType.APPLICATION_JSON_STREAM_TYPE,
+            MediaType.APPLICATION_JSON_PROBLEM_TYPE,
+            MediaType.APPLICATION_HAL_JSON_TYPE,
+            MediaType.APPLICATION_XML_TYPE,
+            MediaType.APPLICATION_OCTET_STREAM_TYPE,
+            MediaType.APPLICATION_FORM_URLENCODED_TYPE,
+            MediaType.APPLICATION_YAML_TYPE,
+            MediaType.MULTIPART_FORM_DATA_TYPE,
+            MediaType.TEXT_PLAIN_TYPE,
+            MediaType.TEXT_HTML_TYPE,
+            MediaType.TEXT_XML_TYPE,
+            MediaType.TEXT_CSS_TYPE,
+            MediaType.TEXT_JAVASCRIPT_TYPE,
+            MediaType.TEXT_EVENT_STREAM_TYPE,
+            MediaType.IMAGE_PNG_TYPE,
+            MediaType.IMAGE_JPEG_TYPE,
+            MediaType.IMAGE_GIF_TYPE,
+            MediaType.IMAGE_SVG_TYPE,
+            MediaType.IMAGE_WEBP_TYPE
+        )) {
+            ENCODED_MEDIA_TYPES.put(mediaType, AsciiString.cached(mediaType.toString()));
+        }
+    }
+
     private final io.netty.handler.codec.http.HttpHeaders nettyHeaders;
     private ConversionService conversionService;
 
@@ -237,7 +274,7 @@ public class NettyHttpHeaders implements MutableHttpHeaders {
 
     @Override
     public MutableHttpHeaders date(long timeInMillis) {
-        setUnsafe(HttpHeaderNames.DATE, ZonedDateTime.ofInstant(Instant.ofEpochMilli(timeInMillis), ZoneId.systemDefault()));
+        setUnsafe(HttpHeaderNames.DATE, HttpDateCache.format(timeInMillis));
         return this;
     }
 
@@ -293,7 +330,8 @@ public class NettyHttpHeaders implements MutableHttpHeaders {
         } else {
             // optimization for content type validation
             mediaType.validate(() -> NettyHttpHeaders.validateHeader(HttpHeaderNames.CONTENT_TYPE, mediaType));
-            nettyHeaders.set(HttpHeaderNames.CONTENT_TYPE, mediaType);
+            AsciiString encoded = ENCODED_MEDIA_TYPES.get(mediaType);
+            nettyHeaders.set(HttpHeaderNames.CONTENT_TYPE, encoded != null ? encoded : mediaType);
         }
         contentType = Optional.ofNullable(mediaType);
         return this;
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.body;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.Headers;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.body.ChunkedMessageBodyReader;
+import org.reactivestreams.Publisher;
+
+/**
+ * {@link ChunkedMessageBodyReader} that can limit the size of the individual elements it
+ * buffers, instead of the size of the whole input.
+ *
+ * @param <T> The type to read
+ * @since 4.8.0
+ */
+@Internal
+public interface BoundedChunkedMessageBodyReader<T> extends ChunkedMessageBodyReader<T> {
+    @Override
+    @NonNull
+    default Publisher<? extends T> readChunked(
+        @NonNull Argument<T> type,
+        @Nullable MediaType mediaType,
+        @NonNull Headers httpHeaders,
+        @NonNull Publisher<ByteBuffer<?>> input
+    ) {
+        return readChunked(type, mediaType, httpHeaders, input, Long.MAX_VALUE);
+    }
+
+    /**
+     * Read the input piecewise, failing with a
+     * {@link io.micronaut.http.exceptions.BufferLengthExceededException} if a single element
+     * exceeds the given size.
+     *
+     * @param type           The type to read
+     * @param mediaType      The media type
+     * @param httpHeaders    The headers
+     * @param input          The input
+     * @param maxElementSize The maximum size of a single element in bytes
+     * @return The elements
+     */
+    @NonNull
+    Publisher<? extends T> readChunked(
+        @NonNull Argument<T> type,
+        @Nullable MediaType mediaType,
+        @NonNull Headers httpHeaders,
+        @NonNull Publisher<ByteBuffer<?>> input,
+        long maxElementSize
+    );
+}
@@ -18,6 +18,7 @@ package io.micronaut.http.netty.body;
 import io.micronaut.buffer.netty.NettyByteBufferFactory;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.http.exceptions.BufferLengthExceededException;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
 import reactor.core.publisher.Flux;
@@ -35,16 +36,29 @@ import java.io.IOException;
 @Internal
 final class JsonChunkedProcessor {
     final JsonCounter counter = new JsonCounter();
+    private final long maxElementSize;
     private ByteBuf singleBuffer;
     private CompositeByteBuf compositeBuffer;
 
+    JsonChunkedProcessor() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxElementSize The maximum size of a single element. Only the current element is
+     *                       buffered, so this also bounds the memory use of the processor
+     */
+    JsonChunkedProcessor(long maxElementSize) {
+        this.maxElementSize = maxElementSize;
+    }
+
     public Flux<ByteBuffer<?>> process(Flux<ByteBuf> input) {
         return Flux.concat(input
                 .concatMap(b -> Flux.<ByteBuffer<?>>create(s -> {
                     try {
                         countLoop(s, b);
                         s.complete();
-                    } catch (IOException e) {
+                    } catch (IOException | BufferLengthExceededException e) {
                         s.error(e);
                     } finally {
                         b.release();
@@ -104,6 +118,10 @@ final class JsonChunkedProcessor {
             }
             this.compositeBuffer.addComponent(true, buffer);
         }
+        long size = compositeBuffer == null ? singleBuffer.readableBytes() : compositeBuffer.readableBytes();
+        if (size > maxElementSize) {
+            throw new BufferLengthExceededException(maxElementSize, size);
+        }
     }
 
     private void flush(FluxSink<? super ByteBuffer<?>> out) {
@@ -67,7 +67,7 @@ import java.io.OutputStream;
 @BootstrapContextCompatible
 @Requires(beans = JsonMapper.class)
 
-public final class NettyJsonHandler<T> implements MessageBodyHandler<T>, ChunkedMessageBodyReader<T>, CustomizableJsonHandler, ResponseBodyWriter<T> {
+public final class NettyJsonHandler<T> implements MessageBodyHandler<T>, BoundedChunkedMessageBodyReader<T>, CustomizableJsonHandler, ResponseBodyWriter<T> {
     private final JsonMessageHandler<T> jsonMessageHandler;
 
     public NettyJsonHandler(JsonMapper jsonMapper) {
@@ -85,7 +85,12 @@ public final class NettyJsonHandler<T> implements MessageBodyHandler<T>, Chunked
 
     @Override
     public Publisher<T> readChunked(Argument<T> type, MediaType mediaType, Headers httpHeaders, Publisher<ByteBuffer<?>> input) {
-        JsonChunkedProcessor processor = new JsonChunkedProcessor();
+        return readChunked(type, mediaType, httpHeaders, input, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Publisher<T> readChunked(Argument<T> type, MediaType mediaType, Headers httpHeaders, Publisher<ByteBuffer<?>> input, long maxElementSize) {
+        JsonChunkedProcessor processor = new JsonChunkedProcessor(maxElementSize);
         if (Iterable.class.isAssignableFrom(type.getType())) {
             // Publisher<List<T>> is parsed as a single item of type List
             processor.counter.noTokenization();
@@ -54,6 +54,7 @@ public interface ChannelPipelineCustomizer {
     String HANDLER_MICRONAUT_HTTP_RESPONSE = "micronaut-http-response";
     String HANDLER_HTTP2_CONNECTION = "http2-connection";
     String HANDLER_HTTP2_PING_SENDER = "http2-ping-sender";
+    String HANDLER_HTTP2_FLUSH_CONSOLIDATION = "http2-flush-consolidation";
     String HANDLER_HTTP2_SETTINGS = "http2-settings";
     String HANDLER_HTTP2_UPGRADE_REQUEST = "http2-upgrade-request";
     String HANDLER_HTTP2_PROTOCOL_NEGOTIATOR = "http2-protocol-negotiator";
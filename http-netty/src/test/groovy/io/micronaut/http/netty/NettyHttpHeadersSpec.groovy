@@ -1,7 +1,15 @@
 package io.micronaut.http.netty
 
+import io.micronaut.http.MediaType
+import io.netty.handler.codec.http.DefaultHttpHeaders
+import io.netty.handler.codec.http.HttpHeaderNames
+import io.netty.util.AsciiString
 import spock.lang.Specification
 
+import java.time.Instant
+import java.time.ZoneId
+import java.time.format.DateTimeFormatter
+
 class NettyHttpHeadersSpec extends Specification {
     def validation(String key, String value) {
         given:
@@ -25,4 +33,37 @@ class NettyHttpHeadersSpec extends Specification {
         ""    | "baz"
         "foo"     | "bar\nbaz"
     }
+
+    def 'date header is formatted as RFC 1123'(long millis) {
+        given:
+        def headers = new NettyHttpHeaders()
+
+        when:
+        headers.date(millis)
+
+        then:
+        headers.get(HttpHeaderNames.DATE) == DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atZone(ZoneId.of("GMT")))
+
+        where:
+        millis << [0L, 1_700_000_000_123L, 1_700_000_000_999L, 1_700_000_001_000L, -1L]
+    }
+
+    def 'common content types are pre-encoded'() {
+        given:
+        def nettyHeaders = new DefaultHttpHeaders()
+        def headers = new NettyHttpHeaders(nettyHeaders, null)
+
+        when:
+        headers.contentType(MediaType.APPLICATION_JSON_TYPE)
+        then:
+        nettyHeaders.getAsString(HttpHeaderNames.CONTENT_TYPE) == "application/json"
+        nettyHeaders.get(HttpHeaderNames.CONTENT_TYPE) == "application/json"
+        nettyHeaders.iteratorCharSequence().next().value instanceof AsciiString
+        headers.contentType().get() == MediaType.APPLICATION_JSON_TYPE
+
+        when:
+        headers.contentType(new MediaType("application/json;charset=UTF-8"))
+        then:
+        nettyHeaders.get(HttpHeaderNames.CONTENT_TYPE) == "application/json;charset=UTF-8"
+    }
 }
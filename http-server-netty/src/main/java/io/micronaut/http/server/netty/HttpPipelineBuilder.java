@@ -687,6 +687,9 @@ final class HttpPipelineBuilder implements Closeable {
             PipeliningServerHandler pipeliningServerHandler = new PipeliningServerHandler(requestHandler);
             pipeliningServerHandler.setCompressionStrategy(embeddedServices.getHttpCompressionStrategy());
             pipeliningServerHandler.setBodySizeLimits(bodySizeLimits());
+            if (httpVersion == HttpVersion.HTTP_1_1 && server.getServerConfiguration().isFlushConsolidation()) {
+                pipeliningServerHandler.enableFlushConsolidation(server.getServerConfiguration().getFlushConsolidationThreshold());
+            }
             pipeline.addLast(ChannelPipelineCustomizer.HANDLER_MICRONAUT_INBOUND, pipeliningServerHandler);
         }
 
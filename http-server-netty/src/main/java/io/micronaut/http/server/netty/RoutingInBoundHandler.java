@@ -60,6 +60,7 @@ import io.micronaut.http.netty.stream.JsonSubscriber;
 import io.micronaut.http.netty.stream.StreamedHttpResponse;
 import io.micronaut.http.server.RouteExecutor;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
+import io.micronaut.http.server.netty.body.StaticResourceCache;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.netty.handler.OutboundAccess;
 import io.micronaut.http.server.netty.handler.RequestHandler;
@@ -117,6 +118,8 @@ public final class RoutingInBoundHandler implements RequestHandler {
         "^.*(?:connection (?:reset|closed|abort|broken)|broken pipe).*$", Pattern.CASE_INSENSITIVE);
 
     final StaticResourceResolver staticResourceResolver;
+    @Nullable
+    final StaticResourceCache staticResourceCache;
     final NettyHttpServerConfiguration serverConfiguration;
     final RequestArgumentSatisfier requestArgumentSatisfier;
     final Supplier<ExecutorService> ioExecutorSupplier;
@@ -146,6 +149,12 @@ public final class RoutingInBoundHandler implements RequestHandler {
         ApplicationEventPublisher<HttpRequestTerminatedEvent> terminateEventPublisher,
         ConversionService conversionService) {
         this.staticResourceResolver = embeddedServerContext.getStaticResourceResolver();
+        NettyHttpServerConfiguration.FileTypeHandlerConfiguration fileTypeHandlerConfiguration = serverConfiguration.getFileTypeHandlerConfiguration();
+        if (fileTypeHandlerConfiguration.getMemoryCache().isEnabled() && staticResourceResolver != StaticResourceResolver.EMPTY) {
+            this.staticResourceCache = new StaticResourceCache(fileTypeHandlerConfiguration, embeddedServerContext.getHttpCompressionStrategy());
+        } else {
+            this.staticResourceCache = null;
+        }
         this.messageBodyHandlerRegistry = embeddedServerContext.getMessageBodyHandlerRegistry();
         this.ioExecutorSupplier = ioExecutor;
         this.requestArgumentSatisfier = embeddedServerContext.getRequestArgumentSatisfier();
@@ -38,7 +38,7 @@ import java.util.Arrays;
  */
 @Experimental
 @Internal
-abstract sealed class AbstractFileBodyWriter permits InputStreamBodyWriter, StreamFileBodyWriter, SystemFileBodyWriter {
+abstract sealed class AbstractFileBodyWriter permits CachedStaticResourceBodyWriter, InputStreamBodyWriter, StreamFileBodyWriter, SystemFileBodyWriter {
     private static final String[] ENTITY_HEADERS = {HttpHeaders.ALLOW, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_LOCATION, HttpHeaders.CONTENT_MD5, HttpHeaders.CONTENT_RANGE, HttpHeaders.CONTENT_TYPE, HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED};
     protected final NettyHttpServerConfiguration.FileTypeHandlerConfiguration configuration;
 
@@ -70,12 +70,24 @@ abstract sealed class AbstractFileBodyWriter permits InputStreamBodyWriter, Stre
             }
         }
 
+        applyHeaders(response, systemFile, nettyResponse);
+        return false;
+    }
+
+    /**
+     * Set the content type, date and cache headers of a file response.
+     *
+     * @param response      The response
+     * @param file          The file
+     * @param nettyResponse The response to customize
+     * @since 4.8.0
+     */
+    protected void applyHeaders(MutableHttpResponse<?> response, FileCustomizableResponseType file, MutableHttpResponse<?> nettyResponse) {
         if (!response.getHeaders().contains(HttpHeaders.CONTENT_TYPE)) {
-            response.header(HttpHeaders.CONTENT_TYPE, systemFile.getMediaType().toString());
+            response.header(HttpHeaders.CONTENT_TYPE, file.getMediaType().toString());
         }
-        setDateAndCacheHeaders(response, lastModified);
-        systemFile.process(nettyResponse);
-        return false;
+        setDateAndCacheHeaders(response, file.getLastModified());
+        file.process(nettyResponse);
     }
 
     /**
@@ -113,9 +125,7 @@ abstract sealed class AbstractFileBodyWriter permits InputStreamBodyWriter, Stre
      * @param response The Http response
      */
     protected void setDateHeader(MutableHttpResponse response) {
-        MutableHttpHeaders headers = response.getHeaders();
-        LocalDateTime now = LocalDateTime.now();
-        headers.date(now);
+        response.getHeaders().date(System.currentTimeMillis());
     }
 
     protected ByteBodyHttpResponse<?> notModified(MutableHttpResponse<?> originalResponse) {
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.body;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.server.types.files.FileCustomizableResponseType;
+import io.netty.buffer.ByteBuf;
+
+import java.util.Map;
+
+/**
+ * A static resource held in memory by the {@link StaticResourceCache}.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class CachedStaticResource implements FileCustomizableResponseType {
+    private final MediaType mediaType;
+    private final long lastModified;
+    private final Representation identity;
+    private final Map<String, Representation> variants;
+
+    /**
+     * @param mediaType    The media type
+     * @param lastModified The last modified date
+     * @param identity     The uncompressed representation
+     * @param variants     The compressed representations, by content encoding
+     */
+    CachedStaticResource(MediaType mediaType, long lastModified, Representation identity, Map<String, Representation> variants) {
+        this.mediaType = mediaType;
+        this.lastModified = lastModified;
+        this.identity = identity;
+        this.variants = variants;
+    }
+
+    @Override
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public long getLength() {
+        return identity.content.readableBytes();
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public void process(MutableHttpResponse<?> response) {
+        // static resources are not attachments
+    }
+
+    /**
+     * @return The uncompressed representation
+     */
+    @NonNull
+    Representation identity() {
+        return identity;
+    }
+
+    /**
+     * @return The compressed representations, by content encoding
+     */
+    @NonNull
+    Map<String, Representation> variants() {
+        return variants;
+    }
+
+    /**
+     * @return The number of bytes held by this resource
+     */
+    int weight() {
+        int weight = identity.content.readableBytes();
+        for (Representation variant : variants.values()) {
+            weight += variant.content.readableBytes();
+        }
+        return Math.max(weight, 1);
+    }
+
+    /**
+     * One representation of the resource.
+     *
+     * @param content The content, an unreleasable read-only buffer
+     * @param etag    The strong entity tag, including the quotes
+     */
+    record Representation(ByteBuf content, String etag) {
+    }
+}
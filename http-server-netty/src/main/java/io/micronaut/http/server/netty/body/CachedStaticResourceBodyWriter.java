@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.body;
+
+import io.micronaut.core.annotation.Experimental;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.MutableHeaders;
+import io.micronaut.http.ByteBodyHttpResponse;
+import io.micronaut.http.ByteBodyHttpResponseWrapper;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.body.ResponseBodyWriter;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.http.netty.body.AvailableNettyByteBody;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.http.server.netty.handler.Compressor;
+import jakarta.inject.Singleton;
+
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Body writer for {@link CachedStaticResource}s. Answers {@code If-None-Match} and
+ * {@code If-Modified-Since} requests, and picks a compressed variant of the resource according
+ * to the {@code Accept-Encoding} of the request.
+ *
+ * @since 4.8.0
+ */
+@Singleton
+@Experimental
+@Internal
+public final class CachedStaticResourceBodyWriter extends AbstractFileBodyWriter implements ResponseBodyWriter<CachedStaticResource> {
+
+    CachedStaticResourceBodyWriter(NettyHttpServerConfiguration.FileTypeHandlerConfiguration configuration) {
+        super(configuration);
+    }
+
+    @Override
+    public ByteBodyHttpResponse<?> write(ByteBufferFactory<?, ?> bufferFactory, HttpRequest<?> request, MutableHttpResponse<CachedStaticResource> response, Argument<CachedStaticResource> type, MediaType mediaType, CachedStaticResource resource) throws CodecException {
+        CachedStaticResource.Representation representation = resource.identity();
+        if (!resource.variants().isEmpty()) {
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String encoding = Compressor.negotiatePrecompressed(request.getHeaders().getAll(HttpHeaders.ACCEPT_ENCODING), resource.variants().keySet());
+            if (encoding != null) {
+                representation = resource.variants().get(encoding);
+                response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+            }
+        }
+        response.header(HttpHeaders.ETAG, representation.etag());
+        List<String> ifNoneMatch = request.getHeaders().getAll(HttpHeaders.IF_NONE_MATCH);
+        if (!ifNoneMatch.isEmpty()) {
+            // If-None-Match takes precedence over If-Modified-Since
+            if (matches(ifNoneMatch, representation.etag())) {
+                return notModified(response);
+            }
+            applyHeaders(response, resource, response);
+        } else if (handleIfModifiedAndHeaders(request, response, resource, response)) {
+            return notModified(response);
+        }
+        return ByteBodyHttpResponseWrapper.wrap(response, new AvailableNettyByteBody(representation.content().duplicate()));
+    }
+
+    /**
+     * Weak comparison of the {@code If-None-Match} entity tags.
+     *
+     * @param ifNoneMatch The header values
+     * @param etag        The entity tag of the selected representation
+     * @return Whether any of the tags matches
+     */
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String value : ifNoneMatch) {
+            for (String tag : value.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void writeTo(Argument<CachedStaticResource> type, MediaType mediaType, CachedStaticResource object, MutableHeaders outgoingHeaders, OutputStream outputStream) throws CodecException {
+        throw new UnsupportedOperationException("Can only be used in a Netty context");
+    }
+}
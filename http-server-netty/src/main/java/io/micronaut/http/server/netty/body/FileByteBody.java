@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.body;
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.execution.ExecutionFlow;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.http.body.CloseableAvailableByteBody;
+import io.micronaut.http.body.CloseableByteBody;
+import io.micronaut.http.body.InternalByteBody;
+import io.micronaut.http.body.stream.InputStreamByteBody;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link io.micronaut.http.body.ByteBody} backed by a region of a file. The netty server writes
+ * this body directly from the {@link FileChannel} (using {@code sendfile} where the transport
+ * supports it) instead of copying the file through the heap. Any other consumer falls back to a
+ * stream-based body.
+ *
+ * <p>The body may also know about precompressed variants of the file ({@code .br}, {@code .zst},
+ * {@code .gz} siblings) that the server can send instead, depending on the
+ * {@code Accept-Encoding} of the request.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class FileByteBody implements CloseableByteBody, InternalByteBody {
+    private static final Logger LOG = LoggerFactory.getLogger(FileByteBody.class);
+
+    private final long position;
+    private final long length;
+    private final Map<String, File> precompressed;
+    private final Executor ioExecutor;
+    @Nullable
+    private FileInputStream stream;
+    @Nullable
+    private CloseableByteBody delegate;
+
+    /**
+     * Create a new body. Ownership of the stream is transferred to the body.
+     *
+     * @param stream        The open file
+     * @param position      The position of the first byte to send
+     * @param length        The number of bytes to send
+     * @param precompressed The precompressed variants of the file, by content encoding
+     * @param ioExecutor    An executor where blocking reads may be performed
+     */
+    FileByteBody(@NonNull FileInputStream stream, long position, long length, @NonNull Map<String, File> precompressed, @NonNull Executor ioExecutor) {
+        this.stream = stream;
+        this.position = position;
+        this.length = length;
+        this.precompressed = precompressed;
+        this.ioExecutor = ioExecutor;
+    }
+
+    /**
+     * @return The position of the first byte to send
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * @return The number of bytes to send
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return The content encodings of the available precompressed variants
+     */
+    @NonNull
+    public Set<String> precompressedEncodings() {
+        return precompressed.keySet();
+    }
+
+    /**
+     * Open a precompressed variant of this file. The returned body is owned by the caller, this
+     * body is left untouched.
+     *
+     * @param encoding The content encoding of the variant
+     * @return The variant, or {@code null} if it is not available
+     */
+    @Nullable
+    public FileByteBody openPrecompressed(@NonNull String encoding) {
+        File file = precompressed.get(encoding);
+        if (file == null) {
+            return null;
+        }
+        try {
+            FileInputStream variant = new FileInputStream(file);
+            return new FileByteBody(variant, 0, variant.getChannel().size(), Map.of(), ioExecutor);
+        } catch (IOException e) {
+            LOG.debug("Failed to open precompressed file {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Take the file channel of this body. The caller is responsible for closing the channel, and
+     * must only send the {@link #length()} bytes starting at {@link #position()}.
+     *
+     * @return The file channel
+     */
+    @NonNull
+    public FileChannel claimChannel() {
+        FileInputStream s = stream;
+        if (s == null || delegate != null) {
+            failClaim();
+        }
+        stream = null;
+        return s.getChannel();
+    }
+
+    private CloseableByteBody delegate() {
+        if (delegate == null) {
+            FileInputStream s = stream;
+            if (s == null) {
+                failClaim();
+            }
+            stream = null;
+            InputStream range = new SystemFileBodyWriter.RangeInputStream(s, position, length);
+            delegate = InputStreamByteBody.create(range, OptionalLong.of(length), ioExecutor, NettyByteBufferFactory.DEFAULT);
+        }
+        return delegate;
+    }
+
+    private static void failClaim() {
+        throw new IllegalStateException("File body has already been claimed");
+    }
+
+    @Override
+    public @NonNull CloseableByteBody split(@NonNull SplitBackpressureMode backpressureMode) {
+        return delegate().split(backpressureMode);
+    }
+
+    @Override
+    public @NonNull OptionalLong expectedLength() {
+        return OptionalLong.of(length);
+    }
+
+    @Override
+    public @NonNull InputStream toInputStream() {
+        return delegate().toInputStream();
+    }
+
+    @Override
+    public @NonNull Publisher<byte[]> toByteArrayPublisher() {
+        return delegate().toByteArrayPublisher();
+    }
+
+    @Override
+    public @NonNull Publisher<ByteBuffer<?>> toByteBufferPublisher() {
+        return delegate().toByteBufferPublisher();
+    }
+
+    @Override
+    public @NonNull ExecutionFlow<? extends CloseableAvailableByteBody> bufferFlow() {
+        return InternalByteBody.bufferFlow(delegate());
+    }
+
+    @Override
+    public void close() {
+        FileInputStream s = stream;
+        if (s != null) {
+            stream = null;
+            try {
+                s.close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close file", e);
+            }
+        }
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.body;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.server.netty.HttpCompressionStrategy;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size-bounded in-memory cache of small static resources, keyed by request path. A cached
+ * resource is served from memory, including its compressed variants, without resolving or
+ * opening the resource again. Resources are loaded on an IO executor, the request that
+ * misses the cache is served from the resource itself.
+ *
+ * <p>The content is held in direct buffers that are never released explicitly: responses
+ * use duplicates of the buffers, and the memory is reclaimed by the garbage collector once
+ * an evicted resource is no longer referenced.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class StaticResourceCache {
+    private static final Logger LOG = LoggerFactory.getLogger(StaticResourceCache.class);
+
+    /**
+     * Content encodings and file extensions of precompressed siblings.
+     */
+    private static final String[] PRECOMPRESSED_EXTENSIONS = {
+        "br", ".br",
+        "zstd", ".zst",
+        "gzip", ".gz"
+    };
+    private static final String GZIP = HttpHeaderValues.GZIP.toString();
+
+    private final Map<String, CachedStaticResource> resources;
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+    private final long maxEntrySize;
+    private final boolean precompressed;
+    private final HttpCompressionStrategy compressionStrategy;
+
+    /**
+     * @param configuration       The file configuration
+     * @param compressionStrategy The compression strategy, used to decide which resources get a
+     *                            compressed variant
+     */
+    public StaticResourceCache(@NonNull NettyHttpServerConfiguration.FileTypeHandlerConfiguration configuration,
+                               @NonNull HttpCompressionStrategy compressionStrategy) {
+        NettyHttpServerConfiguration.FileTypeHandlerConfiguration.MemoryCacheConfiguration cacheConfiguration = configuration.getMemoryCache();
+        this.resources = new ConcurrentLinkedHashMap.Builder<String, CachedStaticResource>()
+            .maximumWeightedCapacity(cacheConfiguration.getMaxSize())
+            .weigher(CachedStaticResource::weight)
+            .build();
+        this.maxEntrySize = Math.min(cacheConfiguration.getMaxEntrySize(), Integer.MAX_VALUE - 8);
+        this.precompressed = configuration.isPrecompressed();
+        this.compressionStrategy = compressionStrategy;
+    }
+
+    /**
+     * Find a cached resource.
+     *
+     * @param path The request path
+     * @return The resource, or {@code null} if it is not cached
+     */
+    @Nullable
+    public CachedStaticResource get(@NonNull String path) {
+        return resources.get(path);
+    }
+
+    /**
+     * Load a resource into the cache on the given executor, unless it is already being loaded.
+     *
+     * @param path     The request path
+     * @param url      The resolved resource
+     * @param executor The executor where the resource is read
+     */
+    public void loadLater(@NonNull String path, @NonNull URL url, @NonNull Executor executor) {
+        if (resources.containsKey(path) || !loading.add(path)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    load(path, url);
+                } finally {
+                    loading.remove(path);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(path);
+            LOG.debug("Failed to schedule the caching of static resource {}", url, e);
+        }
+    }
+
+    /**
+     * Load a resource into the cache, if it is small enough. This method blocks.
+     *
+     * @param path The request path
+     * @param url  The resolved resource
+     * @return The cached resource, or {@code null} if the resource can't be cached
+     */
+    @Nullable
+    public CachedStaticResource load(@NonNull String path, @NonNull URL url) {
+        String name = url.getPath();
+        if (name.endsWith("/")) {
+            return null;
+        }
+        try {
+            if (url.getProtocol().equals("file")) {
+                Path file = Paths.get(url.toURI());
+                if (!Files.isRegularFile(file) || Files.size(file) > maxEntrySize) {
+                    return null;
+                }
+            }
+            URLConnection connection = url.openConnection();
+            long length = connection.getContentLengthLong();
+            if (length > maxEntrySize) {
+                return null;
+            }
+            long lastModified = connection.getLastModified();
+            byte[] content;
+            try (InputStream in = connection.getInputStream()) {
+                content = in.readNBytes((int) maxEntrySize + 1);
+            }
+            if (content.length > maxEntrySize) {
+                return null;
+            }
+            MediaType mediaType = MediaType.forFilename(name.substring(name.lastIndexOf('/') + 1));
+            String hash = hash(content);
+            Map<String, CachedStaticResource.Representation> variants = new HashMap<>(4);
+            if (precompressed) {
+                for (int i = 0; i < PRECOMPRESSED_EXTENSIONS.length; i += 2) {
+                    byte[] sibling = read(URI.create(url.toExternalForm() + PRECOMPRESSED_EXTENSIONS[i + 1]).toURL());
+                    if (sibling != null) {
+                        variants.put(PRECOMPRESSED_EXTENSIONS[i], representation(sibling, hash, PRECOMPRESSED_EXTENSIONS[i]));
+                    }
+                }
+            }
+            if (!variants.containsKey(GZIP) && shouldCompress(mediaType, content.length)) {
+                byte[] compressed = gzip(content);
+                if (compressed.length < content.length) {
+                    variants.put(GZIP, representation(compressed, hash, GZIP));
+                }
+            }
+            CachedStaticResource resource = new CachedStaticResource(
+                mediaType,
+                lastModified,
+                new CachedStaticResource.Representation(toBuffer(content), '"' + hash + '"'),
+                variants.isEmpty() ? Map.of() : variants
+            );
+            CachedStaticResource existing = resources.putIfAbsent(path, resource);
+            return existing == null ? resource : existing;
+        } catch (Exception e) {
+            LOG.debug("Failed to cache static resource {}", url, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return The number of cached resources
+     */
+    public int size() {
+        return resources.size();
+    }
+
+    /**
+     * Remove all cached resources.
+     */
+    public void clear() {
+        resources.clear();
+    }
+
+    private boolean shouldCompress(MediaType mediaType, int length) {
+        if (!compressionStrategy.isEnabled()) {
+            return false;
+        }
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers()
+            .set(HttpHeaderNames.CONTENT_TYPE, mediaType.toString())
+            .set(HttpHeaderNames.CONTENT_LENGTH, length);
+        return compressionStrategy.shouldCompress(response);
+    }
+
+    private byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        int level = compressionStrategy.getCompressionLevel();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    @Nullable
+    private byte[] read(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            byte[] content = in.readNBytes((int) maxEntrySize + 1);
+            return content.length > maxEntrySize ? null : content;
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static CachedStaticResource.Representation representation(byte[] content, String hash, String encoding) {
+        return new CachedStaticResource.Representation(toBuffer(content), '"' + hash + '-' + encoding + '"');
+    }
+
+    private static ByteBuf toBuffer(byte[] content) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(content.length).put(content).flip();
+        return Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(buffer).asReadOnly());
+    }
+
+    private static String hash(byte[] content) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+    }
+}
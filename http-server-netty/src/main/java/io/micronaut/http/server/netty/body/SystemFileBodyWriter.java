@@ -50,6 +50,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
 
@@ -66,6 +68,14 @@ import static io.micronaut.http.HttpHeaders.CONTENT_RANGE;
 @Internal
 public final class SystemFileBodyWriter extends AbstractFileBodyWriter implements ResponseBodyWriter<SystemFile> {
     private static final String UNIT_BYTES = "bytes";
+    /**
+     * Content encodings and file extensions of precompressed siblings.
+     */
+    private static final String[] PRECOMPRESSED_EXTENSIONS = {
+        "br", ".br",
+        "zstd", ".zst",
+        "gzip", ".gz"
+    };
 
     private final ExecutorService ioExecutor;
 
@@ -124,16 +134,47 @@ public final class SystemFileBodyWriter extends AbstractFileBodyWriter implement
             }
 
             File file = systemFile.getFile();
-            InputStream is;
+            FileInputStream is;
             try {
                 is = new FileInputStream(file);
             } catch (FileNotFoundException e) {
                 throw new MessageBodyException("Could not find file", e);
             }
 
-            @NonNull InputStream stream = new RangeInputStream(is, position, contentLength);
-            return ByteBodyHttpResponseWrapper.wrap(response, InputStreamByteBody.create(stream, OptionalLong.of(contentLength), ioExecutor, NettyByteBufferFactory.DEFAULT));
+            if (fileLength < 0) {
+                @NonNull InputStream stream = new RangeInputStream(is, position, contentLength);
+                return ByteBodyHttpResponseWrapper.wrap(response, InputStreamByteBody.create(stream, OptionalLong.of(contentLength), ioExecutor, NettyByteBufferFactory.DEFAULT));
+            }
+            Map<String, File> precompressed = Map.of();
+            if (configuration.isPrecompressed() && contentLength == fileLength && response.status() == HttpStatus.OK) {
+                precompressed = findPrecompressed(file);
+                if (!precompressed.isEmpty()) {
+                    response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                }
+            }
+            return ByteBodyHttpResponseWrapper.wrap(response, new FileByteBody(is, position, contentLength, precompressed, ioExecutor));
+        }
+    }
+
+    /**
+     * Find the precompressed siblings of the given file, e.g. {@code app.js.br} for
+     * {@code app.js}.
+     *
+     * @param file The file
+     * @return The siblings by content encoding
+     */
+    private static Map<String, File> findPrecompressed(File file) {
+        Map<String, File> precompressed = null;
+        for (int i = 0; i < PRECOMPRESSED_EXTENSIONS.length; i += 2) {
+            File sibling = new File(file.getPath() + PRECOMPRESSED_EXTENSIONS[i + 1]);
+            if (sibling.isFile()) {
+                if (precompressed == null) {
+                    precompressed = new HashMap<>(4);
+                }
+                precompressed.put(PRECOMPRESSED_EXTENSIONS[i], sibling);
+            }
         }
+        return precompressed == null ? Map.of() : precompressed;
     }
 
     @Nullable
@@ -170,14 +211,14 @@ public final class SystemFileBodyWriter extends AbstractFileBodyWriter implement
         }
     }
 
-    private static final class RangeInputStream extends InputStream {
+    static final class RangeInputStream extends InputStream {
         private final InputStream delegate;
         private final long toSkip;
         private long remainingLength;
         private boolean skipped = false;
         private boolean skipSuccess = false;
 
-        private RangeInputStream(InputStream delegate, long toSkip, long length) {
+        RangeInputStream(InputStream delegate, long toSkip, long length) {
             this.delegate = delegate;
             this.toSkip = toSkip;
             this.remainingLength = length;
@@ -177,6 +177,20 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
      */
     public static final int DEFAULT_FORM_MAX_BUFFERED_BYTES = 1024;
 
+    /**
+     * Default value for {@link #flushConsolidation}.
+     *
+     * @since 4.8.0
+     */
+    public static final boolean DEFAULT_FLUSH_CONSOLIDATION = false;
+
+    /**
+     * Default value for {@link #flushConsolidationThreshold}.
+     *
+     * @since 4.8.0
+     */
+    public static final int DEFAULT_FLUSH_CONSOLIDATION_THRESHOLD = 64 * 1024;
+
     private static final Logger LOG = LoggerFactory.getLogger(NettyHttpServerConfiguration.class);
 
     private final List<ChannelPipelineListener> pipelineCustomizers;
@@ -213,6 +227,8 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private boolean legacyMultiplexHandlers = false;
     private int formMaxFields = DEFAULT_FORM_MAX_FIELDS;
     private int formMaxBufferedBytes = DEFAULT_FORM_MAX_BUFFERED_BYTES;
+    private boolean flushConsolidation = DEFAULT_FLUSH_CONSOLIDATION;
+    private int flushConsolidationThreshold = DEFAULT_FLUSH_CONSOLIDATION_THRESHOLD;
 
     /**
      * Default empty constructor.
@@ -822,6 +838,54 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         this.formMaxBufferedBytes = formMaxBufferedBytes;
     }
 
+    /**
+     * Whether HTTP/1.1 responses that complete outside a read operation have their flush
+     * deferred, so that all responses written during one event loop iteration are sent with a
+     * single flush. Responses written while requests are being read are always flushed once
+     * the read completes.
+     *
+     * @return Whether to consolidate flushes
+     * @since 4.8.0
+     */
+    public boolean isFlushConsolidation() {
+        return flushConsolidation;
+    }
+
+    /**
+     * Whether HTTP/1.1 responses that complete outside a read operation have their flush
+     * deferred, so that all responses written during one event loop iteration are sent with a
+     * single flush. Responses written while requests are being read are always flushed once
+     * the read completes. Default value ({@value #DEFAULT_FLUSH_CONSOLIDATION}).
+     *
+     * @param flushConsolidation Whether to consolidate flushes
+     * @since 4.8.0
+     */
+    public void setFlushConsolidation(boolean flushConsolidation) {
+        this.flushConsolidation = flushConsolidation;
+    }
+
+    /**
+     * The number of response bytes after which a deferred flush is done immediately.
+     *
+     * @return The flush threshold in bytes
+     * @since 4.8.0
+     */
+    public int getFlushConsolidationThreshold() {
+        return flushConsolidationThreshold;
+    }
+
+    /**
+     * The number of response bytes after which a deferred flush is done immediately. With
+     * {@link #isFlushConsolidation() flush consolidation}, this also applies to flushes deferred
+     * until the end of a read. Default value ({@value #DEFAULT_FLUSH_CONSOLIDATION_THRESHOLD}).
+     *
+     * @param flushConsolidationThreshold The flush threshold in bytes
+     * @since 4.8.0
+     */
+    public void setFlushConsolidationThreshold(@ReadableBytes int flushConsolidationThreshold) {
+        this.flushConsolidationThreshold = flushConsolidationThreshold;
+    }
+
     /**
      * Http2 settings.
      */
@@ -1180,8 +1244,17 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final int DEFAULT_CACHESECONDS = 60;
 
+        /**
+         * The default value for serving precompressed files.
+         * @since 4.8.0
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_PRECOMPRESSED = false;
+
         private int cacheSeconds = DEFAULT_CACHESECONDS;
+        private boolean precompressed = DEFAULT_PRECOMPRESSED;
         private CacheControlConfiguration cacheControl = new CacheControlConfiguration();
+        private MemoryCacheConfiguration memoryCache = new MemoryCacheConfiguration();
 
         /**
          * Default constructor.
@@ -1224,6 +1297,25 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
             this.cacheSeconds = cacheSeconds;
         }
 
+        /**
+         * @return Whether precompressed siblings of files are served
+         * @since 4.8.0
+         */
+        public boolean isPrecompressed() {
+            return precompressed;
+        }
+
+        /**
+         * Whether to serve precompressed siblings of files ({@code .br}, {@code .zst} or
+         * {@code .gz}) when the client accepts the encoding. Default value ({@value #DEFAULT_PRECOMPRESSED}).
+         *
+         * @param precompressed Whether to serve precompressed files
+         * @since 4.8.0
+         */
+        public void setPrecompressed(boolean precompressed) {
+            this.precompressed = precompressed;
+        }
+
         /**
          * @return The cache control configuration
          */
@@ -1240,6 +1332,24 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
             this.cacheControl = cacheControl;
         }
 
+        /**
+         * @return The in-memory cache configuration for static resources
+         * @since 4.8.0
+         */
+        public MemoryCacheConfiguration getMemoryCache() {
+            return memoryCache;
+        }
+
+        /**
+         * Sets the in-memory cache configuration for static resources.
+         *
+         * @param memoryCache The memory cache configuration
+         * @since 4.8.0
+         */
+        public void setMemoryCache(MemoryCacheConfiguration memoryCache) {
+            this.memoryCache = memoryCache;
+        }
+
         /**
          * Configuration for the Cache-Control header.
          */
@@ -1267,6 +1377,91 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
                 return publicCache;
             }
         }
+
+        /**
+         * Configuration for the in-memory cache of static resources. Cached resources are served
+         * with a strong {@code ETag} and without accessing the file system or classpath again, so
+         * changes to a cached resource are not visible until it is evicted. A resource is cached
+         * in the background after its first request, and range requests are always served from the
+         * resource itself.
+         *
+         * @since 4.8.0
+         */
+        @ConfigurationProperties("memory-cache")
+        public static class MemoryCacheConfiguration {
+
+            /**
+             * The default enable value.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final boolean DEFAULT_ENABLED = false;
+
+            /**
+             * The default maximum size of the cache.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final long DEFAULT_MAX_SIZE = 1024 * 1024 * 10L; // 10MB
+
+            /**
+             * The default maximum size of a cached resource.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final long DEFAULT_MAX_ENTRY_SIZE = 1024 * 256L; // 256KB
+
+            private boolean enabled = DEFAULT_ENABLED;
+            private long maxSize = DEFAULT_MAX_SIZE;
+            private long maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+            /**
+             * @return Whether static resources are cached in memory
+             */
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * Whether to cache static resources in memory. Default value ({@value #DEFAULT_ENABLED}).
+             *
+             * @param enabled Whether the cache is enabled
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * @return The maximum number of bytes held by the cache
+             */
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            /**
+             * Sets the maximum number of bytes held by the cache, including compressed variants.
+             * Default value ({@value #DEFAULT_MAX_SIZE} =&gt; // 10MB).
+             *
+             * @param maxSize The maximum size of the cache
+             */
+            public void setMaxSize(@ReadableBytes long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            /**
+             * @return The maximum size of a cached resource
+             */
+            public long getMaxEntrySize() {
+                return maxEntrySize;
+            }
+
+            /**
+             * Sets the maximum size of a cached resource. Larger resources are always read from
+             * the file system or classpath. Default value ({@value #DEFAULT_MAX_ENTRY_SIZE} =&gt; // 256KB).
+             *
+             * @param maxEntrySize The maximum size of a cached resource
+             */
+            public void setMaxEntrySize(@ReadableBytes long maxEntrySize) {
+                this.maxEntrySize = maxEntrySize;
+            }
+        }
     }
 
     /**
@@ -15,6 +15,7 @@
  */
 package io.micronaut.http.server.netty.handler;
 
+import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.server.netty.HttpCompressionStrategy;
 import io.netty.buffer.ByteBuf;
@@ -45,15 +46,22 @@ import io.netty.handler.codec.http.HttpVersion;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
-final class Compressor {
+/**
+ * Compresses responses according to the {@code Accept-Encoding} of the request.
+ */
+@Internal
+public final class Compressor {
     private final HttpCompressionStrategy strategy;
     private final BrotliOptions brotliOptions;
     private final GzipOptions gzipOptions;
     private final DeflateOptions deflateOptions;
     private final ZstdOptions zstdOptions;
     private final SnappyOptions snappyOptions;
+    private final Set<Algorithm> available = EnumSet.noneOf(Algorithm.class);
 
     Compressor(HttpCompressionStrategy strategy) {
         assert strategy.isEnabled();
@@ -67,6 +75,15 @@ final class Compressor {
         this.deflateOptions = StandardCompressionOptions.deflate(strategy.getCompressionLevel(), stdDeflate.windowBits(), stdDeflate.memLevel());
         this.zstdOptions = Zstd.isAvailable() ? StandardCompressionOptions.zstd() : null;
         this.snappyOptions = StandardCompressionOptions.snappy();
+        if (brotliOptions != null) {
+            available.add(Algorithm.BR);
+        }
+        if (zstdOptions != null) {
+            available.add(Algorithm.ZSTD);
+        }
+        available.add(Algorithm.SNAPPY);
+        available.add(Algorithm.GZIP);
+        available.add(Algorithm.DEFLATE);
     }
 
     @Nullable
@@ -85,11 +102,7 @@ final class Compressor {
             // already encoded
             return null;
         }
-        List<String> acceptEncoding = new ArrayList<>();
-        for (String s : request.headers().getAll(HttpHeaderNames.ACCEPT_ENCODING)) {
-            acceptEncoding.addAll(Arrays.asList(s.split(",")));
-        }
-        Algorithm encoding = determineEncoding(acceptEncoding);
+        Algorithm encoding = determineEncoding(acceptEncoding(request.headers().getAll(HttpHeaderNames.ACCEPT_ENCODING)), available);
         if (encoding == null) {
             return null;
         }
@@ -104,12 +117,61 @@ final class Compressor {
         return new Session(ctx, handler);
     }
 
+    /**
+     * Choose the precompressed representation to send for the given request.
+     *
+     * @param request   The request
+     * @param encodings The content encodings of the available representations
+     * @return The chosen content encoding, or {@code null} if the uncompressed representation
+     * should be sent
+     */
+    @Nullable
+    static String negotiatePrecompressed(HttpRequest request, Set<String> encodings) {
+        if (encodings.isEmpty()) {
+            return null;
+        }
+        return negotiatePrecompressed(request.headers().getAll(HttpHeaderNames.ACCEPT_ENCODING), encodings);
+    }
+
+    /**
+     * Choose the precompressed representation to send for the given {@code Accept-Encoding}
+     * header values.
+     *
+     * @param acceptEncodingHeaders The {@code Accept-Encoding} header values of the request
+     * @param encodings             The content encodings of the available representations
+     * @return The chosen content encoding, or {@code null} if the uncompressed representation
+     * should be sent
+     * @since 4.8.0
+     */
+    @Nullable
+    public static String negotiatePrecompressed(List<String> acceptEncodingHeaders, Set<String> encodings) {
+        if (encodings.isEmpty() || acceptEncodingHeaders.isEmpty()) {
+            return null;
+        }
+        Set<Algorithm> candidates = EnumSet.noneOf(Algorithm.class);
+        for (Algorithm algorithm : Algorithm.values()) {
+            if (encodings.contains(algorithm.contentEncoding.toString())) {
+                candidates.add(algorithm);
+            }
+        }
+        Algorithm encoding = determineEncoding(acceptEncoding(acceptEncodingHeaders), candidates);
+        return encoding == null ? null : encoding.contentEncoding.toString();
+    }
+
+    private static List<String> acceptEncoding(List<String> acceptEncodingHeaders) {
+        List<String> acceptEncoding = new ArrayList<>();
+        for (String s : acceptEncodingHeaders) {
+            acceptEncoding.addAll(Arrays.asList(s.split(",")));
+        }
+        return acceptEncoding;
+    }
+
     private BrotliEncoder makeBrotliEncoder() {
         return new BrotliEncoder(brotliOptions.parameters());
     }
 
     @SuppressWarnings("FloatingPointEquality")
-    private Algorithm determineEncoding(List<String> acceptEncoding) {
+    private static Algorithm determineEncoding(List<String> acceptEncoding, Set<Algorithm> available) {
         // from HttpContentCompressor, slightly modified
         float starQ = -1.0f;
         float brQ = -1.0f;
@@ -143,32 +205,32 @@ final class Compressor {
             }
         }
         if (brQ > 0.0f || zstdQ > 0.0f || snappyQ > 0.0f || gzipQ > 0.0f || deflateQ > 0.0f) {
-            if (brQ != -1.0f && brQ >= zstdQ && this.brotliOptions != null) {
+            if (brQ != -1.0f && brQ >= zstdQ && available.contains(Algorithm.BR)) {
                 return Algorithm.BR;
-            } else if (zstdQ != -1.0f && zstdQ >= snappyQ && this.zstdOptions != null) {
+            } else if (zstdQ != -1.0f && zstdQ >= snappyQ && available.contains(Algorithm.ZSTD)) {
                 return Algorithm.ZSTD;
-            } else if (snappyQ != -1.0f && snappyQ >= gzipQ && this.snappyOptions != null) {
+            } else if (snappyQ != -1.0f && snappyQ >= gzipQ && available.contains(Algorithm.SNAPPY)) {
                 return Algorithm.SNAPPY;
-            } else if (gzipQ != -1.0f && gzipQ >= deflateQ && this.gzipOptions != null) {
+            } else if (gzipQ != -1.0f && gzipQ >= deflateQ && available.contains(Algorithm.GZIP)) {
                 return Algorithm.GZIP;
-            } else if (deflateQ != -1.0f && this.deflateOptions != null) {
+            } else if (deflateQ != -1.0f && available.contains(Algorithm.DEFLATE)) {
                 return Algorithm.DEFLATE;
             }
         }
         if (starQ > 0.0f) {
-            if (brQ == -1.0f && this.brotliOptions != null) {
+            if (brQ == -1.0f && available.contains(Algorithm.BR)) {
                 return Algorithm.BR;
             }
-            if (zstdQ == -1.0f && this.zstdOptions != null) {
+            if (zstdQ == -1.0f && available.contains(Algorithm.ZSTD)) {
                 return Algorithm.ZSTD;
             }
-            if (snappyQ == -1.0f && this.snappyOptions != null) {
+            if (snappyQ == -1.0f && available.contains(Algorithm.SNAPPY)) {
                 return Algorithm.SNAPPY;
             }
-            if (gzipQ == -1.0f && this.gzipOptions != null) {
+            if (gzipQ == -1.0f && available.contains(Algorithm.GZIP)) {
                 return Algorithm.GZIP;
             }
-            if (deflateQ == -1.0f && this.deflateOptions != null) {
+            if (deflateQ == -1.0f && available.contains(Algorithm.DEFLATE)) {
                 return Algorithm.DEFLATE;
             }
         }
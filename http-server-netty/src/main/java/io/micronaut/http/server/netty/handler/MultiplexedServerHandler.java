@@ -27,9 +27,11 @@ import io.micronaut.http.netty.body.NettyBodyAdapter;
 import io.micronaut.http.netty.body.NettyByteBody;
 import io.micronaut.http.netty.body.StreamingNettyByteBody;
 import io.micronaut.http.netty.reactive.HotObservable;
+import io.micronaut.http.server.netty.body.FileByteBody;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
@@ -42,6 +44,9 @@ import io.netty.handler.codec.http2.Http2Exception;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalLong;
@@ -245,6 +250,10 @@ abstract class MultiplexedServerHandler {
             // primary operation happens here.
 
             response.headers().remove(HttpHeaderNames.TRANSFER_ENCODING);
+            if (body instanceof FileByteBody file && PipeliningServerHandler.canHaveBody(response.status())) {
+                writeFile(response, file);
+                return;
+            }
             if (PipeliningServerHandler.canHaveBody(response.status())) {
                 OptionalLong length = body.expectedLength();
                 if (length.isPresent()) {
@@ -320,6 +329,26 @@ abstract class MultiplexedServerHandler {
             }
         }
 
+        private void writeFile(HttpResponse response, FileByteBody body) {
+            FileByteBody variant = null;
+            if (!response.headers().contains(HttpHeaderNames.CONTENT_ENCODING)) {
+                String encoding = Compressor.negotiatePrecompressed(request, body.precompressedEncodings());
+                if (encoding != null) {
+                    variant = body.openPrecompressed(encoding);
+                    if (variant != null) {
+                        // the original file is not sent
+                        body.close();
+                        response.headers().set(HttpHeaderNames.CONTENT_ENCODING, encoding);
+                        // ranges would apply to the precompressed representation
+                        response.headers().remove(HttpHeaderNames.ACCEPT_RANGES);
+                    }
+                }
+            }
+            FileByteBody selected = variant == null ? body : variant;
+            response.headers().set(HttpHeaderNames.CONTENT_LENGTH, selected.length());
+            writeStreaming(response, new FileStreamer(selected.claimChannel(), selected.position(), selected.length()));
+        }
+
         private void writeStreaming(HttpResponse response, BufferConsumer.Upstream upstream) {
             if (!ctx.executor().inEventLoop()) {
                 ctx.executor().execute(() -> writeStreaming(response, upstream));
@@ -458,6 +487,118 @@ abstract class MultiplexedServerHandler {
          */
         abstract void writeData0(ByteBuf data, boolean endStream, ChannelPromise promise);
 
+        /**
+         * Writes a region of a file as data frames. The file is read through memory mapped
+         * windows, and only a few chunks are handed to the flow controller at a time.
+         */
+        private final class FileStreamer implements BufferConsumer.Upstream, ChannelFutureListener {
+            private static final int CHUNK_SIZE = 64 * 1024;
+            private static final int MAP_SIZE = 64 * CHUNK_SIZE;
+            private static final int MAX_PENDING_CHUNKS = 4;
+
+            private FileChannel channel;
+            private long position;
+            private final long end;
+            private MappedByteBuffer mapped;
+            private int pendingChunks;
+            private boolean writing;
+
+            FileStreamer(FileChannel channel, long position, long length) {
+                this.channel = channel;
+                this.position = position;
+                this.end = position + length;
+            }
+
+            @Override
+            public void start() {
+                writeSome();
+            }
+
+            private void writeSome() {
+                if (channel == null) {
+                    return;
+                }
+                writing = true;
+                try {
+                    while (channel != null && position < end && pendingChunks < MAX_PENDING_CHUNKS) {
+                        ByteBuf chunk = nextChunk();
+                        boolean last = position >= end;
+                        if (last) {
+                            // the mapping stays valid after the channel is closed
+                            closeChannel();
+                        }
+                        pendingChunks++;
+                        writeData(chunk, last, ctx.newPromise().addListener(this));
+                        if (last) {
+                            finish();
+                        }
+                    }
+                } catch (IOException e) {
+                    closeChannel();
+                    if (!reset(e)) {
+                        LOG.warn("Failed to read file after some data has already been written. This error cannot be forwarded to the client.", e);
+                    }
+                    finish();
+                    flush();
+                    return;
+                } finally {
+                    writing = false;
+                }
+                if (position >= end && channel != null) {
+                    // empty region
+                    closeChannel();
+                    writeData(Unpooled.EMPTY_BUFFER, true, ctx.voidPromise());
+                    finish();
+                }
+                flush();
+            }
+
+            @Override
+            public void operationComplete(ChannelFuture future) {
+                pendingChunks--;
+                if (!future.isSuccess()) {
+                    logStreamWriteFailure(future.cause());
+                    closeChannel();
+                } else if (!writing) {
+                    writeSome();
+                }
+            }
+
+            private ByteBuf nextChunk() throws IOException {
+                if (mapped == null || !mapped.hasRemaining()) {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_SIZE, end - position));
+                }
+                int n = Math.min(CHUNK_SIZE, mapped.remaining());
+                ByteBuf chunk = Unpooled.wrappedBuffer(mapped.slice(mapped.position(), n));
+                mapped.position(mapped.position() + n);
+                position += n;
+                return chunk;
+            }
+
+            private void closeChannel() {
+                FileChannel channel = this.channel;
+                if (channel != null) {
+                    this.channel = null;
+                    mapped = null;
+                    try {
+                        channel.close();
+                    } catch (IOException e) {
+                        LOG.debug("Failed to close file", e);
+                    }
+                }
+            }
+
+            @Override
+            public void onBytesConsumed(long bytesConsumed) {
+                // the streamer is driven by the write promises
+            }
+
+            @Override
+            public void allowDiscard() {
+                closeChannel();
+            }
+        }
+
         /**
          * This is the {@link HotObservable} that represents the request body in the streaming
          * request case.
@@ -28,13 +28,17 @@ import io.micronaut.http.netty.body.NettyByteBody;
 import io.micronaut.http.netty.body.StreamingNettyByteBody;
 import io.micronaut.http.netty.stream.StreamedHttpResponse;
 import io.micronaut.http.server.netty.HttpCompressionStrategy;
+import io.micronaut.http.server.netty.body.FileByteBody;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.compression.Brotli;
 import io.netty.handler.codec.compression.BrotliDecoder;
@@ -57,15 +61,20 @@ import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
@@ -130,6 +139,23 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
      * {@code true} inside {@link #writeSome()} to avoid reentrancy.
      */
     private boolean writing = false;
+    /**
+     * {@code true} iff flushes outside a read operation are deferred to a task on the event loop.
+     */
+    private boolean flushConsolidation = false;
+    /**
+     * Number of unflushed bytes after which a deferred flush is done immediately.
+     */
+    private int flushConsolidationThreshold = Integer.MAX_VALUE;
+    /**
+     * Number of bytes written since the last flush. Only tracked with flush consolidation.
+     */
+    private long unflushedBytes = 0;
+    /**
+     * {@code true} iff {@link #flushTask} has been submitted and has not run yet.
+     */
+    private boolean flushScheduled = false;
+    private final Runnable flushTask = this::runScheduledFlush;
 
     public PipeliningServerHandler(RequestHandler requestHandler) {
         this.requestHandler = requestHandler;
@@ -147,6 +173,19 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
         this.bodySizeLimits = bodySizeLimits;
     }
 
+    /**
+     * Defer the flushes of responses that are written outside a read operation, so that all
+     * responses written during one event loop iteration are sent together.
+     *
+     * @param threshold The number of unflushed bytes after which a deferred flush is done
+     *                  immediately
+     * @since 4.8.0
+     */
+    public void enableFlushConsolidation(int threshold) {
+        this.flushConsolidation = true;
+        this.flushConsolidationThreshold = threshold;
+    }
+
     public static boolean canHaveBody(HttpResponseStatus status) {
         // All 1xx (Informational), 204 (No Content), and 304 (Not Modified)
         // responses do not include a message body
@@ -225,8 +264,7 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
         // only unset readCalled now. This ensures no read call is done before channelReadComplete
         readCalled = false;
         if (flushPending) {
-            ctx.flush();
-            flushPending = false;
+            flush();
         }
         refreshNeedMore();
     }
@@ -261,19 +299,59 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
      */
     private void write(Object message, boolean flush, boolean close) {
         if (close) {
+            unflushedBytes = 0;
             ctx.writeAndFlush(message).addListener(ChannelFutureListener.CLOSE);
         } else {
+            if (flushConsolidation) {
+                unflushedBytes += messageSize(message);
+            }
             if (flush) {
                 // delay flush until readComplete if possible
                 if (reading) {
                     ctx.write(message, ctx.voidPromise());
                     flushPending = true;
+                } else if (flushConsolidation) {
+                    // delay flush until the current event loop task is done
+                    ctx.write(message, ctx.voidPromise());
+                    flushPending = true;
+                    if (!flushScheduled) {
+                        flushScheduled = true;
+                        ctx.channel().eventLoop().execute(flushTask);
+                    }
                 } else {
                     ctx.writeAndFlush(message, ctx.voidPromise());
                 }
             } else {
                 ctx.write(message, ctx.voidPromise());
             }
+            if (flushPending && unflushedBytes >= flushConsolidationThreshold) {
+                flush();
+            }
+        }
+    }
+
+    private void flush() {
+        flushPending = false;
+        unflushedBytes = 0;
+        ctx.flush();
+    }
+
+    private void runScheduledFlush() {
+        flushScheduled = false;
+        if (flushPending && !reading && !removed) {
+            flush();
+        }
+    }
+
+    private static long messageSize(Object message) {
+        if (message instanceof ByteBufHolder holder) {
+            return holder.content().readableBytes();
+        } else if (message instanceof ByteBuf buf) {
+            return buf.readableBytes();
+        } else if (message instanceof FileRegion region) {
+            return region.count();
+        } else {
+            return 0;
         }
     }
 
@@ -848,6 +926,10 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
 
         @Override
         public void write(@NonNull HttpResponse response, @NonNull ByteBody body) {
+            if (body instanceof FileByteBody file && canHaveBody(response.status())) {
+                writeFile(response, file);
+                return;
+            }
             NettyByteBody nbb = NettyBodyAdapter.adapt(body, ctx.channel().eventLoop());
             if (nbb instanceof AvailableNettyByteBody available) {
                 writeFull(new DefaultFullHttpResponse(response.protocolVersion(), response.status(), AvailableNettyByteBody.toByteBuf(available), response.headers(), EmptyHttpHeaders.INSTANCE), false);
@@ -876,6 +958,30 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
             }
         }
 
+        private void writeFile(HttpResponse response, FileByteBody body) {
+            FileByteBody variant = null;
+            if (!response.headers().contains(HttpHeaderNames.CONTENT_ENCODING)) {
+                String encoding = Compressor.negotiatePrecompressed(request, body.precompressedEncodings());
+                if (encoding != null) {
+                    variant = body.openPrecompressed(encoding);
+                    if (variant != null) {
+                        // the original file is not sent
+                        body.close();
+                        response.headers().set(HttpHeaderNames.CONTENT_ENCODING, encoding);
+                        // ranges would apply to the precompressed representation
+                        response.headers().remove(HttpHeaderNames.ACCEPT_RANGES);
+                    }
+                }
+            }
+            FileByteBody selected = variant == null ? body : variant;
+            response.headers().remove(HttpHeaderNames.TRANSFER_ENCODING);
+            response.headers().set(HttpHeaderNames.CONTENT_LENGTH, selected.length());
+            preprocess(response);
+            FileOutboundHandler oh = new FileOutboundHandler(this, response, selected.claimChannel(), selected.position(), selected.length());
+            prepareCompression(response, oh);
+            write(oh);
+        }
+
         private void prepareCompression(HttpResponse response, OutboundHandler outboundHandler) {
             if (compressor == null) {
                 return;
@@ -1030,6 +1136,103 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
         }
     }
 
+    /**
+     * Handler that writes a region of a file. Plain HTTP/1 connections send the file as a
+     * {@link DefaultFileRegion}, so that the transport can use {@code sendfile}. If the bytes
+     * have to pass through the pipeline (TLS, HTTP/2 streams, compression), the file is mapped
+     * into memory and written in chunks instead.
+     */
+    private final class FileOutboundHandler extends OutboundHandler {
+        private static final int CHUNK_SIZE = 64 * 1024;
+        private static final int MAP_SIZE = 64 * CHUNK_SIZE;
+
+        private HttpResponse initialMessage;
+        private FileChannel channel;
+        private long position;
+        private final long end;
+        private MappedByteBuffer mapped;
+
+        FileOutboundHandler(OutboundAccessImpl outboundAccess, HttpResponse initialMessage, FileChannel channel, long position, long length) {
+            super(outboundAccess);
+            this.initialMessage = initialMessage;
+            this.channel = channel;
+            this.position = position;
+            this.end = position + length;
+        }
+
+        private boolean canWriteFileRegion() {
+            return compressionSession == null &&
+                ctx.pipeline().get(HttpServerCodec.class) != null &&
+                ctx.pipeline().get(SslHandler.class) == null;
+        }
+
+        @Override
+        void writeSome() {
+            if (initialMessage != null) {
+                write(initialMessage, false, false);
+                initialMessage = null;
+                if (position < end && canWriteFileRegion()) {
+                    // the region takes ownership of the channel
+                    write(new DefaultFileRegion(channel, position, end - position), false, false);
+                    channel = null;
+                    position = end;
+                }
+            }
+            try {
+                while (position < end && ctx.channel().isWritable()) {
+                    writeCompressing(new DefaultHttpContent(nextChunk()), true, false);
+                }
+            } catch (IOException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Failed to read file after some data has already been written. This error cannot be forwarded to the client.", e);
+                }
+                closeChannel();
+                ctx.close();
+                return;
+            }
+            if (position >= end) {
+                writeCompressing(LastHttpContent.EMPTY_LAST_CONTENT, true, outboundAccess.closeAfterWrite);
+                closeChannel();
+                outboundHandler = null;
+                requestHandler.responseWritten(outboundAccess.attachment);
+                PipeliningServerHandler.this.writeSome();
+            }
+        }
+
+        private ByteBuf nextChunk() throws IOException {
+            if (mapped == null || !mapped.hasRemaining()) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_SIZE, end - position));
+            }
+            int n = Math.min(CHUNK_SIZE, mapped.remaining());
+            ByteBuf chunk = Unpooled.wrappedBuffer(mapped.slice(mapped.position(), n));
+            mapped.position(mapped.position() + n);
+            position += n;
+            return chunk;
+        }
+
+        private void closeChannel() {
+            FileChannel channel = this.channel;
+            if (channel != null) {
+                this.channel = null;
+                mapped = null;
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOG.debug("Failed to close file", e);
+                }
+            }
+        }
+
+        @Override
+        void discardOutbound() {
+            super.discardOutbound();
+            outboundHandler = null;
+            // pretend we wrote to clean up resources
+            requestHandler.responseWritten(outboundAccess.attachment);
+            closeChannel();
+        }
+    }
+
     /**
      * Handler that writes a {@link StreamedHttpResponse}.
      */
@@ -644,6 +644,71 @@ class PipeliningServerHandlerSpec extends Specification {
         ch.checkException()
     }
 
+    def 'flush consolidation defers flushes outside of a read'(int threshold, int flushesBeforeTask) {
+        given:
+        def mon = new MonitorHandler()
+        def resp = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK)
+        resp.headers().add(HttpHeaderNames.CONTENT_LENGTH, 3)
+        List<OutboundAccess> outbound = []
+        def handler = new PipeliningServerHandler(new RequestHandler() {
+            @Override
+            void accept(ChannelHandlerContext ctx, HttpRequest request, CloseableByteBody body, OutboundAccess outboundAccess) {
+                body.close()
+                outbound.add(outboundAccess)
+            }
+
+            @Override
+            void handleUnboundError(Throwable cause) {
+                cause.printStackTrace()
+            }
+        })
+        handler.enableFlushConsolidation(threshold)
+        // EmbeddedChannel runs pending tasks on every write, so hold the writes back until the flush like a socket would
+        def pending = new ArrayList<Object>()
+        def ch = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+                pending.add(msg)
+            }
+
+            @Override
+            void flush(ChannelHandlerContext ctx) throws Exception {
+                pending.forEach { ctx.write(it) }
+                pending.clear()
+                ctx.flush()
+            }
+        }, mon, handler)
+
+        when:
+        ch.writeOneInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/"))
+        ch.writeOneInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/"))
+        ch.flushInbound()
+        then:
+        outbound.size() == 2
+        mon.flush == 0
+
+        when:
+        outbound[0].write(resp, new AvailableNettyByteBody(Unpooled.wrappedBuffer("foo".getBytes(StandardCharsets.UTF_8))))
+        outbound[1].write(resp, new AvailableNettyByteBody(Unpooled.wrappedBuffer("bar".getBytes(StandardCharsets.UTF_8))))
+        then:
+        mon.flush == flushesBeforeTask
+
+        when:
+        ch.runPendingTasks()
+        then:
+        mon.flush == flushesBeforeTask + (flushesBeforeTask == 2 ? 0 : 1)
+        ch.outboundMessages().collect { ((FullHttpResponse) it).content().toString(StandardCharsets.UTF_8) } == ["foo", "bar"]
+        ch.checkException()
+
+        cleanup:
+        ch.finishAndReleaseAll()
+
+        where:
+        threshold | flushesBeforeTask
+        1024      | 0
+        3         | 2
+    }
+
     static class MonitorHandler extends ChannelOutboundHandlerAdapter {
         int flush = 0
         int read = 0
@@ -0,0 +1,210 @@
+package io.micronaut.http.server.netty.resources
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.net.ssl.SSLContext
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+import java.util.zip.InflaterInputStream
+
+class FileRegionStaticResourceSpec extends Specification {
+
+    @Shared
+    Path dir = Files.createTempDirectory("FileRegionStaticResourceSpec")
+    @Shared
+    byte[] content = new byte[3 * 1024 * 1024 + 17]
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer
+    @Shared
+    @AutoCleanup
+    EmbeddedServer secureServer
+    @Shared
+    @AutoCleanup
+    EmbeddedServer http2Server
+    @Shared
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()
+    @Shared
+    HttpClient secureClient
+    @Shared
+    HttpClient http2Client
+
+    def setupSpec() {
+        new Random(42).nextBytes(content)
+        Files.write(dir.resolve("large.bin"), content)
+        Files.write(dir.resolve("app.js"), ("console.log('hello');\n" * 1000).bytes)
+        def gz = new ByteArrayOutputStream()
+        try (def out = new GZIPOutputStream(gz)) {
+            out.write(Files.readAllBytes(dir.resolve("app.js")))
+        }
+        Files.write(dir.resolve("app.js.gz"), gz.toByteArray())
+        def properties = [
+                'micronaut.router.static-resources.default.paths': ['file:' + dir],
+                'micronaut.server.netty.responses.file.precompressed': true,
+        ]
+        embeddedServer = ApplicationContext.run(EmbeddedServer, properties)
+        secureServer = ApplicationContext.run(EmbeddedServer, properties + [
+                'micronaut.server.ssl.enabled': true,
+                'micronaut.server.ssl.port': -1,
+                'micronaut.server.ssl.build-self-signed': true,
+        ])
+        http2Server = ApplicationContext.run(EmbeddedServer, properties + [
+                'micronaut.server.http-version': '2.0',
+                'micronaut.server.ssl.enabled': true,
+                'micronaut.server.ssl.port': -1,
+                'micronaut.server.ssl.build-self-signed': true,
+        ])
+        def sslContext = SSLContext.getInstance("TLS")
+        sslContext.init(null, InsecureTrustManagerFactory.INSTANCE.trustManagers, null)
+        secureClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).sslContext(sslContext).build()
+        http2Client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).sslContext(sslContext).build()
+    }
+
+    def cleanupSpec() {
+        dir.toFile().deleteDir()
+    }
+
+    private HttpResponse<byte[]> get(String path, Map<String, String> headers = [:], boolean secure = false) {
+        def builder = HttpRequest.newBuilder((secure ? secureServer : embeddedServer).URI.resolve(path))
+        headers.each { builder.header(it.key, it.value) }
+        (secure ? secureClient : client).send(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+    }
+
+    private HttpResponse<byte[]> getHttp2(String path, Map<String, String> headers = [:]) {
+        def builder = HttpRequest.newBuilder(http2Server.URI.resolve(path))
+        headers.each { builder.header(it.key, it.value) }
+        http2Client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+    }
+
+    private List<Path> openFiles(Path file) {
+        Path real = file.toRealPath()
+        try (def fds = Files.list(Path.of('/proc/self/fd'))) {
+            return fds.map { fd ->
+                try {
+                    return Files.readSymbolicLink(fd)
+                } catch (IOException ignored) {
+                    // closed in the meantime
+                    return null
+                }
+            }.filter { it == real }.toList()
+        }
+    }
+
+    void "test large file is served completely"() {
+        when:
+        def response = get('/large.bin')
+
+        then:
+        response.statusCode() == 200
+        response.headers().firstValue('Content-Length').get() == content.length.toString()
+        response.body() == content
+    }
+
+    void "test range of a file"() {
+        when:
+        def response = get('/large.bin', ['Range': 'bytes=1000-1999'])
+
+        then:
+        response.statusCode() == 206
+        response.body() == Arrays.copyOfRange(content, 1000, 2000)
+    }
+
+    void "test precompressed sibling is served if accepted"() {
+        when:
+        def response = get('/app.js', ['Accept-Encoding': 'br, gzip'], secure)
+
+        then:
+        response.statusCode() == 200
+        response.headers().firstValue('Content-Encoding').get() == 'gzip'
+        response.headers().firstValue('Vary').get() == 'Accept-Encoding'
+        response.body() == Files.readAllBytes(dir.resolve('app.js.gz'))
+        new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes() == Files.readAllBytes(dir.resolve('app.js'))
+
+        where:
+        secure << [false, true]
+    }
+
+    @Requires({ Files.isDirectory(Path.of('/proc/self/fd')) })
+    void "test the original file is closed when the precompressed sibling is served"() {
+        when:
+        for (int i = 0; i < 20; i++) {
+            assert get('/app.js', ['Accept-Encoding': 'gzip'], secure).headers().firstValue('Content-Encoding').get() == 'gzip'
+        }
+
+        then:
+        openFiles(dir.resolve('app.js')).isEmpty()
+
+        where:
+        secure << [false, true]
+    }
+
+    void "test files are served over HTTP/2"() {
+        when:
+        def response = getHttp2('/large.bin')
+
+        then:
+        response.version() == HttpClient.Version.HTTP_2
+        response.statusCode() == 200
+        response.headers().firstValue('Content-Length').get() == content.length.toString()
+        response.body() == content
+
+        when:
+        response = getHttp2('/large.bin', ['Range': 'bytes=1000-1999'])
+
+        then:
+        response.statusCode() == 206
+        response.body() == Arrays.copyOfRange(content, 1000, 2000)
+    }
+
+    @Requires({ Files.isDirectory(Path.of('/proc/self/fd')) })
+    void "test precompressed sibling is served over HTTP/2"() {
+        when:
+        def response = getHttp2('/app.js', ['Accept-Encoding': 'gzip'])
+
+        then:
+        response.version() == HttpClient.Version.HTTP_2
+        response.headers().firstValue('Content-Encoding').get() == 'gzip'
+        response.body() == Files.readAllBytes(dir.resolve('app.js.gz'))
+
+        when:
+        for (int i = 0; i < 20; i++) {
+            assert getHttp2('/app.js', ['Accept-Encoding': 'gzip']).statusCode() == 200
+        }
+
+        then:
+        openFiles(dir.resolve('app.js')).isEmpty()
+        openFiles(dir.resolve('app.js.gz')).isEmpty()
+    }
+
+    void "test original file is served if the sibling is not accepted"() {
+        when:
+        def response = get('/app.js', ['Accept-Encoding': 'gzip;q=0'])
+
+        then:
+        response.statusCode() == 200
+        !response.headers().firstValue('Content-Encoding').present
+        response.headers().firstValue('Vary').get() == 'Accept-Encoding'
+        response.body() == Files.readAllBytes(dir.resolve('app.js'))
+    }
+
+    void "test file is compressed on the fly without a matching sibling"() {
+        when:
+        def response = get('/app.js', ['Accept-Encoding': 'deflate'])
+
+        then:
+        response.statusCode() == 200
+        response.headers().firstValue('Content-Encoding').get() == 'deflate'
+        new InflaterInputStream(new ByteArrayInputStream(response.body())).readAllBytes() == Files.readAllBytes(dir.resolve('app.js'))
+    }
+}
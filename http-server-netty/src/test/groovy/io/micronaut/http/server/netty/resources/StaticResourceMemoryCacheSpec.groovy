@@ -0,0 +1,174 @@
+package io.micronaut.http.server.netty.resources
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPInputStream
+
+class StaticResourceMemoryCacheSpec extends Specification {
+
+    @Shared
+    Path dir = Files.createTempDirectory("StaticResourceMemoryCacheSpec")
+    @Shared
+    byte[] script = ("console.log('hello');\n" * 1000).bytes
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer
+    @Shared
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()
+
+    def setupSpec() {
+        Files.write(dir.resolve("app.js"), script)
+        Files.write(dir.resolve("large.bin"), new byte[200_000])
+        embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.router.static-resources.default.paths': ['classpath:public', 'file:' + dir],
+                'micronaut.server.netty.responses.file.memory-cache.enabled': true,
+                'micronaut.server.netty.responses.file.memory-cache.max-entry-size': '100KB',
+        ])
+    }
+
+    def cleanupSpec() {
+        dir.toFile().deleteDir()
+    }
+
+    private HttpResponse<byte[]> get(String path, Map<String, String> headers = [:]) {
+        def builder = HttpRequest.newBuilder(embeddedServer.URI.resolve(path))
+        headers.each { builder.header(it.key, it.value) }
+        client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+    }
+
+    private HttpResponse<byte[]> getCached(String path) {
+        new PollingConditions(timeout: 10).eventually {
+            assert get(path).headers().firstValue('ETag').present
+        }
+        return get(path)
+    }
+
+    void "test cached resource has a strong etag"() {
+        when:"the resource is requested for the first time"
+        def first = get('/app.js')
+
+        then:"it is served from the file while it is cached in the background"
+        first.statusCode() == 200
+        !first.headers().firstValue('ETag').present
+        first.body() == script
+
+        when:
+        def response = getCached('/app.js')
+
+        then:
+        response.statusCode() == 200
+        response.headers().firstValue('ETag').get() ==~ /"[A-Za-z0-9_-]+"/
+        response.headers().firstValue('Content-Length').get() == script.length.toString()
+        response.body() == script
+
+        when:
+        def second = get('/app.js')
+
+        then:
+        second.headers().firstValue('ETag') == response.headers().firstValue('ETag')
+        second.body() == script
+    }
+
+    void "test If-None-Match returns not modified"() {
+        given:
+        def etag = getCached('/app.js').headers().firstValue('ETag').get()
+
+        when:
+        def response = get('/app.js', ['If-None-Match': 'W/"other", ' + etag])
+
+        then:
+        response.statusCode() == 304
+        response.headers().firstValue('ETag').get() == etag
+        response.body().length == 0
+
+        when:
+        response = get('/app.js', ['If-None-Match': '"other"'])
+
+        then:
+        response.statusCode() == 200
+        response.body() == script
+    }
+
+    void "test compressed variant is served with its own etag"() {
+        given:
+        def identityEtag = getCached('/app.js').headers().firstValue('ETag').get()
+
+        when:
+        def response = get('/app.js', ['Accept-Encoding': 'gzip'])
+
+        then:
+        response.statusCode() == 200
+        response.headers().firstValue('Content-Encoding').get() == 'gzip'
+        response.headers().firstValue('Vary').get() == 'Accept-Encoding'
+        response.headers().firstValue('ETag').get() != identityEtag
+        new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes() == script
+
+        when:
+        def notModified = get('/app.js', ['Accept-Encoding': 'gzip', 'If-None-Match': response.headers().firstValue('ETag').get()])
+
+        then:
+        notModified.statusCode() == 304
+    }
+
+    void "test cached resource is served without reading the file again"() {
+        given:
+        Files.write(dir.resolve("once.txt"), "first".bytes)
+
+        expect:
+        new String(getCached('/once.txt').body()) == 'first'
+
+        when:
+        Files.delete(dir.resolve("once.txt"))
+
+        then:
+        new String(get('/once.txt').body()) == 'first'
+    }
+
+    void "test range requests bypass the cache"() {
+        given:
+        getCached('/app.js')
+
+        when:
+        def response = get('/app.js', ['Range': 'bytes=10-19'])
+
+        then:
+        response.statusCode() == 206
+        response.headers().firstValue('Content-Range').get() == "bytes 10-19/${script.length}"
+        !response.headers().firstValue('ETag').present
+        response.body() == Arrays.copyOfRange(script, 10, 20)
+    }
+
+    void "test large resources are not cached"() {
+        given:
+        get('/large.bin')
+        Thread.sleep(500)
+
+        when:
+        def response = get('/large.bin')
+
+        then:
+        response.statusCode() == 200
+        response.body().length == 200_000
+        !response.headers().firstValue('ETag').present
+    }
+
+    void "test classpath resources are cached"() {
+        when:
+        def response = getCached('/index.html')
+
+        then:
+        response.statusCode() == 200
+        response.headers().firstValue('ETag').present
+        new String(response.body()) == "<html><head></head><body>HTML Page from resources</body></html>"
+    }
+}
@@ -72,7 +72,6 @@ import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -772,7 +771,7 @@ public final class RouteExecutor {
 
     private void applyConfiguredHeaders(MutableHttpHeaders headers) {
         if (serverConfiguration.isDateHeader() && !headers.contains(HttpHeaders.DATE)) {
-            headers.date(LocalDateTime.now());
+            headers.date(System.currentTimeMillis());
         }
         if (headers.get(HttpHeaders.SERVER) == null) {
             serverConfiguration.getServerHeader()
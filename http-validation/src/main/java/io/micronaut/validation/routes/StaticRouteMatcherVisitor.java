@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.validation.routes;
+
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.http.annotation.UriMapping;
+import io.micronaut.http.uri.UriTemplate;
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.Element;
+import io.micronaut.inject.ast.MethodElement;
+import io.micronaut.inject.visitor.TypeElementVisitor;
+import io.micronaut.inject.visitor.VisitorContext;
+import io.micronaut.inject.writer.ClassGenerationException;
+import io.micronaut.inject.writer.GeneratedFile;
+import io.micronaut.web.router.StaticRouteMatcher;
+
+import javax.annotation.processing.SupportedOptions;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@link StaticRouteMatcher} for the literal URI templates of the controllers of the
+ * application, registered as a service of the matcher type that the router loads from the class loader
+ * of the context.
+ *
+ * <p>The visitor is disabled by default, enable it with the {@value #MATCHER_OPTION} processor option in
+ * the module of the application. Templates with variables, placeholders or depending on the URI naming
+ * strategy are not included and are resolved by the route index at runtime.</p>
+ *
+ * @since 4.8.0
+ */
+@SupportedOptions(StaticRouteMatcherVisitor.MATCHER_OPTION)
+public class StaticRouteMatcherVisitor implements TypeElementVisitor<Object, Object> {
+
+    static final String MATCHER_OPTION = "micronaut.route.matcher";
+    private static final String CLASS_NAME = "$StaticRouteMatcher";
+    private static final String CONTROLLER_ANN = "io.micronaut.http.annotation.Controller";
+    private static final String URI_MAPPING_ANN = "io.micronaut.http.annotation.UriMapping";
+    private static final String METHOD_MAPPING_ANN = "io.micronaut.http.annotation.HttpMethodMapping";
+
+    private final SortedSet<String> templates = new TreeSet<>();
+    private final Map<String, ClassElement> controllers = new LinkedHashMap<>();
+    private boolean enabled = false;
+
+    @NonNull
+    @Override
+    public VisitorKind getVisitorKind() {
+        return VisitorKind.AGGREGATING;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationNames() {
+        return CollectionUtils.setOf(CONTROLLER_ANN, METHOD_MAPPING_ANN);
+    }
+
+    @Override
+    public void start(VisitorContext visitorContext) {
+        enabled = Boolean.parseBoolean(visitorContext.getOptions().getOrDefault(MATCHER_OPTION, "false"));
+    }
+
+    @Override
+    public void visitMethod(MethodElement element, VisitorContext context) {
+        ClassElement controller = element.getOwningType();
+        if (!enabled || !controller.hasStereotype(CONTROLLER_ANN)) {
+            return;
+        }
+        AnnotationValue<?> mappingAnnotation = element.getAnnotation(METHOD_MAPPING_ANN);
+        if (mappingAnnotation == null) {
+            return;
+        }
+        String controllerUri = normalizeUri(controller.stringValue(URI_MAPPING_ANN)
+            .orElseGet(() -> controller.stringValue(CONTROLLER_ANN).orElse("/")));
+        if (controllerUri == null || controllerUri.contains("${")) {
+            return;
+        }
+        Set<String> uris = CollectionUtils.setOf(mappingAnnotation.stringValues("uris"));
+        Optional<String> value = mappingAnnotation.stringValue();
+        if (uris.isEmpty()) {
+            uris.add(value.orElse(UriMapping.DEFAULT_URI));
+        } else {
+            value.ifPresent(uris::add);
+        }
+        for (String uri : uris) {
+            if (uri.isEmpty() || uri.contains("${")) {
+                continue;
+            }
+            String template = UriTemplate.of(controllerUri).nest(uri).toString();
+            if (isLiteral(template)) {
+                templates.add(template);
+                controllers.putIfAbsent(controller.getName(), controller);
+            }
+        }
+    }
+
+    @Override
+    public void finish(VisitorContext visitorContext) {
+        if (templates.isEmpty()) {
+            return;
+        }
+        String packageName = controllers.values().stream()
+            .map(ClassElement::getPackageName)
+            .sorted()
+            .findFirst()
+            .orElse("");
+        String className = packageName.isEmpty() ? CLASS_NAME : packageName + '.' + CLASS_NAME;
+        Element[] originatingElements = controllers.values().toArray(Element.EMPTY_ELEMENT_ARRAY);
+        try {
+            new StaticRouteMatcherWriter(className, templates, originatingElements).accept(visitorContext);
+        } catch (IOException e) {
+            throw new ClassGenerationException("Failed to generate the static route matcher: " + e.getMessage(), e);
+        }
+        Optional<GeneratedFile> serviceFile = visitorContext.visitMetaInfFile("services/" + StaticRouteMatcher.class.getName(), originatingElements);
+        if (serviceFile.isPresent()) {
+            try (Writer writer = serviceFile.get().openWriter()) {
+                writer.write(className);
+                writer.write(System.lineSeparator());
+            } catch (IOException e) {
+                throw new ClassGenerationException("Failed to write the static route matcher service file: " + e.getMessage(), e);
+            }
+        }
+        templates.clear();
+        controllers.clear();
+    }
+
+    private static String normalizeUri(String uri) {
+        int len = uri.length();
+        if (len == 0) {
+            // Resolved by the naming strategy
+            return null;
+        }
+        if (uri.charAt(0) != '/') {
+            uri = '/' + uri;
+        }
+        if (len > 1 && uri.charAt(uri.length() - 1) == '/') {
+            uri = uri.substring(0, uri.length() - 1);
+        }
+        return uri;
+    }
+
+    private static boolean isLiteral(String template) {
+        return template.length() > 1
+            && template.charAt(0) == '/'
+            && template.charAt(template.length() - 1) != '/'
+            && template.indexOf('{') == -1
+            && template.indexOf('}') == -1;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.validation.routes;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.inject.ast.Element;
+import io.micronaut.inject.writer.AbstractClassFileWriter;
+import io.micronaut.inject.writer.ClassWriterOutputVisitor;
+import io.micronaut.inject.writer.StringSwitchWriter;
+import io.micronaut.web.router.StaticRouteMatcher;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+import static org.objectweb.asm.ClassWriter.COMPUTE_FRAMES;
+import static org.objectweb.asm.ClassWriter.COMPUTE_MAXS;
+
+/**
+ * Writes a {@link StaticRouteMatcher} that matches the given literal templates with a string switch.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class StaticRouteMatcherWriter extends AbstractClassFileWriter {
+
+    private static final Type MATCHER_TYPE = Type.getType(StaticRouteMatcher.class);
+
+    private final String className;
+    private final Map<String, Integer> templateIds = new LinkedHashMap<>();
+
+    /**
+     * @param className           The name of the generated class
+     * @param templates           The literal templates
+     * @param originatingElements The originating elements
+     */
+    StaticRouteMatcherWriter(String className, SortedSet<String> templates, Element... originatingElements) {
+        super(originatingElements);
+        this.className = className;
+        for (String template : templates) {
+            templateIds.put(template, templateIds.size());
+        }
+    }
+
+    @Override
+    public void accept(ClassWriterOutputVisitor classWriterOutputVisitor) throws IOException {
+        try (OutputStream outputStream = classWriterOutputVisitor.visitClass(className, getOriginatingElements())) {
+            outputStream.write(generateClassBytes().toByteArray());
+        }
+    }
+
+    private ClassWriter generateClassBytes() {
+        ClassWriter classWriter = new ClassWriter(COMPUTE_MAXS | COMPUTE_FRAMES);
+        classWriter.visit(V17, ACC_PUBLIC | ACC_FINAL | ACC_SYNTHETIC, getInternalName(className), null,
+            MATCHER_TYPE.getInternalName(), null);
+        classWriter.visitAnnotation(TYPE_GENERATED.getDescriptor(), false);
+
+        GeneratorAdapter constructor = startConstructor(classWriter);
+        constructor.loadThis();
+        constructor.invokeConstructor(MATCHER_TYPE, METHOD_DEFAULT_CONSTRUCTOR);
+        constructor.returnValue();
+        constructor.endMethod();
+
+        GeneratorAdapter sizeMethod = startPublicMethodZeroArgs(classWriter, int.class, "size");
+        sizeMethod.push(templateIds.size());
+        sizeMethod.returnValue();
+        sizeMethod.endMethod();
+
+        GeneratorAdapter matchMethod = startPublicMethod(classWriter, "match", int.class, String.class);
+        new StringSwitchWriter() {
+
+            @Override
+            protected Set<String> getKeys() {
+                return templateIds.keySet();
+            }
+
+            @Override
+            protected void pushStringValue() {
+                matchMethod.loadArg(0);
+            }
+
+            @Override
+            protected void onMatch(String value, Label end) {
+                matchMethod.push(templateIds.get(value));
+                matchMethod.returnValue();
+            }
+        }.write(matchMethod);
+        matchMethod.push(-1);
+        matchMethod.returnValue();
+        matchMethod.endMethod();
+
+        classWriter.visitEnd();
+        return classWriter;
+    }
+}
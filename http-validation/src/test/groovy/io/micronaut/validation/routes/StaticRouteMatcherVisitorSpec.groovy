@@ -0,0 +1,122 @@
+package io.micronaut.validation.routes
+
+import io.micronaut.annotation.processing.test.AbstractTypeElementSpec
+import io.micronaut.core.io.service.SoftServiceLoader
+import io.micronaut.http.HttpMethod
+import io.micronaut.web.router.Router
+import io.micronaut.web.router.StaticRouteMatcher
+import spock.util.environment.RestoreSystemProperties
+
+import java.util.stream.Collectors
+
+class StaticRouteMatcherVisitorSpec extends AbstractTypeElementSpec {
+
+    @RestoreSystemProperties
+    void "test the literal templates are matched by the generated matcher"() {
+        setup:
+        System.setProperty("micronaut.route.matcher", "true")
+
+        when:
+        ClassLoader classLoader = buildClassLoader("test.Foo", """
+
+package test;
+
+import io.micronaut.http.annotation.*;
+
+@Controller("/books")
+class Foo {
+
+    @Get
+    String index() { return "index"; }
+
+    @Get("/list")
+    String list() { return "list"; }
+
+    @Post(uris = {"/a", "/b/c"})
+    String post() { return "post"; }
+
+    @Get("/{id}")
+    String show(String id) { return id; }
+
+    @Get("/\${foo}")
+    String placeholder() { return "placeholder"; }
+}
+
+""")
+        StaticRouteMatcher matcher = classLoader.loadClass('test.$StaticRouteMatcher').newInstance()
+
+        then:
+        SoftServiceLoader.load(StaticRouteMatcher, classLoader).collectAll()*.class*.name == ['test.$StaticRouteMatcher']
+        matcher.size() == 4
+        ['/books', '/books/a', '/books/b/c', '/books/list'].collect { matcher.match(it) } == [0, 1, 2, 3]
+        matcher.match('/books/1') == -1
+        matcher.match('/books/') == -1
+        matcher.match('/foo') == -1
+    }
+
+    @RestoreSystemProperties
+    void "test the router resolves the literal routes with the generated matcher"() {
+        setup:
+        System.setProperty("micronaut.route.matcher", "true")
+        def context = buildContext("test.Foo", """
+
+package test;
+
+import io.micronaut.http.annotation.*;
+
+@Controller("/books")
+class Foo {
+
+    @Get("/list")
+    String list() { return "list"; }
+
+    @Get("/{id}")
+    String show(String id) { return id; }
+}
+
+""", true)
+        def router = context.getBean(Router)
+        def index = router.@allRouteIndexes.get('GET')
+
+        expect:"the literal path is resolved by the generated matcher"
+        index.@matcher.class.name == 'test.$StaticRouteMatcher'
+        index.@literalCandidates.get(0) == null
+        templates(router, '/books/list') == ['/books/list', '/books/{id}'] as Set
+        index.@literalCandidates.get(0)*.uriMatchTemplate*.toString() as Set == ['/books/list', '/books/{id}'] as Set
+
+        and:"the other paths are resolved by the route index"
+        templates(router, '/books/1') == ['/books/{id}'] as Set
+        index.@literalCandidates.length() == 1
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the matcher is not generated by default"() {
+        when:
+        ClassLoader classLoader = buildClassLoader("test.Foo", """
+
+package test;
+
+import io.micronaut.http.annotation.*;
+
+@Controller("/books")
+class Foo {
+
+    @Get("/list")
+    String list() { return "list"; }
+}
+
+""")
+        classLoader.loadClass('test.$StaticRouteMatcher')
+
+        then:
+        thrown(ClassNotFoundException)
+    }
+
+    private static Set<String> templates(Router router, String path) {
+        return router.find(HttpMethod.GET, path, null)
+            .map { it.routeInfo.uriMatchTemplate.toString() }
+            .collect(Collectors.toSet())
+    }
+}
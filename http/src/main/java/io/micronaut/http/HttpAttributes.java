@@ -96,7 +96,15 @@ public enum HttpAttributes implements CharSequence {
     /**
      * Body that was discarded because this is a HEAD response.
      */
-    HEAD_BODY(Constants.PREFIX + ".headBody");
+    HEAD_BODY(Constants.PREFIX + ".headBody"),
+
+    /**
+     * Attribute used to mark a client request that may share its response with identical
+     * in-flight requests.
+     *
+     * @since 4.8.0
+     */
+    SINGLE_FLIGHT(Constants.PREFIX + ".client.singleFlight");
 
     private final String name;
 
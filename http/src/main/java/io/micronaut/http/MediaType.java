@@ -39,7 +39,9 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -674,6 +676,11 @@ public class MediaType implements CharSequence, Comparable<MediaType> {
     private static final char SEMICOLON = ';';
     private static final String WILDCARD = "*";
 
+    /**
+     * Common header values with parameters, the string representation is kept as is.
+     */
+    private static final Map<String, MediaType> PARAMETERIZED_TYPES = new HashMap<>();
+
     @SuppressWarnings("ConstantName")
     private static final String MIME_TYPES_FILE_NAME = "META-INF/http/mime.types";
     private static Map<String, String> mediaTypeFileExtensions;
@@ -687,12 +694,22 @@ public class MediaType implements CharSequence, Comparable<MediaType> {
     protected final Map<CharSequence, String> parameters;
     private final String strRepr;
     private final String lowerName;
+    private final long internedBit;
 
     private BigDecimal qualityNumberField = BigDecimal.ONE;
 
     private boolean valid;
 
     static {
+        for (String name : List.of(APPLICATION_JSON, TEXT_PLAIN, TEXT_HTML)) {
+            for (String charset : List.of("UTF-8", "utf-8")) {
+                PARAMETERIZED_TYPES.put(name + ";charset=" + charset, new MediaType(name + ";charset=" + charset));
+                PARAMETERIZED_TYPES.put(name + "; charset=" + charset, new MediaType(name + "; charset=" + charset));
+            }
+        }
+        for (String quality : List.of("0.1", "0.8", "0.9")) {
+            PARAMETERIZED_TYPES.put(ALL + ";q=" + quality, new MediaType(ALL + ";q=" + quality));
+        }
         textTypePatterns.add(Pattern.compile("^text/.*$"));
         textTypePatterns.add(Pattern.compile("^.*\\+json$"));
         textTypePatterns.add(Pattern.compile("^.*\\+text$"));
@@ -804,6 +821,7 @@ public class MediaType implements CharSequence, Comparable<MediaType> {
         } else {
             this.strRepr = toString0();
         }
+        this.internedBit = getClass() == MediaType.class ? internedBit(lowerName) : 0;
     }
 
     /**
@@ -868,10 +886,113 @@ public class MediaType implements CharSequence, Comparable<MediaType> {
             case IMAGE_GIF -> IMAGE_GIF_TYPE;
             case IMAGE_WEBP -> IMAGE_WEBP_TYPE;
             case IMAGE_WMF -> IMAGE_WMF_TYPE;
-            default -> new MediaType(mediaType);
+            default -> {
+                MediaType mediaTypeWithParameters = PARAMETERIZED_TYPES.get(mediaType);
+                yield mediaTypeWithParameters != null ? mediaTypeWithParameters : new MediaType(mediaType);
+            }
         };
     }
 
+    /**
+     * The bit of the media types returned by {@link #of(String)} without parameters. Media types
+     * are equal if they have the same name, so a mask of these bits can be used to check if
+     * a list of media types contains a media type without comparing the names.
+     *
+     * @param lowerName The lower case name
+     * @return The bit or {@code 0} if the name isn't interned
+     */
+    private static long internedBit(String lowerName) {
+        return switch (lowerName) {
+            case ALL -> 1L << 0;
+            case APPLICATION_FORM_URLENCODED -> 1L << 1;
+            case APPLICATION_XHTML -> 1L << 2;
+            case APPLICATION_XML -> 1L << 3;
+            case APPLICATION_JSON -> 1L << 4;
+            case APPLICATION_JSON_FEED -> 1L << 5;
+            case APPLICATION_JSON_GITHUB -> 1L << 6;
+            case APPLICATION_JSON_PATCH -> 1L << 7;
+            case APPLICATION_JSON_MERGE_PATCH -> 1L << 8;
+            case APPLICATION_JSON_PROBLEM -> 1L << 9;
+            case APPLICATION_JSON_SCHEMA -> 1L << 10;
+            case APPLICATION_YAML -> 1L << 11;
+            case APPLICATION_HAL_JSON -> 1L << 12;
+            case APPLICATION_HAL_XML -> 1L << 13;
+            case APPLICATION_ATOM_XML -> 1L << 14;
+            case APPLICATION_VND_ERROR -> 1L << 15;
+            case APPLICATION_JSON_STREAM -> 1L << 16;
+            case APPLICATION_OCTET_STREAM -> 1L << 17;
+            case APPLICATION_GRAPHQL -> 1L << 18;
+            case APPLICATION_PDF -> 1L << 19;
+            case APPLICATION_GPX_XML -> 1L << 20;
+            case APPLICATION_GZIP -> 1L << 21;
+            case APPLICATION_ZIP -> 1L << 22;
+            case MICROSOFT_EXCEL_OPEN_XML -> 1L << 23;
+            case MICROSOFT_EXCEL -> 1L << 24;
+            case APPLICATION_YANG -> 1L << 25;
+            case APPLICATION_CUE -> 1L << 26;
+            case APPLICATION_TOML -> 1L << 27;
+            case APPLICATION_RTF -> 1L << 28;
+            case APPLICATION_ZLIB -> 1L << 29;
+            case APPLICATION_ZSTD -> 1L << 30;
+            case MULTIPART_FORM_DATA -> 1L << 31;
+            case TEXT_HTML -> 1L << 32;
+            case TEXT_CSV -> 1L << 33;
+            case TEXT_XML -> 1L << 34;
+            case TEXT_JSON -> 1L << 35;
+            case TEXT_PLAIN -> 1L << 36;
+            case TEXT_EVENT_STREAM -> 1L << 37;
+            case TEXT_MARKDOWN -> 1L << 38;
+            case TEXT_CSS -> 1L << 39;
+            case TEXT_JAVASCRIPT -> 1L << 40;
+            case TEXT_ECMASCRIPT -> 1L << 41;
+            case IMAGE_APNG -> 1L << 42;
+            case IMAGE_BMP -> 1L << 43;
+            case IMAGE_X_ICON -> 1L << 44;
+            case IMAGE_TIFF -> 1L << 45;
+            case IMAGE_AVIF -> 1L << 46;
+            case IMAGE_SVG -> 1L << 47;
+            case IMAGE_XBM -> 1L << 48;
+            case IMAGE_PNG -> 1L << 49;
+            case IMAGE_JPEG -> 1L << 50;
+            case IMAGE_GIF -> 1L << 51;
+            case IMAGE_WEBP -> 1L << 52;
+            case IMAGE_WMF -> 1L << 53;
+            default -> 0;
+        };
+    }
+
+    /**
+     * The bit identifying this media type in a mask of common media types, see {@link #mask(Collection)}.
+     *
+     * @return The bit or {@code 0} if this isn't a common media type
+     * @since 4.8.0
+     */
+    @Internal
+    public long internedBit() {
+        return internedBit;
+    }
+
+    /**
+     * Compute the mask of the common media types in the given collection. If a media type has an
+     * {@link #internedBit()}, the collection contains an equal media type if and only if the
+     * bit is set in the mask.
+     *
+     * @param mediaTypes The media types
+     * @return The mask
+     * @since 4.8.0
+     */
+    @Internal
+    public static long mask(@Nullable Collection<MediaType> mediaTypes) {
+        if (mediaTypes == null) {
+            return 0;
+        }
+        long mask = 0;
+        for (MediaType mediaType : mediaTypes) {
+            mask |= mediaType.internedBit;
+        }
+        return mask;
+    }
+
     /**
      * Determine if this requested content type can be satisfied by a given content type. e.g. text/* will be satisfied by test/html.
      *
@@ -1139,7 +1260,8 @@ public class MediaType implements CharSequence, Comparable<MediaType> {
         for (CharSequence value : values) {
             for (String token : StringUtils.splitOmitEmptyStrings(value, ',')) {
                 try {
-                    mediaTypes.add(MediaType.of(token));
+                    // trim to find the common media types, the constructor ignores the whitespace anyway
+                    mediaTypes.add(MediaType.of(token.trim()));
                 } catch (IllegalArgumentException e) {
                     // ignore
                 }
@@ -16,6 +16,7 @@
 package io.micronaut.http.filter;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.Toggleable;
 
 /**
  * Base interface for different filter types. Note that while the base interface is exposed, so you
@@ -68,4 +69,15 @@ public sealed interface GenericHttpFilter permits InternalHttpFilter {
         return !(filter instanceof AroundLegacyFilter aroundLegacyFilter) || aroundLegacyFilter.isEnabled();
     }
 
+    /**
+     * Check if the filter can be enabled or disabled at runtime.
+     * @param filter The filter
+     * @return true if {@link #isEnabled(GenericHttpFilter)} can change
+     * @since 4.8.0
+     */
+    @Internal
+    static boolean isToggleable(GenericHttpFilter filter) {
+        return filter instanceof AroundLegacyFilter aroundLegacyFilter && aroundLegacyFilter.bean() instanceof Toggleable;
+    }
+
 }
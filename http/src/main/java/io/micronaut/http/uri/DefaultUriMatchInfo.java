@@ -44,14 +44,28 @@ final class DefaultUriMatchInfo implements UriMatchInfo {
      * @param variables      The variables
      */
     DefaultUriMatchInfo(String uri, Map<String, Object> variableValues, List<UriMatchVariable> variables) {
+        this(uri, variableValues, variables, toVariableMap(variables));
+    }
+
+    /**
+     * @param uri            The URI
+     * @param variableValues The map of variable names with values
+     * @param variables      The variables
+     * @param variableMap    The variables by name
+     */
+    DefaultUriMatchInfo(String uri, Map<String, Object> variableValues, List<UriMatchVariable> variables, Map<String, UriMatchVariable> variableMap) {
         this.uri = uri;
         this.variableValues = variableValues;
         this.variables = variables;
+        this.variableMap = variableMap;
+    }
+
+    private static Map<String, UriMatchVariable> toVariableMap(List<UriMatchVariable> variables) {
         LinkedHashMap<String, UriMatchVariable> vm = CollectionUtils.newLinkedHashMap(variables.size());
         for (UriMatchVariable variable : variables) {
             vm.put(variable.getName(), variable);
         }
-        this.variableMap = Collections.unmodifiableMap(vm);
+        return Collections.unmodifiableMap(vm);
     }
 
     @Override
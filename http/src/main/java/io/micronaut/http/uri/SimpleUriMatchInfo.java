@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.uri;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.ObjectUtils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The {@link UriMatchInfo} of a template made only of literals and plain {@code {name}} path variables.
+ * The URI is not copied when matching, the variable values are sliced from it on first access and
+ * exposed by an array backed map.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class SimpleUriMatchInfo implements UriMatchInfo {
+
+    private final String uri;
+    private final int end;
+    private final UriTemplateMatcher matcher;
+    private String path;
+    private Map<String, Object> variableValues;
+
+    /**
+     * @param uri     The matched URI
+     * @param end     The end of the path in the URI
+     * @param matcher The matcher
+     */
+    SimpleUriMatchInfo(String uri, int end, UriTemplateMatcher matcher) {
+        this.uri = uri;
+        this.end = end;
+        this.matcher = matcher;
+    }
+
+    @Override
+    public String getUri() {
+        String p = path;
+        if (p == null) {
+            p = end == uri.length() ? uri : uri.substring(0, end);
+            path = p;
+        }
+        return p;
+    }
+
+    @Override
+    public Map<String, Object> getVariableValues() {
+        Map<String, Object> values = variableValues;
+        if (values == null) {
+            List<UriMatchVariable> variables = matcher.getVariables();
+            Object[] array = new Object[variables.size()];
+            matcher.matchSimple(uri, end, array);
+            values = new VariableValues(variables, array);
+            variableValues = values;
+        }
+        return values;
+    }
+
+    @Override
+    public List<UriMatchVariable> getVariables() {
+        return matcher.getVariables();
+    }
+
+    @Override
+    public Map<String, UriMatchVariable> getVariableMap() {
+        return matcher.getVariableMap();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SimpleUriMatchInfo that = (SimpleUriMatchInfo) o;
+        return getUri().equals(that.getUri()) && getVariables().equals(that.getVariables());
+    }
+
+    @Override
+    public int hashCode() {
+        return ObjectUtils.hash(getUri(), getVariableValues());
+    }
+
+    @Override
+    public String toString() {
+        return getUri();
+    }
+
+    /**
+     * Unmodifiable map of the variable values in the template order.
+     */
+    private static final class VariableValues extends AbstractMap<String, Object> {
+
+        private final List<UriMatchVariable> variables;
+        private final Object[] values;
+
+        VariableValues(List<UriMatchVariable> variables, Object[] values) {
+            this.variables = variables;
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.length == 0;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) != -1;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int index = indexOf(key);
+            return index == -1 ? null : values[index];
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < values.length; i++) {
+                if (variables.get(i).getName().equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < values.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (index >= values.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = index++;
+                            return new SimpleImmutableEntry<>(variables.get(i).getName(), values[i]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+    }
+}
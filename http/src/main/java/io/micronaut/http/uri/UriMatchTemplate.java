@@ -47,7 +47,9 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
 
     protected StringBuilder pattern;
     protected List<UriMatchVariable> variables;
-    private final Pattern matchPattern;
+    private final String matchRegex;
+    // Compiled on first use so that building a template doesn't compile a regex
+    private volatile Pattern matchPattern;
     private final boolean isRoot;
     private final boolean exactMatch;
 
@@ -74,10 +76,10 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         super(templateString, parserArguments);
         if (variables.isEmpty() && Pattern.quote(templateString.toString()).contentEquals(pattern)) {
             // if there are no variables and a match pattern matches template we can assume it matches exactly
-            this.matchPattern = null;
+            this.matchRegex = null;
             this.exactMatch = true;
         } else {
-            this.matchPattern = Pattern.compile(pattern.toString());
+            this.matchRegex = pattern.toString();
             this.exactMatch = false;
         }
         this.isRoot = isRoot();
@@ -97,9 +99,10 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         this.isRoot = isRoot();
         if (variables.isEmpty() && matchPattern.matcher(templateString).matches()) {
             // if there are no variables and match pattern matches template we can assume it matches exactly
-            this.matchPattern = null;
+            this.matchRegex = null;
             this.exactMatch = true;
         } else {
+            this.matchRegex = matchPattern.pattern();
             this.matchPattern = matchPattern;
             this.exactMatch = false;
         }
@@ -200,7 +203,7 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
             }
             return null;
         }
-        Matcher matcher = matchPattern.matcher(uri);
+        Matcher matcher = matchPattern().matcher(uri);
         if (matcher.matches()) {
             if (variables.isEmpty()) {
                 return new DefaultUriMatchInfo(uri, Collections.emptyMap(), variables);
@@ -239,7 +242,7 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
 
     @Override
     protected UriTemplate newUriTemplate(CharSequence uriTemplate, List<PathSegment> newSegments) {
-        Pattern newPattern = Pattern.compile(exactMatch ? Pattern.quote(templateString) + pattern.toString() : matchPattern.pattern() + pattern.toString());
+        Pattern newPattern = Pattern.compile(exactMatch ? Pattern.quote(templateString) + pattern.toString() : matchRegex + pattern.toString());
         pattern = null;
         return newUriMatchTemplate(normalizeNested(toString(), uriTemplate), newSegments, newPattern, new ArrayList<>(variables));
     }
@@ -257,6 +260,15 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         return new UriMatchTemplateParser(templateString, this);
     }
 
+    private Pattern matchPattern() {
+        Pattern p = matchPattern;
+        if (p == null) {
+            p = Pattern.compile(matchRegex);
+            matchPattern = p;
+        }
+        return p;
+    }
+
     private boolean isRoot() {
         CharSequence rawSegment = null;
         for (PathSegment segment : segments) {
@@ -42,8 +42,10 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
     private final String templateString;
     private final List<UriTemplateParser.Part> parts;
     private final List<UriMatchVariable> variables;
+    private final Map<String, UriMatchVariable> variableMap;
     private final Segment[] segments;
     private final boolean isRoot;
+    private final boolean simple;
 
     // Matches cache
     private UriMatchInfo rootMatchInfo;
@@ -70,6 +72,19 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
         this.segments = provideMatchSegments(parts, variables);
         this.isRoot = segments.length == 0 || segments.length == 1 && segments[0].type == SegmentType.LITERAL && isRoot(segments[0].value);
         this.variables = Collections.unmodifiableList(variables);
+        Map<String, UriMatchVariable> vm = CollectionUtils.newLinkedHashMap(variables.size());
+        for (UriMatchVariable variable : variables) {
+            vm.put(variable.getName(), variable);
+        }
+        this.variableMap = Collections.unmodifiableMap(vm);
+        boolean simple = true;
+        for (Segment segment : segments) {
+            if (segment.type == SegmentType.REGEXP) {
+                simple = false;
+                break;
+            }
+        }
+        this.simple = simple;
     }
 
     private static Segment[] provideMatchSegments(List<UriTemplateParser.Part> parts, List<UriMatchVariable> variables) {
@@ -80,7 +95,7 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
             UriTemplateParser.Part part = parts.get(i);
             if (part instanceof UriTemplateParser.Literal literal) {
                 if (regexp == null) {
-                    segments.add(new Segment(SegmentType.LITERAL, literal.text(), null, null));
+                    segments.add(new Segment(SegmentType.LITERAL, literal.text(), null));
                 } else {
                     regexp.append(Pattern.quote(literal.text()));
                 }
@@ -93,7 +108,7 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
                                 expression.type().getOperator()
                             )
                         );
-                        segments.add(new Segment(SegmentType.PATH, variable.name(), null, null));
+                        segments.add(new Segment(SegmentType.PATH, variable.name(), null));
                     }
                     continue;
                 }
@@ -112,7 +127,7 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
             }
         }
         if (regexp != null) {
-            segments.add(new Segment(SegmentType.REGEXP, null, Pattern.compile(regexp.toString()), regexpVariables.toArray(String[]::new)));
+            segments.add(new Segment(SegmentType.REGEXP, regexp.toString(), regexpVariables.toArray(String[]::new)));
         }
 
         return segments.toArray(Segment[]::new);
@@ -255,41 +270,96 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
      */
     @Nullable
     public UriMatchInfo tryMatch(@NonNull String uri) {
-        int length = uri.length();
-        if (length > 1 && uri.charAt(length - 1) == '/') {
-            uri = uri.substring(0, length - 1);
+        int end = uri.length();
+        if (end > 1 && uri.charAt(end - 1) == '/') {
+            end--;
         }
-        if (isRoot && isRoot(uri)) {
+        if (isRoot && isRoot(uri, end)) {
             if (rootMatchInfo == null) {
-                rootMatchInfo = new DefaultUriMatchInfo(uri, Collections.emptyMap(), variables);
+                rootMatchInfo = new DefaultUriMatchInfo(uri.substring(0, end), Collections.emptyMap(), variables, variableMap);
             }
             return rootMatchInfo;
         }
-        // Remove any url parameters before matching
+        // Ignore any url parameters when matching
         int parameterIndex = uri.indexOf('?');
-        if (parameterIndex > -1) {
-            uri = uri.substring(0, parameterIndex);
-            length = uri.length();
-            if (length > 1 && uri.charAt(length - 1) == '/') {
-                uri = uri.substring(0, length - 1);
+        if (parameterIndex > -1 && parameterIndex < end) {
+            end = parameterIndex;
+            if (end > 1 && uri.charAt(end - 1) == '/') {
+                end--;
             }
         }
         if (variables.isEmpty()) {
-            if (uri.equals(templateString)) {
+            if (end == templateString.length() && uri.startsWith(templateString)) {
                 if (exactMatchInfo == null) {
-                    exactMatchInfo = new DefaultUriMatchInfo(uri, Collections.emptyMap(), variables);
+                    exactMatchInfo = new DefaultUriMatchInfo(templateString, Collections.emptyMap(), variables, variableMap);
                 }
                 return exactMatchInfo;
             }
             return null;
         }
-        Map<String, Object> variableMap = CollectionUtils.newLinkedHashMap(variables.size());
-        if (match(uri, variableMap)) {
-            return new DefaultUriMatchInfo(uri, variableMap, variables);
+        if (simple) {
+            if (matchSimple(uri, end, null)) {
+                return new SimpleUriMatchInfo(uri, end, this);
+            }
+            return null;
+        }
+        String path = end == uri.length() ? uri : uri.substring(0, end);
+        Map<String, Object> variableValues = CollectionUtils.newLinkedHashMap(variables.size());
+        if (match(path, variableValues)) {
+            return new DefaultUriMatchInfo(path, variableValues, variables, variableMap);
         }
         return null;
     }
 
+    /**
+     * Match a template consisting only of literals and plain path variables by slicing the URI.
+     *
+     * @param uri    The URI
+     * @param end    The end of the path
+     * @param values The array to store the variable values in or null to only check the URI
+     * @return true if the URI matches
+     */
+    boolean matchSimple(String uri, int end, @Nullable Object[] values) {
+        int position = 0;
+        int variableIndex = 0;
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = segments[i];
+            if (segment.type == SegmentType.LITERAL) {
+                int length = segment.value.length();
+                if (position + length > end || !uri.startsWith(segment.value, position)) {
+                    return false;
+                }
+                position += length;
+            } else {
+                boolean requiresSlash = i + 1 != segments.length;
+                int index = readText(uri, position, end, requiresSlash);
+                if (index <= position) { // Deny empty path
+                    return false;
+                }
+                if (values != null) {
+                    values[variableIndex] = uri.substring(position, index);
+                }
+                variableIndex++;
+                position = index;
+            }
+        }
+        return position == end;
+    }
+
+    /**
+     * @return The template variables
+     */
+    List<UriMatchVariable> getVariables() {
+        return variables;
+    }
+
+    /**
+     * @return The template variables by name
+     */
+    Map<String, UriMatchVariable> getVariableMap() {
+        return variableMap;
+    }
+
     private boolean match(String uri, Map<String, Object> variableMap) {
         for (int i = 0; i < segments.length; i++) {
             Segment segment = segments[i];
@@ -313,7 +383,7 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
                     }
                 }
                 case REGEXP -> {
-                    Matcher matcher = segment.pattern.matcher(uri);
+                    Matcher matcher = segment.pattern().matcher(uri);
                     if (matcher.matches()) {
                         int groupInx = 2;
                         for (String matchingVariable : segment.regexpVariables) {
@@ -333,9 +403,12 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
     }
 
     private static int readText(String input, boolean requiresSlash) {
+        return readText(input, 0, input.length(), requiresSlash);
+    }
+
+    private static int readText(String input, int from, int end, boolean requiresSlash) {
         // NOTE: Micronaut doesn't allow some of the character in the path value
-        int length = input.length();
-        for (int i = 0; i < length; i++) {
+        for (int i = from; i < end; i++) {
             char c = input.charAt(i);
             if (requiresSlash && c == '/') {
                 return i;
@@ -344,7 +417,7 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
                 return -1;
             }
         }
-        return length;
+        return end;
     }
 
     private static boolean rejectCharacter(char c, String input, int i) {
@@ -463,7 +536,10 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
     }
 
     private boolean isRoot(String uri) {
-        int length = uri.length();
+        return isRoot(uri, uri.length());
+    }
+
+    private boolean isRoot(String uri, int length) {
         return length == 0 || length == 1 && uri.charAt(0) == '/';
     }
 
@@ -496,8 +572,30 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
         }
     }
 
-    private record Segment(SegmentType type, String value,
-                           Pattern pattern, String[] regexpVariables) {
+    /**
+     * The match segment. The value of a {@link SegmentType#REGEXP} segment is the regular expression,
+     * which is compiled on the first match.
+     */
+    private static final class Segment {
+        private final SegmentType type;
+        private final String value;
+        private final String[] regexpVariables;
+        private volatile Pattern pattern;
+
+        private Segment(SegmentType type, String value, String[] regexpVariables) {
+            this.type = type;
+            this.value = value;
+            this.regexpVariables = regexpVariables;
+        }
+
+        private Pattern pattern() {
+            Pattern p = pattern;
+            if (p == null) {
+                p = Pattern.compile(value);
+                pattern = p;
+            }
+            return p;
+        }
     }
 
     private enum SegmentType {
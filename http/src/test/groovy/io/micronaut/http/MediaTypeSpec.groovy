@@ -231,4 +231,45 @@ class MediaTypeSpec extends Specification {
         "text/plain"            | "text/hml"            | false
         "text/*"                | "application/json"    | false
     }
+
+    void "test common media types with parameters are interned"() {
+        expect:
+        MediaType.of(value).is(MediaType.of(value))
+        MediaType.of(value).toString() == value
+        MediaType.of(value).getParameters().get(parameter).get().equalsIgnoreCase(parameterValue)
+
+        where:
+        value                               | parameter | parameterValue
+        "application/json;charset=UTF-8"    | "charset" | "utf-8"
+        "application/json; charset=utf-8"   | "charset" | "utf-8"
+        "text/plain;charset=UTF-8"          | "charset" | "utf-8"
+        "text/html; charset=UTF-8"          | "charset" | "utf-8"
+        "*/*;q=0.8"                         | "q"       | "0.8"
+    }
+
+    void "test mask of #mediaTypes contains #mediaType = #expected"() {
+        given:
+        def types = mediaTypes.collect { new MediaType(it) }
+        def type = new MediaType(mediaType)
+
+        expect:
+        type.internedBit() != 0
+        ((MediaType.mask(types) & type.internedBit()) != 0) == expected
+        types.contains(type) == expected
+
+        where:
+        mediaTypes                                | mediaType                         | expected
+        ["application/json"]                      | "application/json"                | true
+        ["application/json"]                      | "APPLICATION/JSON;charset=UTF-8"  | true
+        ["text/plain", "application/vnd.custom"]  | "application/json"                | false
+        ["text/plain", "application/vnd.custom"]  | "text/plain"                      | true
+        ["*/*"]                                   | "*/*;q=0.8"                       | true
+        []                                        | "text/html"                       | false
+    }
+
+    void "test uncommon media types are not interned"() {
+        expect:
+        new MediaType("application/vnd.custom+json").internedBit() == 0
+        MediaType.APPLICATION_JSON_TYPE.internedBit() != MediaType.TEXT_PLAIN_TYPE.internedBit()
+    }
 }
@@ -210,4 +210,27 @@ class UriTemplateMatcherSpec extends Specification {
         "/{+someId}"    | '/username%2B1@company.com'   | true      | [someId: 'username%2B1@company.com']
         "/{+someId}"    | '/username+1@company.com'     | true      | [someId: 'username+1@company.com']
     }
+
+    @Unroll
+    void "Test URI template #template with path variables matches #uri"() {
+        given:
+        UriTemplateMatcher matchTemplate = new UriTemplateMatcher(template)
+        UriMatchInfo info = matchTemplate.tryMatch(uri)
+
+        expect:
+        info.uri == path
+        info.variableValues == variables
+        info.variableValues.keySet().toList() == variables.keySet().toList()
+        info.variableValues.containsKey('id')
+        !info.variableValues.containsKey('other')
+        info.variables*.name == variables.keySet().toList()
+        info.variableMap.keySet().toList() == variables.keySet().toList()
+
+        where:
+        template                  | uri                        | path                 | variables
+        "/books/{id}"             | '/books/1'                 | '/books/1'           | [id: '1']
+        "/books/{id}"             | '/books/1/?max=10'         | '/books/1'           | [id: '1']
+        "/books/{id}/pages/{num}" | '/books/1/pages/2?q=/a/b'  | '/books/1/pages/2'   | [id: '1', num: '2']
+        "/{num}/books/{id}"       | '/2/books/1/'              | '/2/books/1'         | [num: '2', id: '1']
+    }
 }
@@ -18,6 +18,7 @@ package io.micronaut.annotation.processing;
 import io.micronaut.annotation.processing.visitor.JavaClassElement;
 import io.micronaut.annotation.processing.visitor.JavaNativeElement;
 import io.micronaut.context.annotation.ConfigurationReader;
+import io.micronaut.context.visitor.BeanTypeIndexVisitor;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.AnnotationUtil;
 import io.micronaut.core.annotation.Internal;
@@ -64,7 +65,7 @@ import static javax.lang.model.element.ElementKind.ENUM;
  * @since 1.0
  */
 @Internal
-@SupportedOptions({AbstractInjectAnnotationProcessor.MICRONAUT_PROCESSING_INCREMENTAL, AbstractInjectAnnotationProcessor.MICRONAUT_PROCESSING_ANNOTATIONS, BeanDefinitionWriter.OMIT_CONFPROP_INJECTION_POINTS})
+@SupportedOptions({AbstractInjectAnnotationProcessor.MICRONAUT_PROCESSING_INCREMENTAL, AbstractInjectAnnotationProcessor.MICRONAUT_PROCESSING_ANNOTATIONS, BeanDefinitionWriter.OMIT_CONFPROP_INJECTION_POINTS, BeanTypeIndexVisitor.INDEX_OPTION})
 public class BeanDefinitionInjectProcessor extends AbstractInjectAnnotationProcessor {
 
     private static final String[] ANNOTATION_STEREOTYPES = new String[] {
@@ -93,6 +94,15 @@ public class BeanDefinitionInjectProcessor extends AbstractInjectAnnotationProce
     private final Set<String> processed = new HashSet<>();
     private final Map<String, PostponeToNextRoundException> postponed = new HashMap<>();
 
+    @Override
+    protected String getIncrementalProcessorType() {
+        // the bean type index aggregates all the beans of the module
+        if (processingEnv != null && Boolean.parseBoolean(processingEnv.getOptions().get(BeanTypeIndexVisitor.INDEX_OPTION))) {
+            return GRADLE_PROCESSING_AGGREGATING;
+        }
+        return super.getIncrementalProcessorType();
+    }
+
     @Override
     public final synchronized void init(ProcessingEnvironment processingEnv) {
         super.init(processingEnv);
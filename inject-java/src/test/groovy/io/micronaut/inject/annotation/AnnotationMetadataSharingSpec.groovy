@@ -0,0 +1,189 @@
+package io.micronaut.inject.annotation
+
+import io.micronaut.annotation.processing.test.AbstractTypeElementSpec
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.AnnotationMetadata
+import io.micronaut.core.annotation.AnnotationMetadataProvider
+
+import java.lang.annotation.Annotation
+
+class AnnotationMetadataSharingSpec extends AbstractTypeElementSpec {
+
+    void "test identical annotation metadata is shared between the generated classes"() {
+        given:
+        def context = buildContext('''
+package sharing;
+
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Singleton
+@Requires(property = "sharing.enabled", notEquals = "false")
+class First {
+    @Executable(processOnStartup = true)
+    void run() {
+    }
+}
+
+@Singleton
+@Requires(property = "sharing.enabled", notEquals = "false")
+class Second {
+    @Executable(processOnStartup = true)
+    void run() {
+    }
+}
+
+@Singleton
+@Requires(classes = First.class)
+class Third {
+    @Executable(processOnStartup = true)
+    void run() {
+    }
+}
+''')
+        def first = context.getBeanDefinition(context.classLoader.loadClass('sharing.First'))
+        def second = context.getBeanDefinition(context.classLoader.loadClass('sharing.Second'))
+        def third = context.getBeanDefinition(context.classLoader.loadClass('sharing.Third'))
+
+        expect:
+        metadata(first).is(metadata(second))
+        metadata(first.getRequiredMethod('run')).is(metadata(second.getRequiredMethod('run')))
+        metadata(first.getRequiredMethod('run')).is(metadata(third.getRequiredMethod('run')))
+
+        and:"metadata referencing classes is not shared"
+        !metadata(first).is(metadata(third))
+        metadata(third).stringValue(Requires, 'classes').isPresent()
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the shared annotation metadata doesn't depend on the declaration order"() {
+        given:
+        def context = buildContext('''
+package ordering;
+
+import io.micronaut.context.annotation.Executable;
+import jakarta.inject.Singleton;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+@interface Alpha {
+}
+
+@Retention(RetentionPolicy.RUNTIME)
+@interface Beta {
+}
+
+@Singleton
+class First {
+    @Executable
+    @Alpha
+    @Beta
+    void run() {
+    }
+}
+
+@Singleton
+class Second {
+    @Executable
+    @Alpha
+    @Beta
+    void run() {
+    }
+}
+
+@Singleton
+class Reversed {
+    @Executable
+    @Beta
+    @Alpha
+    void run() {
+    }
+}
+''')
+        def first = context.getBeanDefinition(context.classLoader.loadClass('ordering.First')).getRequiredMethod('run')
+        def second = context.getBeanDefinition(context.classLoader.loadClass('ordering.Second')).getRequiredMethod('run')
+        def reversed = context.getBeanDefinition(context.classLoader.loadClass('ordering.Reversed')).getRequiredMethod('run')
+
+        def unshared = buildBeanDefinition('ordering.Reversed', '''
+package ordering;
+
+import io.micronaut.context.annotation.Executable;
+import jakarta.inject.Singleton;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+@interface Alpha {
+}
+
+@Retention(RetentionPolicy.RUNTIME)
+@interface Beta {
+}
+
+@Singleton
+class Reversed {
+    @Executable
+    @Beta
+    @Alpha
+    void run() {
+    }
+}
+''').getRequiredMethod('run')
+
+        expect:
+        metadata(first).is(metadata(second))
+        metadata(first).is(metadata(reversed))
+
+        and:"the shared metadata iterates like the metadata written for the reversed declaration"
+        metadata(reversed).annotationNames as List == metadata(unshared).annotationNames as List
+        metadata(reversed).declaredAnnotationNames as List == metadata(unshared).declaredAnnotationNames as List
+
+        cleanup:
+        context.close()
+    }
+
+    void "test annotation metadata is not shared between class loaders"() {
+        given:
+        def source = '''
+package sharing;
+
+import jakarta.inject.Singleton;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Singleton
+@First.Marker("shared")
+public class First {
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Marker {
+        String value();
+    }
+}
+'''
+        def first = buildBeanDefinition('sharing.First', source)
+        def second = buildBeanDefinition('sharing.First', source)
+        Class<? extends Annotation> firstMarker = first.class.classLoader.loadClass('sharing.First$Marker')
+        Class<? extends Annotation> secondMarker = second.class.classLoader.loadClass('sharing.First$Marker')
+
+        expect:
+        firstMarker != secondMarker
+        !metadata(first).is(metadata(second))
+
+        and:"the synthesized annotations belong to the class loader of each definition"
+        firstMarker.isInstance(first.synthesize(firstMarker))
+        secondMarker.isInstance(second.synthesize(secondMarker))
+        second.synthesize(secondMarker).value() == 'shared'
+    }
+
+    private static AnnotationMetadata metadata(AnnotationMetadataProvider provider) {
+        def metadata = provider.annotationMetadata.targetAnnotationMetadata
+        if (metadata instanceof AnnotationMetadataHierarchy) {
+            metadata = metadata.declaredMetadata
+        }
+        return metadata
+    }
+}
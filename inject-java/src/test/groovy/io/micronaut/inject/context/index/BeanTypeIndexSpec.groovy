@@ -0,0 +1,172 @@
+package io.micronaut.inject.context.index
+
+import io.micronaut.annotation.processing.test.AbstractTypeElementSpec
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.ApplicationContextConfiguration
+import io.micronaut.context.BeanTypeIndex
+import io.micronaut.context.DefaultBeanContext
+import io.micronaut.context.DefaultApplicationContext
+import io.micronaut.context.RuntimeBeanDefinition
+import io.micronaut.context.env.PropertySource
+import io.micronaut.context.visitor.BeanTypeIndexVisitor
+import io.micronaut.inject.BeanDefinitionReference
+import spock.util.environment.RestoreSystemProperties
+
+import java.util.function.Supplier
+
+class BeanTypeIndexSpec extends AbstractTypeElementSpec {
+
+    @RestoreSystemProperties
+    void "test the types of the beans are indexed"() {
+        setup:
+        System.setProperty(BeanTypeIndexVisitor.INDEX_OPTION, "true")
+
+        when:
+        String index = buildAndReadResourceAsString(BeanTypeIndex.RESOURCE_NAME, """
+package test;
+
+import io.micronaut.context.annotation.*;
+import jakarta.inject.Singleton;
+import java.util.List;
+
+interface Greeter {
+}
+
+abstract class AbstractGreeter implements Greeter {
+}
+
+@Singleton
+class Foo extends AbstractGreeter {
+}
+
+@Singleton
+@Bean(typed = Greeter.class)
+class Bar implements Greeter, Runnable {
+    public void run() {
+    }
+}
+
+@Factory
+class Names {
+    @Singleton
+    List<String> names() {
+        return List.of("a");
+    }
+}
+""")
+
+        then:
+        index.readLines() == [
+                'test.$Bar$Definition test.Greeter',
+                'test.$Foo$Definition test.AbstractGreeter test.Foo test.Greeter',
+                'test.$Names$Definition test.Names'
+        ]
+    }
+
+    void "test the index is not written by default"() {
+        when:
+        ClassLoader classLoader = buildClassLoader("test.Foo", """
+package test;
+
+import jakarta.inject.Singleton;
+
+@Singleton
+class Foo {
+}
+""")
+
+        then:
+        classLoader.getResource(BeanTypeIndex.RESOURCE_NAME) == null
+    }
+
+    @RestoreSystemProperties
+    void "test the context reads the index of its class loader"() {
+        setup:
+        System.setProperty(BeanTypeIndexVisitor.INDEX_OPTION, "true")
+        ClassLoader classLoader = buildClassLoader("test.Foo", """
+package test;
+
+import jakarta.inject.Singleton;
+
+@Singleton
+class Foo {
+}
+""")
+
+        when:
+        def context = ApplicationContext.builder().classLoader(classLoader).build()
+        BeanTypeIndex index = context.resolveBeanTypeIndex()
+
+        then:
+        Thread.currentThread().contextClassLoader.getResource(BeanTypeIndex.RESOURCE_NAME) == null
+        index.getBeanTypes('test.$Foo$Definition') == ['test.Foo'] as String[]
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the candidates of indexed and unindexed bean definitions are found"() {
+        given:
+        // IndexedGreeter is only indexed with its own type
+        def index = new BeanTypeIndex([
+                (IndexedGreeter.name.replace('IndexedGreeter', '$IndexedGreeter$Definition')): [IndexedGreeter.name] as String[]
+        ])
+        def context = new DefaultApplicationContext((ApplicationContextConfiguration) ApplicationContext.builder()) {
+            @Override
+            protected BeanTypeIndex resolveBeanTypeIndex() {
+                return index
+            }
+        }
+        context.environment.addPropertySource(PropertySource.of('test', ['spec.name': 'BeanTypeIndexSpec']))
+        context.start()
+
+        expect:
+        context.getBean(IndexedGreeter).greet() == 'indexed'
+        context.getBeansOfType(Greeter)*.greet() == ['unindexed']
+
+        when:
+        Greeter greeter = { 'runtime' } as Greeter
+        context.registerBeanDefinition(RuntimeBeanDefinition.builder(Greeter, { greeter } as Supplier<Greeter>).build())
+
+        then:
+        context.getBeansOfType(Greeter)*.greet().sort() == ['runtime', 'unindexed']
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the indexed and unindexed candidates keep the original order"() {
+        given:
+        def producersField = DefaultBeanContext.getDeclaredField('beanDefinitionsClasses')
+        producersField.accessible = true
+        def findIndexed = DefaultBeanContext.getDeclaredMethod('findIndexedBeanDefinitions', Class)
+        findIndexed.accessible = true
+        def context = new DefaultApplicationContext((ApplicationContextConfiguration) ApplicationContext.builder()) {
+            @Override
+            protected BeanTypeIndex resolveBeanTypeIndex() {
+                // index every greeter except the first one, so that an unindexed candidate comes
+                // before indexed ones, like with a jar compiled without the index on the classpath
+                List<BeanDefinitionReference> greeters = producersField.get(this)*.@reference.findAll {
+                    it != null && Greeter.isAssignableFrom(it.beanType)
+                }
+                return new BeanTypeIndex(greeters.drop(1).collectEntries {
+                    [(it.beanDefinitionName): [it.beanType.name, Greeter.name] as String[]]
+                })
+            }
+        }
+        context.environment.addPropertySource(PropertySource.of('test', ['spec.name': 'BeanTypeIndexSpec']))
+        context.start()
+
+        when:
+        Collection<?> candidates = findIndexed.invoke(context, Greeter)
+        Collection<?> producers = producersField.get(context)
+
+        then:
+        candidates.count { it.@reference != null && Greeter.isAssignableFrom(it.@reference.beanType) } == 2
+        candidates as List == producers.findAll { it in candidates } as List
+        context.getBeansOfType(Greeter)*.greet().sort() == ['indexed', 'unindexed']
+
+        cleanup:
+        context.close()
+    }
+}
@@ -0,0 +1,5 @@
+package io.micronaut.inject.context.index;
+
+public interface Greeter {
+    String greet();
+}
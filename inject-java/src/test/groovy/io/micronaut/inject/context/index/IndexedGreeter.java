@@ -0,0 +1,13 @@
+package io.micronaut.inject.context.index;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Requires(property = "spec.name", value = "BeanTypeIndexSpec")
+@Singleton
+public class IndexedGreeter implements Greeter {
+    @Override
+    public String greet() {
+        return "indexed";
+    }
+}
@@ -0,0 +1,5 @@
+package io.micronaut.inject.context.lookup;
+
+public interface Counter {
+    int count();
+}
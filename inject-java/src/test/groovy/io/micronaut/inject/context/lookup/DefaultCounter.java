@@ -0,0 +1,13 @@
+package io.micronaut.inject.context.lookup;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Requires(property = "spec.name", value = "SingletonLookupSpec")
+@Singleton
+public class DefaultCounter implements Counter {
+    @Override
+    public int count() {
+        return 1;
+    }
+}
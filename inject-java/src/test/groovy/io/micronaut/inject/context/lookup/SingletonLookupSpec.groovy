@@ -0,0 +1,80 @@
+package io.micronaut.inject.context.lookup
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class SingletonLookupSpec extends Specification {
+
+    void "test singleton lookups by type return the active registration"() {
+        given:
+        def context = ApplicationContext.run('spec.name': 'SingletonLookupSpec')
+
+        when:
+        def counter = context.getBean(Counter)
+
+        then:
+        counter instanceof DefaultCounter
+        context.getBean(Counter).is(counter)
+        context.getBean(DefaultCounter).is(counter)
+
+        when:
+        context.destroyBean(DefaultCounter)
+        def recreated = context.getBean(Counter)
+
+        then:
+        !recreated.is(counter)
+        context.getBean(DefaultCounter).is(recreated)
+
+        when:
+        def registered = new DefaultCounter()
+        context.registerSingleton(Counter, registered)
+
+        then:
+        context.getBean(Counter).is(registered)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test a registration resolved before a purge is not cached by type"() {
+        given:
+        def context = ApplicationContext.run('spec.name': 'SingletonLookupSpec')
+        def scope = context.@singletonScope
+        context.getBean(Counter)
+        def registration = scope.findCachedSingletonBeanRegistration(Counter)
+
+        when:"a compatible singleton is registered between the resolution and the caching"
+        long epoch = scope.typeCacheEpoch()
+        def registered = new DefaultCounter()
+        context.registerSingleton(Counter, registered)
+        scope.cacheSingletonBeanRegistration(Counter, registration, epoch)
+
+        then:
+        registration != null
+        scope.findCachedSingletonBeanRegistration(Counter) == null
+        context.getBean(Counter).is(registered)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test concurrent singleton lookups return the same instance"() {
+        given:
+        def context = ApplicationContext.run('spec.name': 'SingletonLookupSpec')
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def tasks = (1..8).collect { { -> (1..1000).collect { context.getBean(Counter) } } as Callable<List<Counter>> }
+        def results = executor.invokeAll(tasks).collectMany { it.get() }
+
+        then:
+        results.toSet().size() == 1
+
+        cleanup:
+        executor.shutdown()
+        context.close()
+    }
+}
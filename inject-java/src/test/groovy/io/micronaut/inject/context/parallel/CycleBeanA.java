@@ -0,0 +1,17 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Requires(property = "spec.name", value = "ParallelEagerInitSpec")
+@Requires(property = "eager-cycle.enabled", value = "true")
+@Singleton
+public class CycleBeanA {
+    final String thread = Thread.currentThread().getName();
+    final BeanProvider<CycleBeanB> b;
+
+    CycleBeanA(BeanProvider<CycleBeanB> b) {
+        this.b = b;
+    }
+}
@@ -0,0 +1,16 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Requires(property = "spec.name", value = "ParallelEagerInitSpec")
+@Requires(property = "eager-cycle.enabled", value = "true")
+@Singleton
+public class CycleBeanB {
+    final String thread = Thread.currentThread().getName();
+    final CycleBeanA a;
+
+    CycleBeanB(CycleBeanA a) {
+        this.a = a;
+    }
+}
@@ -0,0 +1,16 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Requires(property = "spec.name", value = "ParallelEagerInitSpec")
+@Requires(property = "eager-cycle.enabled", value = "true")
+@Singleton
+public class CycleDependentBean {
+    final String thread = Thread.currentThread().getName();
+    final CycleBeanB b;
+
+    CycleDependentBean(CycleBeanB b) {
+        this.b = b;
+    }
+}
@@ -0,0 +1,16 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Requires(property = "spec.name", value = "ParallelEagerInitSpec")
+@Singleton
+public class DependentBean {
+    final SlowBeanA a;
+    final SlowBeanB b;
+
+    DependentBean(SlowBeanA a, SlowBeanB b) {
+        this.a = a;
+        this.b = b;
+    }
+}
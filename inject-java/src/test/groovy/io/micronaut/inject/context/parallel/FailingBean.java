@@ -0,0 +1,14 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Requires(property = "spec.name", value = "ParallelEagerInitSpec")
+@Requires(property = "failing-bean.enabled", value = "true")
+@Singleton
+public class FailingBean {
+
+    FailingBean(SlowBeanA a) {
+        throw new IllegalStateException("Bad bean");
+    }
+}
@@ -0,0 +1,21 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Requires(property = "spec.name", value = "SingletonDeadlockSpec")
+@Requires(property = "deadlock-retry.enabled", notEquals = "true")
+@Singleton
+public class LookupBeanX {
+    static volatile CountDownLatch STARTED = new CountDownLatch(2);
+
+    LookupBeanX(BeanContext context) throws InterruptedException {
+        STARTED.countDown();
+        STARTED.await(10, TimeUnit.SECONDS);
+        context.getBean(LookupBeanY.class);
+    }
+}
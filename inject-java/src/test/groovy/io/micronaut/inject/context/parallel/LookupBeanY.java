@@ -0,0 +1,19 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+
+@Requires(property = "spec.name", value = "SingletonDeadlockSpec")
+@Requires(property = "deadlock-retry.enabled", notEquals = "true")
+@Singleton
+public class LookupBeanY {
+
+    LookupBeanY(BeanContext context) throws InterruptedException {
+        LookupBeanX.STARTED.countDown();
+        LookupBeanX.STARTED.await(10, TimeUnit.SECONDS);
+        context.getBean(LookupBeanX.class);
+    }
+}
@@ -0,0 +1,81 @@
+package io.micronaut.inject.context.parallel
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.exceptions.BeanInstantiationException
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.CountDownLatch
+
+class ParallelEagerInitSpec extends Specification {
+
+    def setup() {
+        SlowBeanB.STARTED = new CountDownLatch(2)
+    }
+
+    @IgnoreIf({ Runtime.runtime.availableProcessors() < 2 })
+    @Timeout(30)
+    void "test independent eager singletons are initialized in parallel"() {
+        given:
+        def context = ApplicationContext.builder()
+                .properties('spec.name': 'ParallelEagerInitSpec')
+                .eagerInitSingletons(true)
+                .eagerInitParallel(true)
+                .start()
+
+        when:
+        def dependent = context.getBean(DependentBean)
+
+        then:
+        dependent.a.concurrent
+        dependent.b.concurrent
+        dependent.a.thread.startsWith('eager-init-')
+        dependent.b.thread.startsWith('eager-init-')
+        dependent.a.thread != dependent.b.thread
+
+        cleanup:
+        context.close()
+    }
+
+    @Timeout(30)
+    void "test eager singletons in a dependency cycle are initialized on the calling thread"() {
+        given:
+        def context = ApplicationContext.builder()
+                .properties('spec.name': 'ParallelEagerInitSpec', 'eager-cycle.enabled': true)
+                .eagerInitSingletons(true)
+                .eagerInitParallel(true)
+                .start()
+
+        when:
+        def dependent = context.getBean(CycleDependentBean)
+        def caller = Thread.currentThread().name
+
+        then:
+        // the cycle and the beans depending on it are initialized after the parallel phase
+        dependent.thread == caller
+        dependent.b.thread == caller
+        dependent.b.a.thread == caller
+        dependent.b.a.b.get().is(dependent.b)
+        // the other beans are still initialized in parallel
+        context.getBean(SlowBeanA).thread.startsWith('eager-init-')
+
+        cleanup:
+        context.close()
+    }
+
+    @Timeout(30)
+    void "test the failure of an eager singleton initialized in parallel fails the startup"() {
+        when:
+        ApplicationContext.builder()
+                .properties('spec.name': 'ParallelEagerInitSpec', 'failing-bean.enabled': true)
+                .eagerInitSingletons(true)
+                .eagerInitParallel(true)
+                .start()
+
+        then:
+        def e = thrown(BeanInstantiationException)
+        e.message.contains(FailingBean.name)
+        e.message.contains('Bad bean')
+    }
+}
@@ -0,0 +1,21 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+
+@Requires(property = "spec.name", value = "SingletonDeadlockSpec")
+@Requires(property = "deadlock-retry.enabled", value = "true")
+@Singleton
+public class RetryBeanP {
+    final RetryBeanQ q;
+
+    RetryBeanP(BeanContext context) throws InterruptedException {
+        RetryBeanQ.STARTED.countDown();
+        RetryBeanQ.STARTED.await(10, TimeUnit.SECONDS);
+        // waits for the creation of Q on the other thread
+        q = context.getBean(RetryBeanQ.class);
+    }
+}
@@ -0,0 +1,27 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Requires(property = "spec.name", value = "SingletonDeadlockSpec")
+@Requires(property = "deadlock-retry.enabled", value = "true")
+@Singleton
+public class RetryBeanQ {
+    static volatile CountDownLatch STARTED = new CountDownLatch(2);
+    static final AtomicInteger ATTEMPTS = new AtomicInteger();
+
+    RetryBeanQ(BeanContext context) throws InterruptedException {
+        if (ATTEMPTS.incrementAndGet() == 1) {
+            STARTED.countDown();
+            STARTED.await(10, TimeUnit.SECONDS);
+            // let P wait for this bean first, so that the lookup below is the one closing the cycle
+            Thread.sleep(300);
+            context.getBean(RetryBeanP.class);
+        }
+    }
+}
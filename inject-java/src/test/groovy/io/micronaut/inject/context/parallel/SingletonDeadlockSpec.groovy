@@ -0,0 +1,56 @@
+package io.micronaut.inject.context.parallel
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.exceptions.BeanContextException
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+
+class SingletonDeadlockSpec extends Specification {
+
+    def setup() {
+        LookupBeanX.STARTED = new CountDownLatch(2)
+        RetryBeanQ.STARTED = new CountDownLatch(2)
+        RetryBeanQ.ATTEMPTS.set(0)
+    }
+
+    @Timeout(30)
+    void "test singletons waiting for each other on different threads fail instead of deadlocking"() {
+        given:
+        def context = ApplicationContext.run('spec.name': 'SingletonDeadlockSpec')
+
+        when:
+        def x = CompletableFuture.supplyAsync { context.getBean(LookupBeanX) }
+        def y = CompletableFuture.supplyAsync { context.getBean(LookupBeanY) }
+        def results = [x, y].collect { f -> f.handle { r, e -> e } .join() }
+
+        then:
+        results.any { e -> e?.message?.contains('Deadlock detected creating singleton') }
+
+        cleanup:
+        context.close()
+    }
+
+    @IgnoreIf({ Runtime.runtime.availableProcessors() < 2 })
+    @Timeout(30)
+    void "test a deadlock during the parallel eager initialization is retried on the calling thread"() {
+        when:
+        def context = ApplicationContext.builder()
+                .properties('spec.name': 'SingletonDeadlockSpec', 'deadlock-retry.enabled': true)
+                .eagerInitSingletons(true)
+                .eagerInitParallel(true)
+                .start()
+
+        then:
+        // the creation of Q failed on one thread, the other thread created it while waiting
+        // for it, and the retry after the parallel phase found the singleton
+        RetryBeanQ.ATTEMPTS.get() == 2
+        context.getBean(RetryBeanP).q.is(context.getBean(RetryBeanQ))
+
+        cleanup:
+        context?.close()
+    }
+}
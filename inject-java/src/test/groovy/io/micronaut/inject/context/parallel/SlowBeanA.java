@@ -0,0 +1,18 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+
+@Requires(property = "spec.name", value = "ParallelEagerInitSpec")
+@Singleton
+public class SlowBeanA {
+    final String thread = Thread.currentThread().getName();
+    final boolean concurrent;
+
+    SlowBeanA() throws InterruptedException {
+        SlowBeanB.STARTED.countDown();
+        concurrent = SlowBeanB.STARTED.await(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,20 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Requires(property = "spec.name", value = "ParallelEagerInitSpec")
+@Singleton
+public class SlowBeanB {
+    static volatile CountDownLatch STARTED = new CountDownLatch(2);
+    final String thread = Thread.currentThread().getName();
+    final boolean concurrent;
+
+    SlowBeanB() throws InterruptedException {
+        STARTED.countDown();
+        concurrent = STARTED.await(10, TimeUnit.SECONDS);
+    }
+}
@@ -63,6 +63,20 @@ public interface ApplicationContextBuilder {
         return this;
     }
 
+    /**
+     * Whether to initialize the eager beans in parallel (default is {@code false}). Beans are only
+     * initialized once the eager beans they inject are, so independent beans are initialized
+     * concurrently while the {@link io.micronaut.core.order.Ordered order} of the beans is no longer
+     * guaranteed between beans that don't depend on each other.
+     *
+     * @param eagerInitParallel True if eager beans should be initialized in parallel
+     * @return The context builder
+     * @since 4.8.0
+     */
+    default @NonNull ApplicationContextBuilder eagerInitParallel(boolean eagerInitParallel) {
+        return this;
+    }
+
     /**
      * Specify whether the default set of property sources should be enabled (default is {@code true}).
      * @param areEnabled Whether the default property sources are enabled
@@ -71,6 +71,15 @@ public interface BeanContextConfiguration {
         return getEagerInitAnnotated().contains(ConfigurationReader.class);
     }
 
+    /**
+     * Whether the eager beans are initialized in parallel, following their dependencies.
+     * @return True if eager beans are initialized in parallel
+     * @since 4.8.0
+     */
+    default boolean isEagerInitParallel() {
+        return false;
+    }
+
     /**
      * @return A set of annotated classes that should be eagerly initialized
      */
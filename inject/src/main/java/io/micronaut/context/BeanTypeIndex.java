@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The types exposed by the bean definitions, indexed at compilation time. The index is written by the
+ * annotation processor when the {@code micronaut.processing.bean.type.index} option is enabled, one
+ * resource per compiled module, and each bean context reads the resources of its own class loader.
+ *
+ * <p>Each line of the resource contains the name of a bean definition class followed by the names of the
+ * types the bean can be looked up with. Bean definitions missing from the index, like the ones of the
+ * modules compiled without the option, are not affected by the index.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+public final class BeanTypeIndex {
+
+    /**
+     * The name of the index file, relative to {@code META-INF}.
+     */
+    public static final String FILE_NAME = "micronaut-bean-type-index";
+
+    /**
+     * The name of the index resource.
+     */
+    public static final String RESOURCE_NAME = "META-INF/" + FILE_NAME;
+
+    private static final String[] NO_TYPES = new String[0];
+
+    private final Map<String, String[]> beanTypesByDefinition;
+
+    /**
+     * @param beanTypesByDefinition The bean types by bean definition class name
+     */
+    public BeanTypeIndex(@NonNull Map<String, String[]> beanTypesByDefinition) {
+        this.beanTypesByDefinition = beanTypesByDefinition;
+    }
+
+    /**
+     * @return Whether the index doesn't contain any bean definition
+     */
+    public boolean isEmpty() {
+        return beanTypesByDefinition.isEmpty();
+    }
+
+    /**
+     * @return The number of indexed bean definitions
+     */
+    public int size() {
+        return beanTypesByDefinition.size();
+    }
+
+    /**
+     * Find the types of a bean definition.
+     *
+     * @param beanDefinitionName The name of the bean definition class
+     * @return The names of the types the bean can be looked up with or {@code null} if the definition isn't indexed
+     */
+    @Nullable
+    public String[] getBeanTypes(@NonNull String beanDefinitionName) {
+        return beanTypesByDefinition.get(beanDefinitionName);
+    }
+
+    /**
+     * Read all the index resources visible to the given class loader.
+     *
+     * @param classLoader The class loader
+     * @return The merged index
+     */
+    @NonNull
+    public static BeanTypeIndex load(@NonNull ClassLoader classLoader) {
+        Map<String, String[]> beanTypesByDefinition = new HashMap<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(RESOURCE_NAME);
+            while (resources.hasMoreElements()) {
+                read(resources.nextElement(), beanTypesByDefinition);
+            }
+        } catch (IOException e) {
+            // The definitions of unreadable resources are looked up without the index
+        }
+        return new BeanTypeIndex(beanTypesByDefinition);
+    }
+
+    private static void read(URL resource, Map<String, String[]> beanTypesByDefinition) throws IOException {
+        try (InputStream in = resource.openStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] names = line.trim().split(" ");
+                String[] types = names.length == 1 ? NO_TYPES : new String[names.length - 1];
+                System.arraycopy(names, 1, types, 0, types.length);
+                beanTypesByDefinition.put(names[0], types);
+            }
+        }
+    }
+}
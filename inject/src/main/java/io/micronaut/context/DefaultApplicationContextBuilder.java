@@ -72,6 +72,7 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
     private boolean allowEmptyProviders = false;
     private Boolean bootstrapEnvironment = null;
     private boolean enableDefaultPropertySources = true;
+    private boolean eagerInitParallel = false;
 
     /**
      * Default constructor.
@@ -128,6 +129,18 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return this;
     }
 
+    @NonNull
+    @Override
+    public ApplicationContextBuilder eagerInitParallel(boolean eagerInitParallel) {
+        this.eagerInitParallel = eagerInitParallel;
+        return this;
+    }
+
+    @Override
+    public boolean isEagerInitParallel() {
+        return eagerInitParallel;
+    }
+
     @NonNull
     @Override
     public ApplicationContextBuilder overrideConfigLocations(String... configLocations) {
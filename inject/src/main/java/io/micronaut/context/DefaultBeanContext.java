@@ -76,6 +76,7 @@ import io.micronaut.core.io.service.MicronautMetaServiceLoaderUtils;
 import io.micronaut.core.naming.NameResolver;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.naming.Named;
+import io.micronaut.core.optim.StaticOptimizations;
 import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.type.Argument;
@@ -204,6 +205,13 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
 
     private final Map<Class<?>, Collection<BeanDefinitionProducer>> beanIndex = new ConcurrentHashMap<>(12);
 
+    /**
+     * The producers by exposed type name, built from the {@link BeanTypeIndex} if present.
+     */
+    @Nullable
+    private volatile Map<String, List<BeanDefinitionProducer>> beanTypeIndex;
+    private final Collection<BeanDefinitionProducer> unindexedBeanDefinitions = new CopyOnWriteArrayList<>();
+
     private final ClassLoader classLoader;
     private final Set<Class<?>> thisInterfaces = CollectionUtils.setOf(
             BeanDefinitionRegistry.class,
@@ -228,6 +236,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
     private final String[] eagerInitStereotypes;
     private final boolean eagerInitStereotypesPresent;
     private final boolean eagerInitSingletons;
+    private final boolean eagerInitParallel;
 
     private BeanDefinitionValidator beanValidator;
     private List<BeanDefinitionReference> beanDefinitionReferences;
@@ -301,6 +310,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         this.eagerInitStereotypes = configuredEagerSingletonAnnotations.toArray(EMPTY_STRING_ARRAY);
         this.eagerInitStereotypesPresent = !configuredEagerSingletonAnnotations.isEmpty();
         this.eagerInitSingletons = eagerInitStereotypesPresent && (configuredEagerSingletonAnnotations.contains(AnnotationUtil.SINGLETON) || configuredEagerSingletonAnnotations.contains(Singleton.class.getName()));
+        this.eagerInitParallel = contextConfiguration.isEagerInitParallel();
         this.beanContextConfiguration = contextConfiguration;
     }
 
@@ -466,6 +476,8 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
             proxyTargetBeans.clear();
             attributes.clear();
             beanIndex.clear();
+            beanTypeIndex = null;
+            unindexedBeanDefinitions.clear();
             beanConfigurationsList = null;
             beanDefinitionReferences = null;
             beanInitializedEventListeners = null;
@@ -714,6 +726,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
         singletonBeanRegistrations.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
         containsBeanCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
+        singletonScope.purgeTypeCacheForBeanInstance(singleton);
     }
 
     @NonNull
@@ -824,6 +837,9 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
     @Override
     public <T> T getBean(@NonNull Class<T> beanType, @Nullable Qualifier<T> qualifier) {
         Objects.requireNonNull(beanType, "Bean type cannot be null");
+        if (qualifier == null) {
+            return getBean(beanType);
+        }
         return getBean(Argument.of(beanType), qualifier);
     }
 
@@ -831,6 +847,10 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
     @Override
     public <T> T getBean(@NonNull Class<T> beanType) {
         Objects.requireNonNull(beanType, "Bean type cannot be null");
+        BeanRegistration<T> beanRegistration = singletonScope.findCachedSingletonBeanRegistration(beanType);
+        if (beanRegistration != null) {
+            return beanRegistration.bean;
+        }
         return getBean(Argument.of(beanType), null);
     }
 
@@ -1653,6 +1673,9 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         Class<B> beanType = definition.getBeanType();
         BeanDefinitionProducer producer = new BeanDefinitionProducer(definition);
         this.beanDefinitionsClasses.add(producer);
+        if (beanTypeIndex != null) {
+            unindexedBeanDefinitions.add(producer);
+        }
         for (Class<?> indexedType : indexedTypes) {
             if (indexedType == beanType || indexedType.isAssignableFrom(beanType)) {
                 final Collection<BeanDefinitionProducer> indexed = resolveTypeIndex(indexedType);
@@ -1669,6 +1692,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
         singletonBeanRegistrations.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
         containsBeanCache.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
+        singletonScope.purgeTypeCacheForBeanType(beanType);
     }
 
     /**
@@ -1745,6 +1769,25 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         return resolveBeanRegistration(resolutionContext, beanType, qualifier, true).bean;
     }
 
+    /**
+     * Find a singleton that was already resolved by an unqualified lookup of the given raw type,
+     * without allocating and without creating the bean.
+     *
+     * @param beanType The bean type
+     * @param <T>      The bean type parameter
+     * @return The singleton or {@code null} if it isn't resolved yet
+     * @since 4.8.0
+     */
+    @Internal
+    @Nullable
+    public <T> T findCachedSingleton(@NonNull Argument<T> beanType) {
+        if (beanType.getTypeParameters().length != 0) {
+            return null;
+        }
+        BeanRegistration<T> registration = singletonScope.findCachedSingletonBeanRegistration(beanType.getType());
+        return registration != null ? registration.bean : null;
+    }
+
     /**
      * Get a bean of the given bean definition, type and qualifier.
      *
@@ -1907,6 +1950,20 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         return resolveBeanDefinitionReferences();
     }
 
+    /**
+     * Resolves the {@link BeanTypeIndex} written at compilation time. Default implementation uses the
+     * {@link StaticOptimizations} if present, otherwise reads the index resources of the class loader
+     * of the context.
+     *
+     * @return The index or {@code null} if the bean definitions aren't indexed
+     * @since 4.8.0
+     */
+    @Internal
+    @Nullable
+    protected BeanTypeIndex resolveBeanTypeIndex() {
+        return StaticOptimizations.get(BeanTypeIndex.class).orElseGet(() -> BeanTypeIndex.load(classLoader));
+    }
+
     /**
      * Resolves the {@link BeanConfiguration} class instances. Default implementation uses ServiceLoader pattern.
      *
@@ -1989,15 +2046,11 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
             }
             filterReplacedBeans(null, eagerInit);
             OrderUtil.sortOrdered(eagerInit);
-            for (BeanDefinition eagerInitDefinition : eagerInit) {
-                try {
-                    initializeEagerBean(eagerInitDefinition);
-                } catch (DisabledBeanException e) {
-                    if (AbstractBeanContextConditional.ConditionLog.LOG.isDebugEnabled()) {
-                        AbstractBeanContextConditional.ConditionLog.LOG.debug("Bean of type [{}] disabled for reason: {}", eagerInitDefinition.getBeanType().getSimpleName(), e.getMessage());
-                    }
-                } catch (Throwable e) {
-                    throw new BeanInstantiationException(MSG_BEAN_DEFINITION + eagerInitDefinition.getName() + MSG_COULD_NOT_BE_LOADED + e.getMessage(), e);
+            if (eagerInitParallel && eagerInit.size() > 1) {
+                new ParallelEagerInitializer(classLoader, this::initializeEagerBeanOrFail).initialize(eagerInit);
+            } else {
+                for (BeanDefinition<Object> eagerInitDefinition : eagerInit) {
+                    initializeEagerBeanOrFail(eagerInitDefinition);
                 }
             }
         }
@@ -2129,7 +2182,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
                 beanDefinitionsClasses = Collections.emptyList();
             }
         } else {
-            beanDefinitionsClasses = this.beanDefinitionsClasses;
+            beanDefinitionsClasses = findIndexedBeanDefinitions(beanClass);
         }
 
         return collectBeanCandidates(
@@ -2141,6 +2194,36 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         );
     }
 
+    /**
+     * Find the producers that can be candidates for the given type with the {@link BeanTypeIndex}.
+     *
+     * @param beanClass The bean type
+     * @return The indexed producers of the type and the producers missing from the index, in their original order
+     */
+    private Collection<BeanDefinitionProducer> findIndexedBeanDefinitions(Class<?> beanClass) {
+        Map<String, List<BeanDefinitionProducer>> index = beanTypeIndex;
+        if (index == null || beanClass == Object.class || beanClass.isPrimitive() || beanClass.isArray()) {
+            return this.beanDefinitionsClasses;
+        }
+        List<BeanDefinitionProducer> indexed = index.getOrDefault(beanClass.getName(), Collections.emptyList());
+        if (unindexedBeanDefinitions.isEmpty()) {
+            return indexed;
+        }
+        // both lists follow the original order, merge them back into it
+        List<BeanDefinitionProducer> producers = new ArrayList<>(indexed.size() + unindexedBeanDefinitions.size());
+        int i = 0;
+        for (BeanDefinitionProducer unindexed : unindexedBeanDefinitions) {
+            while (i < indexed.size() && indexed.get(i).ordinal < unindexed.ordinal) {
+                producers.add(indexed.get(i++));
+            }
+            producers.add(unindexed);
+        }
+        while (i < indexed.size()) {
+            producers.add(indexed.get(i++));
+        }
+        return producers;
+    }
+
     @NonNull
     private <T> Set<BeanDefinition<T>> collectBeanCandidates(
         BeanResolutionContext resolutionContext,
@@ -2679,6 +2762,18 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         }
     }
 
+    private void initializeEagerBeanOrFail(BeanDefinition<Object> eagerInitDefinition) {
+        try {
+            initializeEagerBean(eagerInitDefinition);
+        } catch (DisabledBeanException e) {
+            if (AbstractBeanContextConditional.ConditionLog.LOG.isDebugEnabled()) {
+                AbstractBeanContextConditional.ConditionLog.LOG.debug("Bean of type [{}] disabled for reason: {}", eagerInitDefinition.getBeanType().getSimpleName(), e.getMessage());
+            }
+        } catch (Throwable e) {
+            throw new BeanInstantiationException(MSG_BEAN_DEFINITION + eagerInitDefinition.getName() + MSG_COULD_NOT_BE_LOADED + e.getMessage(), e);
+        }
+    }
+
     private void initializeEagerBean(BeanDefinition<Object> beanDefinition) {
         if (beanDefinition.isIterable() || beanDefinition.hasStereotype(ConfigurationReader.class.getName())) {
             Set<BeanDefinition<Object>> beanCandidates = new HashSet<>(5);
@@ -2726,18 +2821,29 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         if (InjectionPoint.class.isAssignableFrom(beanClass)) {
             return provideInjectionPoint(resolutionContext, beanType, qualifier, throwNoSuchBean);
         }
-        BeanKey<T> beanKey = new BeanKey<>(beanType, qualifier);
+        // Fast singleton lookup, the raw type is used as the key. Only created singletons are cached
+        // by type, so it is checked before the in-flight beans to avoid allocating a key
+        boolean cacheByType = qualifier == null && beanType.getTypeParameters().length == 0;
+        if (cacheByType) {
+            BeanRegistration<T> beanRegistration = singletonScope.findCachedSingletonBeanRegistration(beanClass);
+            if (beanRegistration != null) {
+                return beanRegistration;
+            }
+        }
+        long typeCacheEpoch = singletonScope.typeCacheEpoch();
 
+        BeanKey<T> beanKey = new BeanKey<>(beanType, qualifier);
         if (LOG.isTraceEnabled()) {
             LOG.trace("Looking up existing bean for key: {}", beanKey);
         }
 
-        BeanRegistration<T> inFlightBeanRegistration = resolutionContext != null ? resolutionContext.getInFlightBean(beanKey) : null;
-        if (inFlightBeanRegistration != null) {
-            return inFlightBeanRegistration;
+        if (resolutionContext != null) {
+            BeanRegistration<T> inFlightBeanRegistration = resolutionContext.getInFlightBean(beanKey);
+            if (inFlightBeanRegistration != null) {
+                return inFlightBeanRegistration;
+            }
         }
 
-        // Fast singleton lookup
         BeanRegistration<T> beanRegistration = singletonScope.findCachedSingletonBeanRegistration(beanType, qualifier);
         if (beanRegistration != null) {
             return beanRegistration;
@@ -2757,8 +2863,12 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         } else {
             registration = null;
         }
-        if ((registration == null || registration.bean == null) && throwNoSuchBean) {
-            throw newNoSuchBeanException(resolutionContext, beanType, qualifier, null);
+        if (registration == null || registration.bean == null) {
+            if (throwNoSuchBean) {
+                throw newNoSuchBeanException(resolutionContext, beanType, qualifier, null);
+            }
+        } else if (cacheByType) {
+            singletonScope.cacheSingletonBeanRegistration(beanClass, registration, typeCacheEpoch);
         }
         return registration;
     }
@@ -3338,6 +3448,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
                 producers.add(new BeanDefinitionProducer(beanDefinitionReference));
             }
             beanDefinitionsClasses.addAll(producers);
+            readBeanTypeIndex();
 
             Collection<BeanConfiguration> allConfigurations = beanConfigurations.values();
             List<BeanConfiguration> configurationsDisabled = new ArrayList<>(allConfigurations.size());
@@ -3407,6 +3518,28 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         return startupBeans;
     }
 
+    private void readBeanTypeIndex() {
+        BeanTypeIndex index = resolveBeanTypeIndex();
+        if (index == null || index.isEmpty()) {
+            return;
+        }
+        Map<String, List<BeanDefinitionProducer>> producersByType = CollectionUtils.newHashMap(index.size() * 4);
+        int ordinal = 0;
+        for (BeanDefinitionProducer producer : beanDefinitionsClasses) {
+            producer.ordinal = ordinal++;
+            BeanDefinitionReference<?> reference = producer.reference;
+            String[] types = reference != null ? index.getBeanTypes(reference.getBeanDefinitionName()) : null;
+            if (types == null) {
+                unindexedBeanDefinitions.add(producer);
+                continue;
+            }
+            for (String type : types) {
+                producersByType.computeIfAbsent(type, t -> new ArrayList<>(2)).add(producer);
+            }
+        }
+        beanTypeIndex = producersByType;
+    }
+
     private boolean isEagerInit(BeanDefinitionReference beanDefinitionReference) {
         return beanDefinitionReference.isContextScope() ||
                 (eagerInitSingletons && beanDefinitionReference.isSingleton()) ||
@@ -4213,6 +4346,11 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         private volatile Boolean referenceEnabled;
         @Nullable
         private volatile Boolean definitionEnabled;
+        /**
+         * The position of the producer when the bean type index was read, the producers registered
+         * afterwards come last.
+         */
+        private int ordinal = Integer.MAX_VALUE;
 
         BeanDefinitionProducer(@NonNull BeanDefinitionReference reference) {
             this.reference = reference;
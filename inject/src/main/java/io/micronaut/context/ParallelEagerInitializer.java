@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.BeanDefinition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Initializes the eager beans of a context concurrently, following their dependencies.
+ *
+ * <p>The dependencies are derived from the {@link BeanDefinition#getRequiredComponents() injection points}
+ * of the beans and from the factory of factory beans: a bean is only initialized once the eager beans
+ * it injects are initialized, so that independent beans are initialized in parallel while a thread
+ * rarely has to wait for a singleton created by another one.</p>
+ *
+ * <p>Dependencies that aren't visible in the metadata, for example beans looked up from the context in a
+ * constructor, can still make two threads wait for each other's singletons. The {@link SingletonScope}
+ * fails such a creation with a {@link SingletonCreationDeadlockException}, and the bean is initialized
+ * again after the parallel phase on the calling thread, together with the beans of dependency cycles
+ * and the beans depending on them, in their original order.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class ParallelEagerInitializer {
+
+    private static final String THREAD_NAME_PREFIX = "eager-init-";
+
+    private final ClassLoader classLoader;
+    private final Consumer<BeanDefinition<Object>> initializer;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger threads = new AtomicInteger();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile boolean failed;
+
+    /**
+     * @param classLoader The class loader of the context, used as the context class loader of the threads
+     * @param initializer Initializes a single bean
+     */
+    ParallelEagerInitializer(@NonNull ClassLoader classLoader, @NonNull Consumer<BeanDefinition<Object>> initializer) {
+        this.classLoader = classLoader;
+        this.initializer = initializer;
+    }
+
+    /**
+     * Initialize the given beans.
+     *
+     * @param definitions The sorted eager bean definitions
+     */
+    void initialize(@NonNull List<BeanDefinition<Object>> definitions) {
+        Node[] nodes = buildGraph(definitions);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), this::newThread, null, false);
+        try {
+            running.incrementAndGet();
+            for (Node node : nodes) {
+                if (node.pending.get() == 0) {
+                    submit(pool, node);
+                }
+            }
+            finish();
+            completion.join();
+        } finally {
+            pool.shutdown();
+        }
+        // Report the first failure in the original order, or initialize what couldn't be done in parallel
+        for (Node node : nodes) {
+            if (node.failure instanceof RuntimeException e) {
+                throw e;
+            } else if (node.failure instanceof Error e) {
+                throw e;
+            }
+            if (!node.initialized) {
+                initializer.accept(node.definition);
+            }
+        }
+    }
+
+    private void submit(ForkJoinPool pool, Node node) {
+        running.incrementAndGet();
+        pool.execute(() -> {
+            try {
+                if (!failed) {
+                    initializer.accept(node.definition);
+                    node.initialized = true;
+                }
+            } catch (Throwable e) {
+                if (!isDeadlock(e)) {
+                    node.failure = e;
+                    failed = true;
+                }
+            }
+            if (node.initialized) {
+                for (Node dependent : node.dependents) {
+                    if (dependent.pending.decrementAndGet() == 0) {
+                        submit(pool, dependent);
+                    }
+                }
+            }
+            finish();
+        });
+    }
+
+    private void finish() {
+        if (running.decrementAndGet() == 0) {
+            completion.complete(null);
+        }
+    }
+
+    private ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName(THREAD_NAME_PREFIX + threads.getAndIncrement());
+        thread.setContextClassLoader(classLoader);
+        return thread;
+    }
+
+    private static boolean isDeadlock(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SingletonCreationDeadlockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Node[] buildGraph(List<BeanDefinition<Object>> definitions) {
+        Node[] nodes = new Node[definitions.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node(definitions.get(i));
+        }
+        Map<Class<?>, List<Node>> candidatesByType = new HashMap<>();
+        for (Node node : nodes) {
+            Set<Node> dependencies = new LinkedHashSet<>();
+            for (Class<?> type : requiredTypes(node.definition)) {
+                for (Node candidate : candidatesByType.computeIfAbsent(type, t -> findCandidates(nodes, t))) {
+                    if (candidate != node) {
+                        dependencies.add(candidate);
+                    }
+                }
+            }
+            node.pending.set(dependencies.size());
+            for (Node dependency : dependencies) {
+                dependency.dependents.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private static Collection<Class<?>> requiredTypes(BeanDefinition<Object> definition) {
+        Collection<Class<?>> requiredComponents = definition.getRequiredComponents();
+        Class<?> declaringType = definition.getDeclaringType().orElse(null);
+        if (declaringType == null || declaringType == definition.getBeanType()) {
+            return requiredComponents;
+        }
+        // The factory of a factory bean
+        List<Class<?>> types = new ArrayList<>(requiredComponents.size() + 1);
+        types.addAll(requiredComponents);
+        types.add(declaringType);
+        return types;
+    }
+
+    private static List<Node> findCandidates(Node[] nodes, Class<?> type) {
+        Argument<?> argument = Argument.of(type);
+        List<Node> candidates = new ArrayList<>(2);
+        for (Node node : nodes) {
+            if (node.definition.isCandidateBean(argument)) {
+                candidates.add(node);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * An eager bean and the eager beans depending on it.
+     */
+    private static final class Node {
+        private final BeanDefinition<Object> definition;
+        private final List<Node> dependents = new ArrayList<>(2);
+        /**
+         * The number of dependencies not initialized yet.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean initialized;
+        private volatile Throwable failure;
+
+        private Node(BeanDefinition<Object> definition) {
+            this.definition = definition;
+        }
+    }
+}
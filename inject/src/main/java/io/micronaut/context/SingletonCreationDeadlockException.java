@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.exceptions.BeanContextException;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.inject.BeanDefinition;
+
+/**
+ * Thrown instead of waiting for a singleton that is being created by another thread, when that
+ * thread in turn waits for a singleton the current thread is creating.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class SingletonCreationDeadlockException extends BeanContextException {
+    /**
+     * @param definition The singleton that can't be created
+     */
+    SingletonCreationDeadlockException(BeanDefinition<?> definition) {
+        super("Deadlock detected creating singleton [" + definition.getBeanType().getName() + "]: it is being created by another thread that waits for a singleton created by the current thread");
+    }
+}
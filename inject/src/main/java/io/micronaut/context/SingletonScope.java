@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The singleton scope implementation.
@@ -43,7 +44,12 @@ final class SingletonScope {
     /**
      * The locks used to prevent re-creating of the same singleton.
      */
-    private final Map<BeanDefinitionIdentity, Object> singletonsInCreationLocks = new ConcurrentHashMap<>(5, 1);
+    private final Map<BeanDefinitionIdentity, CreationLock> singletonsInCreationLocks = new ConcurrentHashMap<>(5, 1);
+
+    /**
+     * The creation locks that threads are waiting for, used to detect deadlocks.
+     */
+    private final Map<Thread, CreationLock> waitingThreads = new ConcurrentHashMap<>(5, 1);
 
     /**
      * The main collection storing registrations for {@link BeanDefinition}.
@@ -55,6 +61,18 @@ final class SingletonScope {
      */
     private final Map<DefaultBeanContext.BeanKey, BeanRegistration> singletonByArgumentAndQualifier = new ConcurrentHashMap<>(100);
 
+    /**
+     * Index collection to retrieve a registration resolved by an unqualified lookup of the raw bean type.
+     * The class is used as the key to avoid allocating a key for each lookup.
+     */
+    private final Map<Class<?>, BeanRegistration> singletonByType = new ConcurrentHashMap<>(100);
+
+    /**
+     * Incremented before each purge of {@link #singletonByType}, so that a registration resolved before
+     * a purge isn't cached after it.
+     */
+    private final AtomicLong typeCacheEpoch = new AtomicLong();
+
     @NonNull
     <T> BeanRegistration<T> getOrCreate(@NonNull DefaultBeanContext beanContext,
                                         @Nullable BeanResolutionContext resolutionContext,
@@ -70,8 +88,19 @@ final class SingletonScope {
         if (existingRegistration != null) {
             return existingRegistration;
         }
-        Object lock = singletonsInCreationLocks.computeIfAbsent(identity, beanDefinitionIdentity -> new Object());
+        CreationLock lock = singletonsInCreationLocks.computeIfAbsent(identity, beanDefinitionIdentity -> new CreationLock());
+        Thread currentThread = Thread.currentThread();
+        // register before reading the owner, so that of two threads waiting for each other, at
+        // least one sees the other one waiting
+        waitingThreads.put(currentThread, lock);
+        Thread owner = lock.owner;
+        if (owner != null && owner != currentThread) {
+            checkDeadlock(currentThread, owner, definition);
+        }
         synchronized (lock) {
+            waitingThreads.remove(currentThread);
+            Thread previousOwner = lock.owner;
+            lock.owner = currentThread;
             try {
                 existingRegistration = singletonByBeanDefinition.get(identity);
                 if (existingRegistration != null) {
@@ -81,11 +110,33 @@ final class SingletonScope {
                 registerSingletonBean(newRegistration, qualifier);
                 return newRegistration;
             } finally {
+                lock.owner = previousOwner;
                 singletonsInCreationLocks.remove(identity);
             }
         }
     }
 
+    /**
+     * Follow the chain of threads that wait for each other's singletons, starting with the
+     * owner of the lock the current thread is about to wait for. If the chain leads back to the
+     * current thread, waiting would never finish.
+     *
+     * @param currentThread The current thread, already registered as waiting
+     * @param owner         The thread creating the singleton
+     * @param definition    The singleton definition
+     */
+    private void checkDeadlock(Thread currentThread, Thread owner, BeanDefinition<?> definition) {
+        // bounded, other threads may be deadlocked among themselves
+        for (int i = waitingThreads.size(); owner != null && i >= 0; i--) {
+            if (owner == currentThread) {
+                waitingThreads.remove(currentThread);
+                throw new SingletonCreationDeadlockException(definition);
+            }
+            CreationLock next = waitingThreads.get(owner);
+            owner = next == null ? null : next.owner;
+        }
+    }
+
     /**
      * Register singleton.
      *
@@ -273,6 +324,52 @@ final class SingletonScope {
         return null;
     }
 
+    /**
+     * Find cached singleton registration resolved by an unqualified lookup of the raw bean type.
+     * <p>
+     * If the result is null it doesn't mean singleton is not present.
+     *
+     * @param beanType The bean type
+     * @param <T>      The type
+     * @return found registration.
+     * @since 4.8.0
+     */
+    @Nullable
+    <T> BeanRegistration<T> findCachedSingletonBeanRegistration(@NonNull Class<T> beanType) {
+        return singletonByType.get(beanType);
+    }
+
+    /**
+     * @return The current epoch of the type cache, to read before resolving a registration to cache
+     * @since 4.8.0
+     */
+    long typeCacheEpoch() {
+        return typeCacheEpoch.get();
+    }
+
+    /**
+     * Cache the registration resolved by an unqualified lookup of the raw bean type.
+     * Only the active singleton registrations are cached, and only if the type cache wasn't purged
+     * since the given epoch.
+     *
+     * @param beanType     The bean type
+     * @param registration The resolved registration
+     * @param epoch        The {@link #typeCacheEpoch()} read before the registration was resolved
+     * @param <T>          The type
+     * @since 4.8.0
+     */
+    <T> void cacheSingletonBeanRegistration(@NonNull Class<T> beanType, @NonNull BeanRegistration<T> registration, long epoch) {
+        if (typeCacheEpoch.get() != epoch
+            || singletonByBeanDefinition.get(BeanDefinitionIdentity.of(registration.beanDefinition)) != registration) {
+            return;
+        }
+        singletonByType.put(beanType, registration);
+        if (typeCacheEpoch.get() != epoch) {
+            // Purged concurrently, the purge might have run before the registration was cached
+            singletonByType.remove(beanType, registration);
+        }
+    }
+
     /**
      * Find cached singleton registration's bean definition by beanType and qualifier.
      * <p>
@@ -299,9 +396,34 @@ final class SingletonScope {
      * @param bean           The bean
      * @param <T>            The bean type
      */
-    synchronized <T> void purgeCacheForBeanInstance(BeanDefinition<T> beanDefinition, T bean) {
+    <T> void purgeCacheForBeanInstance(BeanDefinition<T> beanDefinition, T bean) {
+        // The registration has to be removed first, see cacheSingletonBeanRegistration
         singletonByBeanDefinition.remove(BeanDefinitionIdentity.of(beanDefinition));
         singletonByArgumentAndQualifier.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(bean));
+        typeCacheEpoch.incrementAndGet();
+        singletonByType.keySet().removeIf(type -> type.isInstance(bean));
+    }
+
+    /**
+     * Purge the registrations cached by type that a new instance could make ambiguous.
+     *
+     * @param bean The new bean instance
+     * @since 4.8.0
+     */
+    void purgeTypeCacheForBeanInstance(Object bean) {
+        typeCacheEpoch.incrementAndGet();
+        singletonByType.keySet().removeIf(type -> type.isInstance(bean));
+    }
+
+    /**
+     * Purge the registrations cached by type that a new bean type could make ambiguous.
+     *
+     * @param beanType The new bean type
+     * @since 4.8.0
+     */
+    void purgeTypeCacheForBeanType(Class<?> beanType) {
+        typeCacheEpoch.incrementAndGet();
+        singletonByType.keySet().removeIf(type -> type.isAssignableFrom(beanType));
     }
 
     /**
@@ -310,6 +432,18 @@ final class SingletonScope {
     void clear() {
         singletonByBeanDefinition.clear();
         singletonByArgumentAndQualifier.clear();
+        typeCacheEpoch.incrementAndGet();
+        singletonByType.clear();
+    }
+
+    /**
+     * Lock held while a singleton is created.
+     */
+    private static final class CreationLock {
+        /**
+         * The thread creating the singleton.
+         */
+        volatile Thread owner;
     }
 
     /**
@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.helpers.NOPLogger;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
@@ -118,6 +119,20 @@ public abstract class AbstractPropertySourceLoader implements PropertySourceLoad
 
     @Override
     public Map<String, Object> read(String name, InputStream input) throws IOException {
+        PropertySourceSnapshot snapshot = PropertySourceSnapshot.get();
+        if (snapshot != null) {
+            byte[] content = input.readAllBytes();
+            String key = PropertySourceSnapshot.key(this, name, content);
+            Map<String, Object> finalMap = snapshot.find(key);
+            if (finalMap == null) {
+                finalMap = new LinkedHashMap<>();
+                processInput(name, new ByteArrayInputStream(content), finalMap);
+                snapshot.store(key, finalMap);
+            } else {
+                log.debug("Read PropertySource [{}] from the configuration snapshot", name);
+            }
+            return finalMap;
+        }
         Map<String, Object> finalMap = new LinkedHashMap<>();
         processInput(name, input, finalMap);
         return finalMap;
@@ -436,18 +436,28 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
         refreshablePropertySources.clear();
         List<PropertySource> propertySources;
         if (configuration.isEnableDefaultPropertySources()) {
-            propertySources = readPropertySourceList(name);
-            addDefaultPropertySources(propertySources);
-            String propertySourcesSystemProperty = CachedEnvironment.getProperty(Environment.PROPERTY_SOURCES_KEY);
-            if (propertySourcesSystemProperty != null) {
-                propertySources.addAll(readPropertySourceListFromFiles(propertySourcesSystemProperty));
-            }
-            String propertySourcesEnv = readPropertySourceListKeyFromEnvironment();
-            if (propertySourcesEnv != null) {
-                propertySources.addAll(readPropertySourceListFromFiles(propertySourcesEnv));
+            PropertySourceSnapshot snapshot = PropertySourceSnapshot.open();
+            try {
+                propertySources = readPropertySourceList(name);
+                addDefaultPropertySources(propertySources);
+                String propertySourcesSystemProperty = CachedEnvironment.getProperty(Environment.PROPERTY_SOURCES_KEY);
+                if (propertySourcesSystemProperty != null) {
+                    propertySources.addAll(readPropertySourceListFromFiles(propertySourcesSystemProperty));
+                }
+                String propertySourcesEnv = readPropertySourceListKeyFromEnvironment();
+                if (propertySourcesEnv != null) {
+                    propertySources.addAll(readPropertySourceListFromFiles(propertySourcesEnv));
+                }
+                refreshablePropertySources.addAll(propertySources);
+                readConstantPropertySources(name, propertySources);
+                if (snapshot != null) {
+                    snapshot.write();
+                }
+            } finally {
+                if (snapshot != null) {
+                    snapshot.release();
+                }
             }
-            refreshablePropertySources.addAll(propertySources);
-            readConstantPropertySources(name, propertySources);
         } else {
             propertySources = new ArrayList<>(this.propertySources.size());
         }
@@ -185,6 +185,22 @@ public interface Environment extends PropertyResolver, LifeCycle<Environment>, M
      */
     String PROPERTY_SOURCES_KEY = "micronaut.config.files";
 
+    /**
+     * The path of the binary snapshot of the parsed property sources. When set, the property sources read by
+     * the property source loaders are stored in the file, and are read from it instead of being parsed again
+     * as long as their content does not change.
+     *
+     * @since 4.8.0
+     */
+    String CONFIG_SNAPSHOT_PROPERTY = "micronaut.config.snapshot";
+
+    /**
+     * Environment key for the path of the binary snapshot of the parsed property sources.
+     *
+     * @since 4.8.0
+     */
+    String CONFIG_SNAPSHOT_ENV = "MICRONAUT_CONFIG_SNAPSHOT";
+
     /**
      * The host name environment variable.
      */
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.env;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A binary snapshot of the property sources read by the {@link AbstractPropertySourceLoader} instances.
+ *
+ * <p>The snapshot is enabled by setting the {@link Environment#CONFIG_SNAPSHOT_PROPERTY} system property or
+ * the {@link Environment#CONFIG_SNAPSHOT_ENV} environment variable to the path of the snapshot file. Every
+ * entry is keyed by the loader, the name and a digest of the content of the source, so a changed source is
+ * parsed again and replaces its entry the next time the snapshot is written. The file is read once and the
+ * entries are only decoded when they are read. The file is not kept mapped or open, so it can be replaced
+ * while the snapshot is in use on every platform.</p>
+ *
+ * <p>An environment {@link #open() opens} the snapshot before reading its property sources and
+ * {@link #release() releases} it once the snapshot is written, so the entries and the used keys don't
+ * outlive the environments reading them.</p>
+ *
+ * <p>Only the values the built-in loaders produce are supported, a source with any other value is not
+ * added to the snapshot.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class PropertySourceSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropertySourceSnapshot.class);
+    private static final Map<String, PropertySourceSnapshot> SNAPSHOTS = new ConcurrentHashMap<>(2);
+
+    private static final int MAGIC = 0x4D4E5053;
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte CHARACTER = 9;
+    private static final byte BIG_INTEGER = 10;
+    private static final byte BIG_DECIMAL = 11;
+    private static final byte BYTES = 12;
+    private static final byte LIST = 13;
+    private static final byte SET = 14;
+    private static final byte MAP = 15;
+
+    private final String location;
+    private final Path path;
+    private final Map<String, ByteBuffer> entries = new ConcurrentHashMap<>();
+    private final Set<String> used = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> written = Set.of();
+    private volatile boolean modified;
+    private int references;
+
+    private PropertySourceSnapshot(Path path) {
+        this(path.toString(), path);
+    }
+
+    private PropertySourceSnapshot(String location, Path path) {
+        this.location = location;
+        this.path = path;
+        load();
+    }
+
+    /**
+     * @return The snapshot of the configured file or null if no snapshot is configured
+     */
+    @Nullable
+    static PropertySourceSnapshot get() {
+        String location = location();
+        if (location == null) {
+            return null;
+        }
+        return SNAPSHOTS.computeIfAbsent(location, l -> new PropertySourceSnapshot(l, Paths.get(l)));
+    }
+
+    /**
+     * Opens the snapshot of the configured file, it stays loaded until every opened snapshot is released.
+     *
+     * @return The snapshot of the configured file or null if no snapshot is configured
+     */
+    @Nullable
+    static PropertySourceSnapshot open() {
+        String location = location();
+        if (location == null) {
+            return null;
+        }
+        return SNAPSHOTS.compute(location, (l, snapshot) -> {
+            if (snapshot == null) {
+                snapshot = new PropertySourceSnapshot(l, Paths.get(l));
+            }
+            snapshot.references++;
+            return snapshot;
+        });
+    }
+
+    /**
+     * Releases the snapshot opened by {@link #open()}. Once the last opened snapshot is released the
+     * entries are dropped and the next environment loads the file again.
+     */
+    void release() {
+        SNAPSHOTS.computeIfPresent(location, (l, snapshot) -> snapshot != this || --references > 0 ? snapshot : null);
+    }
+
+    @Nullable
+    private static String location() {
+        String location = CachedEnvironment.getProperty(Environment.CONFIG_SNAPSHOT_PROPERTY);
+        if (StringUtils.isEmpty(location)) {
+            location = CachedEnvironment.getenv(Environment.CONFIG_SNAPSHOT_ENV);
+            if (StringUtils.isEmpty(location)) {
+                return null;
+            }
+        }
+        return location;
+    }
+
+    /**
+     * @param loader  The loader
+     * @param name    The name of the property source
+     * @param content The content of the property source
+     * @return The key of the entry
+     */
+    @NonNull
+    static String key(@NonNull PropertySourceLoader loader, @NonNull String name, byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return loader.getClass().getName() + ':' + name + ':' + Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * @param key The key
+     * @return A new map of the stored properties or null if there is no entry
+     */
+    @Nullable
+    Map<String, Object> find(@NonNull String key) {
+        ByteBuffer buffer = entries.get(key);
+        if (buffer == null) {
+            return null;
+        }
+        Map<String, Object> values;
+        try {
+            values = readProperties(buffer.duplicate());
+        } catch (RuntimeException e) {
+            LOG.debug("Ignoring invalid configuration snapshot entry [{}] of {}: {}", key, path, e.getMessage());
+            entries.remove(key);
+            return null;
+        }
+        if (used.add(key) && !written.contains(key)) {
+            modified = true;
+        }
+        return values;
+    }
+
+    /**
+     * Stores the properties, they are written with the next {@link #write()}.
+     *
+     * @param key    The key
+     * @param values The properties
+     */
+    void store(@NonNull String key, @NonNull Map<String, Object> values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(values.size());
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                writeString(output, entry.getKey());
+                if (!writeValue(output, entry.getValue())) {
+                    LOG.debug("Not adding [{}] to the configuration snapshot, the value of [{}] is not supported", key, entry.getKey());
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Not possible with a byte array
+            return;
+        }
+        entries.put(key, ByteBuffer.wrap(bytes.toByteArray()));
+        used.add(key);
+        modified = true;
+    }
+
+    /**
+     * Writes the entries used by this process if any of them is not in the file. The entries of the file
+     * that were not used are dropped.
+     */
+    synchronized void write() {
+        if (!modified) {
+            return;
+        }
+        modified = false;
+        Set<String> keys = new HashSet<>(used);
+        Path parent = path.toAbsolutePath().getParent();
+        Path tmp = null;
+        try {
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (OutputStream stream = Files.newOutputStream(tmp);
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(keys.size());
+                for (String key : keys) {
+                    ByteBuffer buffer = entries.get(key).duplicate();
+                    writeString(output, key);
+                    output.writeInt(buffer.remaining());
+                    while (buffer.hasRemaining()) {
+                        output.write(buffer.get());
+                    }
+                }
+            }
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            written = keys;
+            LOG.debug("Wrote {} property sources to the configuration snapshot {}", keys.size(), path);
+        } catch (IOException e) {
+            LOG.warn("Failed to write the configuration snapshot {}: {}", path, e.getMessage());
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ex) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private void load() {
+        try {
+            byte[] content = Files.readAllBytes(path);
+            if (content.length == 0) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                LOG.debug("Ignoring the configuration snapshot {} written by a different version", path);
+                return;
+            }
+            int count = buffer.getInt();
+            Map<String, ByteBuffer> loaded = new LinkedHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                int length = buffer.getInt();
+                ByteBuffer entry = buffer.slice();
+                entry.limit(length);
+                buffer.position(buffer.position() + length);
+                loaded.put(key, entry);
+            }
+            entries.putAll(loaded);
+            written = loaded.keySet();
+            LOG.debug("Read {} property sources from the configuration snapshot {}", count, path);
+        } catch (NoSuchFileException e) {
+            // Created by the first write
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Ignoring the invalid configuration snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static boolean writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String s) {
+            output.writeByte(STRING);
+            writeString(output, s);
+        } else if (value instanceof Boolean b) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean(b);
+        } else if (value instanceof Integer i) {
+            output.writeByte(INTEGER);
+            output.writeInt(i);
+        } else if (value instanceof Long l) {
+            output.writeByte(LONG);
+            output.writeLong(l);
+        } else if (value instanceof Double d) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(d);
+        } else if (value instanceof Float f) {
+            output.writeByte(FLOAT);
+            output.writeFloat(f);
+        } else if (value instanceof Short s) {
+            output.writeByte(SHORT);
+            output.writeShort(s);
+        } else if (value instanceof Byte b) {
+            output.writeByte(BYTE);
+            output.writeByte(b);
+        } else if (value instanceof Character c) {
+            output.writeByte(CHARACTER);
+            output.writeChar(c);
+        } else if (value instanceof BigInteger i) {
+            output.writeByte(BIG_INTEGER);
+            writeString(output, i.toString());
+        } else if (value instanceof BigDecimal d) {
+            output.writeByte(BIG_DECIMAL);
+            writeString(output, d.toString());
+        } else if (value instanceof byte[] bytes) {
+            output.writeByte(BYTES);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        } else if (value instanceof List<?> || value instanceof Set<?>) {
+            Collection<?> collection = (Collection<?>) value;
+            output.writeByte(value instanceof List<?> ? LIST : SET);
+            output.writeInt(collection.size());
+            for (Object o : collection) {
+                if (!writeValue(output, o)) {
+                    return false;
+                }
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            output.writeByte(MAP);
+            output.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!writeValue(output, entry.getKey()) || !writeValue(output, entry.getValue())) {
+                    return false;
+                }
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static Map<String, Object> readProperties(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        Map<String, Object> values = new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+        for (int i = 0; i < size; i++) {
+            values.put(readString(buffer), readValue(buffer));
+        }
+        return values;
+    }
+
+    private static Object readValue(ByteBuffer buffer) {
+        byte type = buffer.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(buffer);
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case INTEGER:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case DOUBLE:
+                return buffer.getDouble();
+            case FLOAT:
+                return buffer.getFloat();
+            case SHORT:
+                return buffer.getShort();
+            case BYTE:
+                return buffer.get();
+            case CHARACTER:
+                return buffer.getChar();
+            case BIG_INTEGER:
+                return new BigInteger(readString(buffer));
+            case BIG_DECIMAL:
+                return new BigDecimal(readString(buffer));
+            case BYTES:
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return bytes;
+            case LIST:
+            case SET:
+                int length = buffer.getInt();
+                Collection<Object> collection = type == LIST ? new ArrayList<>(length) : new LinkedHashSet<>(length);
+                for (int i = 0; i < length; i++) {
+                    collection.add(readValue(buffer));
+                }
+                return collection;
+            case MAP:
+                int size = buffer.getInt();
+                Map<Object, Object> map = new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(buffer), readValue(buffer));
+                }
+                return map;
+            default:
+                throw new IllegalStateException("Unknown value type: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
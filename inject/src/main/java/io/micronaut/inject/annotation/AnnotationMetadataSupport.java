@@ -47,6 +47,7 @@ import io.micronaut.context.condition.TrueCondition;
 import io.micronaut.core.annotation.AccessorsStyle;
 import io.micronaut.core.annotation.AnnotationClassValue;
 import io.micronaut.core.annotation.AnnotationDefaultValuesProvider;
+import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.AnnotationUtil;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.AnnotationValueProvider;
@@ -78,6 +79,9 @@ import jakarta.inject.Scope;
 import jakarta.inject.Singleton;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -112,6 +116,23 @@ public final class AnnotationMetadataSupport {
 
     private static final Map<Class<? extends Annotation>, Optional<Constructor<InvocationHandler>>> ANNOTATION_PROXY_CACHE = new ConcurrentHashMap<>(20);
     private static final Map<String, Class<? extends Annotation>> ANNOTATION_TYPES = new ConcurrentHashMap<>(20);
+    /**
+     * The shared metadata of a class loader, attached to one of the generated classes of the loader. The
+     * metadata caches the synthesized annotations of its class loader, so it is never shared between class
+     * loaders. Attaching the pool to a class keeps the metadata strongly reachable for exactly as long as
+     * the class loader is alive, without the pool preventing the loader from being unloaded.
+     */
+    private static final ClassValue<Map<String, AnnotationMetadata>> SHARED_METADATA = new ClassValue<>() {
+        @Override
+        protected Map<String, AnnotationMetadata> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(100);
+        }
+    };
+    /**
+     * The generated class holding the shared metadata of each class loader.
+     */
+    private static final Map<LoaderKey, WeakReference<Class<?>>> SHARED_METADATA_OWNERS = new ConcurrentHashMap<>(10);
+    private static final ReferenceQueue<ClassLoader> UNLOADED_LOADERS = new ReferenceQueue<>();
 
     /**
      * The annotation default values provider.
@@ -464,6 +485,80 @@ public final class AnnotationMetadataSupport {
         REPEATABLE_ANNOTATIONS_CONTAINERS.put(repeatable, repeatableContainer);
     }
 
+    /**
+     * Find the metadata shared by the generated classes of the class loader of the given class.
+     *
+     * @param generatedClass The generated class loading the metadata
+     * @param key            The key computed from the metadata content at compilation time
+     * @return The shared metadata or null
+     * @since 4.8.0
+     */
+    @Nullable
+    static AnnotationMetadata getSharedMetadata(@NonNull Class<?> generatedClass, @NonNull String key) {
+        return sharedMetadata(generatedClass).get(key);
+    }
+
+    /**
+     * Share the metadata with the generated classes of the same class loader that have the same
+     * metadata content.
+     *
+     * @param generatedClass     The generated class loading the metadata
+     * @param key                The key computed from the metadata content at compilation time
+     * @param annotationMetadata The metadata
+     * @return The metadata shared for the key, which might have been registered by another class
+     * @since 4.8.0
+     */
+    @NonNull
+    static AnnotationMetadata shareMetadata(@NonNull Class<?> generatedClass, @NonNull String key, @NonNull AnnotationMetadata annotationMetadata) {
+        AnnotationMetadata existing = sharedMetadata(generatedClass).putIfAbsent(key, annotationMetadata);
+        return existing != null ? existing : annotationMetadata;
+    }
+
+    /**
+     * @return The number of the distinct shared metadata instances
+     * @since 4.8.0
+     */
+    @Internal
+    public static int getSharedMetadataCount() {
+        int count = 0;
+        for (WeakReference<Class<?>> owner : SHARED_METADATA_OWNERS.values()) {
+            Class<?> ownerClass = owner.get();
+            if (ownerClass != null) {
+                count += SHARED_METADATA.get(ownerClass).size();
+            }
+        }
+        return count;
+    }
+
+    private static Map<String, AnnotationMetadata> sharedMetadata(@NonNull Class<?> generatedClass) {
+        ClassLoader classLoader = generatedClass.getClassLoader();
+        if (classLoader == null) {
+            return SHARED_METADATA.get(AnnotationMetadataSupport.class);
+        }
+        LoaderKey key = new LoaderKey(classLoader, null);
+        WeakReference<Class<?>> owner = SHARED_METADATA_OWNERS.get(key);
+        Class<?> ownerClass = owner != null ? owner.get() : null;
+        if (ownerClass == null) {
+            expungeUnloadedLoaders();
+            WeakReference<Class<?>> registered = new WeakReference<>(generatedClass);
+            owner = SHARED_METADATA_OWNERS.putIfAbsent(new LoaderKey(classLoader, UNLOADED_LOADERS), registered);
+            ownerClass = owner != null ? owner.get() : generatedClass;
+            if (ownerClass == null) {
+                // A class of a loader is only collected with its loader, so this key is stale
+                SHARED_METADATA_OWNERS.replace(key, owner, registered);
+                ownerClass = generatedClass;
+            }
+        }
+        return SHARED_METADATA.get(ownerClass);
+    }
+
+    private static void expungeUnloadedLoaders() {
+        Reference<? extends ClassLoader> unloaded;
+        while ((unloaded = UNLOADED_LOADERS.poll()) != null) {
+            SHARED_METADATA_OWNERS.remove(unloaded);
+        }
+    }
+
     /**
      * @param annotation The annotation
      * @return The proxy class
@@ -584,4 +679,33 @@ public final class AnnotationMetadataSupport {
             }
         }
     }
+    /**
+     * A weak class loader key compared by identity.
+     */
+    private static final class LoaderKey extends WeakReference<ClassLoader> {
+
+        private final int hashCode;
+
+        LoaderKey(ClassLoader classLoader, @Nullable ReferenceQueue<ClassLoader> queue) {
+            super(classLoader, queue);
+            this.hashCode = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LoaderKey other)) {
+                return false;
+            }
+            ClassLoader classLoader = get();
+            return classLoader != null && classLoader == other.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -1463,6 +1463,39 @@ public class DefaultAnnotationMetadata extends AbstractAnnotationMetadata implem
         AnnotationMetadataSupport.registerAnnotationType(annotation);
     }
 
+    /**
+     * Finds the metadata shared by the generated classes of the class loader of the given class. Used by generated byte code. DO NOT REMOVE.
+     *
+     * @param generatedClass The generated class loading the metadata
+     * @param key            The key computed from the metadata content
+     * @return The shared metadata or null
+     * @since 4.8.0
+     */
+    @SuppressWarnings("unused")
+    @Internal
+    @UsedByGeneratedCode
+    @Nullable
+    public static AnnotationMetadata getSharedMetadata(Class<?> generatedClass, String key) {
+        return AnnotationMetadataSupport.getSharedMetadata(generatedClass, key);
+    }
+
+    /**
+     * Shares the metadata with the generated classes of the same class loader that have the same metadata content. Used by generated byte code. DO NOT REMOVE.
+     *
+     * @param generatedClass     The generated class loading the metadata
+     * @param key                The key computed from the metadata content
+     * @param annotationMetadata The metadata
+     * @return The shared metadata
+     * @since 4.8.0
+     */
+    @SuppressWarnings("unused")
+    @Internal
+    @UsedByGeneratedCode
+    @NonNull
+    public static AnnotationMetadata shareMetadata(Class<?> generatedClass, String key, AnnotationMetadata annotationMetadata) {
+        return AnnotationMetadataSupport.shareMetadata(generatedClass, key, annotationMetadata);
+    }
+
     /**
      * Registers repeatable annotations. Annotation container -> annotations item. Used by generated byte code. DO NOT REMOVE.
      *
@@ -79,6 +79,12 @@ public final class BeanProviderDefinition extends AbstractProviderDefinition<Bea
 
             @Override
             public Object get() {
+                if (finalQualifier == null) {
+                    Object bean = defaultBeanContext.findCachedSingleton(argument);
+                    if (bean != null) {
+                        return bean;
+                    }
+                }
                 return defaultBeanContext.getBean(resolutionContext.copy(), argument, finalQualifier);
             }
 
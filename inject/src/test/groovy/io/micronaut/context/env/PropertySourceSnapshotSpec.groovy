@@ -0,0 +1,222 @@
+package io.micronaut.context.env
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.yaml.YamlPropertySourceLoader
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class PropertySourceSnapshotSpec extends Specification {
+
+    @TempDir
+    Path dir
+
+    void cleanup() {
+        System.clearProperty(Environment.CONFIG_SNAPSHOT_PROPERTY)
+        PropertySourceSnapshot.SNAPSHOTS.clear()
+    }
+
+    void "test property sources are read from the snapshot written by a previous run"() {
+        given:
+        Path snapshot = dir.resolve("config.bin")
+        System.setProperty(Environment.CONFIG_SNAPSHOT_PROPERTY, snapshot.toString())
+        def yaml = '''\
+server:
+    port: 8080
+    ssl: true
+    ratio: 0.5
+    big: 92233720368547758070
+datasources:
+    default:
+        url: jdbc:h2:mem:devDb
+        hosts:
+            - one
+            - two
+        empty: {}
+        nothing: null
+'''
+        def loader = new CountingYamlLoader()
+
+        when:
+        def first = read(loader, yaml)
+
+        then:
+        loader.parsed == 1
+        !Files.exists(snapshot)
+
+        when:
+        PropertySourceSnapshot.get().write()
+        PropertySourceSnapshot.SNAPSHOTS.clear()
+        def second = read(loader, yaml)
+
+        then:
+        Files.exists(snapshot)
+        loader.parsed == 1
+        second == first
+        second['server.port'] == 8080
+        second['server.ssl'] == true
+        second['server.ratio'] == 0.5d
+        second['server.big'] == new BigInteger('92233720368547758070')
+        second['datasources.default.url'] == 'jdbc:h2:mem:devDb'
+        second['datasources.default.hosts'] == ['one', 'two']
+        second['datasources.default.empty'] == [:]
+        second.containsKey('datasources.default.nothing')
+        second.keySet().toList() == first.keySet().toList()
+
+        when:"the values are changed"
+        second.put('server.port', 9090)
+
+        then:"the snapshot is not affected"
+        read(loader, yaml)['server.port'] == 8080
+        loader.parsed == 1
+
+        when:"the content is changed"
+        def third = read(loader, yaml.replace('8080', '8081'))
+
+        then:
+        loader.parsed == 2
+        third['server.port'] == 8081
+    }
+
+    void "test the snapshot is only written when a property source was parsed"() {
+        given:
+        Path snapshot = dir.resolve("config.bin")
+        System.setProperty(Environment.CONFIG_SNAPSHOT_PROPERTY, snapshot.toString())
+        def loader = new CountingYamlLoader()
+
+        when:
+        read(loader, 'a: 1')
+        read(loader, 'b: 2')
+        PropertySourceSnapshot.get().write()
+        PropertySourceSnapshot.SNAPSHOTS.clear()
+        read(loader, 'a: 1')
+        read(loader, 'c: 3')
+        PropertySourceSnapshot.get().write()
+        PropertySourceSnapshot.SNAPSHOTS.clear()
+
+        then:
+        loader.parsed == 3
+        PropertySourceSnapshot.get().entries.size() == 2
+        PropertySourceSnapshot.get().find(PropertySourceSnapshot.key(loader, 'application', 'b: 2'.bytes)) == null
+
+        when:"nothing changed"
+        def modified = Files.getLastModifiedTime(snapshot)
+        read(loader, 'a: 1')
+        PropertySourceSnapshot.get().write()
+
+        then:
+        loader.parsed == 3
+        Files.getLastModifiedTime(snapshot) == modified
+        !PropertySourceSnapshot.get().modified
+    }
+
+    void "test the environment writes the snapshot"() {
+        given:
+        Path snapshot = dir.resolve("config.bin")
+        System.setProperty(Environment.CONFIG_SNAPSHOT_PROPERTY, snapshot.toString())
+        Files.writeString(dir.resolve("application.yml"), 'snapshot.value: one')
+
+        when:
+        def ctx = ApplicationContext.builder()
+                .overrideConfigLocations('file:' + dir)
+                .start()
+
+        then:
+        ctx.getProperty('snapshot.value', String).get() == 'one'
+        Files.exists(snapshot)
+
+        when:
+        PropertySourceSnapshot.SNAPSHOTS.clear()
+
+        then:
+        PropertySourceSnapshot.get().entries.keySet().any { it.startsWith(YamlPropertySourceLoader.name + ':application:') }
+
+        cleanup:
+        ctx?.close()
+    }
+
+    void "test a changed property source rewrites the snapshot"() {
+        given:
+        Path snapshot = dir.resolve("config.bin")
+        Path yaml = dir.resolve("application.yml")
+        System.setProperty(Environment.CONFIG_SNAPSHOT_PROPERTY, snapshot.toString())
+        def loader = new YamlPropertySourceLoader()
+        Files.writeString(yaml, 'snapshot.value: one')
+
+        when:
+        def ctx = ApplicationContext.builder()
+                .overrideConfigLocations('file:' + dir)
+                .start()
+        ctx.close()
+
+        then:"the environment released the snapshot"
+        PropertySourceSnapshot.SNAPSHOTS.isEmpty()
+        new PropertySourceSnapshot(snapshot).entries.containsKey(PropertySourceSnapshot.key(loader, 'application', 'snapshot.value: one'.bytes))
+
+        when:
+        Files.writeString(yaml, 'snapshot.value: two')
+        ctx = ApplicationContext.builder()
+                .overrideConfigLocations('file:' + dir)
+                .start()
+        def entries = new PropertySourceSnapshot(snapshot).entries
+
+        then:"the changed source replaces its entry"
+        ctx.getProperty('snapshot.value', String).get() == 'two'
+        entries.containsKey(PropertySourceSnapshot.key(loader, 'application', 'snapshot.value: two'.bytes))
+        !entries.containsKey(PropertySourceSnapshot.key(loader, 'application', 'snapshot.value: one'.bytes))
+        PropertySourceSnapshot.SNAPSHOTS.isEmpty()
+
+        when:"the next environment only uses the entries it reads"
+        ctx.close()
+        Files.writeString(yaml, 'snapshot.value: three')
+        ctx = ApplicationContext.builder()
+                .overrideConfigLocations('file:' + dir)
+                .start()
+        entries = new PropertySourceSnapshot(snapshot).entries
+
+        then:
+        ctx.getProperty('snapshot.value', String).get() == 'three'
+        entries.containsKey(PropertySourceSnapshot.key(loader, 'application', 'snapshot.value: three'.bytes))
+        !entries.containsKey(PropertySourceSnapshot.key(loader, 'application', 'snapshot.value: two'.bytes))
+
+        cleanup:
+        ctx?.close()
+    }
+
+    void "test a property source with unsupported values is not added to the snapshot"() {
+        given:
+        PropertySourceSnapshot snapshot = new PropertySourceSnapshot(dir.resolve("config.bin"))
+
+        when:
+        snapshot.store('key', [value: new Object()])
+
+        then:
+        snapshot.find('key') == null
+        !snapshot.modified
+    }
+
+    void "test an invalid snapshot is ignored"() {
+        given:
+        Path path = dir.resolve("config.bin")
+        Files.writeString(path, 'not a snapshot')
+
+        expect:
+        new PropertySourceSnapshot(path).entries.isEmpty()
+    }
+
+    private static Map<String, Object> read(PropertySourceLoader loader, String content) {
+        return loader.read('application', new ByteArrayInputStream(content.bytes))
+    }
+
+    static class CountingYamlLoader extends YamlPropertySourceLoader {
+        int parsed
+
+        @Override
+        protected void processInput(String name, InputStream input, Map<String, Object> finalMap) {
+            parsed++
+            super.processInput(name, input, finalMap)
+        }
+    }
+}
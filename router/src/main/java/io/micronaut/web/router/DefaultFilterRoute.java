@@ -184,20 +184,34 @@ final class DefaultFilterRoute implements FilterRoute {
 
     @Override
     public Optional<GenericHttpFilter> match(HttpMethod method, String path) {
+        if (matchesPath(method, path)) {
+            GenericHttpFilter filter = getFilter();
+            if (!GenericHttpFilter.isEnabled(filter)) {
+                return Optional.empty();
+            }
+            return Optional.of(filter);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Matches the method and the path regardless of whether the filter is enabled.
+     *
+     * @param method The method
+     * @param path   The path
+     * @return Whether the method and the path match
+     */
+    boolean matchesPath(HttpMethod method, String path) {
         if (httpMethods != null && !httpMethods.contains(method)) {
-            return Optional.empty();
+            return false;
         }
         PathMatcher matcher = getPatternStyle().getPathMatcher();
         for (String pattern : patterns) {
             if (matcher.matches(pattern, path)) {
-                GenericHttpFilter filter = getFilter();
-                if (!GenericHttpFilter.isEnabled(filter)) {
-                    return Optional.empty();
-                }
-                return Optional.of(filter);
+                return true;
             }
         }
-        return Optional.empty();
+        return false;
     }
 
     @Override
@@ -51,6 +51,8 @@ import java.util.concurrent.ExecutorService;
 @Internal
 public class DefaultRouteInfo<R> implements RouteInfo<R> {
 
+    private static final long ALL_TYPE_BIT = MediaType.ALL_TYPE.internedBit();
+
     protected final ReturnType<? extends R> returnType;
     protected final List<MediaType> consumesMediaTypes;
     protected final List<MediaType> producesMediaTypes;
@@ -74,6 +76,8 @@ public class DefaultRouteInfo<R> implements RouteInfo<R> {
     private final boolean isErrorRoute;
     private final boolean isPermitsBody;
     private final MessageBodyWriter<R> messageBodyWriter;
+    private final long consumesMask;
+    private final long producesMask;
 
     public DefaultRouteInfo(ReturnType<? extends R> returnType,
                             Class<?> declaringType,
@@ -146,6 +150,8 @@ public class DefaultRouteInfo<R> implements RouteInfo<R> {
             this.consumesMediaTypes = consumesMediaTypes;
             consumesMediaTypesContainsAll = this.consumesMediaTypes.contains(MediaType.ALL_TYPE);
         }
+        this.consumesMask = MediaType.mask(this.consumesMediaTypes);
+        this.producesMask = MediaType.mask(this.producesMediaTypes);
         this.imperative =
             (returnType.getType() == void.class && !suspended)
             || !suspended
@@ -243,7 +249,7 @@ public class DefaultRouteInfo<R> implements RouteInfo<R> {
 
     @Override
     public boolean doesProduce(@Nullable MediaType acceptableType) {
-        return producesMediaTypesContainsAll || acceptableType == null || acceptableType.equals(MediaType.ALL_TYPE) || producesMediaTypes.contains(acceptableType);
+        return producesMediaTypesContainsAll || acceptableType == null || acceptableType.internedBit() == ALL_TYPE_BIT || contains(producesMediaTypes, producesMask, acceptableType);
     }
 
     private boolean anyMediaTypesMatch(List<MediaType> producedMediaTypes, Collection<MediaType> acceptableTypes) {
@@ -251,21 +257,38 @@ public class DefaultRouteInfo<R> implements RouteInfo<R> {
             return true;
         }
         for (MediaType acceptableType : acceptableTypes) {
-            if (acceptableType.equals(MediaType.ALL_TYPE) || producedMediaTypes.contains(acceptableType)) {
+            if (acceptableType.internedBit() == ALL_TYPE_BIT || contains(producedMediaTypes, producesMask, acceptableType)) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Check if the media types contain the given media type, using the mask of the media types for
+     * common media types.
+     *
+     * @param mediaTypes The media types
+     * @param mask       The mask of the media types
+     * @param mediaType  The media type
+     * @return True if the media types contain the media type
+     */
+    private static boolean contains(List<MediaType> mediaTypes, long mask, MediaType mediaType) {
+        long bit = mediaType.internedBit();
+        if (bit != 0) {
+            return (mask & bit) != 0;
+        }
+        return mediaTypes.contains(mediaType);
+    }
+
     @Override
     public boolean explicitlyConsumes(MediaType contentType) {
-        return consumesMediaTypes.contains(contentType);
+        return contentType != null && contains(consumesMediaTypes, consumesMask, contentType);
     }
 
     @Override
     public boolean explicitlyProduces(MediaType contentType) {
-        return producesMediaTypes == null || producesMediaTypes.isEmpty() || producesMediaTypes.contains(contentType);
+        return producesMediaTypes == null || producesMediaTypes.isEmpty() || contentType != null && contains(producesMediaTypes, producesMask, contentType);
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package io.micronaut.web.router;
 
+import io.micronaut.context.BeanContext;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.order.OrderUtil;
@@ -40,6 +41,7 @@ import jakarta.inject.Singleton;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
@@ -50,12 +52,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
  * <p>The default {@link Router} implementation. This implementation does not perform any additional caching of
- * route discovery.</p>
+ * route discovery. The candidate routes can optionally be narrowed down using a segment index that is computed
+ * at startup, see {@link RouterConfiguration#isRouteIndex()}. The index is always used when a
+ * {@link StaticRouteMatcher} was generated at compilation time.</p>
+ *
+ * <p>Paths that don't match any route can be remembered in a bounded cache, see
+ * {@link RouterConfiguration#getNotFoundCacheSize()}.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -67,8 +75,15 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
 
     private final EnumMap<HttpMethod, UriRouteInfo<Object, Object>[]> methodRoutesByMethod;
     private final Map<String, UriRouteInfo<Object, Object>[]> allRoutesByMethod;
+    @Nullable
+    private final EnumMap<HttpMethod, UriRouteIndex> methodRouteIndexes;
+    @Nullable
+    private final Map<String, UriRouteIndex> allRouteIndexes;
     private final StatusRouteInfo<Object, Object>[] statusRoutes;
     private final ErrorRouteInfo<Object, Object>[] errorRoutes;
+    private final BitSet statusRouteCodes = new BitSet();
+    @Nullable
+    private final NotFoundCache notFoundCache;
     private final Set<Integer> exposedPorts;
     @Nullable
     private Set<Integer> ports;
@@ -79,6 +94,7 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     // ArrayList to avoid interface checkcast
     private final Supplier<ArrayList<GenericHttpFilter>> alwaysMatchesHttpFilters;
     private final Supplier<ArrayList<GenericHttpFilter>> preMatchingAlwaysMatchesHttpFilters;
+    private final Map<UriRouteInfo<?, ?>, RouteFilters> routeFilters = new ConcurrentHashMap<>();
 
     /**
      * Construct a new router for the given route builders.
@@ -94,8 +110,35 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
      *
      * @param builders The builders
      */
-    @Inject
     public DefaultRouter(Collection<RouteBuilder> builders) {
+        this(builders, new RouterConfiguration());
+    }
+
+    /**
+     * Construct a new router for the given route builders.
+     *
+     * @param builders      The builders
+     * @param configuration The router configuration
+     * @since 4.8.0
+     */
+    public DefaultRouter(Collection<RouteBuilder> builders, RouterConfiguration configuration) {
+        this(builders, configuration, DefaultRouter.class.getClassLoader());
+    }
+
+    /**
+     * Construct a new router for the given route builders.
+     *
+     * @param builders      The builders
+     * @param configuration The router configuration
+     * @param beanContext   The bean context to load the generated route matcher from
+     * @since 4.8.0
+     */
+    @Inject
+    public DefaultRouter(Collection<RouteBuilder> builders, RouterConfiguration configuration, BeanContext beanContext) {
+        this(builders, configuration, beanContext.getClassLoader());
+    }
+
+    private DefaultRouter(Collection<RouteBuilder> builders, RouterConfiguration configuration, ClassLoader classLoader) {
         Set<Integer> exposedPorts = new HashSet<>(5);
         Map<String, List<UriRouteInfo<Object, Object>>> customRoutesByMethod = new HashMap<>();
         EnumMap<HttpMethod, List<UriRouteInfo<Object, Object>>> routesByMethod = new EnumMap<>(HttpMethod.class);
@@ -167,7 +210,30 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         }
         this.methodRoutesByMethod = methodMap;
         this.allRoutesByMethod = customMethodMap;
+        StaticRouteMatcher staticRouteMatcher = StaticRouteMatcher.load(classLoader);
+        if (configuration.isRouteIndex() || staticRouteMatcher != null) {
+            EnumMap<HttpMethod, UriRouteIndex> methodIndexes = new EnumMap<>(HttpMethod.class);
+            Map<String, UriRouteIndex> allIndexes = CollectionUtils.newHashMap(customMethodMap.size());
+            for (Map.Entry<String, UriRouteInfo<Object, Object>[]> e : customMethodMap.entrySet()) {
+                allIndexes.put(e.getKey(), new UriRouteIndex(e.getValue(), staticRouteMatcher));
+            }
+            for (HttpMethod httpMethod : methodMap.keySet()) {
+                methodIndexes.put(httpMethod, allIndexes.get(httpMethod.name()));
+            }
+            this.methodRouteIndexes = methodIndexes;
+            this.allRouteIndexes = allIndexes;
+        } else {
+            this.methodRouteIndexes = null;
+            this.allRouteIndexes = null;
+        }
         this.statusRoutes = statusRoutes.toArray(StatusRouteInfo[]::new);
+        for (StatusRouteInfo<Object, Object> statusRoute : this.statusRoutes) {
+            int statusCode = statusRoute.statusCode();
+            if (statusCode >= 0) {
+                statusRouteCodes.set(statusCode);
+            }
+        }
+        this.notFoundCache = configuration.getNotFoundCacheSize() > 0 ? new NotFoundCache(configuration.getNotFoundCacheSize()) : null;
         this.errorRoutes = errorRoutes.toArray(ErrorRouteInfo[]::new);
         this.alwaysMatchesHttpFilters = SupplierUtil.memoized(() -> {
             if (alwaysMatchesFilterRoutes.isEmpty()) {
@@ -218,26 +284,63 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @Override
     public void applyDefaultPorts(List<Integer> ports) {
         this.ports = new HashSet<>(ports);
+        if (notFoundCache != null) {
+            // the paths were matched against the routes of the previous ports
+            notFoundCache.clear();
+        }
+    }
+
+    /**
+     * @return The number of requests that skipped the route matching because the path is known to match no route
+     * @since 4.8.0
+     */
+    public long getNotFoundCacheHits() {
+        return notFoundCache != null ? notFoundCache.hits() : 0;
+    }
+
+    /**
+     * @return The number of lookups of a path that isn't known to match no route
+     * @since 4.8.0
+     */
+    public long getNotFoundCacheMisses() {
+        return notFoundCache != null ? notFoundCache.misses() : 0;
+    }
+
+    /**
+     * @return The number of remembered paths that match no route
+     * @since 4.8.0
+     */
+    public int getNotFoundCacheSize() {
+        return notFoundCache != null ? notFoundCache.size() : 0;
     }
 
     @NonNull
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> find(@NonNull HttpRequest<?> request, @NonNull CharSequence uri) {
-        return this.<T, R>toMatches(uri.toString(), findInternal(request)).stream();
+        String path = uri.toString();
+        if (isNotFound(path)) {
+            return Stream.empty();
+        }
+        return this.<T, R>toMatches(path, findInternal(request, path)).stream();
     }
 
     @NonNull
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> find(@NonNull HttpRequest<?> request) {
-        return this.<T, R>toMatches(request.getPath(), findInternal(request)).stream();
+        String path = request.getPath();
+        if (isNotFound(path)) {
+            return Stream.empty();
+        }
+        return this.<T, R>toMatches(path, findInternal(request, path)).stream();
     }
 
     @NonNull
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> find(@NonNull HttpMethod httpMethod, @NonNull CharSequence uri, @Nullable HttpRequest<?> context) {
+        String path = uri.toString();
         return this.<T, R>toMatches(
-                uri.toString(),
-            allRoutesByMethod.getOrDefault(httpMethod.name(), EMPTY)
+            path,
+            routesByMethodName(httpMethod.name(), path)
         ).stream();
     }
 
@@ -252,11 +355,14 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
 
     @Override
     public <T, R> UriRouteMatch<T, R> findClosest(@NonNull HttpRequest<?> request) throws DuplicateRouteException {
-        List<UriRouteInfo<Object, Object>> routes = findInternal(request);
+        String path = request.getPath();
+        if (isNotFound(path)) {
+            return null;
+        }
+        List<UriRouteInfo<Object, Object>> routes = findInternal(request, path);
         if (routes.isEmpty()) {
             return null;
         }
-        String path = request.getPath();
         if (routes.size() == 1) {
             Object o = routes.iterator().next();
             // avoid type pollution perf issues
@@ -285,11 +391,15 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> List<UriRouteMatch<T, R>> findAllClosest(@NonNull HttpRequest<?> request) {
-        List<UriRouteInfo<Object, Object>> routes = findInternal(request);
+        String path = request.getPath();
+        if (isNotFound(path)) {
+            return Collections.emptyList();
+        }
+        List<UriRouteInfo<Object, Object>> routes = findInternal(request, path);
         if (routes.isEmpty()) {
             return Collections.emptyList();
         }
-        List<UriRouteMatch<T, R>> uriRoutes = toMatches(request.getPath(), routes);
+        List<UriRouteMatch<T, R>> uriRoutes = toMatches(path, routes);
         if (uriRoutes.size() == 1) {
             return uriRoutes;
         }
@@ -401,8 +511,9 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> Optional<UriRouteMatch<T, R>> route(@NonNull HttpMethod httpMethod, @NonNull CharSequence uri) {
-        for (UriRouteInfo<Object, Object> uriRouteInfo : methodRoutesByMethod.getOrDefault(httpMethod, EMPTY)) {
-            Optional<UriRouteMatch<Object, Object>> match = uriRouteInfo.match(uri.toString());
+        String path = uri.toString();
+        for (UriRouteInfo<Object, Object> uriRouteInfo : routesByMethod(httpMethod, path)) {
+            Optional<UriRouteMatch<Object, Object>> match = uriRouteInfo.match(path);
             if (match.isPresent()) {
                 return (Optional) match;
             }
@@ -529,6 +640,10 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     }
 
     private <R> Optional<RouteMatch<R>> findStatusInternal(@Nullable Class<?> originatingClass, int status, HttpRequest<?> request) {
+        if (status < 0 || !statusRouteCodes.get(status)) {
+            // no route handles the status, e.g. the common case of a not found request
+            return Optional.empty();
+        }
         Collection<MediaType> accept = request.accept();
         final boolean hasAcceptHeader = CollectionUtils.isNotEmpty(accept);
         if (hasAcceptHeader) {
@@ -590,11 +705,15 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
             ArrayList<GenericHttpFilter> always = alwaysMatchesHttpFilters.get();
             return always;
         }
-        var httpFilters = new ArrayList<GenericHttpFilter>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
-        httpFilters.addAll(alwaysMatchesHttpFilters.get());
         var routeMatch = (RouteMatch) request.getAttribute(HttpAttributes.ROUTE_MATCH)
             .filter(o -> o instanceof RouteMatch)
             .orElse(null);
+        List<GenericHttpFilter> precomputed = findRouteFilters(request, routeMatch);
+        if (precomputed != null) {
+            return precomputed;
+        }
+        var httpFilters = new ArrayList<GenericHttpFilter>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
+        httpFilters.addAll(alwaysMatchesHttpFilters.get());
         HttpMethod method = request.getMethod();
         String path = request.getPath();
         for (FilterRoute filterRoute : preconditionFilterRoutes) {
@@ -618,6 +737,10 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
             ArrayList<GenericHttpFilter> always = alwaysMatchesHttpFilters.get();
             return always;
         }
+        List<GenericHttpFilter> precomputed = findRouteFilters(request, routeMatch);
+        if (precomputed != null) {
+            return precomputed;
+        }
         var httpFilters = new ArrayList<GenericHttpFilter>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
         httpFilters.addAll(alwaysMatchesHttpFilters.get());
         HttpMethod method = request.getMethod();
@@ -656,15 +779,21 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> findAny(@NonNull CharSequence uri, @Nullable HttpRequest<?> request) {
-        var matchedRoutes = new ArrayList<UriRouteMatch<T, R>>(5);
         final String uriStr = uri.toString();
-        for (UriRouteInfo<Object, Object>[] routes : allRoutesByMethod.values()) {
-            for (UriRouteInfo<Object, Object> route : routes) {
+        if (isNotFound(uriStr)) {
+            return Stream.empty();
+        }
+        var matchedRoutes = new ArrayList<UriRouteMatch<T, R>>(5);
+        boolean skipped = false;
+        for (String httpMethodName : allRoutesByMethod.keySet()) {
+            for (UriRouteInfo<Object, Object> route : routesByMethodName(httpMethodName, uriStr)) {
                 if (request != null) {
                     if (shouldSkipForPort(request, route)) {
+                        skipped = true;
                         continue;
                     }
                     if (!route.matching(request)) {
+                        skipped = true;
                         continue;
                     }
                 }
@@ -674,6 +803,9 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
                 }
             }
         }
+        if (matchedRoutes.isEmpty() && !skipped) {
+            notFound(uriStr);
+        }
         return matchedRoutes.stream();
     }
 
@@ -681,13 +813,19 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     public <T, R> List<UriRouteMatch<T, R>> findAny(@NonNull HttpRequest<?> request) {
         String path = request.getPath();
+        if (isNotFound(path)) {
+            return Collections.emptyList();
+        }
         var matchedRoutes = new ArrayList<UriRouteMatch<T, R>>(5);
-        for (UriRouteInfo<Object, Object>[] routes : allRoutesByMethod.values()) {
-            for (UriRouteInfo<Object, Object> route : routes) {
+        boolean skipped = false;
+        for (String httpMethodName : allRoutesByMethod.keySet()) {
+            for (UriRouteInfo<Object, Object> route : routesByMethodName(httpMethodName, path)) {
                 if (shouldSkipForPort(request, route)) {
+                    skipped = true;
                     continue;
                 }
                 if (!route.matching(request)) {
+                    skipped = true;
                     continue;
                 }
                 UriRouteMatch match = route.tryMatch(path);
@@ -696,16 +834,35 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
                 }
             }
         }
+        if (matchedRoutes.isEmpty() && !skipped) {
+            notFound(path);
+        }
         return matchedRoutes;
     }
 
-    private List<UriRouteInfo<Object, Object>> findInternal(HttpRequest<?> request) {
+    private boolean isNotFound(String path) {
+        return notFoundCache != null && notFoundCache.isNotFound(path);
+    }
+
+    /**
+     * Remember a path that was matched against every route without any match. Only called if no route
+     * was skipped because of the request, so the path doesn't match any route for any request.
+     *
+     * @param path The path
+     */
+    private void notFound(String path) {
+        if (notFoundCache != null) {
+            notFoundCache.notFound(path);
+        }
+    }
+
+    private List<UriRouteInfo<Object, Object>> findInternal(HttpRequest<?> request, String path) {
         HttpMethod httpMethod = request.getMethod();
         boolean permitsBody = httpMethod.permitsRequestBody();
         Collection<MediaType> acceptedProducedTypes = null;
         MediaType contentType = null;
         UriRouteInfo<Object, Object>[] routes = httpMethod == HttpMethod.CUSTOM ?
-            allRoutesByMethod.getOrDefault(request.getMethodName(), EMPTY) : methodRoutesByMethod.getOrDefault(httpMethod, EMPTY);
+            routesByMethodName(request.getMethodName(), path) : routesByMethod(httpMethod, path);
         if (routes.length == 0) {
             return Collections.emptyList();
         }
@@ -743,6 +900,36 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         return result;
     }
 
+    /**
+     * Resolve the routes of the method that can match the given path.
+     *
+     * @param httpMethod The method
+     * @param path       The path
+     * @return The candidate routes
+     */
+    private UriRouteInfo<Object, Object>[] routesByMethod(HttpMethod httpMethod, String path) {
+        if (methodRouteIndexes != null) {
+            UriRouteIndex index = methodRouteIndexes.get(httpMethod);
+            return index == null ? EMPTY : index.find(path);
+        }
+        return methodRoutesByMethod.getOrDefault(httpMethod, EMPTY);
+    }
+
+    /**
+     * Resolve the routes of the method that can match the given path.
+     *
+     * @param httpMethodName The method name
+     * @param path           The path
+     * @return The candidate routes
+     */
+    private UriRouteInfo<Object, Object>[] routesByMethodName(String httpMethodName, String path) {
+        if (allRouteIndexes != null) {
+            UriRouteIndex index = allRouteIndexes.get(httpMethodName);
+            return index == null ? EMPTY : index.find(path);
+        }
+        return allRoutesByMethod.getOrDefault(httpMethodName, EMPTY);
+    }
+
     private boolean shouldSkipForPort(HttpRequest<?> request, UriRouteInfo<Object, Object> route) {
         if (ports == null || route.getPort() != null) {
             return false;
@@ -834,6 +1021,28 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         return Collections.unmodifiableList(httpFilters);
     }
 
+    /**
+     * Find the filters precomputed for the matched route.
+     *
+     * @param request    The request
+     * @param routeMatch The route match
+     * @return The filters or null if the filters of the route can't be precomputed
+     */
+    @Nullable
+    private List<GenericHttpFilter> findRouteFilters(HttpRequest<?> request, @Nullable RouteMatch<?> routeMatch) {
+        if (routeMatch == null || !(routeMatch.getRouteInfo() instanceof DefaultUrlRouteInfo<?, ?> routeInfo)) {
+            return null;
+        }
+        RouteFilters filters = routeFilters.get(routeInfo);
+        if (filters == null) {
+            filters = routeFilters.computeIfAbsent(routeInfo, r -> RouteFilters.of(routeInfo, alwaysMatchesHttpFilters.get(), preconditionFilterRoutes));
+        }
+        if (!filters.supports(request.getMethod())) {
+            return null;
+        }
+        return filters.resolve(request.getPath());
+    }
+
     private boolean matchesFilterMatcher(FilterRoute filterRoute, RouteMatch<?> context) {
         String matchingAnnotation = filterRoute.findMatchingAnnotation();
         if (matchingAnnotation == null) {
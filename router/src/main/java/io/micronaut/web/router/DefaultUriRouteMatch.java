@@ -41,6 +41,7 @@ public final class DefaultUriRouteMatch<T, R> extends AbstractRouteMatch<T, R> i
     private final UriMatchInfo matchInfo;
     private final UriRouteInfo<T, R> uriRouteInfo;
     private final Charset defaultCharset;
+    private Map<String, Object> decodedVariableValues;
 
     /**
      * @param matchInfo The URI match info
@@ -65,18 +66,40 @@ public final class DefaultUriRouteMatch<T, R> extends AbstractRouteMatch<T, R> i
 
     @Override
     public Map<String, Object> getVariableValues() {
-        Map<String, Object> variables = matchInfo.getVariableValues();
-        if (CollectionUtils.isNotEmpty(variables)) {
-            Map<String, Object> decoded = CollectionUtils.newLinkedHashMap(variables.size());
-            variables.forEach((k, v) -> {
-                if (v instanceof CharSequence) {
-                    v = URLDecoder.decode(v.toString(), defaultCharset);
+        Map<String, Object> decoded = decodedVariableValues;
+        if (decoded == null) {
+            decoded = decodeVariableValues(matchInfo.getVariableValues());
+            decodedVariableValues = decoded;
+        }
+        return decoded;
+    }
+
+    private Map<String, Object> decodeVariableValues(Map<String, Object> variables) {
+        if (CollectionUtils.isEmpty(variables) || !requiresDecoding(variables)) {
+            return variables;
+        }
+        Map<String, Object> decoded = CollectionUtils.newLinkedHashMap(variables.size());
+        variables.forEach((k, v) -> {
+            if (v instanceof CharSequence) {
+                v = URLDecoder.decode(v.toString(), defaultCharset);
+            }
+            decoded.put(k, v);
+        });
+        return decoded;
+    }
+
+    private static boolean requiresDecoding(Map<String, Object> variables) {
+        for (Object value : variables.values()) {
+            if (value instanceof CharSequence cs) {
+                for (int i = 0; i < cs.length(); i++) {
+                    char c = cs.charAt(i);
+                    if (c == '%' || c == '+') {
+                        return true;
+                    }
                 }
-                decoded.put(k, v);
-            });
-            return decoded;
+            }
         }
-        return variables;
+        return false;
     }
 
     @Override
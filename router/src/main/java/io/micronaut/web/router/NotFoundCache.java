@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of the paths that don't match the URI template of any route, regardless of the
+ * HTTP method. The routes of a router never change, so a cached path stays unmatched until the
+ * cache is cleared or the entry is evicted.
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class NotFoundCache {
+
+    private final Map<String, Boolean> paths;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maximumSize The maximum number of cached paths
+     */
+    NotFoundCache(int maximumSize) {
+        this.paths = new ConcurrentLinkedHashMap.Builder<String, Boolean>()
+            .maximumWeightedCapacity(maximumSize)
+            .build();
+    }
+
+    /**
+     * @param path The request path
+     * @return Whether the path is known to match no route
+     */
+    boolean isNotFound(String path) {
+        if (paths.isEmpty()) {
+            return false;
+        }
+        // get instead of containsKey to keep the frequently requested paths in the cache
+        if (paths.get(path) != null) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Record a path that matches no route.
+     *
+     * @param path The request path
+     */
+    void notFound(String path) {
+        paths.putIfAbsent(path, Boolean.TRUE);
+    }
+
+    /**
+     * Remove all the cached paths.
+     */
+    void clear() {
+        paths.clear();
+    }
+
+    /**
+     * @return The number of lookups of a cached path
+     */
+    long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups of a path that wasn't cached
+     */
+    long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of cached paths
+     */
+    int size() {
+        return paths.size();
+    }
+}
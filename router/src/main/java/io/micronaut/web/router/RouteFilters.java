@@ -0,0 +1,249 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.FilterPatternStyle;
+import io.micronaut.http.filter.FilterRunner;
+import io.micronaut.http.filter.GenericHttpFilter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The filters of a route, precomputed from the URI template and the HTTP method of the route.
+ *
+ * <p>A filter with a {@link io.micronaut.http.annotation.FilterMatcher} annotation is resolved once
+ * from the route annotations. A filter pattern is resolved once if the template is literal, or if
+ * the literal prefix of the template is enough to decide whether an ant-style pattern matches.
+ * Any other filter is still matched against the request path.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class RouteFilters {
+
+    private static final int NO_MATCH = 0;
+    private static final int MATCH = 1;
+    private static final int DYNAMIC = 2;
+
+    private final HttpMethod httpMethod;
+    @NonNull
+    private final List<GenericHttpFilter> alwaysMatchesFilters;
+    private final FilterRoute[] candidates;
+    private final boolean[] dynamic;
+    private final List<GenericHttpFilter> staticFilters;
+
+    private RouteFilters(HttpMethod httpMethod,
+                         List<GenericHttpFilter> alwaysMatchesFilters,
+                         FilterRoute[] candidates,
+                         boolean[] dynamic,
+                         List<GenericHttpFilter> staticFilters) {
+        this.httpMethod = httpMethod;
+        this.alwaysMatchesFilters = alwaysMatchesFilters;
+        this.candidates = candidates;
+        this.dynamic = dynamic;
+        this.staticFilters = staticFilters;
+    }
+
+    /**
+     * Precompute the filters of a route.
+     *
+     * @param route                The route
+     * @param alwaysMatchesFilters The sorted filters matching every request
+     * @param filterRoutes         The filter routes with conditions
+     * @return The route filters
+     */
+    static RouteFilters of(DefaultUrlRouteInfo<?, ?> route,
+                           List<GenericHttpFilter> alwaysMatchesFilters,
+                           List<FilterRoute> filterRoutes) {
+        HttpMethod httpMethod = route.getHttpMethod();
+        String template = route.getUriMatchTemplate().getTemplateString();
+        List<FilterRoute> candidates = new ArrayList<>(filterRoutes.size());
+        List<Boolean> dynamic = new ArrayList<>(filterRoutes.size());
+        List<GenericHttpFilter> staticFilters = new ArrayList<>(alwaysMatchesFilters);
+        boolean anyDynamic = false;
+        for (FilterRoute filterRoute : filterRoutes) {
+            String matchingAnnotation = filterRoute.findMatchingAnnotation();
+            if (matchingAnnotation != null && !route.getAnnotationMetadata().hasStereotype(matchingAnnotation)) {
+                continue;
+            }
+            boolean toggleable = GenericHttpFilter.isToggleable(filterRoute.getFilter());
+            if (toggleable && !(filterRoute instanceof DefaultFilterRoute)) {
+                // The match of a disabled filter can't be told apart from a path that doesn't match
+                candidates.add(filterRoute);
+                dynamic.add(true);
+                anyDynamic = true;
+                continue;
+            }
+            int match = match(filterRoute, httpMethod, template);
+            if (match == NO_MATCH) {
+                continue;
+            }
+            if (match == MATCH && toggleable) {
+                // Legacy filters can be toggled at runtime
+                match = DYNAMIC;
+            }
+            candidates.add(filterRoute);
+            dynamic.add(match == DYNAMIC);
+            if (match == DYNAMIC) {
+                anyDynamic = true;
+            } else {
+                staticFilters.add(filterRoute.getFilter());
+            }
+        }
+        boolean[] dynamicArray = new boolean[dynamic.size()];
+        for (int i = 0; i < dynamicArray.length; i++) {
+            dynamicArray[i] = dynamic.get(i);
+        }
+        List<GenericHttpFilter> filters = null;
+        if (!anyDynamic) {
+            FilterRunner.sort(staticFilters);
+            filters = Collections.unmodifiableList(staticFilters);
+        }
+        return new RouteFilters(httpMethod, alwaysMatchesFilters, candidates.toArray(new FilterRoute[0]), dynamicArray, filters);
+    }
+
+    /**
+     * @param method The request method
+     * @return Whether the precomputed filters can be used for a request with the given method
+     */
+    boolean supports(HttpMethod method) {
+        return method == httpMethod && method != HttpMethod.CUSTOM;
+    }
+
+    /**
+     * Resolve the filters of a request to the route.
+     *
+     * @param path The request path
+     * @return The sorted filters
+     */
+    List<GenericHttpFilter> resolve(String path) {
+        if (staticFilters != null) {
+            return staticFilters;
+        }
+        var httpFilters = new ArrayList<GenericHttpFilter>(alwaysMatchesFilters.size() + candidates.length);
+        httpFilters.addAll(alwaysMatchesFilters);
+        for (int i = 0; i < candidates.length; i++) {
+            FilterRoute filterRoute = candidates[i];
+            if (dynamic[i]) {
+                filterRoute.match(httpMethod, path).ifPresent(httpFilters::add);
+            } else {
+                httpFilters.add(filterRoute.getFilter());
+            }
+        }
+        FilterRunner.sort(httpFilters);
+        return Collections.unmodifiableList(httpFilters);
+    }
+
+    private static int match(FilterRoute filterRoute, HttpMethod httpMethod, String template) {
+        if (filterRoute.hasMethods() && !filterRoute.getFilterMethods().contains(httpMethod)) {
+            return NO_MATCH;
+        }
+        int variable = template.indexOf('{');
+        if (variable == -1) {
+            // The path can only be the template, with an optional trailing slash
+            boolean matches = matchesPath(filterRoute, httpMethod, template);
+            if (matches != matchesPath(filterRoute, httpMethod, template + '/')) {
+                return DYNAMIC;
+            }
+            if (template.length() <= 1 && matches != matchesPath(filterRoute, httpMethod, "")) {
+                return DYNAMIC;
+            }
+            return matches ? MATCH : NO_MATCH;
+        }
+        if (!(filterRoute instanceof DefaultFilterRoute) || filterRoute.getPatternStyle() != FilterPatternStyle.ANT) {
+            return DYNAMIC;
+        }
+        // Every path matching the template starts with the literal prefix
+        String prefix = template.substring(0, variable);
+        if (!isNormalized(prefix)) {
+            return DYNAMIC;
+        }
+        int result = NO_MATCH;
+        for (String pattern : filterRoute.getPatterns()) {
+            int match = matchPrefix(pattern, prefix);
+            if (match == MATCH) {
+                return MATCH;
+            }
+            if (match == DYNAMIC) {
+                result = DYNAMIC;
+            }
+        }
+        return result;
+    }
+
+    private static boolean matchesPath(FilterRoute filterRoute, HttpMethod httpMethod, String path) {
+        if (filterRoute instanceof DefaultFilterRoute defaultFilterRoute) {
+            // Ignore whether a toggleable filter is currently enabled
+            return defaultFilterRoute.matchesPath(httpMethod, path);
+        }
+        return filterRoute.match(httpMethod, path).isPresent();
+    }
+
+    private static int matchPrefix(String pattern, String prefix) {
+        if (Filter.MATCH_ALL_PATTERN.equals(pattern)) {
+            return MATCH;
+        }
+        int wildcard = firstWildcard(pattern);
+        String literal = wildcard == -1 ? pattern : pattern.substring(0, wildcard);
+        if (!isNormalized(literal)) {
+            return DYNAMIC;
+        }
+        if (pattern.endsWith("/**") && wildcard == pattern.length() - 2 && prefix.startsWith(literal)) {
+            // "/api/**" matches everything under "/api/"
+            return MATCH;
+        }
+        int length = Math.min(literal.length(), prefix.length());
+        if (!literal.regionMatches(0, prefix, 0, length)) {
+            return NO_MATCH;
+        }
+        return DYNAMIC;
+    }
+
+    private static int firstWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The ant matcher ignores empty and trims path elements, the analysis only supports plain paths.
+     *
+     * @param path The path
+     * @return Whether the path is absolute without empty elements or whitespaces
+     */
+    private static boolean isNormalized(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (Character.isWhitespace(c) || c == '/' && i > 0 && path.charAt(i - 1) == '/') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
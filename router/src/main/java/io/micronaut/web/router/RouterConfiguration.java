@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * Configuration for the {@link DefaultRouter}.
+ *
+ * @since 4.8.0
+ */
+@ConfigurationProperties(RouterConfiguration.PREFIX)
+public class RouterConfiguration {
+
+    /**
+     * The prefix for router configuration.
+     */
+    public static final String PREFIX = "micronaut.router";
+
+    /**
+     * The default route index value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ROUTE_INDEX = false;
+
+    /**
+     * The default not found cache size.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_NOT_FOUND_CACHE_SIZE = 0;
+
+    private boolean routeIndex = DEFAULT_ROUTE_INDEX;
+    private int notFoundCacheSize = DEFAULT_NOT_FOUND_CACHE_SIZE;
+
+    /**
+     * @return Whether the router should look up candidate routes using a precomputed segment index
+     */
+    public boolean isRouteIndex() {
+        return routeIndex;
+    }
+
+    /**
+     * Whether the router should look up candidate routes using a segment index that is precomputed at
+     * startup instead of matching every route of the request method. Default value ({@value #DEFAULT_ROUTE_INDEX}).
+     *
+     * @param routeIndex True if the route index should be used
+     */
+    public void setRouteIndex(boolean routeIndex) {
+        this.routeIndex = routeIndex;
+    }
+
+    /**
+     * @return The maximum number of unmatched paths the router remembers
+     */
+    public int getNotFoundCacheSize() {
+        return notFoundCacheSize;
+    }
+
+    /**
+     * The maximum number of recently requested paths that don't match any route the router remembers.
+     * Requests to a remembered path skip the route matching. A value of {@code 0} disables
+     * the cache. Default value ({@value #DEFAULT_NOT_FOUND_CACHE_SIZE}).
+     *
+     * @param notFoundCacheSize The maximum number of unmatched paths
+     */
+    public void setNotFoundCacheSize(int notFoundCacheSize) {
+        this.notFoundCacheSize = notFoundCacheSize;
+    }
+}
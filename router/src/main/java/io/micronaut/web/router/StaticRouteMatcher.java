@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.service.SoftServiceLoader;
+import io.micronaut.core.optim.StaticOptimizations;
+
+import java.util.List;
+
+/**
+ * A matcher of the literal route templates known at compilation time. The implementation is generated
+ * by the annotation processor and registered as a service of this type, or provided through
+ * {@link StaticOptimizations}. It lets the {@link DefaultRouter} resolve the literal routes with a single
+ * string switch instead of walking the route index.
+ *
+ * @since 4.8.0
+ */
+@Internal
+public abstract class StaticRouteMatcher {
+
+    /**
+     * @return The number of known templates
+     */
+    public abstract int size();
+
+    /**
+     * Match the given path against the known templates.
+     *
+     * @param path The path without the query and the trailing slash
+     * @return The id of the template between {@code 0} and {@link #size()}, or {@code -1} if the path is unknown
+     */
+    public abstract int match(@NonNull String path);
+
+    /**
+     * Load the matchers available to the given class loader.
+     *
+     * @param classLoader The class loader
+     * @return The matcher of all the known templates or {@code null} if none was generated
+     */
+    @Nullable
+    static StaticRouteMatcher load(ClassLoader classLoader) {
+        StaticRouteMatcher optimized = StaticOptimizations.get(Optimizations.class)
+            .map(Optimizations::getMatcher)
+            .orElse(null);
+        if (optimized != null) {
+            return optimized;
+        }
+        List<StaticRouteMatcher> matchers = SoftServiceLoader.load(StaticRouteMatcher.class, classLoader).collectAll();
+        return switch (matchers.size()) {
+            case 0 -> null;
+            case 1 -> matchers.get(0);
+            default -> new CompositeMatcher(matchers.toArray(new StaticRouteMatcher[0]));
+        };
+    }
+
+    /**
+     * Combines the matchers generated for several modules, the ids of each matcher follow the ids of
+     * the previous one.
+     */
+    private static final class CompositeMatcher extends StaticRouteMatcher {
+        private final StaticRouteMatcher[] matchers;
+        private final int size;
+
+        CompositeMatcher(StaticRouteMatcher[] matchers) {
+            this.matchers = matchers;
+            int size = 0;
+            for (StaticRouteMatcher matcher : matchers) {
+                size += matcher.size();
+            }
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int match(String path) {
+            int offset = 0;
+            for (StaticRouteMatcher matcher : matchers) {
+                int id = matcher.match(path);
+                if (id >= 0) {
+                    return offset + id;
+                }
+                offset += matcher.size();
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Static optimizations for the router.
+     */
+    public static final class Optimizations {
+        private final StaticRouteMatcher matcher;
+
+        /**
+         * @param matcher The generated matcher
+         */
+        public Optimizations(StaticRouteMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        /**
+         * @return The generated matcher
+         */
+        public StaticRouteMatcher getMatcher() {
+            return matcher;
+        }
+    }
+}
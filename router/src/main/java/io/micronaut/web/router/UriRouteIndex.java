@@ -0,0 +1,321 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A segment trie over the URI templates of a set of routes. The index is used to narrow down the routes
+ * that can possibly match a path before running the actual template matching.
+ *
+ * <p>Each template is split into {@code /} separated segments. Literal segments are indexed by value,
+ * plain {@code {name}} segments match any non-empty segment and any other segment (regular expressions,
+ * operators, exploded or multi-variable expressions) makes the route a candidate for every path
+ * reaching that node. The index never excludes a route whose template could match, and the
+ * candidates are returned in the original route order, so the result of the route resolution
+ * is identical to matching every route.</p>
+ *
+ * <p>If a {@link StaticRouteMatcher} was generated at compilation time, a path of a literal template it
+ * knows is resolved by the generated matcher instead of the trie. The candidates of each known template,
+ * including the templates with variables matching the same path, are collected once and reused.</p>
+ *
+ * @since 4.8.0
+ */
+@Internal
+final class UriRouteIndex {
+
+    private static final int[] NO_ROUTES = new int[0];
+    @SuppressWarnings("unchecked")
+    private static final UriRouteInfo<Object, Object>[] NO_CANDIDATES = new UriRouteInfo[0];
+
+    private final UriRouteInfo<Object, Object>[] routes;
+    private final Node root = new Node();
+    @Nullable
+    private final StaticRouteMatcher matcher;
+    private final int[][] literalRoutes;
+    private final AtomicReferenceArray<UriRouteInfo<Object, Object>[]> literalCandidates;
+
+    /**
+     * @param routes The sorted routes
+     */
+    UriRouteIndex(UriRouteInfo<Object, Object>[] routes) {
+        this(routes, null);
+    }
+
+    /**
+     * @param routes  The sorted routes
+     * @param matcher The generated matcher of the literal templates
+     */
+    UriRouteIndex(UriRouteInfo<Object, Object>[] routes, @Nullable StaticRouteMatcher matcher) {
+        this.routes = routes;
+        this.matcher = matcher;
+        this.literalRoutes = new int[matcher != null ? matcher.size() : 0][];
+        Arrays.fill(literalRoutes, NO_ROUTES);
+        this.literalCandidates = new AtomicReferenceArray<>(literalRoutes.length);
+        for (int i = 0; i < routes.length; i++) {
+            UriRouteInfo<Object, Object> route = routes[i];
+            if (route instanceof DefaultUrlRouteInfo<Object, Object>) {
+                add(route.getUriMatchTemplate().getTemplateString(), i);
+            } else {
+                // Unknown matching logic, always a candidate
+                root.remainder = append(root.remainder, i);
+            }
+        }
+    }
+
+    /**
+     * @return All the indexed routes
+     */
+    @NonNull
+    UriRouteInfo<Object, Object>[] routes() {
+        return routes;
+    }
+
+    /**
+     * Find the routes that can match the given path.
+     *
+     * @param path The path
+     * @return The candidate routes in the original order
+     */
+    @NonNull
+    UriRouteInfo<Object, Object>[] find(@NonNull String path) {
+        if (routes.length == 0) {
+            return routes;
+        }
+        int end = path.indexOf('?');
+        if (end == -1) {
+            end = path.length();
+        }
+        if (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        int from;
+        if (end == 0 || end == 1 && path.charAt(0) == '/') {
+            // The root path doesn't have any segments
+            from = end + 1;
+        } else if (path.charAt(0) == '/') {
+            from = 1;
+        } else {
+            return routes;
+        }
+        if (matcher != null) {
+            int id = matcher.match(end == path.length() ? path : path.substring(0, end));
+            if (id >= 0 && id < literalRoutes.length) {
+                // Every path of a known template has the same candidates
+                UriRouteInfo<Object, Object>[] known = literalCandidates.get(id);
+                if (known == null) {
+                    Candidates candidates = new Candidates();
+                    candidates.add(literalRoutes[id]);
+                    collect(root, path, from, end, candidates);
+                    known = candidates.toRoutes(routes);
+                    literalCandidates.set(id, known);
+                }
+                return known;
+            }
+        }
+        Candidates candidates = new Candidates();
+        collect(root, path, from, end, candidates);
+        return candidates.toRoutes(routes);
+    }
+
+    private static void collect(Node node, String path, int from, int end, Candidates candidates) {
+        candidates.add(node.remainder);
+        if (from > end) {
+            candidates.add(node.terminal);
+            return;
+        }
+        int slash = path.indexOf('/', from);
+        if (slash == -1 || slash > end) {
+            slash = end;
+        }
+        if (node.literals != null) {
+            Node child = node.literals.get(path.substring(from, slash));
+            if (child != null) {
+                collect(child, path, slash + 1, end, candidates);
+            }
+        }
+        if (node.variable != null && slash > from) {
+            collect(node.variable, path, slash + 1, end, candidates);
+        }
+    }
+
+    private void add(String template, int index) {
+        int end = stripQueryExpressions(template);
+        if (end == 0 || end == 1 && template.charAt(0) == '/') {
+            root.terminal = append(root.terminal, index);
+            return;
+        }
+        if (template.charAt(0) != '/') {
+            root.remainder = append(root.remainder, index);
+            return;
+        }
+        if (matcher != null && addLiteral(template.substring(0, end), index)) {
+            return;
+        }
+        Node node = root;
+        for (String segment : split(template, end)) {
+            if (segment.indexOf('{') == -1 && segment.indexOf('}') == -1) {
+                if (node.literals == null) {
+                    node.literals = new HashMap<>();
+                }
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            } else if (isSimpleVariable(segment)) {
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node.remainder = append(node.remainder, index);
+                return;
+            }
+        }
+        node.terminal = append(node.terminal, index);
+    }
+
+    private boolean addLiteral(String path, int index) {
+        if (path.charAt(path.length() - 1) == '/' || path.indexOf('{') != -1 || path.indexOf('}') != -1) {
+            return false;
+        }
+        int id = matcher.match(path);
+        if (id < 0 || id >= literalRoutes.length) {
+            return false;
+        }
+        literalRoutes[id] = append(literalRoutes[id], index);
+        return true;
+    }
+
+    /**
+     * Query expressions don't consume any part of the path.
+     *
+     * @param template The template
+     * @return The end of the path part of the template
+     */
+    private static int stripQueryExpressions(String template) {
+        int end = template.length();
+        while (end > 0 && template.charAt(end - 1) == '}') {
+            int start = template.lastIndexOf('{', end - 1);
+            if (start == -1 || start + 1 >= end) {
+                break;
+            }
+            char operator = template.charAt(start + 1);
+            if (operator != '?' && operator != '&') {
+                break;
+            }
+            end = start;
+        }
+        return end;
+    }
+
+    /**
+     * Split the template into segments, ignoring the separators inside of expressions.
+     *
+     * @param template The template
+     * @param end The end of the path part
+     * @return The segments
+     */
+    private static List<String> split(String template, int end) {
+        List<String> segments = new ArrayList<>();
+        int depth = 0;
+        int start = 1;
+        for (int i = 1; i < end; i++) {
+            char c = template.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            } else if (c == '/' && depth == 0) {
+                segments.add(template.substring(start, i));
+                start = i + 1;
+            }
+        }
+        segments.add(template.substring(start, end));
+        return segments;
+    }
+
+    private static boolean isSimpleVariable(String segment) {
+        int length = segment.length();
+        if (length < 3 || segment.charAt(0) != '{' || segment.charAt(length - 1) != '}') {
+            return false;
+        }
+        for (int i = 1; i < length - 1; i++) {
+            char c = segment.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        // Operators like {.ext} are not path segments
+        return segment.charAt(1) != '.';
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = value;
+        return copy;
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private static final class Node {
+        private Map<String, Node> literals;
+        private Node variable;
+        private int[] terminal = NO_ROUTES;
+        private int[] remainder = NO_ROUTES;
+    }
+
+    /**
+     * The collected route positions.
+     */
+    private static final class Candidates {
+        private int[] positions = NO_ROUTES;
+        private int size;
+
+        void add(int[] routes) {
+            int length = routes.length;
+            if (length == 0) {
+                return;
+            }
+            if (size + length > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(size + length, 4));
+            }
+            System.arraycopy(routes, 0, positions, size, length);
+            size += length;
+        }
+
+        UriRouteInfo<Object, Object>[] toRoutes(UriRouteInfo<Object, Object>[] routes) {
+            if (size == 0) {
+                return NO_CANDIDATES;
+            }
+            if (size > 1) {
+                Arrays.sort(positions, 0, size);
+            }
+            UriRouteInfo<Object, Object>[] result = Arrays.copyOf(routes, size);
+            for (int i = 0; i < size; i++) {
+                result[i] = routes[positions[i]];
+            }
+            return result;
+        }
+    }
+}
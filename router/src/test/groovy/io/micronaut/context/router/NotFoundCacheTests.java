@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.router;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.web.router.DefaultRouter;
+import io.micronaut.web.router.GroovyRouteBuilder;
+import io.micronaut.web.router.RouterConfiguration;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NotFoundCacheTests {
+
+    private ApplicationContext context;
+    private DefaultRouter router;
+
+    @BeforeEach
+    void setup() {
+        context = ApplicationContext.run();
+        NotFoundController controller = context.getBean(NotFoundController.class);
+        GroovyRouteBuilder builder = new GroovyRouteBuilder(context);
+        builder.GET("/books", controller, "handle");
+        builder.POST("/books/{id}", controller, "handle");
+        builder.status(HttpStatus.BAD_REQUEST, controller, "handle");
+        RouterConfiguration configuration = new RouterConfiguration();
+        configuration.setNotFoundCacheSize(2);
+        router = new DefaultRouter(List.of(builder), configuration);
+    }
+
+    @AfterEach
+    void cleanup() {
+        context.close();
+    }
+
+    @Test
+    void testUnmatchedPathIsCached() {
+        HttpRequest<?> request = HttpRequest.GET("/wp-admin/install.php");
+        assertNull(router.findClosest(request));
+        assertTrue(router.findAny(request).isEmpty());
+        assertEquals(1, router.getNotFoundCacheSize());
+
+        long hits = router.getNotFoundCacheHits();
+        assertNull(router.findClosest(request));
+        assertTrue(router.findAny(request).isEmpty());
+        assertEquals(hits + 2, router.getNotFoundCacheHits());
+    }
+
+    @Test
+    void testPathMatchingOtherMethodIsNotCached() {
+        HttpRequest<?> request = HttpRequest.GET("/books/1");
+        assertNull(router.findClosest(request));
+        assertEquals(1, router.findAny(request).size());
+        assertEquals(0, router.getNotFoundCacheSize());
+        assertNotNull(router.findClosest(HttpRequest.POST("/books/1", "")));
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        for (int i = 0; i < 10; i++) {
+            router.findAny(HttpRequest.GET("/unknown/" + i));
+        }
+        assertEquals(2, router.getNotFoundCacheSize());
+    }
+
+    @Test
+    void testCacheIsClearedWhenPortsChange() {
+        router.findAny(HttpRequest.GET("/unknown"));
+        assertEquals(1, router.getNotFoundCacheSize());
+        router.applyDefaultPorts(List.of(8080));
+        assertEquals(0, router.getNotFoundCacheSize());
+    }
+
+    @Test
+    void testStatusRoutes() {
+        HttpRequest<?> request = HttpRequest.GET("/unknown");
+        assertTrue(router.findStatusRoute(HttpStatus.NOT_FOUND, request).isEmpty());
+        assertTrue(router.findStatusRoute(HttpStatus.BAD_REQUEST, request).isPresent());
+        assertTrue(router.findStatusRoute(999, request).isEmpty());
+    }
+
+    @Singleton
+    @Executable
+    static class NotFoundController {
+        String handle() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.router;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.router.RouteBuilderTests.BookController;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.web.router.DefaultRouter;
+import io.micronaut.web.router.GroovyRouteBuilder;
+import io.micronaut.web.router.Router;
+import io.micronaut.web.router.RouterConfiguration;
+import io.micronaut.web.router.UriRouteMatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteIndexTests {
+
+    private static final List<String> TEMPLATES = List.of(
+        "/",
+        "/books",
+        "/books/list",
+        "/books/{id}",
+        "/books/{id}/authors",
+        "/books/{id:\\d+}/pages",
+        "/books{/id}",
+        "/books/{id}{?max,offset}",
+        "/files/{+path}",
+        "/files/{name}.json",
+        "/search{?q}",
+        "/a/{b}/c/{d}",
+        "/a/{x}/c",
+        "/a/b/{c}",
+        "/{any}",
+        "/images{/path:.*}",
+        "/trailing/"
+    );
+
+    private static final List<String> PATHS = List.of(
+        "", "/", "/?q=1", "/books", "/books/", "/books?max=10", "/books/list", "/books/1", "/books/1/",
+        "/books/1/authors", "/books/1/pages", "/books/abc/pages", "/books/1/authors/2", "/files/a/b/c.json",
+        "/files/c.json", "/search", "/search?q=x", "/a/b/c/d", "/a/b/c", "/a/b/x", "/a/z/c", "/a//c",
+        "/anything", "/images", "/images/1/2", "/trailing", "/trailing/", "/books//authors", "books",
+        "/unknown/path"
+    );
+
+    private ApplicationContext context;
+    private Router linearRouter;
+    private Router indexedRouter;
+
+    @BeforeEach
+    void setup() {
+        context = ApplicationContext.run();
+        BookController controller = context.getBean(BookController.class);
+        GroovyRouteBuilder builder = new GroovyRouteBuilder(context);
+        for (String template : TEMPLATES) {
+            builder.GET(template, controller, "index");
+            builder.POST(template, controller, "index");
+        }
+        RouterConfiguration configuration = new RouterConfiguration();
+        configuration.setRouteIndex(true);
+        linearRouter = new DefaultRouter(List.of(builder));
+        indexedRouter = new DefaultRouter(List.of(builder), configuration);
+    }
+
+    @AfterEach
+    void cleanup() {
+        context.close();
+    }
+
+    @Test
+    void testIndexedRoutesMatchLinearRoutes() {
+        for (String path : PATHS) {
+            for (HttpMethod method : List.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT)) {
+                HttpRequest<?> request = HttpRequest.create(method, path);
+                assertEquals(
+                    describe(linearRouter.findAllClosest(request).stream()),
+                    describe(indexedRouter.findAllClosest(request).stream()),
+                    method + " " + path
+                );
+                assertEquals(
+                    describe(linearRouter.find(request)),
+                    describe(indexedRouter.find(request)),
+                    method + " " + path
+                );
+                assertEquals(
+                    describe(linearRouter.find(method, path, null)),
+                    describe(indexedRouter.find(method, path, null)),
+                    method + " " + path
+                );
+                assertEquals(
+                    describe(linearRouter.findAny(request).stream()),
+                    describe(indexedRouter.findAny(request).stream()),
+                    method + " " + path
+                );
+            }
+        }
+    }
+
+    @Test
+    void testIndexedRouteVariables() {
+        UriRouteMatch<Object, Object> match = indexedRouter.findClosest(HttpRequest.GET("/a/foo/c/bar"));
+        assertTrue(match != null);
+        assertEquals("/a/{b}/c/{d}", match.getRouteInfo().getUriMatchTemplate().toString());
+        assertEquals("foo", match.getVariableValues().get("b"));
+        assertEquals("bar", match.getVariableValues().get("d"));
+    }
+
+    private static <T, R> List<String> describe(Stream<UriRouteMatch<T, R>> matches) {
+        return matches
+            .map(match -> match.getHttpMethod() + " " + match.getRouteInfo().getUriMatchTemplate() + " " + match.getVariableValues())
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.filter.FilterOrder;
+import io.micronaut.http.filter.GenericHttpFilter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteFiltersTests {
+
+    private static final List<String> TEMPLATES = List.of(
+        "/",
+        "/books",
+        "/books/list",
+        "/books/{id}",
+        "/api/books/{id}",
+        "/api/{version}/books",
+        "/files/{+path}",
+        "/{any}"
+    );
+
+    private static final List<String> PATHS = List.of(
+        "/", "/books", "/books/", "/books/list", "/books/1", "/api/books/1", "/api/v1/books",
+        "/files/a/b", "/files/a.json", "/anything"
+    );
+
+    private ApplicationContext context;
+    private ToggleableFilter toggleable;
+    private Router router;
+
+    @BeforeEach
+    void setup() {
+        context = ApplicationContext.run();
+        FiltersController controller = context.getBean(FiltersController.class);
+        GroovyRouteBuilder builder = new GroovyRouteBuilder(context);
+        for (String template : TEMPLATES) {
+            builder.GET(template, controller, "handle");
+            builder.POST(template, controller, "handle");
+        }
+        addFilter(builder, new TestFilter(), 1).pattern("/**");
+        addFilter(builder, new TestFilter(), 2).pattern("/books");
+        addFilter(builder, new TestFilter(), 3).pattern("/books/**");
+        addFilter(builder, new TestFilter(), 4).pattern("/api/**").methods(HttpMethod.POST);
+        addFilter(builder, new TestFilter(), 5).pattern("/api/*/books");
+        addFilter(builder, new TestFilter(), 6).pattern("/files/**/*.json");
+        addFilter(builder, new TestFilter(), 7).pattern("/**/list");
+        toggleable = new ToggleableFilter();
+        addFilter(builder, toggleable, 8).pattern("/books/**");
+        router = new DefaultRouter(List.of(builder));
+    }
+
+    @AfterEach
+    void cleanup() {
+        context.close();
+    }
+
+    @Test
+    void testPrecomputedFiltersMatchRequestFilters() {
+        for (boolean enabled : List.of(true, false)) {
+            toggleable.enabled = enabled;
+            for (String path : PATHS) {
+                for (HttpMethod method : List.of(HttpMethod.GET, HttpMethod.POST)) {
+                    HttpRequest<?> request = HttpRequest.create(method, path);
+                    UriRouteMatch<Object, Object> match = router.findClosest(request);
+                    assertNotNull(match, method + " " + path);
+                    assertEquals(
+                        router.findFilters(request, null),
+                        router.findFilters(request, match),
+                        method + " " + path + " " + match.getRouteInfo().getUriMatchTemplate()
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFilterDisabledWhenTheFiltersArePrecomputedCanBeEnabled() {
+        toggleable.enabled = false;
+        HttpRequest<?> request = HttpRequest.GET("/books/list");
+        UriRouteMatch<Object, Object> match = router.findClosest(request);
+        assertNotNull(match);
+        assertFalse(containsToggleable(router.findFilters(request, match)));
+
+        toggleable.enabled = true;
+        assertTrue(containsToggleable(router.findFilters(request, match)));
+        assertEquals(router.findFilters(request, null), router.findFilters(request, match));
+    }
+
+    @Test
+    void testStaticFiltersAreReused() {
+        HttpRequest<?> request = HttpRequest.GET("/");
+        UriRouteMatch<Object, Object> match = router.findClosest(request);
+        assertNotNull(match);
+        List<GenericHttpFilter> filters = router.findFilters(request, match);
+        assertEquals(1, filters.size());
+        assertSame(filters, router.findFilters(request, match));
+    }
+
+    private static boolean containsToggleable(List<GenericHttpFilter> filters) {
+        return filters.stream().anyMatch(GenericHttpFilter::isToggleable);
+    }
+
+    private static FilterRoute addFilter(DefaultRouteBuilder builder, HttpServerFilter filter, int order) {
+        GenericHttpFilter httpFilter = GenericHttpFilter.createLegacyFilter(filter, new FilterOrder.Fixed(order));
+        return builder.addFilter(() -> httpFilter, AnnotationMetadata.EMPTY_METADATA, false);
+    }
+
+    static class TestFilter implements HttpServerFilter {
+        @Override
+        public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+            return chain.proceed(request);
+        }
+    }
+
+    static class ToggleableFilter extends TestFilter implements Toggleable {
+        boolean enabled = true;
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+    }
+
+    @Singleton
+    @Executable
+    static class FiltersController {
+        String handle() {
+            return "ok";
+        }
+    }
+}